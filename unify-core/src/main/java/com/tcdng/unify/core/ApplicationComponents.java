@@ -25,12 +25,16 @@ public interface ApplicationComponents {
 
     String APPLICATION_BYTEARRAYCRYPTOGRAPH = "application-bytearraycryptograph";
 
+    String APPLICATION_CLUSTERCOMMANDTRANSPORT = "application-clustercommandtransport";
+
     String APPLICATION_CLUSTERSERVICE = "application-clusterservice";
 
     String APPLICATION_CURRENCYSOURCE = "application-currencysource";
 
     String APPLICATION_DATABASE = "application-database";
 
+    String APPLICATION_DATABASECLOCKSERVICE = "application-databaseclockservice";
+
     String APPLICATION_DATABASETRANSACTIONMANAGER = "application-databasetxnmanager";
 
     String APPLICATION_DATASOURCE = "application-datasource";
@@ -63,6 +67,8 @@ public interface ApplicationComponents {
 
     String APPLICATION_JSONOBJECTSTREAMER = "application-jsonobjectstreamer";
 
+    String APPLICATION_LISTCACHE = "application-listcache";
+
     String APPLICATION_LISTMANAGER = "application-listmanager";
 
     String APPLICATION_MENULOADER = "application-menuloader";
@@ -20,8 +20,11 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.system.ClusterCommandConstants;
 
 /**
  * Unify command interface.
@@ -77,28 +80,49 @@ public class UnifyCommandInterface extends AbstractUnifyContainerInterface {
 
         private ServerSocket serverSocket;
 
-        private boolean runFlag;
+        private volatile boolean runFlag;
 
         public ListenerThread() throws IOException {
             serverSocket = new ServerSocket(listeningPort);
+            runFlag = true;
         }
 
         public void stopListener() {
             runFlag = false;
+            try {
+                serverSocket.close();
+            } catch (IOException e) {
+                logError(e);
+            }
         }
 
         @Override
         public void run() {
-            runFlag = true;
             while (runFlag) {
                 try {
                     Socket socket = serverSocket.accept();
-                    BufferedReader br = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-                    String cmd = br.readLine();
-                    String param = br.readLine();
-                    sendCommand(cmd, param);
+                    try {
+                        BufferedReader br = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+                        String cmd = br.readLine();
+                        if (ClusterCommandConstants.PUSHED_CLUSTER_COMMAND.equals(cmd)) {
+                            // Pushed cluster commands carry all parameters up to end of stream
+                            List<String> params = new ArrayList<String>();
+                            String param = null;
+                            while ((param = br.readLine()) != null) {
+                                params.add(param);
+                            }
+                            sendCommand(cmd, params.toArray(new String[params.size()]));
+                        } else {
+                            String param = br.readLine();
+                            sendCommand(cmd, param);
+                        }
+                    } finally {
+                        socket.close();
+                    }
                 } catch (Exception e) {
-                    logError(e);
+                    if (runFlag) {
+                        logError(e);
+                    }
                 }
             }
         }
@@ -20,6 +20,7 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.net.InetAddress;
+import java.net.URLDecoder;
 import java.net.UnknownHostException;
 import java.text.MessageFormat;
 import java.util.ArrayList;
@@ -32,12 +33,17 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.ConsoleAppender;
 import org.apache.log4j.Level;
@@ -63,11 +69,13 @@ import com.tcdng.unify.core.logging.DummyEventLogger;
 import com.tcdng.unify.core.logging.Logger;
 import com.tcdng.unify.core.logging.LoggingLevel;
 import com.tcdng.unify.core.message.ResourceBundles;
+import com.tcdng.unify.core.system.ClusterCommandConstants;
 import com.tcdng.unify.core.system.ClusterService;
 import com.tcdng.unify.core.system.Command;
 import com.tcdng.unify.core.system.UserSessionManager;
 import com.tcdng.unify.core.task.TaskManager;
 import com.tcdng.unify.core.task.TaskMonitor;
+import com.tcdng.unify.core.task.TaskPriority;
 import com.tcdng.unify.core.upl.UplCompiler;
 import com.tcdng.unify.core.upl.UplComponent;
 import com.tcdng.unify.core.upl.UplElementAttributes;
@@ -102,6 +110,8 @@ public class UnifyContainer {
 
     private static final long COMMAND_THREAD_RATE_MILLISEC = 2000;
 
+    private static final int MAX_EXECUTED_CLUSTER_COMMAND_IDS = 1024;
+
     private static ThreadLocal<InitializationTrail> initializationTrailThreadLocal =
             new ThreadLocal<InitializationTrail>() {
                 @Override
@@ -150,12 +160,14 @@ public class UnifyContainer {
 
     private Set<UnifyContainerInterface> interfaces;
 
-    private Queue<ContainerCommand> containerCommandQueue;
+    private BlockingQueue<ContainerCommand> containerCommandQueue;
 
     private Map<String, BroadcastInfo> broadcastInfoMap;
 
     private Map<Class<? extends UnifyComponent>, List<String>> namelessConfigurableSuggestions;
 
+    private Map<String, InjectionPlan> injectionPlans;
+
     private String nodeId;
 
     private String deploymentVersion;
@@ -188,10 +200,11 @@ public class UnifyContainer {
         accessKey = UUID.randomUUID().toString();
 
         internalUnifyComponentInfos = new ConcurrentHashMap<String, InternalUnifyComponentInfo>();
+        injectionPlans = new ConcurrentHashMap<String, InjectionPlan>();
         periodicTaskMonitorList = new ArrayList<TaskMonitor>();
         singletonTerminationList = new ArrayList<UnifyComponent>();
         interfaces = new HashSet<UnifyContainerInterface>();
-        containerCommandQueue = new ConcurrentLinkedQueue<ContainerCommand>();
+        containerCommandQueue = new LinkedBlockingQueue<ContainerCommand>();
         broadcastInfoMap = new HashMap<String, BroadcastInfo>();
         namelessConfigurableSuggestions = new HashMap<Class<? extends UnifyComponent>, List<String>>();
 
@@ -457,13 +470,8 @@ public class UnifyContainer {
 
             // Generate and install proxy business service objects
             logInfo("Generating and installing proxy business service objects...");
-            for (UnifyComponentConfig unifyComponentConfig : managedBusinessServiceConfigList) {
-                Map<String, List<UnifyPluginInfo>> pluginMap = allPluginsBySocketMap.get(unifyComponentConfig.getName());
-                if (pluginMap == null) {
-                    pluginMap = Collections.emptyMap();
-                }
-                UnifyComponentConfig proxyUnifyComponentConfig =
-                        generateInstallBusinessServiceProxyObjects(unifyComponentConfig, pluginMap);
+            for (UnifyComponentConfig proxyUnifyComponentConfig : generateBusinessServiceProxyObjects(
+                    managedBusinessServiceConfigList, allPluginsBySocketMap)) {
                 InternalUnifyComponentInfo iuc = getInternalUnifyComponentInfo(proxyUnifyComponentConfig.getName());
                 iuc.setUnifyComponentConfig(proxyUnifyComponentConfig);
             }
@@ -505,6 +513,8 @@ public class UnifyContainer {
             // Schedule periodic tasks
             logInfo("Scheduling periodic tasks...");
             TaskManager taskManager = (TaskManager) getComponent(ApplicationComponents.APPLICATION_TASKMANAGER);
+            // Detect and validate taskable methods now that proxies are installed
+            taskManager.getAllTaskableMethodConfigs();
             for (Map.Entry<String, Map<String, Periodic>> componentEntry : componentPeriodMethodMap.entrySet()) {
                 logInfo("Intializing component [{0}] with periodic methods...", componentEntry.getKey());
                 getComponent(componentEntry.getKey());
@@ -1136,34 +1146,19 @@ public class UnifyContainer {
         try {
             // Get component context
             UnifyComponentContext unifyComponentContext = componentContextMap.get(unifyComponentConfig.getName());
-            // Fetch and set (inject) fields
-            Class<?> clazz = unifyComponentConfig.getType();
-            UnifyComponentSettings settings = unifyComponentConfig.getSettings();
-            for (String property : settings.getPropertyNames()) {
+            // Fetch and set (inject) fields using component injection plan
+            InjectionPlan injectionPlan = getInjectionPlan(unifyComponentConfig);
+            for (FieldInjection fieldInjection : injectionPlan.getFieldInjections()) {
                 Object value = null;
                 if (altSettings != null) {
-                    value = altSettings.getSettingValue(property);
-                }
-
-                if (value == null) {
-                    value = settings.getSettingValue(property);
-                }
-
-                Field field = ReflectUtils.getField(clazz, property);
-                if (value == null && settings.isAutoInject(property)) {
-                    if (UnifyComponent.class.isAssignableFrom(field.getType())) {
-                        List<String> names = namelessConfigurableSuggestions.get(field.getType());
-                        if (names.size() == 1) { // Check perfect suggestion
-                            value = names.get(0);
-                        } else if(names.size() > 1) {
-                            // TODO throw exception to many possible types to inject
-                        }
-                    }
+                    value = altSettings.getSettingValue(fieldInjection.getProperty());
                 }
 
                 if (value != null) {
-                    String[] configValues = resolveConfigValue(value);
-                    injectFieldValue(unifyComponent, field, configValues);
+                    ReflectUtils.assertNonStaticNonFinal(fieldInjection.getField());
+                    injectFieldValue(unifyComponent, fieldInjection, resolveConfigValue(value), false);
+                } else if (fieldInjection.isConfigValues()) {
+                    injectFieldValue(unifyComponent, fieldInjection, fieldInjection.getConfigValues(), true);
                 }
             }
 
@@ -1201,55 +1196,155 @@ public class UnifyContainer {
         }
     }
 
+    /**
+     * Gets injection plan for component configuration, building plan if
+     * necessary. Plan resolves fields, injection types, default configuration
+     * values and immutable converted values once, so that creating a component
+     * instance does not repeat this reflective work.
+     * 
+     * @param unifyComponentConfig
+     *            the component configuration
+     * @return the injection plan
+     */
+    private InjectionPlan getInjectionPlan(UnifyComponentConfig unifyComponentConfig) throws Exception {
+        InjectionPlan injectionPlan = injectionPlans.get(unifyComponentConfig.getName());
+        if (injectionPlan == null || injectionPlan.getUnifyComponentConfig() != unifyComponentConfig) {
+            List<FieldInjection> fieldInjections = new ArrayList<FieldInjection>();
+            Class<?> clazz = unifyComponentConfig.getType();
+            UnifyComponentSettings settings = unifyComponentConfig.getSettings();
+            for (String property : settings.getPropertyNames()) {
+                Object value = settings.getSettingValue(property);
+                Field field = ReflectUtils.getField(clazz, property);
+                if (value == null && settings.isAutoInject(property)) {
+                    if (UnifyComponent.class.isAssignableFrom(field.getType())) {
+                        List<String> names = namelessConfigurableSuggestions.get(field.getType());
+                        if (names.size() == 1) { // Check perfect suggestion
+                            value = names.get(0);
+                        } else if (names.size() > 1) {
+                            // Ambiguous. Leave field for component to resolve, for example,
+                            // from its own configuration.
+                            logDebug("Field [{0}] of component [{1}] not auto-injected. Candidates = {2}",
+                                    property, unifyComponentConfig.getName(), names);
+                        }
+                    }
+                }
+
+                String[] configValues = null;
+                if (value != null) {
+                    ReflectUtils.assertNonStaticNonFinal(field);
+                    configValues = resolveConfigValue(value);
+                }
+
+                fieldInjections.add(createFieldInjection(property, field, configValues));
+            }
+
+            injectionPlan = new InjectionPlan(unifyComponentConfig, fieldInjections);
+            injectionPlans.put(unifyComponentConfig.getName(), injectionPlan);
+        }
+
+        return injectionPlan;
+    }
+
+    private FieldInjection createFieldInjection(String property, Field field, String[] configValues)
+            throws UnifyException {
+        FieldInjectionType type = FieldInjectionType.VALUE;
+        Class<?> componentType = null;
+        Class<?> fieldClass = field.getType();
+        if (fieldClass.isArray()) {
+            Class<?> arrFieldClass = fieldClass.getComponentType();
+            if (UnifyComponent.class.isAssignableFrom(arrFieldClass)) {
+                type = FieldInjectionType.COMPONENT_ARRAY;
+                componentType = arrFieldClass;
+            }
+        } else if (Collection.class.isAssignableFrom(fieldClass)) {
+            Class<?> colFieldClass = ReflectUtils.getArgumentType(field.getGenericType(), 0);
+            if (UnifyComponent.class.isAssignableFrom(colFieldClass)) {
+                type = FieldInjectionType.COMPONENT_COLLECTION;
+                componentType = colFieldClass;
+            }
+        } else if (Map.class.isAssignableFrom(fieldClass)) {
+            Class<?> keyFieldClass = ReflectUtils.getArgumentType(field.getGenericType(), 0);
+            if (String.class.equals(keyFieldClass)) {
+                Class<?> valFieldClass = ReflectUtils.getArgumentType(field.getGenericType(), 1);
+                if (UnifyComponent.class.isAssignableFrom(valFieldClass)) {
+                    type = FieldInjectionType.COMPONENT_MAP;
+                    componentType = valFieldClass;
+                }
+            }
+        } else if (UnifyComponent.class.isAssignableFrom(fieldClass)) {
+            type = FieldInjectionType.COMPONENT;
+        }
+
+        Object convertedValue = null;
+        if (type == FieldInjectionType.VALUE && configValues != null && isImmutableValueType(fieldClass)) {
+            try {
+                convertedValue = DataUtils.convert(fieldClass, configValues, null);
+            } catch (UnifyException e) {
+                // Leave conversion and failure reporting to injection
+            }
+        }
+
+        return new FieldInjection(property, field, type, componentType, configValues, convertedValue);
+    }
+
+    private boolean isImmutableValueType(Class<?> clazz) {
+        return clazz.isPrimitive() || clazz.isEnum() || String.class.equals(clazz) || Boolean.class.equals(clazz)
+                || Character.class.equals(clazz) || (Number.class.isAssignableFrom(clazz)
+                        && clazz.getName().startsWith("java.lang."));
+    }
+
     /**
      * Injects value into component field, performing necessary conversion
      * 
      * @param unifyComponent
      *            - the component
-     * @param field
-     *            - the field to set
+     * @param fieldInjection
+     *            - the field injection information
      * @param configValues
      *            - the value to inject
+     * @param planValues
+     *            - indicates supplied values are plan default values
      */
     @SuppressWarnings("unchecked")
-    private void injectFieldValue(UnifyComponent unifyComponent, Field field, String[] configValues)
-            throws UnifyException {
-        ReflectUtils.assertNonStaticNonFinal(field);
+    private void injectFieldValue(UnifyComponent unifyComponent, FieldInjection fieldInjection,
+            String[] configValues, boolean planValues) throws UnifyException {
         try {
             Object valueToInject = null;
-            Class<?> fieldClass = field.getType();
-            if (fieldClass.isArray()) {
-                Class<?> arrFieldClass = fieldClass.getComponentType();
-                if (UnifyComponent.class.isAssignableFrom(arrFieldClass)) {
+            Field field = fieldInjection.getField();
+            switch (fieldInjection.getType()) {
+                case COMPONENT_ARRAY:
+                    Class<?> arrFieldClass = fieldInjection.getComponentType();
                     Object[] tempArray = getComponents(arrFieldClass, configValues).values().toArray();
                     valueToInject = Array.newInstance(arrFieldClass, tempArray.length);
                     for (int i = 0; i < tempArray.length; i++) {
                         Array.set(valueToInject, i, tempArray[i]);
                     }
-                }
-            } else if (Collection.class.isAssignableFrom(fieldClass)) {
-                Class<?> colFieldClass = ReflectUtils.getArgumentType(field.getGenericType(), 0);
-                if (UnifyComponent.class.isAssignableFrom(colFieldClass)) {
+                    break;
+                case COMPONENT_COLLECTION:
                     Collection<Object> c = new ArrayList<Object>();
-                    c.addAll(getComponents((Class<? extends UnifyComponent>) colFieldClass, configValues).values());
+                    c.addAll(getComponents((Class<? extends UnifyComponent>) fieldInjection.getComponentType(),
+                            configValues).values());
                     valueToInject = c;
-                }
-            } else if (Map.class.isAssignableFrom(fieldClass)) {
-                Class<?> keyFieldClass = ReflectUtils.getArgumentType(field.getGenericType(), 0);
-                if (String.class.equals(keyFieldClass)) {
-                    Class<?> valFieldClass = ReflectUtils.getArgumentType(field.getGenericType(), 1);
-                    if (UnifyComponent.class.isAssignableFrom(valFieldClass)) {
-                        valueToInject = getComponents((Class<? extends UnifyComponent>) valFieldClass, configValues);
-                    }
-                }
-            } else {
-                if (UnifyComponent.class.isAssignableFrom(fieldClass)) {
+                    break;
+                case COMPONENT_MAP:
+                    valueToInject = getComponents((Class<? extends UnifyComponent>) fieldInjection.getComponentType(),
+                            configValues);
+                    break;
+                case COMPONENT:
                     valueToInject = getComponent(configValues[0]);
-                }
-            }
+                    break;
+                case VALUE:
+                default:
+                    if (planValues) {
+                        valueToInject = fieldInjection.getConvertedValue();
+                        // Conversion may return plan values as is, so never share them
+                        configValues = configValues.clone();
+                    }
 
-            if (valueToInject == null) {
-                valueToInject = DataUtils.convert(fieldClass, configValues, null);
+                    if (valueToInject == null) {
+                        valueToInject = DataUtils.convert(field.getType(), configValues, null);
+                    }
+                    break;
             }
 
             if (valueToInject != null) {
@@ -1276,11 +1371,65 @@ public class UnifyContainer {
         return map;
     }
 
-    @SuppressWarnings("unchecked")
-    private UnifyComponentConfig generateInstallBusinessServiceProxyObjects(UnifyComponentConfig businessLogicConfig,
-            Map<String, List<UnifyPluginInfo>> pluginMap) throws UnifyException {
-        ProxyBusinessServiceGenerator bspg = (ProxyBusinessServiceGenerator) this
+    private List<UnifyComponentConfig> generateBusinessServiceProxyObjects(
+            List<UnifyComponentConfig> businessLogicConfigList,
+            Map<String, Map<String, List<UnifyPluginInfo>>> allPluginsBySocketMap) throws UnifyException {
+        final ProxyBusinessServiceGenerator bspg = (ProxyBusinessServiceGenerator) this
                 .getComponent(ApplicationComponents.APPLICATION_PROXYBUSINESSSERVICEGENERATOR);
+        List<UnifyComponentConfig> resultList = new ArrayList<UnifyComponentConfig>();
+        if (businessLogicConfigList.isEmpty()) {
+            return resultList;
+        }
+
+        // Proxy compilation is independent per business service, so spread across
+        // task manager on-demand executor
+        TaskManager taskManager = (TaskManager) getComponent(ApplicationComponents.APPLICATION_TASKMANAGER);
+        List<Future<UnifyComponentConfig>> futureList = new ArrayList<Future<UnifyComponentConfig>>();
+        try {
+            for (final UnifyComponentConfig unifyComponentConfig : businessLogicConfigList) {
+                Map<String, List<UnifyPluginInfo>> pluginMap =
+                        allPluginsBySocketMap.get(unifyComponentConfig.getName());
+                if (pluginMap == null) {
+                    pluginMap = Collections.emptyMap();
+                }
+
+                final Map<String, List<UnifyPluginInfo>> finalPluginMap = pluginMap;
+                futureList.add(taskManager.submitWork(new Callable<UnifyComponentConfig>() {
+                    @Override
+                    public UnifyComponentConfig call() throws Exception {
+                        return generateInstallBusinessServiceProxyObjects(bspg, unifyComponentConfig,
+                                finalPluginMap);
+                    }
+                }, TaskPriority.HIGH));
+            }
+
+            for (Future<UnifyComponentConfig> future : futureList) {
+                resultList.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UnifyException) {
+                throw (UnifyException) e.getCause();
+            }
+
+            throw new UnifyException(e.getCause(), UnifyCoreErrorConstants.COMPILER_CLASSLOAD_ERROR);
+        } catch (CancellationException e) {
+            throw new UnifyException(e, UnifyCoreErrorConstants.COMPILER_CLASSLOAD_ERROR);
+        } catch (InterruptedException e) {
+            throw new UnifyException(e, UnifyCoreErrorConstants.COMPILER_CLASSLOAD_ERROR);
+        } finally {
+            // Stop outstanding work on failure
+            for (Future<UnifyComponentConfig> future : futureList) {
+                future.cancel(true);
+            }
+        }
+
+        return resultList;
+    }
+
+    @SuppressWarnings("unchecked")
+    private UnifyComponentConfig generateInstallBusinessServiceProxyObjects(ProxyBusinessServiceGenerator bspg,
+            UnifyComponentConfig businessLogicConfig, Map<String, List<UnifyPluginInfo>> pluginMap)
+            throws UnifyException {
         Class<? extends BusinessService> proxyClazz =
                 bspg.generateCompileLoadProxyBusinessServiceClass(businessLogicConfig.getName(),
                         (Class<? extends BusinessService>) businessLogicConfig.getType(), pluginMap);
@@ -1537,8 +1686,18 @@ public class UnifyContainer {
     }
 
     private class CommandThread extends Thread {
+
+        private Set<Long> executedClusterCommandIds;
+
+        @SuppressWarnings("serial")
         public CommandThread() {
             super("Container command thread - " + nodeId);
+            executedClusterCommandIds = Collections.newSetFromMap(new LinkedHashMap<Long, Boolean>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                    return size() > MAX_EXECUTED_CLUSTER_COMMAND_IDS;
+                }
+            });
         }
 
         @Override
@@ -1546,37 +1705,69 @@ public class UnifyContainer {
             while (!shutdown) {
                 try {
                     if (clusterMode) {
-                        // Handle cluster commands
-                        requestContextManager.getRequestContext()
-                                .setAttribute(UnifyCoreRequestAttributeConstants.SUPPRESS_BROADCAST, Boolean.TRUE);
+                        // Handle cluster commands. Skip commands already received by push.
                         List<Command> clusterCommandList = clusterService.getClusterCommands();
                         for (Command clusterCommand : clusterCommandList) {
-                            BroadcastInfo broadcastInfo = broadcastInfoMap.get(clusterCommand.getCommand());
-                            if (broadcastInfo != null) {
-                                List<String> params = clusterCommand.getParams();
-                                broadcastInfo.getMethod().invoke(getComponent(broadcastInfo.getComponentName()),
-                                        new Object[] { params.toArray(new String[params.size()]) });
-                            }
+                            List<String> params = clusterCommand.getParams();
+                            executeClusterCommand(clusterCommand.getId(), clusterCommand.getCommand(),
+                                    params.toArray(new String[params.size()]));
                         }
-                        requestContextManager.getRequestContext()
-                                .setAttribute(UnifyCoreRequestAttributeConstants.SUPPRESS_BROADCAST, Boolean.FALSE);
                     }
 
-                    // Handle commands from interface port
-                    ContainerCommand cc = containerCommandQueue.poll();
-                    if (cc != null) {
-                        String command = cc.getCommand();
-                        if ("shutdown".equalsIgnoreCase(command)) {
-                            shutdown();
+                    // Handle commands from interface port until next cluster command poll
+                    long nextPollTime = System.currentTimeMillis() + COMMAND_THREAD_RATE_MILLISEC;
+                    long waitMillSec = COMMAND_THREAD_RATE_MILLISEC;
+                    while (!shutdown && waitMillSec > 0) {
+                        ContainerCommand cc = containerCommandQueue.poll(waitMillSec, TimeUnit.MILLISECONDS);
+                        if (cc != null) {
+                            String command = cc.getCommand();
+                            if ("shutdown".equalsIgnoreCase(command)) {
+                                shutdown();
+                            } else if (ClusterCommandConstants.PUSHED_CLUSTER_COMMAND.equals(command)) {
+                                executePushedClusterCommand(cc.getParams());
+                            }
                         }
-                    }
 
-                    ThreadUtils.sleep(COMMAND_THREAD_RATE_MILLISEC);
+                        waitMillSec = nextPollTime - System.currentTimeMillis();
+                    }
                 } catch (Exception e) {
                     logError(e);
                 }
             }
         }
+
+        private void executePushedClusterCommand(String[] encodedParams) throws Exception {
+            if (clusterMode && encodedParams != null && encodedParams.length >= 2) {
+                Long clusterCommandId = Long.valueOf(URLDecoder.decode(encodedParams[0], "UTF-8"));
+                String command = URLDecoder.decode(encodedParams[1], "UTF-8");
+                String[] params = new String[encodedParams.length - 2];
+                for (int i = 0; i < params.length; i++) {
+                    params[i] = URLDecoder.decode(encodedParams[i + 2], "UTF-8");
+                }
+
+                executeClusterCommand(clusterCommandId, command, params);
+            }
+        }
+
+        private void executeClusterCommand(Long clusterCommandId, String command, String[] params)
+                throws Exception {
+            if (clusterCommandId != null && !executedClusterCommandIds.add(clusterCommandId)) {
+                return;
+            }
+
+            BroadcastInfo broadcastInfo = broadcastInfoMap.get(command);
+            if (broadcastInfo != null) {
+                requestContextManager.getRequestContext()
+                        .setAttribute(UnifyCoreRequestAttributeConstants.SUPPRESS_BROADCAST, Boolean.TRUE);
+                try {
+                    broadcastInfo.getMethod().invoke(getComponent(broadcastInfo.getComponentName()),
+                            new Object[] { params });
+                } finally {
+                    requestContextManager.getRequestContext()
+                            .setAttribute(UnifyCoreRequestAttributeConstants.SUPPRESS_BROADCAST, Boolean.FALSE);
+                }
+            }
+        }
     }
 
     private static class ContainerCommand {
@@ -1594,7 +1785,6 @@ public class UnifyContainer {
             return command;
         }
 
-        @SuppressWarnings("unused")
         public String[] getParams() {
             return params;
         }
@@ -1670,6 +1860,87 @@ public class UnifyContainer {
         }
     }
 
+    private enum FieldInjectionType {
+        VALUE,
+        COMPONENT,
+        COMPONENT_ARRAY,
+        COMPONENT_COLLECTION,
+        COMPONENT_MAP
+    }
+
+    private static class FieldInjection {
+
+        private String property;
+
+        private Field field;
+
+        private FieldInjectionType type;
+
+        private Class<?> componentType;
+
+        private String[] configValues;
+
+        private Object convertedValue;
+
+        public FieldInjection(String property, Field field, FieldInjectionType type, Class<?> componentType,
+                String[] configValues, Object convertedValue) {
+            this.property = property;
+            this.field = field;
+            this.type = type;
+            this.componentType = componentType;
+            this.configValues = configValues;
+            this.convertedValue = convertedValue;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public FieldInjectionType getType() {
+            return type;
+        }
+
+        public Class<?> getComponentType() {
+            return componentType;
+        }
+
+        public String[] getConfigValues() {
+            return configValues;
+        }
+
+        public boolean isConfigValues() {
+            return configValues != null;
+        }
+
+        public Object getConvertedValue() {
+            return convertedValue;
+        }
+    }
+
+    private static class InjectionPlan {
+
+        private UnifyComponentConfig unifyComponentConfig;
+
+        private List<FieldInjection> fieldInjections;
+
+        public InjectionPlan(UnifyComponentConfig unifyComponentConfig, List<FieldInjection> fieldInjections) {
+            this.unifyComponentConfig = unifyComponentConfig;
+            this.fieldInjections = fieldInjections;
+        }
+
+        public UnifyComponentConfig getUnifyComponentConfig() {
+            return unifyComponentConfig;
+        }
+
+        public List<FieldInjection> getFieldInjections() {
+            return fieldInjections;
+        }
+    }
+
     private class InternalUnifyComponentInfo {
 
         private UnifyComponentConfig unifyComponentConfig;
@@ -943,4 +943,13 @@ public interface UnifyCoreErrorConstants {
 
     /** No report layout manager is available for layout name {0}. Report server = {1}*/
     String REPORTSERVER_NO_AVAILABLE_REPORTLAYOUTMANAGER = "UC_00EF";
+
+    /** Task executor queue is full. Executor = {0}, capacity = {1} */
+    String TASK_EXECUTOR_QUEUE_FULL = "UC_00F0";
+
+    /** Packed document data is invalid or has an unsupported format version {0}. */
+    String PACKABLEDOC_INVALID_PACKED_FORMAT = "UC_00F1";
+
+    /** Batch statement entry failed. Entry index = {0}, SQL = {1} */
+    String SQLEXECUTOR_BATCH_ENTRY_FAILED = "UC_00F2";
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.tcdng.unify.core.database.Entity;
+
+/**
+ * Annotation for indicating that results of a list command are cached by list
+ * manager per locale and parameters.
+ * <p>
+ * Cached results are invalidated only after a transaction that writes to one
+ * of the listed entities commits. A transaction that writes to such an entity
+ * and then reads the list sees the list as it was before the transaction. Such
+ * code should read the entities directly instead of using a cached list.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedList {
+
+    /**
+     * Cache expiry period in seconds. A negative value means list manager
+     * default.
+     */
+    long expiryPeriod() default -1;
+
+    /** Entities whose committed writes invalidate cached results */
+    Class<? extends Entity>[] entities() default {};
+}
@@ -15,17 +15,47 @@
  */
 package com.tcdng.unify.core.batch;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.RequestContext;
+import com.tcdng.unify.core.RequestContextManager;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.annotation.TransactionAttribute;
 import com.tcdng.unify.core.business.GenericService;
 import com.tcdng.unify.core.data.ValueStore;
+import com.tcdng.unify.core.database.DatabaseTransactionManager;
+import com.tcdng.unify.core.task.TaskManager;
+import com.tcdng.unify.core.task.TaskPriority;
 import com.tcdng.unify.core.util.ReflectUtils;
 
 /**
  * Convenient base class for database batch file read processor.
+ * <p>
+ * If batch file read configuration has a chunk size, records are read and
+ * converted on the calling thread, which needs the batch category of each
+ * record. The first record of each category is created with its batch record
+ * in a new transaction. Other records are collected into chunks that are
+ * written by task manager workers using batched inserts, one transaction per
+ * chunk, with item create hooks called on the worker. A failed chunk is retried
+ * and then split in halves until the failing record is isolated.
+ * <p>
+ * Chunks are committed independently of any transaction of the caller. Batch
+ * records are updated in a new transaction once per chunk, and only with the
+ * items of the chunk that were committed. Processing stops at the first record
+ * that can not be written. Items already committed are kept, chunks in flight
+ * are allowed to complete, and the batch records then match the committed
+ * items before the failure is thrown.
  * 
  * @author Lateef Ojulari
  * @since 1.0
@@ -36,6 +66,21 @@ public abstract class AbstractDBBatchFileReadProcessor<T extends BatchRecord, U
     @Configurable
     private GenericService genericService;
 
+    @Configurable(ApplicationComponents.APPLICATION_REQUESTCONTEXTMANAGER)
+    private RequestContextManager requestContextManager;
+
+    @Configurable(ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER)
+    private DatabaseTransactionManager databaseTransactionManager;
+
+    @Configurable(ApplicationComponents.APPLICATION_TASKMANAGER)
+    private TaskManager taskManager;
+
+    @Configurable("8")
+    private int maxPendingChunks;
+
+    @Configurable("1")
+    private int chunkRetries;
+
     private Class<T> batchClass;
 
     private Class<U> batchItemClass;
@@ -47,6 +92,10 @@ public abstract class AbstractDBBatchFileReadProcessor<T extends BatchRecord, U
 
     @Override
     protected Object doProcess(BatchFileReadConfig batchFileReadConfig, BatchFileReader reader) throws UnifyException {
+        if (batchFileReadConfig.isChunked()) {
+            return doChunkedProcess(batchFileReadConfig, reader);
+        }
+
         Map<String, T> batchMap = new HashMap<String, T>();
         // Start batch creation. May result in multiple batches
         // based on finding records belonging to more than one category.
@@ -99,4 +148,241 @@ public abstract class AbstractDBBatchFileReadProcessor<T extends BatchRecord, U
             throws UnifyException;
 
     protected abstract void postBatchCreate(BatchFileReadConfig batchFileReadConfig, T batch) throws UnifyException;
+
+    private Object doChunkedProcess(BatchFileReadConfig batchFileReadConfig, BatchFileReader reader)
+            throws UnifyException {
+        final int chunkSize = batchFileReadConfig.getChunkSize();
+        final int maxPending = maxPendingChunks > 0 ? maxPendingChunks : 1;
+        final RequestContext requestContext = getRequestContext();
+        Map<String, T> batchMap = new HashMap<String, T>();
+        LinkedList<Future<ChunkResult>> pendingChunks = new LinkedList<Future<ChunkResult>>();
+        UnifyException error = null;
+        try {
+            List<U> chunk = new ArrayList<U>(chunkSize);
+            U batchItem = ReflectUtils.newInstance(batchItemClass);
+            ValueStore itemStore = getValueStore(batchItem);
+            while (error == null && reader.readNextRecord(itemStore)) {
+                String category = getBatchCategory(batchItem);
+                T batch = batchMap.get(category);
+                if (batch == null) {
+                    batch = ReflectUtils.newInstance(batchClass);
+                    preBatchCreate(batchFileReadConfig, batch, batchItem);
+                    batch.setCategory(category);
+                    createBatch(batchFileReadConfig, batch, batchItem);
+                    batchMap.put(category, batch);
+                } else {
+                    batchItem.setBatchId(batch.getId());
+                    chunk.add(batchItem);
+                    if (chunk.size() >= chunkSize) {
+                        while (error == null && pendingChunks.size() >= maxPending) {
+                            error = awaitChunk(batchFileReadConfig, batchMap, pendingChunks.removeFirst());
+                        }
+
+                        if (error == null) {
+                            pendingChunks.add(taskManager.submitWork(
+                                    new ChunkWriter(batchFileReadConfig, requestContext, chunk), TaskPriority.NORMAL));
+                        }
+
+                        chunk = new ArrayList<U>(chunkSize);
+                    }
+                }
+
+                batchItem = ReflectUtils.newInstance(batchItemClass);
+                itemStore = getValueStore(batchItem);
+            }
+
+            if (error == null && !chunk.isEmpty()) {
+                pendingChunks.add(taskManager.submitWork(new ChunkWriter(batchFileReadConfig, requestContext, chunk),
+                        TaskPriority.NORMAL));
+            }
+        } finally {
+            // Committed chunks are kept so let chunks in flight complete and update batches
+            while (!pendingChunks.isEmpty()) {
+                try {
+                    UnifyException e = awaitChunk(batchFileReadConfig, batchMap, pendingChunks.removeFirst());
+                    if (error == null) {
+                        error = e;
+                    }
+                } catch (UnifyException e) {
+                    logError(e);
+                    if (error == null) {
+                        error = e;
+                    }
+                }
+            }
+        }
+
+        if (error != null) {
+            throw error;
+        }
+
+        for (T batch : batchMap.values()) {
+            postBatchCreate(batchFileReadConfig, batch);
+        }
+
+        return batchMap;
+    }
+
+    private void createBatch(BatchFileReadConfig batchFileReadConfig, T batch, U batchItem) throws UnifyException {
+        databaseTransactionManager.beginTransaction(TransactionAttribute.REQUIRES_NEW);
+        try {
+            genericService.create(batch);
+            batchItem.setBatchId(batch.getId());
+            preBatchItemCreate(batchFileReadConfig, batchItem);
+            genericService.create(batchItem);
+            postBatchItemCreate(batchFileReadConfig, batchItem);
+        } catch (UnifyException e) {
+            databaseTransactionManager.setRollback();
+            throw e;
+        } catch (RuntimeException e) {
+            databaseTransactionManager.setRollback();
+            throw e;
+        } finally {
+            databaseTransactionManager.endTransaction();
+        }
+    }
+
+    private void updateBatches(Map<String, T> batchMap, Set<String> updatedCategories) throws UnifyException {
+        databaseTransactionManager.beginTransaction(TransactionAttribute.REQUIRES_NEW);
+        try {
+            for (String category : updatedCategories) {
+                genericService.update(batchMap.get(category));
+            }
+        } catch (UnifyException e) {
+            databaseTransactionManager.setRollback();
+            throw e;
+        } catch (RuntimeException e) {
+            databaseTransactionManager.setRollback();
+            throw e;
+        } finally {
+            databaseTransactionManager.endTransaction();
+        }
+    }
+
+    /**
+     * Waits for a chunk and updates batches with items of chunk that were
+     * committed.
+     * 
+     * @param batchFileReadConfig
+     *            the batch file read configuration
+     * @param batchMap
+     *            the batches by category
+     * @param future
+     *            the chunk future
+     * @return the chunk write error if any otherwise null
+     * @throws UnifyException
+     *             if batches can not be updated
+     */
+    private UnifyException awaitChunk(BatchFileReadConfig batchFileReadConfig, Map<String, T> batchMap,
+            Future<ChunkResult> future) throws UnifyException {
+        ChunkResult result = null;
+        try {
+            result = future.get();
+        } catch (ExecutionException e) {
+            throwOperationErrorException(e);
+        } catch (InterruptedException e) {
+            throwOperationErrorException(e);
+        }
+
+        Set<String> updatedCategories = new LinkedHashSet<String>();
+        for (U batchItem : result.getCommitted()) {
+            String category = getBatchCategory(batchItem);
+            T batch = batchMap.get(category);
+            preBatchUpdate(batchFileReadConfig, batch, batchItem);
+            batch.setCategory(category);
+            updatedCategories.add(category);
+        }
+
+        if (!updatedCategories.isEmpty()) {
+            updateBatches(batchMap, updatedCategories);
+        }
+
+        return result.getError();
+    }
+
+    private void createChunk(List<U> chunk, int retries, List<U> committed) throws UnifyException {
+        try {
+            genericService.createAll(chunk);
+            committed.addAll(chunk);
+        } catch (UnifyException e) {
+            if (retries > 0) {
+                logWarn("Retrying failed batch item chunk of size [{0}]...", chunk.size());
+                createChunk(chunk, retries - 1, committed);
+            } else if (chunk.size() > 1) {
+                logWarn("Splitting failed batch item chunk of size [{0}]...", chunk.size());
+                int mid = chunk.size() / 2;
+                createChunk(chunk.subList(0, mid), 0, committed);
+                createChunk(chunk.subList(mid, chunk.size()), 0, committed);
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    private class ChunkResult {
+
+        private List<U> committed;
+
+        private UnifyException error;
+
+        public ChunkResult(List<U> committed, UnifyException error) {
+            this.committed = committed;
+            this.error = error;
+        }
+
+        public List<U> getCommitted() {
+            return committed;
+        }
+
+        public UnifyException getError() {
+            return error;
+        }
+    }
+
+    private class ChunkWriter implements Callable<ChunkResult> {
+
+        private BatchFileReadConfig batchFileReadConfig;
+
+        private RequestContext requestContext;
+
+        private List<U> chunk;
+
+        public ChunkWriter(BatchFileReadConfig batchFileReadConfig, RequestContext requestContext, List<U> chunk) {
+            this.batchFileReadConfig = batchFileReadConfig;
+            this.requestContext = requestContext;
+            this.chunk = chunk;
+        }
+
+        @Override
+        public ChunkResult call() throws Exception {
+            List<U> committed = new ArrayList<U>(chunk.size());
+            UnifyException error = null;
+            requestContextManager.loadRequestContext(requestContext);
+            try {
+                try {
+                    for (U batchItem : chunk) {
+                        preBatchItemCreate(batchFileReadConfig, batchItem);
+                    }
+
+                    createChunk(chunk, chunkRetries, committed);
+                } catch (UnifyException e) {
+                    error = e;
+                }
+
+                try {
+                    for (U batchItem : committed) {
+                        postBatchItemCreate(batchFileReadConfig, batchItem);
+                    }
+                } catch (UnifyException e) {
+                    if (error == null) {
+                        error = e;
+                    }
+                }
+            } finally {
+                requestContextManager.unloadRequestContext();
+            }
+
+            return new ChunkResult(committed, error);
+        }
+    }
 }
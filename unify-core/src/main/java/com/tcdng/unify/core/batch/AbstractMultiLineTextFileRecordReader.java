@@ -15,25 +15,61 @@
  */
 package com.tcdng.unify.core.batch;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.util.List;
 
+import com.tcdng.unify.core.UnifyCoreErrorConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.data.ValueStore;
 import com.tcdng.unify.core.format.Formatter;
+import com.tcdng.unify.core.util.DataUtils;
+import com.tcdng.unify.core.util.GetterSetterInfo;
 import com.tcdng.unify.core.util.IOUtils;
+import com.tcdng.unify.core.util.ReflectUtils;
 
 /**
  * Convenient base class for multi-line text file record reader.
+ * <p>
+ * Lines are scanned into a reusable character buffer. Implementing classes
+ * mark field boundaries in the current entry with
+ * {@link #setField(int, int, int, boolean)} instead of creating strings. Field
+ * values are converted directly to record bean property types using setters
+ * resolved once per bean type.
  * 
  * @author Lateef Ojulari
  * @since 1.0
  */
 public abstract class AbstractMultiLineTextFileRecordReader extends AbstractBatchFileReader {
 
+    private static final int BUFFER_SIZE = 8192;
+
     private BatchFileReadConfig batchFileReadConfig;
 
-    private BufferedReader reader;
+    private Reader reader;
+
+    private char[] buffer;
+
+    private int bufferPosition;
+
+    private int bufferLimit;
+
+    private boolean skipLineFeed;
+
+    private char[] entry;
+
+    private int entryLength;
+
+    private int[] fieldBegin;
+
+    private int[] fieldEnd;
+
+    private boolean[] fieldEscaped;
+
+    private Class<?> fieldSetterBeanClass;
+
+    private FieldSetter[] fieldSetters;
 
     private int entryCounter;
 
@@ -41,6 +77,19 @@ public abstract class AbstractMultiLineTextFileRecordReader extends AbstractBatc
     public void open(BatchFileReadConfig batchFileReadConfig, Object... file) throws UnifyException {
         this.batchFileReadConfig = batchFileReadConfig;
         reader = IOUtils.detectAndOpenBufferedReader(file[0]);
+        buffer = new char[BUFFER_SIZE];
+        bufferPosition = 0;
+        bufferLimit = 0;
+        skipLineFeed = false;
+        entry = new char[256];
+        entryLength = 0;
+        int fieldCount = batchFileReadConfig.getFieldConfigList().size();
+        fieldBegin = new int[fieldCount];
+        fieldEnd = new int[fieldCount];
+        fieldEscaped = new boolean[fieldCount];
+        fieldSetterBeanClass = null;
+        fieldSetters = null;
+        entryCounter = 0;
         if (batchFileReadConfig.isSkipFirstRecord()) {
             nextEntry();
         }
@@ -60,20 +109,29 @@ public abstract class AbstractMultiLineTextFileRecordReader extends AbstractBatc
     public void close() {
         IOUtils.close(reader);
         reader = null;
+        buffer = null;
+        entry = null;
     }
 
     @Override
     public boolean readNextRecord(ValueStore recordStore) throws UnifyException {
-        String[] splitRecord = readNextRecord();
-        if (splitRecord != null) {
-            int index = 0;
-            for (BatchFileFieldConfig fieldConfig : batchFileReadConfig.getFieldConfigList()) {
-                Formatter<?> formatter = null;
-                if (fieldConfig.isFormatter()) {
-                    formatter = getApplicationLocaleFormatter(fieldConfig.getFormatter());
+        if (readNextRecord()) {
+            FieldSetter[] setters = getFieldSetters(recordStore.getValueObject());
+            Object bean = recordStore.getValueObject();
+            for (int i = 0; i < setters.length; i++) {
+                FieldSetter fieldSetter = setters[i];
+                if (fieldSetter.setter != null) {
+                    try {
+                        fieldSetter.setter.invoke(bean, getFieldValue(i, fieldSetter));
+                    } catch (UnifyException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new UnifyException(e, UnifyCoreErrorConstants.BATCH_FILE_READER_ERROR,
+                                entryCounter);
+                    }
+                } else {
+                    recordStore.store(fieldSetter.property, getFieldString(i), fieldSetter.formatter);
                 }
-
-                recordStore.store(fieldConfig.getBeanFieldName(), splitRecord[index++], formatter);
             }
             return true;
         }
@@ -82,7 +140,7 @@ public abstract class AbstractMultiLineTextFileRecordReader extends AbstractBatc
 
     @Override
     public boolean skipNextRecord() throws UnifyException {
-        return readNextRecord() != null;
+        return readNextRecord();
     }
 
     protected BatchFileReadConfig getBatchFileConfig() {
@@ -93,24 +151,252 @@ public abstract class AbstractMultiLineTextFileRecordReader extends AbstractBatc
         return entryCounter;
     }
 
-    protected abstract String[] parseEntry(String entry) throws UnifyException;
+    /**
+     * Sets the boundaries of a field in the current entry. Field is trimmed if
+     * field configuration requires trimming.
+     * 
+     * @param index
+     *            the field index
+     * @param begin
+     *            the begin index in entry, inclusive
+     * @param end
+     *            the end index in entry, exclusive
+     * @param escaped
+     *            indicates field contains escaped quotes
+     * @throws UnifyException
+     *             if field is out of entry bounds
+     */
+    protected void setField(int index, int begin, int end, boolean escaped) throws UnifyException {
+        if (begin < 0 || end > entryLength || begin > end) {
+            throw new UnifyException(UnifyCoreErrorConstants.BATCH_FILE_READER_ERROR, entryCounter);
+        }
+
+        if (batchFileReadConfig.getFieldConfigList().get(index).isTrim()) {
+            while (begin < end && entry[begin] <= ' ') {
+                begin++;
+            }
+
+            while (end > begin && entry[end - 1] <= ' ') {
+                end--;
+            }
+        }
+
+        fieldBegin[index] = begin;
+        fieldEnd[index] = end;
+        fieldEscaped[index] = escaped;
+    }
+
+    /**
+     * Parses current entry by setting the boundaries of all configured fields.
+     * 
+     * @param entry
+     *            the entry buffer
+     * @param length
+     *            the entry length
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    protected abstract void parseEntry(char[] entry, int length) throws UnifyException;
 
-    private String[] readNextRecord() throws UnifyException {
-        String line = nextEntry();
-        if (line != null) {
+    private boolean readNextRecord() throws UnifyException {
+        if (nextEntry()) {
             entryCounter++;
-            return parseEntry(line);
+            parseEntry(entry, entryLength);
+            return true;
         }
 
-        return null;
+        return false;
     }
 
-    private String nextEntry() throws UnifyException {
+    private boolean nextEntry() throws UnifyException {
+        entryLength = 0;
         try {
-            return reader.readLine();
+            boolean read = false;
+            while (true) {
+                if (bufferPosition >= bufferLimit) {
+                    bufferLimit = reader.read(buffer, 0, buffer.length);
+                    bufferPosition = 0;
+                    if (bufferLimit <= 0) {
+                        bufferLimit = 0;
+                        return read;
+                    }
+                }
+
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (buffer[bufferPosition] == '\n') {
+                        bufferPosition++;
+                        continue;
+                    }
+                }
+
+                read = true;
+                int start = bufferPosition;
+                while (bufferPosition < bufferLimit) {
+                    char ch = buffer[bufferPosition];
+                    if (ch == '\n' || ch == '\r') {
+                        appendEntry(start, bufferPosition);
+                        bufferPosition++;
+                        skipLineFeed = ch == '\r';
+                        return true;
+                    }
+
+                    bufferPosition++;
+                }
+
+                appendEntry(start, bufferPosition);
+            }
         } catch (IOException e) {
             throwOperationErrorException(e);
         }
-        return null;
+
+        return false;
+    }
+
+    private void appendEntry(int start, int end) {
+        int length = end - start;
+        if (entryLength + length > entry.length) {
+            char[] newEntry = new char[Math.max(entry.length * 2, entryLength + length)];
+            System.arraycopy(entry, 0, newEntry, 0, entryLength);
+            entry = newEntry;
+        }
+
+        System.arraycopy(buffer, start, entry, entryLength, length);
+        entryLength += length;
+    }
+
+    private FieldSetter[] getFieldSetters(Object bean) throws UnifyException {
+        Class<?> beanClass = bean != null ? bean.getClass() : null;
+        if (fieldSetters == null || fieldSetterBeanClass != beanClass) {
+            List<BatchFileFieldConfig> fieldConfigList = batchFileReadConfig.getFieldConfigList();
+            FieldSetter[] setters = new FieldSetter[fieldConfigList.size()];
+            for (int i = 0; i < setters.length; i++) {
+                BatchFileFieldConfig fieldConfig = fieldConfigList.get(i);
+                Formatter<?> formatter = null;
+                if (fieldConfig.isFormatter()) {
+                    formatter = getApplicationLocaleFormatter(fieldConfig.getFormatter());
+                }
+
+                String property = fieldConfig.getBeanFieldName();
+                Method setter = null;
+                Class<?> type = null;
+                if (beanClass != null && property.indexOf('.') < 0) {
+                    GetterSetterInfo getterSetterInfo = ReflectUtils.getGetterSetterMap(beanClass).get(property);
+                    if (getterSetterInfo != null && getterSetterInfo.isSetter()
+                            && !getterSetterInfo.isParameterArgumented()
+                            && !Object.class.equals(getterSetterInfo.getType())) {
+                        setter = getterSetterInfo.getSetter();
+                        type = getterSetterInfo.getType();
+                    }
+                }
+
+                setters[i] = new FieldSetter(property, setter, type, formatter);
+            }
+
+            fieldSetterBeanClass = beanClass;
+            fieldSetters = setters;
+        }
+
+        return fieldSetters;
+    }
+
+    private Object getFieldValue(int index, FieldSetter fieldSetter) throws UnifyException {
+        if (fieldSetter.formatter == null && !fieldEscaped[index]) {
+            Class<?> type = fieldSetter.type;
+            if (String.class.equals(type)) {
+                return new String(entry, fieldBegin[index], fieldEnd[index] - fieldBegin[index]);
+            }
+
+            if (Long.class.equals(type) || long.class.equals(type)) {
+                if (isWholeNumber(index, 18)) {
+                    return Long.valueOf(parseWholeNumber(index));
+                }
+            } else if (Integer.class.equals(type) || int.class.equals(type)) {
+                if (isWholeNumber(index, 9)) {
+                    return Integer.valueOf((int) parseWholeNumber(index));
+                }
+            }
+        }
+
+        Object value = DataUtils.convert(fieldSetter.type, getFieldString(index), fieldSetter.formatter);
+        if (value == null) {
+            return DataUtils.getNullValue(fieldSetter.type);
+        }
+
+        return value;
+    }
+
+    private String getFieldString(int index) {
+        int begin = fieldBegin[index];
+        int end = fieldEnd[index];
+        if (!fieldEscaped[index]) {
+            return new String(entry, begin, end - begin);
+        }
+
+        StringBuilder sb = new StringBuilder(end - begin);
+        for (int i = begin; i < end; i++) {
+            char ch = entry[i];
+            if ((ch == '\\' || ch == '"') && i + 1 < end && entry[i + 1] == '"') {
+                ch = entry[++i];
+            }
+
+            sb.append(ch);
+        }
+
+        return sb.toString();
+    }
+
+    private boolean isWholeNumber(int index, int maxDigits) {
+        int begin = fieldBegin[index];
+        int end = fieldEnd[index];
+        if (begin < end && (entry[begin] == '-' || entry[begin] == '+')) {
+            begin++;
+        }
+
+        if (begin >= end || end - begin > maxDigits) {
+            return false;
+        }
+
+        for (int i = begin; i < end; i++) {
+            if (entry[i] < '0' || entry[i] > '9') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private long parseWholeNumber(int index) {
+        int begin = fieldBegin[index];
+        int end = fieldEnd[index];
+        boolean negative = entry[begin] == '-';
+        if (negative || entry[begin] == '+') {
+            begin++;
+        }
+
+        long value = 0;
+        for (int i = begin; i < end; i++) {
+            value = value * 10 + (entry[i] - '0');
+        }
+
+        return negative ? -value : value;
+    }
+
+    private static class FieldSetter {
+
+        private String property;
+
+        private Method setter;
+
+        private Class<?> type;
+
+        private Formatter<?> formatter;
+
+        public FieldSetter(String property, Method setter, Class<?> type, Formatter<?> formatter) {
+            this.property = property;
+            this.setter = setter;
+            this.type = type;
+            this.formatter = formatter;
+        }
     }
 }
@@ -44,14 +44,23 @@ public class BatchFileReadConfig {
 
     private boolean skipFirstRecord;
 
+    private int chunkSize;
+
     public BatchFileReadConfig(String readerName, String readProcessor, Map<String, Object> parameters,
             List<BatchFileFieldConfig> fieldConfigList, ConstraintAction onConstraint, boolean skipFirstRecord) {
+        this(readerName, readProcessor, parameters, fieldConfigList, onConstraint, skipFirstRecord, 0);
+    }
+
+    public BatchFileReadConfig(String readerName, String readProcessor, Map<String, Object> parameters,
+            List<BatchFileFieldConfig> fieldConfigList, ConstraintAction onConstraint, boolean skipFirstRecord,
+            int chunkSize) {
         this.readerName = readerName;
         this.readProcessor = readProcessor;
         this.parameters = parameters;
         this.fieldConfigList = fieldConfigList;
         this.onConstraint = onConstraint;
         this.skipFirstRecord = skipFirstRecord;
+        this.chunkSize = chunkSize;
     }
 
     public String getReaderName() {
@@ -78,6 +87,14 @@ public class BatchFileReadConfig {
         return skipFirstRecord;
     }
 
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public boolean isChunked() {
+        return chunkSize > 0;
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
@@ -96,6 +113,8 @@ public class BatchFileReadConfig {
 
         private boolean skipFirstRecord;
 
+        private int chunkSize;
+
         private Builder() {
             onConstraint = ConstraintAction.SKIP;
             skipFirstRecord = false;
@@ -116,6 +135,11 @@ public class BatchFileReadConfig {
             return this;
         }
 
+        public Builder chunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
         public Builder addFieldConfig(String beanFieldName, String fileFieldName, String formatter,
                 PadDirection padDirection, int length, boolean trim, boolean pad, boolean updateOnConstraint,
                 Character padChar) {
@@ -152,7 +176,7 @@ public class BatchFileReadConfig {
 
         public BatchFileReadConfig build() {
             return new BatchFileReadConfig(readerName, readProcessor, DataUtils.unmodifiableMap(parameters),
-                    DataUtils.unmodifiableList(fieldConfigList), onConstraint, skipFirstRecord);
+                    DataUtils.unmodifiableList(fieldConfigList), onConstraint, skipFirstRecord, chunkSize);
         }
 
         private Map<String, Object> getParameters() {
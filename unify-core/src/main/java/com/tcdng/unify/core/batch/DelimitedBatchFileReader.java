@@ -44,40 +44,47 @@ public class DelimitedBatchFileReader extends AbstractMultiLineTextFileRecordRea
     }
 
     @Override
-    protected String[] parseEntry(String entry) throws UnifyException {
-        String[] result = new String[getBatchFileConfig().getFieldConfigList().size()];
-        logDebug("Parsing delimited [{0}] in line number = {1}, delimiter = [{2}]", entry, getEntryCounter(),
-                fieldDelimiterType);
-        int index = 0;
+    protected void parseEntry(char[] entry, int length) throws UnifyException {
+        final char delimiter = fieldDelimiterType.getCharacter();
+        final int fieldCount = getBatchFileConfig().getFieldConfigList().size();
         int beginIndex = 0;
-        char ch = fieldDelimiterType.getCharacter();
-        for (BatchFileFieldConfig fieldConfig : getBatchFileConfig().getFieldConfigList()) {
-            int endIndex = 0;
-            if (entry.charAt(beginIndex) == '"') {
-                // Take care of quoted value
+        for (int index = 0; index < fieldCount; index++) {
+            if (beginIndex > length) {
+                beginIndex = length;
+            }
+
+            int endIndex = beginIndex;
+            if (beginIndex < length && entry[beginIndex] == '"') {
+                // Take care of quoted value. Quotes may be escaped as \" or ""
+                boolean escaped = false;
                 int actBeginIndex = beginIndex + 1;
-                int actEndIndex = entry.indexOf('"', actBeginIndex);
-                while (actEndIndex > 0 && entry.charAt(actEndIndex - 1) == '\\') {
-                    actEndIndex = entry.indexOf('"', actEndIndex + 1);
+                endIndex = actBeginIndex;
+                while (endIndex < length) {
+                    char ch = entry[endIndex];
+                    if ((ch == '\\' || ch == '"') && endIndex + 1 < length && entry[endIndex + 1] == '"') {
+                        escaped = true;
+                        endIndex += 2;
+                    } else if (ch == '"') {
+                        break;
+                    } else {
+                        endIndex++;
+                    }
+                }
+
+                setField(index, actBeginIndex, endIndex, escaped);
+                while (endIndex < length && entry[endIndex] != delimiter) {
+                    endIndex++;
                 }
-                result[index] = entry.substring(actBeginIndex, actEndIndex).replaceAll("\\\\\"", "\"");
-                endIndex = actEndIndex + 1;
             } else {
                 // Normal value with no quotes
-                endIndex = entry.indexOf(ch, beginIndex);
-                if (endIndex < 0) {
-                    endIndex = entry.length();
+                while (endIndex < length && entry[endIndex] != delimiter) {
+                    endIndex++;
                 }
-                result[index] = entry.substring(beginIndex, endIndex);
-            }
 
-            if (fieldConfig.isTrim()) {
-                result[index] = result[index].trim();
+                setField(index, beginIndex, endIndex, false);
             }
 
             beginIndex = endIndex + 1;
-            index++;
         }
-        return result;
     }
 }
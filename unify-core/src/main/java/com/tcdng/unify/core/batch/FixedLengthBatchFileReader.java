@@ -28,22 +28,13 @@ import com.tcdng.unify.core.annotation.Component;
 public class FixedLengthBatchFileReader extends AbstractMultiLineTextFileRecordReader {
 
     @Override
-    protected String[] parseEntry(String entry) throws UnifyException {
-        String[] result = new String[getBatchFileConfig().getFieldConfigList().size()];
-        logDebug("Parsing fixed length [{0}] in line number = {1}", entry, getEntryCounter());
+    protected void parseEntry(char[] entry, int length) throws UnifyException {
         int index = 0;
         int beginIndex = 0;
         for (BatchFileFieldConfig fieldConfig : getBatchFileConfig().getFieldConfigList()) {
             int endIndex = beginIndex + fieldConfig.getLength();
-            result[index] = entry.substring(beginIndex, endIndex);
-
-            if (fieldConfig.isTrim()) {
-                result[index] = result[index].trim();
-            }
-
+            setField(index++, beginIndex, endIndex, false);
             beginIndex = endIndex;
-            index++;
         }
-        return result;
     }
 }
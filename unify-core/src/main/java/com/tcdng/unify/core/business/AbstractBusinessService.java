@@ -25,6 +25,7 @@ import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.annotation.Transactional;
 import com.tcdng.unify.core.database.Database;
 import com.tcdng.unify.core.database.DatabaseTransactionManager;
+import com.tcdng.unify.core.database.TransactionCompletionHook;
 import com.tcdng.unify.core.database.sql.DynamicSqlDatabaseManager;
 import com.tcdng.unify.core.task.TaskLauncher;
 import com.tcdng.unify.core.task.TaskMonitor;
@@ -156,4 +157,17 @@ public abstract class AbstractBusinessService extends AbstractUnifyComponent imp
     protected void setRollbackTransactions() throws UnifyException {
         databaseTransactionManager.setRollback();
     }
+
+    /**
+     * Adds a hook that is executed when current transaction is committed or
+     * rolled back.
+     * 
+     * @param hook
+     *            the hook to add
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    protected void addTransactionCompletionHook(TransactionCompletionHook hook) throws UnifyException {
+        databaseTransactionManager.addCompletionHook(hook);
+    }
 }
@@ -21,6 +21,7 @@ import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.criterion.Update;
 import com.tcdng.unify.core.database.Entity;
 import com.tcdng.unify.core.database.Query;
+import com.tcdng.unify.core.database.RecordHandler;
 
 /**
  * Generic business service.
@@ -41,6 +42,16 @@ public interface GenericService extends BusinessService {
      */
     Object create(Entity record) throws UnifyException;
 
+    /**
+     * Creates records in database using JDBC batches in a single transaction.
+     * 
+     * @param records
+     *            the records to persist
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void createAll(List<? extends Entity> records) throws UnifyException;
+
     /**
      * Finds a persistent record by ID.
      * 
@@ -65,6 +76,21 @@ public interface GenericService extends BusinessService {
      */
     <T extends Entity> List<T> listAll(Query<T> query) throws UnifyException;
 
+    /**
+     * Finds all records that match supplied query using a cursor, passing each
+     * record to supplied handler as it is fetched. Records are not accumulated
+     * in memory.
+     * 
+     * @param query
+     *            the query to match
+     * @param recordHandler
+     *            the record handler
+     * @return number of records handled
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    <T extends Entity> int findAll(Query<T> query, RecordHandler<T> recordHandler) throws UnifyException;
+
     /**
      * Lists the value of a record's property.
      * 
@@ -24,6 +24,7 @@ import com.tcdng.unify.core.annotation.Transactional;
 import com.tcdng.unify.core.criterion.Update;
 import com.tcdng.unify.core.database.Entity;
 import com.tcdng.unify.core.database.Query;
+import com.tcdng.unify.core.database.RecordHandler;
 
 /**
  * Generic business service implementation.
@@ -40,6 +41,11 @@ public class GenericServiceImpl extends AbstractBusinessService implements Gener
         return db().create(record);
     }
 
+    @Override
+    public void createAll(List<? extends Entity> records) throws UnifyException {
+        db().createAll(records);
+    }
+
     @Override
     public <T extends Entity> T find(Class<T> clazz, Object id) throws UnifyException {
         Query<T> query = Query.of(clazz);
@@ -52,6 +58,11 @@ public class GenericServiceImpl extends AbstractBusinessService implements Gener
         return db().listAll(query);
     }
 
+    @Override
+    public <T extends Entity> int findAll(Query<T> query, RecordHandler<T> recordHandler) throws UnifyException {
+        return db().findAll(query, recordHandler);
+    }
+
     @Override
     public <T, U extends Entity> T listValue(Class<T> valueClazz, Class<U> recordClazz, Object id, String property)
             throws UnifyException {
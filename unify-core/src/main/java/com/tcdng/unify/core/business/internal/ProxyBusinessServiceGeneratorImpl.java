@@ -15,14 +15,37 @@
  */
 package com.tcdng.unify.core.business.internal;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.codec.binary.Hex;
+import org.codehaus.janino.ClassLoaderIClassLoader;
+import org.codehaus.janino.Parser;
+import org.codehaus.janino.Scanner;
 import org.codehaus.janino.SimpleCompiler;
+import org.codehaus.janino.UnitCompiler;
+import org.codehaus.janino.util.ClassFile;
 
 import com.tcdng.unify.core.AbstractUnifyComponent;
 import com.tcdng.unify.core.ApplicationComponents;
@@ -44,11 +67,20 @@ import com.tcdng.unify.core.business.BusinessLogicOutput;
 import com.tcdng.unify.core.business.BusinessLogicUnit;
 import com.tcdng.unify.core.business.BusinessService;
 import com.tcdng.unify.core.system.ClusterService;
+import com.tcdng.unify.core.util.IOUtils;
 import com.tcdng.unify.core.util.NameUtils;
 import com.tcdng.unify.core.util.ReflectUtils;
+import com.tcdng.unify.core.util.StringUtils;
 
 /**
  * Default implementation proxy business service generator.
+ * <p>
+ * If enabled, compiled proxy classes are persisted to a private cache folder
+ * keyed by a hash of the generated source. The source captures the business
+ * service method signatures, relevant annotations, plug-ins and cluster mode,
+ * so a cached class is reused on restart only if none of these changed. Cache
+ * files are signed with an HMAC and are recompiled if verification fails. This
+ * generator is thread-safe and proxies can be generated concurrently.
  * 
  * @author Lateef Ojulari
  * @since 1.0
@@ -56,6 +88,14 @@ import com.tcdng.unify.core.util.ReflectUtils;
 @Component(ApplicationComponents.APPLICATION_PROXYBUSINESSSERVICEGENERATOR)
 public class ProxyBusinessServiceGeneratorImpl extends AbstractUnifyComponent implements ProxyBusinessServiceGenerator {
 
+    private static final String CACHE_MAC_ALGORITHM = "HmacSHA256";
+
+    private static final int CACHE_MAC_LENGTH = 32;
+
+    private static final String CACHE_KEY_FILENAME = "proxycache.key";
+
+    private static final int CACHE_KEY_LENGTH = 32;
+
     @Configurable("proxy")
     private String proxyPackageExtension;
 
@@ -65,10 +105,31 @@ public class ProxyBusinessServiceGeneratorImpl extends AbstractUnifyComponent im
     @Configurable
     private boolean logSource;
 
+    @Configurable
+    private boolean persistProxyClasses;
+
+    /**
+     * Proxy class cache folder. Defaults to a folder in container working path.
+     * Caching is disabled if neither this nor a working path is set.
+     */
+    @Configurable
+    private String proxyClassCachePath;
+
+    /**
+     * Key for signing cached proxy class files. A random key is generated and
+     * kept in cache folder if not set.
+     */
+    @Configurable
+    private String proxyClassCacheKey;
+
     private Map<String, ProxyBusinessServiceMethodAnnotationInfo> annotationInfoBySignature;
 
+    private File proxyClassCacheFolder;
+
+    private byte[] proxyClassCacheMacKey;
+
     public ProxyBusinessServiceGeneratorImpl() {
-        annotationInfoBySignature = new HashMap<String, ProxyBusinessServiceMethodAnnotationInfo>();
+        annotationInfoBySignature = new ConcurrentHashMap<String, ProxyBusinessServiceMethodAnnotationInfo>();
     }
 
     @Override
@@ -338,8 +399,24 @@ public class ProxyBusinessServiceGeneratorImpl extends AbstractUnifyComponent im
             }
 
             String className = generateProxyBusinessServiceName(businessServiceClazz);
+            Map<String, byte[]> classFiles = null;
+            File cacheFile = null;
+            if (proxyClassCacheFolder != null) {
+                cacheFile = getProxyClassCacheFile(className, source);
+                classFiles = readProxyClassFiles(cacheFile, source);
+            }
+
+            if (classFiles == null) {
+                classFiles = compileProxyClassFiles(className, source);
+                if (cacheFile != null) {
+                    writeProxyClassFiles(cacheFile, className, source, classFiles);
+                }
+            } else {
+                logDebug("Using cached proxy class [{0}]...", className);
+            }
+
             SimpleCompiler compiler = new SimpleCompiler();
-            compiler.cook(new StringReader(source));
+            compiler.cook(classFiles);
             return (Class<? extends BusinessService>) compiler.getClassLoader().loadClass(className);
         } catch (UnifyException e) {
             throw e;
@@ -374,7 +451,35 @@ public class ProxyBusinessServiceGeneratorImpl extends AbstractUnifyComponent im
 
     @Override
     protected void onInitialize() throws UnifyException {
+        if (persistProxyClasses) {
+            String cachePath = proxyClassCachePath;
+            if (StringUtils.isBlank(cachePath)) {
+                String basePath = getUnifyComponentContext().getWorkingPath();
+                if (StringUtils.isBlank(basePath)) {
+                    logWarn("Proxy class caching disabled. No cache path or working path is set.");
+                    return;
+                }
 
+                cachePath = IOUtils.buildFilename(basePath, "unify-proxycache");
+            }
+
+            if (!IOUtils.ensureDirectoryExists(cachePath)) {
+                logWarn("Proxy class caching disabled. Unable to create cache folder [{0}].", cachePath);
+                return;
+            }
+
+            File folder = new File(cachePath);
+            if (!restrictToOwner(folder)) {
+                logWarn("Unable to restrict access to proxy class cache folder [{0}] to owner.", cachePath);
+            }
+
+            try {
+                proxyClassCacheMacKey = getProxyClassCacheMacKey(folder);
+                proxyClassCacheFolder = folder;
+            } catch (Exception e) {
+                logWarn("Proxy class caching disabled. Unable to obtain cache key in [{0}].", cachePath);
+            }
+        }
     }
 
     @Override
@@ -385,4 +490,169 @@ public class ProxyBusinessServiceGeneratorImpl extends AbstractUnifyComponent im
     protected boolean isNotValidTransactionMethod(int modifiers) {
         return Modifier.isAbstract(modifiers) || Modifier.isFinal(modifiers) || !Modifier.isPublic(modifiers);
     }
+
+    private Map<String, byte[]> compileProxyClassFiles(String className, String source) throws Exception {
+        Scanner scanner = new Scanner(className, new StringReader(source));
+        UnitCompiler unitCompiler = new UnitCompiler(new Parser(scanner).parseCompilationUnit(),
+                new ClassLoaderIClassLoader(Thread.currentThread().getContextClassLoader()));
+        Map<String, byte[]> classFiles = new HashMap<String, byte[]>();
+        for (ClassFile classFile : unitCompiler.compileUnit(true, true, false)) {
+            classFiles.put(classFile.getThisClassName(), classFile.toByteArray());
+        }
+
+        return classFiles;
+    }
+
+    private File getProxyClassCacheFile(String className, String source) throws Exception {
+        return new File(proxyClassCacheFolder, className + "-" + getSourceHash(source) + ".bin");
+    }
+
+    private String getSourceHash(String source) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return Hex.encodeHexString(digest.digest(source.getBytes("UTF-8")));
+    }
+
+    private byte[] computeMac(byte[] data, int length) throws Exception {
+        Mac mac = Mac.getInstance(CACHE_MAC_ALGORITHM);
+        mac.init(new SecretKeySpec(proxyClassCacheMacKey, CACHE_MAC_ALGORITHM));
+        mac.update(data, 0, length);
+        return mac.doFinal();
+    }
+
+    private Map<String, byte[]> readProxyClassFiles(File cacheFile, String source) {
+        if (cacheFile.isFile()) {
+            try {
+                byte[] data = readFile(cacheFile);
+                int bodyLength = data.length - CACHE_MAC_LENGTH;
+                if (bodyLength <= 0 || !MessageDigest.isEqual(computeMac(data, bodyLength),
+                        Arrays.copyOfRange(data, bodyLength, data.length))) {
+                    logWarn("Cached proxy class file [{0}] failed integrity check. Class will be recompiled.",
+                            cacheFile);
+                    return null;
+                }
+
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, bodyLength));
+                if (!getSourceHash(source).equals(in.readUTF())) {
+                    logWarn("Cached proxy class file [{0}] does not match source. Class will be recompiled.",
+                            cacheFile);
+                    return null;
+                }
+
+                Map<String, byte[]> classFiles = new HashMap<String, byte[]>();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    String name = in.readUTF();
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    classFiles.put(name, bytes);
+                }
+                return classFiles;
+            } catch (Exception e) {
+                logWarn("Unable to read cached proxy class file [{0}]. Class will be recompiled.", cacheFile);
+            }
+        }
+
+        return null;
+    }
+
+    private void writeProxyClassFiles(File cacheFile, String className, String source,
+            Map<String, byte[]> classFiles) {
+        File folder = cacheFile.getParentFile();
+        // Write to temporary file and rename so concurrent starts never read partial files
+        OutputStream out = null;
+        File tempFile = null;
+        try {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            DataOutputStream dout = new DataOutputStream(baos);
+            dout.writeUTF(getSourceHash(source));
+            dout.writeInt(classFiles.size());
+            for (Map.Entry<String, byte[]> entry : classFiles.entrySet()) {
+                dout.writeUTF(entry.getKey());
+                dout.writeInt(entry.getValue().length);
+                dout.write(entry.getValue());
+            }
+            dout.flush();
+            byte[] body = baos.toByteArray();
+
+            tempFile = File.createTempFile(className, ".tmp", folder);
+            out = new BufferedOutputStream(new FileOutputStream(tempFile));
+            out.write(body);
+            out.write(computeMac(body, body.length));
+            out.close();
+            out = null;
+
+            // Remove stale versions of class
+            String stalePrefix = className + "-";
+            File[] files = folder.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    if (file.getName().startsWith(stalePrefix) && !file.equals(cacheFile)) {
+                        file.delete();
+                    }
+                }
+            }
+
+            if (!tempFile.renameTo(cacheFile)) {
+                tempFile.delete();
+            }
+        } catch (Exception e) {
+            logWarn("Unable to write cached proxy class file [{0}].", cacheFile);
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+        } finally {
+            IOUtils.close(out);
+        }
+    }
+
+    private byte[] getProxyClassCacheMacKey(File folder) throws Exception {
+        if (StringUtils.isNotBlank(proxyClassCacheKey)) {
+            return proxyClassCacheKey.getBytes("UTF-8");
+        }
+
+        File keyFile = new File(folder, CACHE_KEY_FILENAME);
+        if (keyFile.isFile() && keyFile.length() == CACHE_KEY_LENGTH) {
+            return readFile(keyFile);
+        }
+
+        byte[] key = new byte[CACHE_KEY_LENGTH];
+        new SecureRandom().nextBytes(key);
+        File tempFile = File.createTempFile("proxycache", ".tmp", folder);
+        restrictToOwner(tempFile);
+        OutputStream out = new FileOutputStream(tempFile);
+        try {
+            out.write(key);
+        } finally {
+            IOUtils.close(out);
+        }
+
+        if (!tempFile.renameTo(keyFile)) {
+            tempFile.delete();
+            // Another instance created key concurrently
+            return readFile(keyFile);
+        }
+
+        return key;
+    }
+
+    private byte[] readFile(File file) throws Exception {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            byte[] data = new byte[(int) file.length()];
+            in.readFully(data);
+            return data;
+        } finally {
+            IOUtils.close(in);
+        }
+    }
+
+    private boolean restrictToOwner(File file) {
+        boolean restricted = file.setReadable(false, false) && file.setReadable(true, true);
+        restricted &= file.setWritable(false, false) && file.setWritable(true, true);
+        if (file.isDirectory()) {
+            restricted &= file.setExecutable(false, false) && file.setExecutable(true, true);
+        }
+
+        return restricted;
+    }
 }
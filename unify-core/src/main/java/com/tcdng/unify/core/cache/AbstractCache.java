@@ -16,16 +16,28 @@
 package com.tcdng.unify.core.cache;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.tcdng.unify.core.AbstractUnifyComponent;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.annotation.Expirable;
-import com.tcdng.unify.core.data.FactoryMap;
 
 /**
  * An abstract class that implements the base functionality of a cache.
+ * <p>
+ * A cache is unbounded by default. If a maximum size is set, the total weight
+ * of cached objects is kept within it using a W-TinyLFU eviction policy. Each
+ * object weighs 1 unless {@link #weigh(Object, Object)} is overridden.
+ * Expired entries are dropped on access and swept incrementally by the
+ * expiration cycle.
  * 
  * @author Lateef Ojulari
  * @since 1.0
@@ -35,16 +47,50 @@ public abstract class AbstractCache<T, U> extends AbstractUnifyComponent impleme
     @Configurable("60")
     private int defaultExpiryPeriod;
 
-    private FactoryMap<T, CacheEntry> cacheEntries;
+    /**
+     * Maximum total weight of cached objects. Zero for an unbounded cache.
+     */
+    @Configurable("0")
+    private long maxSize;
+
+    /**
+     * Maximum number of entries checked for expiry per expiration cycle.
+     */
+    @Configurable("2000")
+    private int expiryScanBatchSize;
+
+    private ConcurrentHashMap<T, CacheEntry> cacheEntries;
+
+    private ConcurrentHashMap<T, FutureTask<U>> loadingTasks;
+
+    private WTinyLfuPolicy<T> evictionPolicy;
+
+    private ReentrantLock evictionLock;
+
+    private Iterator<Map.Entry<T, CacheEntry>> expiryScanIterator;
+
+    private AtomicLong hitCount;
+
+    private AtomicLong missCount;
+
+    private AtomicLong loadCount;
+
+    private AtomicLong loadFailureCount;
+
+    private AtomicLong evictionCount;
+
+    private AtomicLong totalLoadTime;
 
     public AbstractCache() {
-        cacheEntries = new FactoryMap<T, CacheEntry>() {
-            @SuppressWarnings("unchecked")
-            @Override
-            protected CacheEntry create(T key, Object... params) throws Exception {
-                return new CacheEntry((U) params[0], (Long) params[1]);
-            }
-        };
+        cacheEntries = new ConcurrentHashMap<T, CacheEntry>();
+        loadingTasks = new ConcurrentHashMap<T, FutureTask<U>>();
+        evictionLock = new ReentrantLock();
+        hitCount = new AtomicLong();
+        missCount = new AtomicLong();
+        loadCount = new AtomicLong();
+        loadFailureCount = new AtomicLong();
+        evictionCount = new AtomicLong();
+        totalLoadTime = new AtomicLong();
     }
 
     @Override
@@ -54,27 +100,133 @@ public abstract class AbstractCache<T, U> extends AbstractUnifyComponent impleme
 
     @Override
     public U put(T key, U object, long expiryPeriod) throws UnifyException {
-        cacheEntries.remove(key);
-        cacheEntries.get(key, object, expiryPeriod);
+        CacheEntry cacheEntry = new CacheEntry(object, expiryPeriod);
+        if (!isBounded()) {
+            cacheEntries.put(key, cacheEntry);
+            return object;
+        }
+
+        evictionLock.lock();
+        try {
+            if (cacheEntries.put(key, cacheEntry) != null) {
+                getEvictionPolicy().remove(key);
+            }
+
+            List<T> evictedList = getEvictionPolicy().add(key, weigh(key, object));
+            for (T evictedKey : evictedList) {
+                cacheEntries.remove(evictedKey);
+            }
+
+            evictionCount.addAndGet(evictedList.size());
+        } finally {
+            evictionLock.unlock();
+        }
+
         return object;
     }
 
     @Override
     public U get(T key) throws UnifyException {
-        if (cacheEntries.isKey(key)) {
-            return cacheEntries.get(key).getObject();
+        U object = getCachedObject(key);
+        if (object != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
         }
+
+        return object;
+    }
+
+    @Override
+    public U get(T key, CacheLoader<T, U> loader) throws UnifyException {
+        return get(key, loader, defaultExpiryPeriod);
+    }
+
+    @Override
+    public U get(final T key, final CacheLoader<T, U> loader, final long expiryPeriod) throws UnifyException {
+        U object = get(key);
+        if (object != null) {
+            return object;
+        }
+
+        // Only first of concurrent missing calls for key loads value
+        FutureTask<U> loadingTask = new FutureTask<U>(new Callable<U>() {
+            @Override
+            public U call() throws Exception {
+                return load(key, loader, expiryPeriod);
+            }
+        });
+
+        FutureTask<U> existingTask = loadingTasks.putIfAbsent(key, loadingTask);
+        if (existingTask == null) {
+            try {
+                loadingTask.run();
+            } finally {
+                loadingTasks.remove(key, loadingTask);
+            }
+        } else {
+            loadingTask = existingTask;
+        }
+
+        try {
+            return loadingTask.get();
+        } catch (ExecutionException e) {
+            // Loader failures reach caller as they were thrown
+            Throwable cause = e.getCause();
+            if (cause instanceof UnifyException) {
+                throw (UnifyException) cause;
+            }
+
+            throwOperationErrorException(cause instanceof Exception ? (Exception) cause : e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throwOperationErrorException(e);
+        }
+
         return null;
     }
 
     @Override
     public U remove(T key) throws UnifyException {
-        return cacheEntries.remove(key).getObject();
+        CacheEntry cacheEntry = null;
+        if (!isBounded()) {
+            cacheEntry = cacheEntries.remove(key);
+        } else {
+            evictionLock.lock();
+            try {
+                cacheEntry = cacheEntries.remove(key);
+                if (cacheEntry != null) {
+                    getEvictionPolicy().remove(key);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+
+        if (cacheEntry != null) {
+            return cacheEntry.object;
+        }
+
+        return null;
     }
 
     @Override
     public void clear() throws UnifyException {
-        cacheEntries.clear();
+        if (!isBounded()) {
+            cacheEntries.clear();
+        } else {
+            evictionLock.lock();
+            try {
+                cacheEntries.clear();
+                getEvictionPolicy().clear();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+
+        synchronized (this) {
+            expiryScanIterator = null;
+        }
     }
 
     @Override
@@ -82,15 +234,36 @@ public abstract class AbstractCache<T, U> extends AbstractUnifyComponent impleme
         return cacheEntries.size();
     }
 
+    @Override
+    public CacheStats getStats() {
+        return new CacheStats(hitCount.get(), missCount.get(), loadCount.get(), loadFailureCount.get(),
+                evictionCount.get(), totalLoadTime.get());
+    }
+
     @Override
     @Expirable(cycleInSec = 20)
-    public void removeExpiredCacheEntries() throws UnifyException {
+    public synchronized void removeExpiredCacheEntries() throws UnifyException {
+        // Resume sweep from last position. Start a new sweep at most once per call.
         long currentTime = System.currentTimeMillis();
-        for (Iterator<Map.Entry<T, CacheEntry>> it = cacheEntries.entrySet().iterator(); it.hasNext();) {
-            Map.Entry<T, CacheEntry> entry = it.next();
-            if (currentTime >= entry.getValue().getTimeToExpire()) {
-                it.remove();
+        boolean restarted = false;
+        int scanned = 0;
+        while (scanned < expiryScanBatchSize) {
+            if (expiryScanIterator == null || !expiryScanIterator.hasNext()) {
+                if (restarted) {
+                    break;
+                }
+
+                expiryScanIterator = cacheEntries.entrySet().iterator();
+                restarted = true;
+                continue;
             }
+
+            Map.Entry<T, CacheEntry> entry = expiryScanIterator.next();
+            if (entry.getValue().isExpired(currentTime)) {
+                removeExpired(entry.getKey(), entry.getValue());
+            }
+
+            scanned++;
         }
     }
 
@@ -104,27 +277,132 @@ public abstract class AbstractCache<T, U> extends AbstractUnifyComponent impleme
 
     }
 
+    /**
+     * Returns the weight of a cached object. Total weight of cached objects is
+     * bounded by maximum size. Default weight is 1.
+     * 
+     * @param key
+     *            the object key
+     * @param object
+     *            the cached object
+     * @return the object weight
+     */
+    protected long weigh(T key, U object) {
+        return 1L;
+    }
+
+    /**
+     * Returns the expected number of entries of a bounded cache. Used to size the
+     * eviction policy frequency sketch. Default is maximum size since each object
+     * weighs 1. Caches that override {@link #weigh(Object, Object)} should
+     * override this.
+     * 
+     * @param maxSize
+     *            the maximum total weight of cached objects
+     * @return the expected number of entries
+     */
+    protected long getExpectedEntryCount(long maxSize) {
+        return maxSize;
+    }
+
+    private U getCachedObject(T key) {
+        CacheEntry cacheEntry = cacheEntries.get(key);
+        if (cacheEntry != null) {
+            long currentTime = System.currentTimeMillis();
+            if (cacheEntry.isExpired(currentTime)) {
+                removeExpired(key, cacheEntry);
+                return null;
+            }
+
+            // Skip recording access under contention
+            if (isBounded() && evictionLock.tryLock()) {
+                try {
+                    getEvictionPolicy().recordAccess(key);
+                } finally {
+                    evictionLock.unlock();
+                }
+            }
+
+            return cacheEntry.getObject(currentTime);
+        }
+
+        return null;
+    }
+
+    private U load(T key, CacheLoader<T, U> loader, long expiryPeriod) throws UnifyException {
+        U object = getCachedObject(key);
+        if (object == null) {
+            long startTime = System.nanoTime();
+            try {
+                object = loader.load(key);
+                loadCount.incrementAndGet();
+            } catch (UnifyException e) {
+                loadFailureCount.incrementAndGet();
+                throw e;
+            } finally {
+                totalLoadTime.addAndGet(System.nanoTime() - startTime);
+            }
+
+            if (object != null) {
+                put(key, object, expiryPeriod);
+            }
+        }
+
+        return object;
+    }
+
+    private void removeExpired(T key, CacheEntry cacheEntry) {
+        if (!isBounded()) {
+            cacheEntries.remove(key, cacheEntry);
+        } else {
+            evictionLock.lock();
+            try {
+                if (cacheEntries.remove(key, cacheEntry)) {
+                    getEvictionPolicy().remove(key);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private boolean isBounded() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Returns eviction policy, creating it on first use. Must be called with
+     * eviction lock held.
+     */
+    private WTinyLfuPolicy<T> getEvictionPolicy() {
+        if (evictionPolicy == null) {
+            evictionPolicy = new WTinyLfuPolicy<T>(maxSize, getExpectedEntryCount(maxSize));
+        }
+
+        return evictionPolicy;
+    }
+
     private class CacheEntry {
 
         private U object;
 
         private long expiryPeriod;
 
-        private long timeToExpire;
+        private volatile long timeToExpire;
 
         public CacheEntry(U object, long expiryPeriod) {
             this.expiryPeriod = expiryPeriod * 1000L;
             this.object = object;
-            getObject();
+            getObject(System.currentTimeMillis());
         }
 
-        public U getObject() {
-            timeToExpire = System.currentTimeMillis() + expiryPeriod;
+        public U getObject(long currentTime) {
+            timeToExpire = currentTime + expiryPeriod;
             return object;
         }
 
-        public long getTimeToExpire() {
-            return timeToExpire;
+        public boolean isExpired(long currentTime) {
+            return currentTime >= timeToExpire;
         }
     }
 }
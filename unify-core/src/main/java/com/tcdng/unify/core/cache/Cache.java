@@ -68,6 +68,38 @@ public interface Cache<T, U> extends UnifyComponent {
      */
     U get(T key) throws UnifyException;
 
+    /**
+     * Gets a cached object with specified key, loading and caching the object
+     * with supplied loader if missing. Concurrent calls for the same missing key
+     * wait on a single load.
+     * 
+     * @param key
+     *            the object key
+     * @param loader
+     *            the loader for missing object
+     * @return the cached or loaded object
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    U get(T key, CacheLoader<T, U> loader) throws UnifyException;
+
+    /**
+     * Gets a cached object with specified key, loading and caching the object
+     * with supplied loader and expiration period if missing. Concurrent calls for
+     * the same missing key wait on a single load.
+     * 
+     * @param key
+     *            the object key
+     * @param loader
+     *            the loader for missing object
+     * @param expirationPeriod
+     *            the expiration period for loaded object
+     * @return the cached or loaded object
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    U get(T key, CacheLoader<T, U> loader, long expirationPeriod) throws UnifyException;
+
     /**
      * Removes cache item with specified key.
      * 
@@ -92,6 +124,11 @@ public interface Cache<T, U> extends UnifyComponent {
      */
     int size();
 
+    /**
+     * Returns a snapshot of this cache's hit, miss, load and eviction statistics.
+     */
+    CacheStats getStats();
+
     /**
      * Removes expired cache objects.
      * 
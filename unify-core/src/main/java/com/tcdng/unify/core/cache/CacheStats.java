@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.cache;
+
+/**
+ * Cache statistics snapshot.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class CacheStats {
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long loadCount;
+
+    private long loadFailureCount;
+
+    private long evictionCount;
+
+    private long totalLoadTime;
+
+    public CacheStats(long hitCount, long missCount, long loadCount, long loadFailureCount, long evictionCount,
+            long totalLoadTime) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadCount = loadCount;
+        this.loadFailureCount = loadFailureCount;
+        this.evictionCount = evictionCount;
+        this.totalLoadTime = totalLoadTime;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    public long getLoadFailureCount() {
+        return loadFailureCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns total time spent loading values in nanoseconds.
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * Returns average time spent loading a value in nanoseconds.
+     */
+    public double getAverageLoadTime() {
+        long totalLoads = loadCount + loadFailureCount;
+        return totalLoads == 0 ? 0.0 : (double) totalLoadTime / totalLoads;
+    }
+}
@@ -21,6 +21,7 @@ import java.io.InputStream;
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
 
 /**
  * Default implementation of a file cache.
@@ -31,6 +32,22 @@ import com.tcdng.unify.core.annotation.Component;
 @Component(ApplicationComponents.APPLICATION_FILECACHE)
 public class FileCacheImpl extends AbstractTransformCache<String, byte[], InputStream> implements FileCache {
 
+    /**
+     * Expected number of cached files. Maximum size of this cache is in bytes.
+     */
+    @Configurable("1024")
+    private long expectedFileCount;
+
+    @Override
+    protected long weigh(String key, byte[] object) {
+        return object != null ? object.length : 1L;
+    }
+
+    @Override
+    protected long getExpectedEntryCount(long maxSize) {
+        return expectedFileCount;
+    }
+
     @Override
     protected InputStream transformCachedObject(byte[] cachedObject) throws UnifyException {
         if (cachedObject != null) {
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.cache;
+
+/**
+ * Approximate access frequency counter for cache admission. Uses a count-min
+ * sketch of small saturating counters that are halved periodically so that
+ * old accesses age out.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+class FrequencySketch {
+
+    private static final long[] SEEDS =
+            { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+
+    private static final int MAX_FREQUENCY = 15;
+
+    private int[] table;
+
+    private int tableMask;
+
+    private int sampleSize;
+
+    private int additions;
+
+    /**
+     * Creates a sketch for an expected number of distinct entries.
+     * 
+     * @param expectedEntries
+     *            the expected number of entries
+     */
+    public FrequencySketch(long expectedEntries) {
+        ensureCapacity(expectedEntries);
+    }
+
+    /**
+     * Grows sketch if it is too small for supplied number of entries. Counts are
+     * cleared when sketch grows.
+     * 
+     * @param expectedEntries
+     *            the expected number of entries
+     */
+    public void ensureCapacity(long expectedEntries) {
+        int capacity = (int) Math.min(Math.max(expectedEntries, 16L), 1 << 24);
+        int tableLength = Integer.highestOneBit(capacity - 1) << 1;
+        if (table == null || tableLength > table.length) {
+            table = new int[tableLength];
+            tableMask = tableLength - 1;
+            sampleSize = capacity * 10;
+            additions = 0;
+        }
+    }
+
+    public void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int index = indexOf(hash, i);
+            if (table[index] < MAX_FREQUENCY) {
+                table[index]++;
+                added = true;
+            }
+        }
+
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    public int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            frequency = Math.min(frequency, table[indexOf(hash, i)]);
+        }
+
+        return frequency;
+    }
+
+    public void clear() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = 0;
+        }
+
+        additions = 0;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>>= 1;
+        }
+
+        additions >>>= 1;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return ((int) h) & tableMask;
+    }
+
+    private int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.cache;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Window TinyLFU eviction policy. New keys enter a small LRU window. Keys
+ * leaving the window compete for admission into a segmented LRU main space
+ * against the main space eviction victim, and the key with the higher
+ * estimated access frequency is kept. Main space is split into a probation
+ * segment and a protected segment for keys accessed more than once.
+ * <p>
+ * Not thread-safe. Callers must synchronize access.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+class WTinyLfuPolicy<T> {
+
+    private FrequencySketch sketch;
+
+    private Segment<T> window;
+
+    private Segment<T> probation;
+
+    private Segment<T> protectedSegment;
+
+    private long maximumWeight;
+
+    /**
+     * Creates a policy.
+     * 
+     * @param maximumWeight
+     *            the maximum total weight of keys
+     * @param expectedEntries
+     *            the expected number of keys. Sizes the frequency sketch, which
+     *            grows if more keys are held.
+     */
+    public WTinyLfuPolicy(long maximumWeight, long expectedEntries) {
+        this.maximumWeight = maximumWeight;
+        long windowMaximum = Math.max(1L, maximumWeight / 100);
+        long mainMaximum = maximumWeight - windowMaximum;
+        sketch = new FrequencySketch(Math.min(expectedEntries, maximumWeight));
+        window = new Segment<T>(windowMaximum);
+        probation = new Segment<T>(mainMaximum);
+        protectedSegment = new Segment<T>(mainMaximum * 80 / 100);
+    }
+
+    /**
+     * Records an access to a key.
+     */
+    public void recordAccess(T key) {
+        sketch.increment(key);
+        Long weight = window.remove(key);
+        if (weight != null) {
+            window.add(key, weight);
+            return;
+        }
+
+        weight = probation.remove(key);
+        if (weight != null) {
+            // Promote and demote overflow back to probation
+            protectedSegment.add(key, weight);
+            while (protectedSegment.isOverflow()) {
+                Map.Entry<T, Long> eldest = protectedSegment.removeEldest();
+                probation.add(eldest.getKey(), eldest.getValue());
+            }
+            return;
+        }
+
+        weight = protectedSegment.remove(key);
+        if (weight != null) {
+            protectedSegment.add(key, weight);
+        }
+    }
+
+    /**
+     * Adds a new key to policy.
+     * 
+     * @param key
+     *            the key to add
+     * @param weight
+     *            the key weight
+     * @return keys evicted to keep policy within maximum weight
+     */
+    public List<T> add(T key, long weight) {
+        sketch.increment(key);
+        List<T> evictedList = new ArrayList<T>();
+        if (weight > maximumWeight) {
+            evictedList.add(key);
+            return evictedList;
+        }
+
+        window.add(key, weight);
+
+        // Move window overflow to main space as admission candidates
+        List<T> candidateList = new ArrayList<T>();
+        while (window.isOverflow()) {
+            Map.Entry<T, Long> eldest = window.removeEldest();
+            probation.add(eldest.getKey(), eldest.getValue());
+            candidateList.add(eldest.getKey());
+        }
+
+        for (T candidate : candidateList) {
+            if (!isMainOverflow()) {
+                break;
+            }
+
+            T victim = probation.eldestKey();
+            if (victim.equals(candidate) || sketch.frequency(candidate) > sketch.frequency(victim)) {
+                evictProbation(victim, evictedList);
+            } else {
+                evictProbation(candidate, evictedList);
+            }
+        }
+
+        while (isMainOverflow()) {
+            if (!probation.isEmpty()) {
+                evictProbation(probation.eldestKey(), evictedList);
+            } else {
+                evictedList.add(protectedSegment.removeEldest().getKey());
+            }
+        }
+
+        sketch.ensureCapacity(window.size() + probation.size() + protectedSegment.size());
+        return evictedList;
+    }
+
+    /**
+     * Removes a key from policy.
+     */
+    public void remove(T key) {
+        if (window.remove(key) == null && probation.remove(key) == null) {
+            protectedSegment.remove(key);
+        }
+    }
+
+    /**
+     * Returns estimated access frequency of a key.
+     */
+    public int frequency(T key) {
+        return sketch.frequency(key);
+    }
+
+    public void clear() {
+        sketch.clear();
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    private boolean isMainOverflow() {
+        return probation.getWeight() + protectedSegment.getWeight() > probation.getMaximumWeight();
+    }
+
+    private void evictProbation(T key, List<T> evictedList) {
+        probation.remove(key);
+        evictedList.add(key);
+    }
+
+    private static class Segment<T> {
+
+        private LinkedHashMap<T, Long> entries;
+
+        private long maximumWeight;
+
+        private long weight;
+
+        public Segment(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+            entries = new LinkedHashMap<T, Long>();
+        }
+
+        public void add(T key, Long keyWeight) {
+            entries.put(key, keyWeight);
+            weight += keyWeight;
+        }
+
+        public Long remove(T key) {
+            Long keyWeight = entries.remove(key);
+            if (keyWeight != null) {
+                weight -= keyWeight;
+            }
+
+            return keyWeight;
+        }
+
+        public T eldestKey() {
+            return entries.keySet().iterator().next();
+        }
+
+        public Map.Entry<T, Long> removeEldest() {
+            Iterator<Map.Entry<T, Long>> it = entries.entrySet().iterator();
+            Map.Entry<T, Long> eldest = new AbstractMap.SimpleEntry<T, Long>(it.next());
+            it.remove();
+            weight -= eldest.getValue();
+            return eldest;
+        }
+
+        public boolean isOverflow() {
+            return weight > maximumWeight && !entries.isEmpty();
+        }
+
+        public boolean isEmpty() {
+            return entries.isEmpty();
+        }
+
+        public int size() {
+            return entries.size();
+        }
+
+        public long getWeight() {
+            return weight;
+        }
+
+        public long getMaximumWeight() {
+            return maximumWeight;
+        }
+
+        public void clear() {
+            entries.clear();
+            weight = 0;
+        }
+    }
+}
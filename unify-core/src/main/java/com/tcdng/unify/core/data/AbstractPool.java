@@ -15,18 +15,24 @@
  */
 package com.tcdng.unify.core.data;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.tcdng.unify.core.UnifyCoreErrorConstants;
 import com.tcdng.unify.core.UnifyException;
 
 /**
  * An abstract generic pool that provides basic object pooling functionality.
+ * Borrowed objects are tracked by identity in a concurrent map so borrow and
+ * return do not contend on a global lock.
  * 
  * @author Lateef Ojulari
  * @since 1.0
@@ -35,14 +41,30 @@ public abstract class AbstractPool<T> {
 
     private Semaphore semaphore;
 
-    private Queue<T> availableObjects;
+    private Queue<PooledObject<T>> availableObjects;
 
-    private Set<T> servedObjects;
+    private ConcurrentMap<ObjectKey, PooledObject<T>> servedObjects;
+
+    private AtomicLong borrowCount;
+
+    private AtomicLong returnCount;
+
+    private AtomicLong timeoutCount;
+
+    private AtomicLong evictionCount;
+
+    private AtomicInteger waitingCount;
 
     private long getTimeout;
 
+    private long maxIdleTime;
+
     private int minSize;
 
+    private int maxSize;
+
+    private int maxUses;
+
     private boolean executeOnGet;
 
     public AbstractPool(long getTimeout, int minSize, int maxSize) {
@@ -50,21 +72,53 @@ public abstract class AbstractPool<T> {
     }
 
     public AbstractPool(long getTimeout, int minSize, int maxSize, boolean executeOnGet) {
+        this(getTimeout, minSize, maxSize, executeOnGet, 0, 0);
+    }
+
+    /**
+     * Constructs a pool with eviction settings.
+     * 
+     * @param getTimeout
+     *            the borrow timeout in milliseconds
+     * @param minSize
+     *            the minimum pool size
+     * @param maxSize
+     *            the maximum pool size
+     * @param executeOnGet
+     *            indicates {@link #onGetObject(Object, Object...)} should be
+     *            called on every borrow
+     * @param maxIdleTime
+     *            the maximum time in milliseconds an object can stay idle in pool.
+     *            Zero means no limit.
+     * @param maxUses
+     *            the maximum number of times an object can be borrowed. Zero means
+     *            no limit.
+     */
+    public AbstractPool(long getTimeout, int minSize, int maxSize, boolean executeOnGet, long maxIdleTime,
+            int maxUses) {
         this.getTimeout = getTimeout;
         this.minSize = minSize;
+        this.maxSize = maxSize;
         this.executeOnGet = executeOnGet;
+        this.maxIdleTime = maxIdleTime;
+        this.maxUses = maxUses;
         if (minSize > maxSize) {
             this.minSize = maxSize;
         }
         semaphore = new Semaphore(maxSize);
-        availableObjects = new ConcurrentLinkedQueue<T>();
-        servedObjects = new HashSet<T>();
+        availableObjects = new ConcurrentLinkedQueue<PooledObject<T>>();
+        servedObjects = new ConcurrentHashMap<ObjectKey, PooledObject<T>>();
+        borrowCount = new AtomicLong();
+        returnCount = new AtomicLong();
+        timeoutCount = new AtomicLong();
+        evictionCount = new AtomicLong();
+        waitingCount = new AtomicInteger();
     }
 
     public void initialize() throws UnifyException {
         try {
             for (int i = 0; i < minSize; i++) {
-                availableObjects.add(createObject());
+                availableObjects.add(new PooledObject<T>(createObject()));
             }
         } catch (UnifyException e) {
             throw e;
@@ -75,11 +129,11 @@ public abstract class AbstractPool<T> {
 
     public void terminate() throws UnifyException {
         semaphore.drainPermits();
-        for (T object : availableObjects) {
-            destroyObject(object);
+        PooledObject<T> pooledObject = null;
+        while ((pooledObject = availableObjects.poll()) != null) {
+            destroyObject(pooledObject.getObject());
         }
 
-        availableObjects.clear();
         servedObjects.clear();
     }
 
@@ -91,46 +145,76 @@ public abstract class AbstractPool<T> {
         return availableObjects.size() + servedObjects.size();
     }
 
+    public int idle() {
+        return availableObjects.size();
+    }
+
+    public int borrowed() {
+        return servedObjects.size();
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    public long getReturnCount() {
+        return returnCount.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Returns the number of threads currently blocked waiting for an object to
+     * become available.
+     */
+    public int getWaitingCount() {
+        return waitingCount.get();
+    }
+
     public T borrowObject(Object... params) throws UnifyException {
         try {
-            T object = null;
-            if (semaphore.tryAcquire(getTimeout, TimeUnit.MILLISECONDS)) {
-                object = availableObjects.poll();
-                boolean createNew = object == null;
-
-                if (!createNew) {
-                    if (executeOnGet) {
-                        try {
-                            onGetObject(object, params);
-                        } catch (Exception e) {
-                            createNew = true;
-                            destroyObject(object);
-                        }
-                    }
+            if (!semaphore.tryAcquire()) {
+                boolean acquired = false;
+                waitingCount.incrementAndGet();
+                try {
+                    acquired = semaphore.tryAcquire(getTimeout, TimeUnit.MILLISECONDS);
+                } finally {
+                    waitingCount.decrementAndGet();
                 }
 
-                if (createNew) {
-                    try {
-                        object = createObject();
-                        if (executeOnGet) {
-                            onGetObject(object, params);
-                        }
-                    } catch (Exception e) {
-                        semaphore.release();
-                        if (object != null) {
-                            destroyObject(object);
-                        }
-                        throw e;
-                    }
+                if (!acquired) {
+                    timeoutCount.incrementAndGet();
+                    throw new UnifyException(UnifyCoreErrorConstants.GENERIC_OBJECT_POOL_TIMEOUT);
                 }
             }
 
-            if (object == null) {
-                throw new UnifyException(UnifyCoreErrorConstants.GENERIC_OBJECT_POOL_TIMEOUT);
+            PooledObject<T> pooledObject = null;
+            try {
+                pooledObject = pollAvailableObject(params);
+                if (pooledObject == null) {
+                    pooledObject = new PooledObject<T>(createObject());
+                    if (executeOnGet) {
+                        onGetObject(pooledObject.getObject(), params);
+                    }
+                }
+            } catch (Exception e) {
+                semaphore.release();
+                if (pooledObject != null) {
+                    destroyObject(pooledObject.getObject());
+                }
+                throw e;
             }
 
-            servedObjects.add(object);
-            return object;
+            pooledObject.incrementUseCount();
+            servedObjects.put(new ObjectKey(pooledObject.getObject()), pooledObject);
+            borrowCount.incrementAndGet();
+            return pooledObject.getObject();
         } catch (UnifyException e) {
             throw e;
         } catch (Exception e) {
@@ -139,8 +223,17 @@ public abstract class AbstractPool<T> {
     }
 
     public boolean returnObject(T object) {
-        if (object != null && servedObjects.remove(object)) {
-            if (availableObjects.offer(object)) {
+        if (object != null) {
+            PooledObject<T> pooledObject = servedObjects.remove(new ObjectKey(object));
+            if (pooledObject != null) {
+                returnCount.incrementAndGet();
+                if (maxUses > 0 && pooledObject.getUseCount() >= maxUses) {
+                    evict(pooledObject, PoolEvictionType.MAX_USE);
+                } else {
+                    pooledObject.setLastReturnTime(System.currentTimeMillis());
+                    availableObjects.offer(pooledObject);
+                }
+
                 semaphore.release();
                 return true;
             }
@@ -148,18 +241,227 @@ public abstract class AbstractPool<T> {
         return false;
     }
 
+    /**
+     * Removes a borrowed or idle object from pool without destroying it.
+     * 
+     * @param object
+     *            the object to remove
+     * @return true if object was removed otherwise false
+     */
     public boolean removeObject(T object) {
-        if (availableObjects.remove(object)) {
-            servedObjects.remove(object);
-            semaphore.release();
+        if (object != null) {
+            if (servedObjects.remove(new ObjectKey(object)) != null) {
+                semaphore.release();
+                return true;
+            }
+
+            PooledObject<T> pooledObject = findIdleObject(object);
+            return pooledObject != null && availableObjects.remove(pooledObject);
+        }
+        return false;
+    }
+
+    /**
+     * Evicts idle objects that have stayed in pool beyond maximum idle time while
+     * keeping minimum pool size.
+     * 
+     * @return the number of evicted objects
+     */
+    public int evictIdleObjects() {
+        return evictIdleObjects(minSize);
+    }
+
+    /**
+     * Evicts idle objects that have stayed in pool beyond maximum idle time while
+     * keeping supplied minimum number of idle objects.
+     * 
+     * @param minIdleObjects
+     *            the minimum number of idle objects to keep
+     * @return the number of evicted objects
+     */
+    public int evictIdleObjects(int minIdleObjects) {
+        int evicted = 0;
+        if (maxIdleTime > 0) {
+            long now = System.currentTimeMillis();
+            for (PooledObject<T> pooledObject : availableObjects) {
+                if (availableObjects.size() <= minIdleObjects) {
+                    break;
+                }
+
+                if ((now - pooledObject.getLastReturnTime()) >= maxIdleTime && availableObjects.remove(pooledObject)) {
+                    evict(pooledObject, PoolEvictionType.IDLE_TIME);
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Returns a snapshot of objects currently idle in pool.
+     */
+    protected List<T> getIdleObjects() {
+        List<T> list = new ArrayList<T>();
+        for (PooledObject<T> pooledObject : availableObjects) {
+            list.add(pooledObject.getObject());
+        }
+        return list;
+    }
+
+    /**
+     * Evicts and destroys an idle object.
+     * 
+     * @param object
+     *            the object to evict
+     * @param type
+     *            the eviction type
+     * @return true if object was idle and is evicted otherwise false
+     */
+    protected boolean evictIdleObject(T object, PoolEvictionType type) {
+        PooledObject<T> pooledObject = findIdleObject(object);
+        if (pooledObject != null && availableObjects.remove(pooledObject)) {
+            evict(pooledObject, type);
             return true;
         }
         return false;
     }
 
+    /**
+     * Creates a new idle object if pool is not full.
+     * 
+     * @return true if an object was added otherwise false
+     * @throws Exception
+     *             if an error occurs
+     */
+    protected synchronized boolean addIdleObject() throws Exception {
+        // Hold a permit so concurrent borrowers can not push pool beyond maximum
+        if (!semaphore.tryAcquire()) {
+            return false;
+        }
+
+        try {
+            if (size() < maxSize) {
+                return availableObjects.offer(new PooledObject<T>(createObject()));
+            }
+            return false;
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * Called when an object is evicted from pool, before it is destroyed.
+     * 
+     * @param object
+     *            the evicted object
+     * @param type
+     *            the eviction type
+     */
+    protected void onEvictObject(T object, PoolEvictionType type) {
+
+    }
+
     protected abstract T createObject(Object... params) throws Exception;
 
     protected abstract void onGetObject(T object, Object... params) throws Exception;
 
     protected abstract void destroyObject(T object);
+
+    private PooledObject<T> pollAvailableObject(Object... params) {
+        PooledObject<T> pooledObject = null;
+        while ((pooledObject = availableObjects.poll()) != null) {
+            if (maxIdleTime > 0 && (System.currentTimeMillis() - pooledObject.getLastReturnTime()) >= maxIdleTime) {
+                evict(pooledObject, PoolEvictionType.IDLE_TIME);
+                continue;
+            }
+
+            if (executeOnGet) {
+                try {
+                    onGetObject(pooledObject.getObject(), params);
+                } catch (Exception e) {
+                    destroyObject(pooledObject.getObject());
+                    return null;
+                }
+            }
+
+            return pooledObject;
+        }
+
+        return null;
+    }
+
+    private PooledObject<T> findIdleObject(T object) {
+        for (PooledObject<T> pooledObject : availableObjects) {
+            if (pooledObject.getObject() == object) {
+                return pooledObject;
+            }
+        }
+        return null;
+    }
+
+    private void evict(PooledObject<T> pooledObject, PoolEvictionType type) {
+        evictionCount.incrementAndGet();
+        try {
+            onEvictObject(pooledObject.getObject(), type);
+        } finally {
+            destroyObject(pooledObject.getObject());
+        }
+    }
+
+    private static class PooledObject<T> {
+
+        private T object;
+
+        private volatile long lastReturnTime;
+
+        private volatile int useCount;
+
+        public PooledObject(T object) {
+            this.object = object;
+            lastReturnTime = System.currentTimeMillis();
+        }
+
+        public T getObject() {
+            return object;
+        }
+
+        public long getLastReturnTime() {
+            return lastReturnTime;
+        }
+
+        public void setLastReturnTime(long lastReturnTime) {
+            this.lastReturnTime = lastReturnTime;
+        }
+
+        public int getUseCount() {
+            return useCount;
+        }
+
+        public void incrementUseCount() {
+            useCount++;
+        }
+    }
+
+    /**
+     * Identity based key. Pooled objects like formats have value based equality
+     * and must not be merged when tracking borrowed objects.
+     */
+    private static class ObjectKey {
+
+        private Object object;
+
+        public ObjectKey(Object object) {
+            this.object = object;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(object);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ObjectKey && ((ObjectKey) obj).object == object;
+        }
+    }
 }
@@ -19,6 +19,8 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.tcdng.unify.core.UnifyCoreErrorConstants;
 import com.tcdng.unify.core.UnifyException;
@@ -28,13 +30,16 @@ import com.tcdng.unify.core.util.DataUtils;
  * An abstract generic factory map. A factory map is a key-to-value map with no
  * put method. It is populated internally on invocation of its
  * {@link #get(Object, Object...)} method.
+ * <p>
+ * Value creation is locked per key. Creations for different keys proceed
+ * concurrently while a value for the same key is created only once.
  * 
  * @author Lateef Ojulari
  * @since 1.0
  */
 public abstract class FactoryMap<T, U> {
 
-    private final Object accessKey = new Object();
+    private ConcurrentMap<T, ReentrantLock> createLocks;
 
     private Map<T, U> map;
 
@@ -46,6 +51,7 @@ public abstract class FactoryMap<T, U> {
 
     public FactoryMap(boolean checkStale) {
         map = new ConcurrentHashMap<T, U>();
+        createLocks = new ConcurrentHashMap<T, ReentrantLock>();
         this.checkStale = checkStale;
     }
 
@@ -97,7 +103,8 @@ public abstract class FactoryMap<T, U> {
             }
 
             if (value == null) {
-                synchronized (accessKey) {
+                ReentrantLock createLock = lockCreate(key);
+                try {
                     value = map.get(key);
                     if (value == null) {
                         value = create(key, params);
@@ -105,6 +112,12 @@ public abstract class FactoryMap<T, U> {
                             map.put(key, value);
                         }
                     }
+                } finally {
+                    // Retire lock only when no thread is waiting on it
+                    if (createLock.getHoldCount() == 1 && !createLock.hasQueuedThreads()) {
+                        createLocks.remove(key, createLock);
+                    }
+                    createLock.unlock();
                 }
             }
             return value;
@@ -209,6 +222,36 @@ public abstract class FactoryMap<T, U> {
         map.put(key, value);
     }
 
+    /**
+     * Acquires the create lock of a key. A thread that acquires a lock that has
+     * been retired while it was about to wait retries with the current lock so
+     * that only one lock guards creation of a key at any time.
+     */
+    private ReentrantLock lockCreate(T key) {
+        while (true) {
+            ReentrantLock createLock = getCreateLock(key);
+            createLock.lock();
+            if (createLocks.get(key) == createLock) {
+                return createLock;
+            }
+
+            createLock.unlock();
+        }
+    }
+
+    private ReentrantLock getCreateLock(T key) {
+        ReentrantLock createLock = createLocks.get(key);
+        if (createLock == null) {
+            createLock = new ReentrantLock();
+            ReentrantLock existLock = createLocks.putIfAbsent(key, createLock);
+            if (existLock != null) {
+                createLock = existLock;
+            }
+        }
+
+        return createLock;
+    }
+
     /**
      * Returns true is value is stale.
      * 
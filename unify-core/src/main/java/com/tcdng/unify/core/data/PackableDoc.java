@@ -73,19 +73,31 @@ public class PackableDoc implements Serializable {
         construct(config, auditable);
     }
 
+    PackableDoc(Map<String, Object> values, Object id) {
+        this.values = values;
+        this.id = id;
+    }
+
     public static PackableDoc unpack(PackableDocConfig config, byte[] packedDoc) throws UnifyException {
         return PackableDoc.unpack(config, packedDoc, false);
     }
 
     public static PackableDoc unpack(PackableDocConfig config, byte[] packedDoc, boolean auditable)
             throws UnifyException {
-        PackableDoc pd = IOUtils.streamFromBytes(PackableDoc.class, packedDoc);
+        PackableDoc pd = null;
+        if (PackableDocCodec.isSerialized(packedDoc)) {
+            // Document packed in old format
+            pd = IOUtils.streamFromBytes(PackableDoc.class, packedDoc);
+        } else {
+            pd = PackableDocCodec.unpack(config, packedDoc);
+        }
+
         pd.construct(config, auditable);
         return pd;
     }
 
     public byte[] pack() throws UnifyException {
-        return IOUtils.streamToBytes(this);
+        return PackableDocCodec.pack(this);
     }
 
     public String getConfigName() {
@@ -291,6 +303,10 @@ public class PackableDoc implements Serializable {
         this.updated = false;
     }
 
+    Map<String, Object> getValues() {
+        return values;
+    }
+
     private class Unnested {
 
         private PackableDoc uPd;
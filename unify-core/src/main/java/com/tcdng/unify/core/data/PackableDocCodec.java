@@ -0,0 +1,758 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.data;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tcdng.unify.core.UnifyCoreErrorConstants;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.data.PackableDocConfig.FieldConfig;
+import com.tcdng.unify.core.util.DataUtils;
+import com.tcdng.unify.core.util.IOUtils;
+
+/**
+ * Binary codec for packable documents.
+ * 
+ * <p>
+ * A packed document starts with a header made up of a two-byte magic, a format
+ * version and a schema section. The schema section lists the fields of the
+ * document configuration and of every nested configuration once, with field
+ * name, value type and list flag. Each document body then holds the document
+ * ID, a presence bitmap over the schema fields and the values of present
+ * fields in field ordinal order. Integral values are written as zigzag
+ * varints, strings as UTF-8, decimals as scale and unscaled bytes and dates as
+ * epoch milliseconds.
+ * 
+ * <p>
+ * When the schema section matches the reader's configuration, fields are
+ * mapped by ordinal. Otherwise fields are mapped by name, so that fields added
+ * to a configuration are left at their defaults, removed fields are skipped and
+ * fields whose simple type changed are converted.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+final class PackableDocCodec {
+
+    private static final byte MAGIC_0 = 'P';
+
+    private static final byte MAGIC_1 = 'D';
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final int TAG_NULL = 0;
+
+    private static final int TAG_BOOLEAN = 1;
+
+    private static final int TAG_CHAR = 2;
+
+    private static final int TAG_BYTE = 3;
+
+    private static final int TAG_SHORT = 4;
+
+    private static final int TAG_INTEGER = 5;
+
+    private static final int TAG_LONG = 6;
+
+    private static final int TAG_FLOAT = 7;
+
+    private static final int TAG_DOUBLE = 8;
+
+    private static final int TAG_DECIMAL = 9;
+
+    private static final int TAG_DATE = 10;
+
+    private static final int TAG_STRING = 11;
+
+    private static final int TAG_BYTES = 12;
+
+    private static final int TAG_DOC = 13;
+
+    private static final int TAG_SERIALIZED = 14;
+
+    private static final int LIST_FLAG = 0x80;
+
+    private static final Map<Class<?>, Integer> classToTagMap;
+
+    static {
+        Map<Class<?>, Integer> map = new HashMap<Class<?>, Integer>();
+        map.put(Boolean.class, TAG_BOOLEAN);
+        map.put(Character.class, TAG_CHAR);
+        map.put(Byte.class, TAG_BYTE);
+        map.put(Short.class, TAG_SHORT);
+        map.put(Integer.class, TAG_INTEGER);
+        map.put(Long.class, TAG_LONG);
+        map.put(Float.class, TAG_FLOAT);
+        map.put(Double.class, TAG_DOUBLE);
+        map.put(BigDecimal.class, TAG_DECIMAL);
+        map.put(Date.class, TAG_DATE);
+        map.put(String.class, TAG_STRING);
+        map.put(byte[].class, TAG_BYTES);
+        classToTagMap = DataUtils.unmodifiableMap(map);
+    }
+
+    private PackableDocCodec() {
+
+    }
+
+    /**
+     * Tests if supplied packed data was written with Java object serialization.
+     * 
+     * @param packedDoc
+     *            the packed data
+     */
+    public static boolean isSerialized(byte[] packedDoc) {
+        return packedDoc.length > 1 && packedDoc[0] == (byte) 0xAC && packedDoc[1] == (byte) 0xED;
+    }
+
+    /**
+     * Packs a document.
+     * 
+     * @param pd
+     *            the document to pack
+     * @return the packed document
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    public static byte[] pack(PackableDoc pd) throws UnifyException {
+        Schema schema = PackableDocCodec.getSchema(pd.getConfig());
+        Output out = new Output(schema.encoded.length + 256);
+        out.writeByte(MAGIC_0);
+        out.writeByte(MAGIC_1);
+        out.writeByte(FORMAT_VERSION);
+        out.writeVarInt(schema.encoded.length);
+        out.writeBytes(schema.encoded, 0, schema.encoded.length);
+        PackableDocCodec.writeDoc(out, schema, 0, pd);
+        return out.toByteArray();
+    }
+
+    /**
+     * Unpacks a document. The returned document is not constructed.
+     * 
+     * @param config
+     *            the reader document configuration
+     * @param packedDoc
+     *            the packed document
+     * @return the unpacked document
+     * @throws UnifyException
+     *             if packed data is invalid
+     */
+    public static PackableDoc unpack(PackableDocConfig config, byte[] packedDoc) throws UnifyException {
+        if (packedDoc.length < 3 || packedDoc[0] != MAGIC_0 || packedDoc[1] != MAGIC_1) {
+            throw new UnifyException(UnifyCoreErrorConstants.PACKABLEDOC_INVALID_PACKED_FORMAT, "unknown");
+        }
+
+        if (packedDoc[2] > FORMAT_VERSION) {
+            throw new UnifyException(UnifyCoreErrorConstants.PACKABLEDOC_INVALID_PACKED_FORMAT, packedDoc[2]);
+        }
+
+        try {
+            Input in = new Input(packedDoc, 3);
+            int schemaLen = in.readCount(1);
+            int schemaStart = in.pos;
+            Schema schema = PackableDocCodec.getSchema(config);
+            if (!schema.matches(packedDoc, schemaStart, schemaLen)) {
+                schema = PackableDocCodec.readSchema(new Input(packedDoc, schemaStart));
+            }
+
+            in.pos = schemaStart + schemaLen;
+            return PackableDocCodec.readDoc(in, schema, 0, config);
+        } catch (UnifyException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UnifyException(e, UnifyCoreErrorConstants.PACKABLEDOC_INVALID_PACKED_FORMAT, packedDoc[2]);
+        }
+    }
+
+    private static Schema getSchema(PackableDocConfig config) {
+        Schema schema = config.getCodecSchema();
+        if (schema == null) {
+            // Benign race. Schema is immutable and same for a configuration
+            schema = new SchemaBuilder().build(config);
+            config.setCodecSchema(schema);
+        }
+
+        return schema;
+    }
+
+    private static Schema readSchema(Input in) {
+        int docCount = in.readCount(1);
+        DocSchema[] docs = new DocSchema[docCount];
+        for (int i = 0; i < docCount; i++) {
+            int fieldCount = in.readCount(1);
+            Field[] fields = new Field[fieldCount];
+            for (int j = 0; j < fieldCount; j++) {
+                String name = in.readString();
+                int flags = in.readByte() & 0xff;
+                int tag = flags & ~LIST_FLAG;
+                int nestedIndex = tag == TAG_DOC ? in.readVarInt() : -1;
+                fields[j] = new Field(name, tag, (flags & LIST_FLAG) != 0, nestedIndex, null);
+            }
+
+            docs[i] = new DocSchema(null, fields);
+        }
+
+        return new Schema(docs, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeDoc(Output out, Schema schema, int index, PackableDoc pd) throws UnifyException {
+        PackableDocCodec.writeTypedValue(out, pd.getId());
+        Map<String, Object> values = pd.getValues();
+        Field[] fields = schema.docs[index].fields;
+        Object[] fieldValues = new Object[fields.length];
+        byte[] presence = new byte[(fields.length + 7) >> 3];
+        for (int i = 0; i < fields.length; i++) {
+            Object val = values.get(fields[i].name);
+            if (val != null) {
+                fieldValues[i] = val;
+                presence[i >> 3] |= 1 << (i & 7);
+            }
+        }
+
+        out.writeBytes(presence, 0, presence.length);
+        for (int i = 0; i < fields.length; i++) {
+            Object val = fieldValues[i];
+            if (val != null) {
+                Field field = fields[i];
+                if (field.list) {
+                    List<Object> list = (List<Object>) val;
+                    int size = list.size();
+                    byte[] listPresence = new byte[(size + 7) >> 3];
+                    for (int j = 0; j < size; j++) {
+                        if (list.get(j) != null) {
+                            listPresence[j >> 3] |= 1 << (j & 7);
+                        }
+                    }
+
+                    out.writeVarInt(size);
+                    out.writeBytes(listPresence, 0, listPresence.length);
+                    for (Object element : list) {
+                        if (element != null) {
+                            PackableDocCodec.writeValue(out, schema, field.tag, field.nestedIndex, element);
+                        }
+                    }
+                } else {
+                    PackableDocCodec.writeValue(out, schema, field.tag, field.nestedIndex, val);
+                }
+            }
+        }
+    }
+
+    private static PackableDoc readDoc(Input in, Schema schema, int index, PackableDocConfig config)
+            throws UnifyException {
+        Object id = PackableDocCodec.readTypedValue(in);
+        DocSchema docSchema = schema.docs[index];
+        Field[] fields = docSchema.fields;
+        FieldConfig[] fieldConfigs = config == null ? null : docSchema.resolve(config);
+        Map<String, Object> values = config == null ? null : new HashMap<String, Object>();
+        int presenceStart = in.pos;
+        in.pos += (fields.length + 7) >> 3;
+        for (int i = 0; i < fields.length; i++) {
+            FieldConfig fc = fieldConfigs == null ? null : fieldConfigs[i];
+            if ((in.buf[presenceStart + (i >> 3)] & (1 << (i & 7))) == 0) {
+                if (fc != null) {
+                    values.put(fc.getFieldName(), null);
+                }
+                continue;
+            }
+
+            Field field = fields[i];
+            PackableDocConfig nestedConfig = fc == null ? null : fc.getPackableDocConfig();
+            Class<?> dataType = null;
+            if (fc != null && !fc.isComplex() && classToTagMap.get(fc.getDataType()) != field.tag) {
+                // Simple type changed since document was packed
+                dataType = fc.getDataType();
+            }
+            if (field.list) {
+                int size = in.readCount(8);
+                int listPresenceStart = in.pos;
+                in.pos += (size + 7) >> 3;
+                List<Object> list = new ArrayList<Object>(size);
+                for (int j = 0; j < size; j++) {
+                    Object element = null;
+                    if ((in.buf[listPresenceStart + (j >> 3)] & (1 << (j & 7))) != 0) {
+                        element = PackableDocCodec.readValue(in, schema, field.tag, field.nestedIndex, nestedConfig);
+                        if (dataType != null) {
+                            element = DataUtils.convert(dataType, element, null);
+                        }
+                    }
+                    list.add(element);
+                }
+
+                if (fc != null) {
+                    values.put(fc.getFieldName(), list);
+                }
+            } else {
+                Object val = PackableDocCodec.readValue(in, schema, field.tag, field.nestedIndex, nestedConfig);
+                if (fc != null) {
+                    if (dataType != null) {
+                        val = DataUtils.convert(dataType, val, null);
+                    }
+
+                    values.put(fc.getFieldName(), val);
+                }
+            }
+        }
+
+        if (config == null) {
+            return null;
+        }
+
+        return new PackableDoc(values, id);
+    }
+
+    private static void writeTypedValue(Output out, Object val) throws UnifyException {
+        if (val == null) {
+            out.writeByte(TAG_NULL);
+            return;
+        }
+
+        Integer tag = classToTagMap.get(val.getClass());
+        if (tag == null) {
+            out.writeByte(TAG_SERIALIZED);
+            byte[] bytes = IOUtils.streamToBytes(val);
+            out.writeVarInt(bytes.length);
+            out.writeBytes(bytes, 0, bytes.length);
+            return;
+        }
+
+        out.writeByte(tag);
+        PackableDocCodec.writeValue(out, null, tag, -1, val);
+    }
+
+    private static Object readTypedValue(Input in) throws UnifyException {
+        int tag = in.readByte();
+        if (tag == TAG_NULL) {
+            return null;
+        }
+
+        if (tag == TAG_SERIALIZED) {
+            return IOUtils.streamFromBytes(Object.class, in.readBytes());
+        }
+
+        return PackableDocCodec.readValue(in, null, tag, -1, null);
+    }
+
+    private static void writeValue(Output out, Schema schema, int tag, int nestedIndex, Object val)
+            throws UnifyException {
+        switch (tag) {
+            case TAG_BOOLEAN:
+                out.writeByte(((Boolean) val).booleanValue() ? 1 : 0);
+                break;
+            case TAG_CHAR:
+                out.writeVarInt(((Character) val).charValue());
+                break;
+            case TAG_BYTE:
+                out.writeByte(((Number) val).byteValue());
+                break;
+            case TAG_SHORT:
+            case TAG_INTEGER:
+                out.writeVarLong(PackableDocCodec.zigzag(((Number) val).intValue()));
+                break;
+            case TAG_LONG:
+                out.writeVarLong(PackableDocCodec.zigzag(((Number) val).longValue()));
+                break;
+            case TAG_FLOAT:
+                out.writeFixedInt(Float.floatToIntBits(((Number) val).floatValue()));
+                break;
+            case TAG_DOUBLE:
+                long bits = Double.doubleToLongBits(((Number) val).doubleValue());
+                out.writeFixedInt((int) (bits >>> 32));
+                out.writeFixedInt((int) bits);
+                break;
+            case TAG_DECIMAL:
+                BigDecimal decimal = (BigDecimal) val;
+                byte[] unscaled = decimal.unscaledValue().toByteArray();
+                out.writeVarLong(PackableDocCodec.zigzag(decimal.scale()));
+                out.writeVarInt(unscaled.length);
+                out.writeBytes(unscaled, 0, unscaled.length);
+                break;
+            case TAG_DATE:
+                out.writeVarLong(PackableDocCodec.zigzag(((Date) val).getTime()));
+                break;
+            case TAG_STRING:
+                byte[] utf8 = ((String) val).getBytes(StandardCharsets.UTF_8);
+                out.writeVarInt(utf8.length);
+                out.writeBytes(utf8, 0, utf8.length);
+                break;
+            case TAG_BYTES:
+                byte[] bytes = (byte[]) val;
+                out.writeVarInt(bytes.length);
+                out.writeBytes(bytes, 0, bytes.length);
+                break;
+            case TAG_DOC:
+                PackableDocCodec.writeDoc(out, schema, nestedIndex, (PackableDoc) val);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported value tag " + tag);
+        }
+    }
+
+    private static Object readValue(Input in, Schema schema, int tag, int nestedIndex, PackableDocConfig config)
+            throws UnifyException {
+        switch (tag) {
+            case TAG_BOOLEAN:
+                return Boolean.valueOf(in.readByte() != 0);
+            case TAG_CHAR:
+                return Character.valueOf((char) in.readVarInt());
+            case TAG_BYTE:
+                return Byte.valueOf(in.readByte());
+            case TAG_SHORT:
+                return Short.valueOf((short) PackableDocCodec.unzigzag(in.readVarLong()));
+            case TAG_INTEGER:
+                return Integer.valueOf((int) PackableDocCodec.unzigzag(in.readVarLong()));
+            case TAG_LONG:
+                return Long.valueOf(PackableDocCodec.unzigzag(in.readVarLong()));
+            case TAG_FLOAT:
+                return Float.valueOf(Float.intBitsToFloat(in.readFixedInt()));
+            case TAG_DOUBLE:
+                long high = in.readFixedInt() & 0xffffffffL;
+                long low = in.readFixedInt() & 0xffffffffL;
+                return Double.valueOf(Double.longBitsToDouble((high << 32) | low));
+            case TAG_DECIMAL:
+                int scale = (int) PackableDocCodec.unzigzag(in.readVarLong());
+                return new BigDecimal(new BigInteger(in.readBytes()), scale);
+            case TAG_DATE:
+                return new Date(PackableDocCodec.unzigzag(in.readVarLong()));
+            case TAG_STRING:
+                return in.readString();
+            case TAG_BYTES:
+                return in.readBytes();
+            case TAG_DOC:
+                return PackableDocCodec.readDoc(in, schema, nestedIndex, config);
+            default:
+                throw new IllegalArgumentException("Unsupported value tag " + tag);
+        }
+    }
+
+    private static long zigzag(long val) {
+        return (val << 1) ^ (val >> 63);
+    }
+
+    private static long unzigzag(long val) {
+        return (val >>> 1) ^ -(val & 1);
+    }
+
+    private static boolean isCompatible(Field field, FieldConfig fc) {
+        return fc.isList() == field.list && fc.isComplex() == (field.tag == TAG_DOC);
+    }
+
+    static class Schema {
+
+        private DocSchema[] docs;
+
+        private byte[] encoded;
+
+        public Schema(DocSchema[] docs, byte[] encoded) {
+            this.docs = docs;
+            this.encoded = encoded;
+        }
+
+        public boolean matches(byte[] buf, int offset, int len) {
+            if (encoded.length != len) {
+                return false;
+            }
+
+            for (int i = 0; i < len; i++) {
+                if (encoded[i] != buf[offset + i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    private static class DocSchema {
+
+        private PackableDocConfig config;
+
+        private Field[] fields;
+
+        private FieldConfig[] fieldConfigs;
+
+        private volatile Resolution resolution;
+
+        public DocSchema(PackableDocConfig config, Field[] fields) {
+            this.config = config;
+            this.fields = fields;
+            if (config != null) {
+                fieldConfigs = new FieldConfig[fields.length];
+                for (int i = 0; i < fields.length; i++) {
+                    fieldConfigs[i] = fields[i].fieldConfig;
+                }
+            }
+        }
+
+        public FieldConfig[] resolve(PackableDocConfig readerConfig) throws UnifyException {
+            if (readerConfig == config) {
+                return fieldConfigs;
+            }
+
+            // Reused for every nested document and list element of this schema
+            Resolution resolution = this.resolution;
+            if (resolution != null && resolution.readerConfig == readerConfig) {
+                return resolution.fieldConfigs;
+            }
+
+            // Schema evolution. Map by name and skip fields that are no longer compatible
+            FieldConfig[] resolved = new FieldConfig[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                Field field = fields[i];
+                if (readerConfig.isFieldConfig(field.name)) {
+                    FieldConfig fc = readerConfig.getFieldConfig(field.name);
+                    if (PackableDocCodec.isCompatible(field, fc)) {
+                        resolved[i] = fc;
+                    }
+                }
+            }
+
+            this.resolution = new Resolution(readerConfig, resolved);
+            return resolved;
+        }
+    }
+
+    private static class Resolution {
+
+        private PackableDocConfig readerConfig;
+
+        private FieldConfig[] fieldConfigs;
+
+        public Resolution(PackableDocConfig readerConfig, FieldConfig[] fieldConfigs) {
+            this.readerConfig = readerConfig;
+            this.fieldConfigs = fieldConfigs;
+        }
+    }
+
+    private static class Field {
+
+        private String name;
+
+        private int tag;
+
+        private boolean list;
+
+        private int nestedIndex;
+
+        private FieldConfig fieldConfig;
+
+        public Field(String name, int tag, boolean list, int nestedIndex, FieldConfig fieldConfig) {
+            this.name = name;
+            this.tag = tag;
+            this.list = list;
+            this.nestedIndex = nestedIndex;
+            this.fieldConfig = fieldConfig;
+        }
+    }
+
+    private static class SchemaBuilder {
+
+        private List<DocSchema> docs;
+
+        private Map<PackableDocConfig, Integer> indexes;
+
+        public SchemaBuilder() {
+            docs = new ArrayList<DocSchema>();
+            indexes = new IdentityHashMap<PackableDocConfig, Integer>();
+        }
+
+        public Schema build(PackableDocConfig config) {
+            addDoc(config);
+            Output out = new Output(256);
+            out.writeVarInt(docs.size());
+            for (DocSchema docSchema : docs) {
+                out.writeVarInt(docSchema.fields.length);
+                for (Field field : docSchema.fields) {
+                    out.writeString(field.name);
+                    out.writeByte(field.list ? field.tag | LIST_FLAG : field.tag);
+                    if (field.tag == TAG_DOC) {
+                        out.writeVarInt(field.nestedIndex);
+                    }
+                }
+            }
+
+            return new Schema(docs.toArray(new DocSchema[docs.size()]), out.toByteArray());
+        }
+
+        private int addDoc(PackableDocConfig config) {
+            Integer index = indexes.get(config);
+            if (index != null) {
+                return index;
+            }
+
+            index = docs.size();
+            indexes.put(config, index);
+            docs.add(null);
+            List<Field> fields = new ArrayList<Field>();
+            for (FieldConfig fc : config.getFieldConfigs()) {
+                if (fc.isComplex()) {
+                    fields.add(new Field(fc.getFieldName(), TAG_DOC, fc.isList(), addDoc(fc.getPackableDocConfig()),
+                            fc));
+                } else {
+                    Integer tag = classToTagMap.get(fc.getDataType());
+                    if (tag == null) {
+                        throw new IllegalArgumentException("Unsupported packable field type " + fc.getDataType());
+                    }
+
+                    fields.add(new Field(fc.getFieldName(), tag, fc.isList(), -1, fc));
+                }
+            }
+
+            docs.set(index, new DocSchema(config, fields.toArray(new Field[fields.size()])));
+            return index;
+        }
+    }
+
+    private static class Output {
+
+        private byte[] buf;
+
+        private int pos;
+
+        public Output(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        public void writeByte(int b) {
+            ensureCapacity(1);
+            buf[pos++] = (byte) b;
+        }
+
+        public void writeBytes(byte[] b, int off, int len) {
+            ensureCapacity(len);
+            System.arraycopy(b, off, buf, pos, len);
+            pos += len;
+        }
+
+        public void writeVarInt(int val) {
+            writeVarLong(val & 0xffffffffL);
+        }
+
+        public void writeVarLong(long val) {
+            ensureCapacity(10);
+            while ((val & ~0x7fL) != 0) {
+                buf[pos++] = (byte) ((val & 0x7f) | 0x80);
+                val >>>= 7;
+            }
+            buf[pos++] = (byte) val;
+        }
+
+        public void writeFixedInt(int val) {
+            ensureCapacity(4);
+            buf[pos++] = (byte) (val >>> 24);
+            buf[pos++] = (byte) (val >>> 16);
+            buf[pos++] = (byte) (val >>> 8);
+            buf[pos++] = (byte) val;
+        }
+
+        public void writeString(String val) {
+            byte[] utf8 = val.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(utf8.length);
+            writeBytes(utf8, 0, utf8.length);
+        }
+
+        public byte[] toByteArray() {
+            byte[] result = new byte[pos];
+            System.arraycopy(buf, 0, result, 0, pos);
+            return result;
+        }
+
+        private void ensureCapacity(int len) {
+            if (pos + len > buf.length) {
+                byte[] newBuf = new byte[Math.max(buf.length << 1, pos + len)];
+                System.arraycopy(buf, 0, newBuf, 0, pos);
+                buf = newBuf;
+            }
+        }
+    }
+
+    private static class Input {
+
+        private byte[] buf;
+
+        private int pos;
+
+        public Input(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        public byte readByte() {
+            return buf[pos++];
+        }
+
+        public int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        public long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buf[pos++];
+                result |= (long) (b & 0x7f) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+
+        public int readFixedInt() {
+            return ((buf[pos++] & 0xff) << 24) | ((buf[pos++] & 0xff) << 16) | ((buf[pos++] & 0xff) << 8)
+                    | (buf[pos++] & 0xff);
+        }
+
+        public String readString() {
+            int len = readCount(1);
+            String result = new String(buf, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return result;
+        }
+
+        public byte[] readBytes() {
+            int len = readCount(1);
+            byte[] result = Arrays.copyOfRange(buf, pos, pos + len);
+            pos += len;
+            return result;
+        }
+
+        /**
+         * Reads a length or element count, checking it against the remaining data
+         * before anything is allocated for it.
+         * 
+         * @param maxPerByte
+         *            the maximum number of elements a remaining byte can hold
+         */
+        public int readCount(int maxPerByte) {
+            int count = readVarInt();
+            if (count < 0 || count > (long) (buf.length - pos) * maxPerByte) {
+                throw new IllegalStateException("Invalid length " + count + " at offset " + pos + ".");
+            }
+
+            return count;
+        }
+    }
+}
@@ -45,6 +45,8 @@ public class PackableDocConfig {
 
     private Map<Class<?>, BeanMappingConfig> beanMappingConfigs;
 
+    private volatile PackableDocCodec.Schema codecSchema;
+
     private PackableDocConfig(String name, Map<String, FieldConfig> fieldConfigs,
             Map<Class<?>, BeanMappingConfig> beanMappingConfigs) {
         this.name = name;
@@ -98,6 +100,14 @@ public class PackableDocConfig {
         return beanMappingConfigs.containsKey(beanClass);
     }
 
+    PackableDocCodec.Schema getCodecSchema() {
+        return codecSchema;
+    }
+
+    void setCodecSchema(PackableDocCodec.Schema codecSchema) {
+        this.codecSchema = codecSchema;
+    }
+
     public static PackableDocConfig buildFrom(String configName, Class<?> beanClass) throws UnifyException {
         PackableDocConfig.Builder pdcb = PackableDocConfig.newBuilder(configName);
         BeanMappingConfig.Builder bmcb = BeanMappingConfig.newBuilder(beanClass);
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.data;
+
+/**
+ * Pool object eviction type.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public enum PoolEvictionType {
+
+    /** Object stayed idle in pool beyond maximum idle time */
+    IDLE_TIME,
+
+    /** Object has been borrowed maximum number of times */
+    MAX_USE,
+
+    /** Object has been in existence beyond its maximum lifetime */
+    MAX_LIFETIME
+}
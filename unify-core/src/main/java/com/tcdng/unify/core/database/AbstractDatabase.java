@@ -15,21 +15,29 @@
  */
 package com.tcdng.unify.core.database;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import com.tcdng.unify.core.AbstractUnifyComponent;
+import com.tcdng.unify.core.UnifyComponentConfig;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.criterion.Update;
 import com.tcdng.unify.core.data.Aggregate;
 import com.tcdng.unify.core.data.AggregateType;
+import com.tcdng.unify.core.util.NameUtils;
 
 /**
  * Abstract implementation of a database. Also implements transaction management
  * methods of a database transaction manager.
+ * <p>
+ * Writes to an entity type that an {@link EntityChangeListener} is listening to
+ * register a completion hook with the current transaction, so the listener is
+ * notified only after the transaction is committed.
  * 
  * @author Lateef Ojulari
  * @since 1.0
@@ -39,6 +47,8 @@ public abstract class AbstractDatabase extends AbstractUnifyComponent implements
     @Configurable
     private DatabaseTransactionManager databaseTransactionManager;
 
+    private volatile List<EntityChangeListener> entityChangeListeners;
+
     @Override
     public void joinTransaction() throws UnifyException {
         databaseTransactionManager.joinTransaction(this);
@@ -84,6 +94,16 @@ public abstract class AbstractDatabase extends AbstractUnifyComponent implements
         return getDatabaseSession().findAll(query);
     }
 
+    @Override
+    public <T extends Entity> int findAll(Query<T> query, RecordHandler<T> recordHandler) throws UnifyException {
+        return getDatabaseSession().findAll(query, recordHandler);
+    }
+
+    @Override
+    public <T extends Entity> List<T> findAllWithChildren(Query<T> query) throws UnifyException {
+        return getDatabaseSession().findAllWithChildren(query);
+    }
+
     @Override
     public <T, U extends Entity> Map<T, U> findAllMap(Class<T> keyClass, String keyName, Query<U> query)
             throws UnifyException {
@@ -131,6 +151,11 @@ public abstract class AbstractDatabase extends AbstractUnifyComponent implements
         return getDatabaseSession().listAll(query);
     }
 
+    @Override
+    public <T extends Entity> List<T> listAllWithChildren(Query<T> query) throws UnifyException {
+        return getDatabaseSession().listAllWithChildren(query);
+    }
+
     @Override
     public <T, U extends Entity> Map<T, U> listAllMap(Class<T> keyClass, String keyName, Query<U> query)
             throws UnifyException {
@@ -189,57 +214,92 @@ public abstract class AbstractDatabase extends AbstractUnifyComponent implements
 
     @Override
     public Object create(Entity record) throws UnifyException {
-        return getDatabaseSession().create(record);
+        Object result = getDatabaseSession().create(record);
+        publishEntityChange(record.getClass());
+        return result;
+    }
+
+    @Override
+    public void createAll(List<? extends Entity> records) throws UnifyException {
+        getDatabaseSession().createAll(records);
+        publishEntityChange(records);
     }
 
     @Override
     public int updateById(Entity record) throws UnifyException {
-        return getDatabaseSession().updateById(record);
+        int result = getDatabaseSession().updateById(record);
+        publishEntityChange(record.getClass());
+        return result;
     }
 
     @Override
     public int updateByIdVersion(Entity record) throws UnifyException {
-        return getDatabaseSession().updateByIdVersion(record);
+        int result = getDatabaseSession().updateByIdVersion(record);
+        publishEntityChange(record.getClass());
+        return result;
+    }
+
+    @Override
+    public int updateAllById(List<? extends Entity> records) throws UnifyException {
+        int result = getDatabaseSession().updateAllById(records);
+        publishEntityChange(records);
+        return result;
     }
 
     @Override
     public int updateLeanById(Entity record) throws UnifyException {
-        return getDatabaseSession().updateLeanById(record);
+        int result = getDatabaseSession().updateLeanById(record);
+        publishEntityChange(record.getClass());
+        return result;
     }
 
     @Override
     public int updateLeanByIdVersion(Entity record) throws UnifyException {
-        return getDatabaseSession().updateLeanByIdVersion(record);
+        int result = getDatabaseSession().updateLeanByIdVersion(record);
+        publishEntityChange(record.getClass());
+        return result;
     }
 
     @Override
     public int updateById(Class<? extends Entity> clazz, Object id, Update update) throws UnifyException {
-        return getDatabaseSession().updateById(clazz, id, update);
+        int result = getDatabaseSession().updateById(clazz, id, update);
+        publishEntityChange(clazz);
+        return result;
     }
 
     @Override
     public int updateAll(Query<?> query, Update update) throws UnifyException {
-        return getDatabaseSession().updateAll(query, update);
+        int result = getDatabaseSession().updateAll(query, update);
+        publishEntityChange(query.getEntityClass());
+        return result;
     }
 
     @Override
     public int deleteById(Entity record) throws UnifyException {
-        return getDatabaseSession().deleteById(record);
+        int result = getDatabaseSession().deleteById(record);
+        publishEntityChange(record.getClass());
+        return result;
     }
 
     @Override
     public int deleteByIdVersion(Entity record) throws UnifyException {
-        return getDatabaseSession().deleteByIdVersion(record);
+        int result = getDatabaseSession().deleteByIdVersion(record);
+        publishEntityChange(record.getClass());
+        return result;
     }
 
     @Override
     public int delete(Class<? extends Entity> clazz, Object pk) throws UnifyException {
-        return getDatabaseSession().delete(clazz, pk);
+        int result = getDatabaseSession().delete(clazz, pk);
+        publishEntityChange(clazz);
+        return result;
     }
 
     @Override
     public int deleteAll(Query<?> query) throws UnifyException {
-        return getDatabaseSession().deleteAll(query);
+        int result = getDatabaseSession().deleteAll(query);
+        publishEntityChange(query.getEntityClass());
+        return result;
     }
 
     @Override
@@ -285,4 +345,93 @@ public abstract class AbstractDatabase extends AbstractUnifyComponent implements
     private DatabaseSession getDatabaseSession() throws UnifyException {
         return databaseTransactionManager.getDatabaseSession(this);
     }
+
+    private void publishEntityChange(List<? extends Entity> records) throws UnifyException {
+        Class<? extends Entity> lastEntityClass = null;
+        for (Entity record : records) {
+            if (record.getClass() != lastEntityClass) {
+                lastEntityClass = record.getClass();
+                publishEntityChange(lastEntityClass);
+            }
+        }
+    }
+
+    private void publishEntityChange(Class<? extends Entity> entityClass) throws UnifyException {
+        for (EntityChangeListener entityChangeListener : getEntityChangeListeners()) {
+            if (entityChangeListener.isListening(entityClass)) {
+                // Broadcast once per transaction. Broadcast commands are committed with change
+                if (databaseTransactionManager
+                        .addCompletionHook(new EntityChangeHook(entityChangeListener, entityClass.getName()))) {
+                    getUnifyComponentContext().broadcastToOtherNodes(
+                            NameUtils.getComponentMethodName(entityChangeListener.getName(), "entityChanged"),
+                            entityClass.getName());
+                }
+            }
+        }
+    }
+
+    private List<EntityChangeListener> getEntityChangeListeners() throws UnifyException {
+        if (entityChangeListeners == null) {
+            synchronized (this) {
+                if (entityChangeListeners == null) {
+                    List<EntityChangeListener> listeners = new ArrayList<EntityChangeListener>();
+                    for (UnifyComponentConfig unifyComponentConfig : getComponentConfigs(EntityChangeListener.class)) {
+                        if (unifyComponentConfig.isSingleton()) {
+                            listeners.add((EntityChangeListener) getComponent(unifyComponentConfig.getName()));
+                        }
+                    }
+
+                    entityChangeListeners = Collections.unmodifiableList(listeners);
+                }
+            }
+        }
+
+        return entityChangeListeners;
+    }
+
+    private class EntityChangeHook implements TransactionCompletionHook {
+
+        private EntityChangeListener entityChangeListener;
+
+        private String entityClassName;
+
+        public EntityChangeHook(EntityChangeListener entityChangeListener, String entityClassName) {
+            this.entityChangeListener = entityChangeListener;
+            this.entityClassName = entityClassName;
+        }
+
+        @Override
+        public void afterCommit() {
+            try {
+                entityChangeListener.entityChanged(entityClassName);
+            } catch (UnifyException e) {
+                logError(e);
+            }
+        }
+
+        @Override
+        public void afterRollback() {
+
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * entityChangeListener.hashCode() + entityClassName.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof EntityChangeHook)) {
+                return false;
+            }
+
+            EntityChangeHook other = (EntityChangeHook) obj;
+            return entityChangeListener == other.entityChangeListener
+                    && entityClassName.equals(other.entityClassName);
+        }
+    }
 }
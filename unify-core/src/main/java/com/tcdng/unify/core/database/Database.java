@@ -178,6 +178,36 @@ public interface Database extends UnifyComponent {
      */
     <T extends Entity> List<T> findAll(Query<T> query) throws UnifyException;
 
+    /**
+     * Finds all records with fields that match criteria. List-only properties of
+     * returned objects are not populated. Child and child list properties are
+     * populated. Child records for all returned records are fetched together in
+     * chunked queries.
+     * 
+     * @param query
+     *            the query
+     * @return a list of record that match criteria.
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    <T extends Entity> List<T> findAllWithChildren(Query<T> query) throws UnifyException;
+
+    /**
+     * Finds all records with fields that match criteria and passes them one at a
+     * time to supplied handler. Records are streamed from a forward-only cursor
+     * and are not held in memory. List-only properties of records are not
+     * populated. Child and child list properties are not populated.
+     * 
+     * @param query
+     *            the query
+     * @param recordHandler
+     *            the record handler
+     * @return the number of records handled
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    <T extends Entity> int findAll(Query<T> query, RecordHandler<T> recordHandler) throws UnifyException;
+
     /**
      * Finds all records by criteria returning resulting record in a map. The keys
      * of the map are values of fields specified by the key property of the
@@ -334,6 +364,19 @@ public interface Database extends UnifyComponent {
      */
     <T extends Entity> List<T> listAll(Query<T> query) throws UnifyException;
 
+    /**
+     * Lists all records with fields that match criteria. List-only properties of
+     * returned records are populated. Child and child list properties are
+     * populated. Child records for all returned records are fetched together in
+     * chunked queries.
+     * 
+     * @param query
+     *            the query
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    <T extends Entity> List<T> listAllWithChildren(Query<T> query) throws UnifyException;
+
     /**
      * Lists all records with fields that match criteria returning resulting record
      * in a map. List-only properties of returned records are populated. Child and
@@ -533,6 +576,17 @@ public interface Database extends UnifyComponent {
      */
     Object create(Entity record) throws UnifyException;
 
+    /**
+     * Creates new records in database using JDBC batches. Child records, if any,
+     * are also created in batches.
+     * 
+     * @param records
+     *            the records to persist
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void createAll(List<? extends Entity> records) throws UnifyException;
+
     /**
      * Updates record in database by ID. Child records, if any, are updated.
      * 
@@ -556,6 +610,18 @@ public interface Database extends UnifyComponent {
      */
     int updateByIdVersion(Entity record) throws UnifyException;
 
+    /**
+     * Updates records in database by ID using JDBC batches. Child records, if
+     * any, are updated.
+     * 
+     * @param records
+     *            the records to update
+     * @return the number of records updated.
+     * @throws UnifyException
+     *             if a record with ID is not found. If an error occurs
+     */
+    int updateAllById(List<? extends Entity> records) throws UnifyException;
+
     /**
      * Updates record in database by ID. Child records, if any, are not updated.
      * 
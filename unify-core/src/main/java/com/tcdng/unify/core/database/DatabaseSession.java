@@ -44,6 +44,16 @@ public interface DatabaseSession {
      */
     Object create(Entity record) throws UnifyException;
 
+    /**
+     * Creates records using JDBC batches.
+     * 
+     * @param records
+     *            the records to create
+     * @throws UnifyException
+     *             if an error occurs during creation
+     */
+    void createAll(List<? extends Entity> records) throws UnifyException;
+
     /**
      * Retrieves a record by ID. List-only properties of returned object are not
      * populated. Child and child list properties are populated.
@@ -146,6 +156,32 @@ public interface DatabaseSession {
      */
     <T extends Entity> List<T> findAll(Query<T> query) throws UnifyException;
 
+    /**
+     * Finds record by query. Fetches attribute lists for all records found using
+     * chunked queries.
+     * 
+     * @param query
+     *            the query
+     * @return the list of record found
+     * @throws UnifyException
+     *             if an error occurs during search
+     */
+    <T extends Entity> List<T> findAllWithChildren(Query<T> query) throws UnifyException;
+
+    /**
+     * Finds record by query using a forward-only cursor. Does not fetch attribute
+     * lists.
+     * 
+     * @param query
+     *            the query
+     * @param recordHandler
+     *            the handler that receives each record found
+     * @return the number of records handled
+     * @throws UnifyException
+     *             if an error occurs during search
+     */
+    <T extends Entity> int findAll(Query<T> query, RecordHandler<T> recordHandler) throws UnifyException;
+
     /**
      * Fetches record by query as a map. Uses query key as result map key. Does not
      * fetch attribute lists.
@@ -274,6 +310,18 @@ public interface DatabaseSession {
      */
     <T extends Entity> List<T> listAll(Query<T> query) throws UnifyException;
 
+    /**
+     * Retrieves list of record by query from associated view. Fetches attribute
+     * lists for all records found using chunked queries.
+     * 
+     * @param query
+     *            the query
+     * @return the list of record found
+     * @throws UnifyException
+     *             -if an error occurs during search
+     */
+    <T extends Entity> List<T> listAllWithChildren(Query<T> query) throws UnifyException;
+
     /**
      * Fetches map of records. Uses query key as result map key. Does not fetch
      * attribute lists.
@@ -459,6 +507,17 @@ public interface DatabaseSession {
      */
     int updateByIdVersion(Entity record) throws UnifyException;
 
+    /**
+     * Updates records by ID using JDBC batches.
+     * 
+     * @param records
+     *            the records to modify
+     * @return the number of records updated.
+     * @throws UnifyException
+     *             if an error occurs during modify
+     */
+    int updateAllById(List<? extends Entity> records) throws UnifyException;
+
     /**
      * Updates record in database by ID. Child records, if any, are not updated.
      * 
@@ -120,4 +120,20 @@ public interface DatabaseTransactionManager extends UnifyComponent {
      *             if an error occurs
      */
     void commit() throws UnifyException;
+
+    /**
+     * Adds a completion hook to current transaction. The hook is executed after
+     * the transaction is committed or rolled back. If no transaction is open, the
+     * hook's {@link TransactionCompletionHook#afterCommit()} is executed
+     * immediately. A hook equal to one already added to current transaction is
+     * ignored.
+     * 
+     * @param hook
+     *            the hook to add
+     * @return true if hook is added or executed, false if an equal hook is
+     *         already added
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    boolean addCompletionHook(TransactionCompletionHook hook) throws UnifyException;
 }
@@ -16,7 +16,9 @@
 
 package com.tcdng.unify.core.database;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Stack;
 
@@ -167,6 +169,16 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
         getCurrentTransaction().commit();
     }
 
+    @Override
+    public boolean addCompletionHook(TransactionCompletionHook hook) throws UnifyException {
+        if (isTransactionOpen()) {
+            return getCurrentTransaction().addCompletionHook(hook);
+        }
+
+        hook.afterCommit();
+        return true;
+    }
+
     @Override
     protected void onInitialize() throws UnifyException {
 
@@ -185,8 +197,9 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
         }
     }
 
-    private static class TransactionalCall {
+    private class TransactionalCall {
         private Map<Database, DatabaseSession> databaseSessions;
+        private List<TransactionCompletionHook> completionHooks;
         private boolean autoJoin;
         private boolean transaction;
         private boolean rollback;
@@ -197,6 +210,7 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
             this.transaction = transaction;
             rollback = !transaction;
             databaseSessions = new HashMap<Database, DatabaseSession>();
+            completionHooks = new ArrayList<TransactionCompletionHook>();
         }
 
         public DatabaseSession join(Database db) throws UnifyException {
@@ -263,7 +277,16 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
             return transaction;
         }
 
+        public boolean addCompletionHook(TransactionCompletionHook hook) {
+            if (completionHooks.contains(hook)) {
+                return false;
+            }
+
+            return completionHooks.add(hook);
+        }
+
         private void commit(boolean isClose) throws UnifyException {
+            boolean committed = !rollback;
             for (DatabaseSession dataSourceSession : databaseSessions.values()) {
                 try {
                     if (rollback) {
@@ -272,6 +295,7 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
                         dataSourceSession.commit();
                     }
                 } catch (Exception e) {
+                    committed = false;
                 } finally {
                     if (isClose) {
                         try {
@@ -283,6 +307,21 @@ public class DatabaseTransactionManagerImpl extends AbstractUnifyComponent imple
             }
             
             rollback = false;
+            if (!completionHooks.isEmpty()) {
+                List<TransactionCompletionHook> hooks = completionHooks;
+                completionHooks = new ArrayList<TransactionCompletionHook>();
+                for (TransactionCompletionHook hook : hooks) {
+                    try {
+                        if (committed) {
+                            hook.afterCommit();
+                        } else {
+                            hook.afterRollback();
+                        }
+                    } catch (Exception e) {
+                        logError(e);
+                    }
+                }
+            }
         }
     }
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.database;
+
+import com.tcdng.unify.core.UnifyComponent;
+import com.tcdng.unify.core.UnifyException;
+
+/**
+ * Component that is notified of committed changes to entities. A database
+ * notifies a singleton listener after a transaction that creates, updates or
+ * deletes records of an entity type the listener is listening to is committed.
+ * In cluster mode, the change is also broadcast to other nodes as part of the
+ * same transaction. Implementations should therefore annotate
+ * {@link #entityChanged(String...)} with
+ * {@link com.tcdng.unify.core.annotation.Broadcast}.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public interface EntityChangeListener extends UnifyComponent {
+
+    /**
+     * Tests if this listener is listening to changes of supplied entity type.
+     * 
+     * @param entityClass
+     *            the entity type
+     * @return true if listening otherwise false
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    boolean isListening(Class<? extends Entity> entityClass) throws UnifyException;
+
+    /**
+     * Called after changes to entities of supplied types are committed.
+     * 
+     * @param entityClassNames
+     *            the changed entity class names
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void entityChanged(String... entityClassNames) throws UnifyException;
+}
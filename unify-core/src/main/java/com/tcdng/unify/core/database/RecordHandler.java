@@ -0,0 +1,38 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.database;
+
+import com.tcdng.unify.core.UnifyException;
+
+/**
+ * Handles records streamed from a database cursor one at a time.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public interface RecordHandler<T extends Entity> {
+
+    /**
+     * Handles a record fetched by cursor.
+     * 
+     * @param record
+     *            the record to handle
+     * @return true to continue fetching records, false to stop
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    boolean handle(T record) throws UnifyException;
+}
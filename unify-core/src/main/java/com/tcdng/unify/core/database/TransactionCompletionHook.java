@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.database;
+
+/**
+ * Hook that is executed when a database transaction completes. Hooks are
+ * registered with the current transaction through
+ * {@link DatabaseTransactionManager#addCompletionHook(TransactionCompletionHook)}
+ * and are executed once, after the transaction sessions have been committed or
+ * rolled back.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public interface TransactionCompletionHook {
+
+    /**
+     * Executed after transaction is successfully committed.
+     */
+    void afterCommit();
+
+    /**
+     * Executed after transaction is rolled back or fails to commit.
+     */
+    void afterRollback();
+}
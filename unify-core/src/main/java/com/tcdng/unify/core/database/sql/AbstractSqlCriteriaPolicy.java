@@ -19,6 +19,7 @@ import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.ColumnType;
 import com.tcdng.unify.core.criterion.Restriction;
 import com.tcdng.unify.core.criterion.RestrictionType;
+import com.tcdng.unify.core.criterion.SimpleRestriction;
 import com.tcdng.unify.core.util.DataUtils;
 
 /**
@@ -44,6 +45,12 @@ public abstract class AbstractSqlCriteriaPolicy implements SqlCriteriaPolicy {
         doTranslate(sql, tableName, columnName, resolveParam(param1), resolveParam(param2));
     }
 
+    @Override
+    public void appendQueryShape(StringBuilder shape, Restriction restriction) throws UnifyException {
+        shape.append(restriction.getType().code()).append('(')
+                .append(((SimpleRestriction) restriction).getFieldName()).append(')');
+    }
+
     /**
      * Returns the SQL restriction policy for supplied restriction.
      * 
@@ -102,6 +109,20 @@ public abstract class AbstractSqlCriteriaPolicy implements SqlCriteriaPolicy {
         return sqlDataSourceDialect.getMaxClauseValues();
     }
 
+    /**
+     * Returns the maximum statement parameters.
+     */
+    protected int maximumStatementParameters() {
+        return sqlDataSourceDialect.getMaxStatementParameters();
+    }
+
+    /**
+     * Returns true if dialect caches SQL by query shape.
+     */
+    protected boolean isQueryShapeCache() {
+        return sqlDataSourceDialect.isQueryShapeCache();
+    }
+
     /**
      * Converts value to field type if necessary.
      * 
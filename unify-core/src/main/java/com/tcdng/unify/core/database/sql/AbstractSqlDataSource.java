@@ -20,6 +20,7 @@ import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -27,11 +28,17 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
+import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyCoreErrorConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.data.AbstractPool;
+import com.tcdng.unify.core.data.PoolEvictionType;
 import com.tcdng.unify.core.database.AbstractDataSource;
 import com.tcdng.unify.core.database.NativeQuery;
 import com.tcdng.unify.core.security.Authentication;
@@ -73,9 +80,27 @@ public abstract class AbstractSqlDataSource extends AbstractDataSource implement
     @Configurable("1")
     private int minConnections;
 
+    @Configurable("1")
+    private int minIdleConnections;
+
+    @Configurable("30000")
+    private long connectionIdleValidationTime;
+
+    @Configurable("5")
+    private int connectionValidationTimeout;
+
+    @Configurable("600000")
+    private long maxConnectionIdleTime;
+
+    @Configurable("1800000")
+    private long maxConnectionLifetime;
+
     @Configurable("false")
     private boolean shutdownOnTerminate;
 
+    @Configurable(ApplicationComponents.APPLICATION_SQLSTATEMENTEXECUTOR)
+    private SqlStatementExecutor sqlStatementExecutor;
+
     private SqlConnectionPool sqlConnectionPool;
 
     @Override
@@ -336,6 +361,22 @@ public abstract class AbstractSqlDataSource extends AbstractDataSource implement
         return sqlConnectionPool.available();
     }
 
+    @Override
+    public SqlConnectionPoolStats getConnectionPoolStats() throws UnifyException {
+        if (sqlConnectionPool != null) {
+            return sqlConnectionPool.getStats();
+        }
+
+        return null;
+    }
+
+    @Override
+    public void maintainConnectionPool() throws UnifyException {
+        if (sqlConnectionPool != null) {
+            sqlConnectionPool.maintain();
+        }
+    }
+
     @Override
     protected void onInitialize() throws UnifyException {
         logInfo("Initializing datasource [{0}]...", getName());
@@ -464,7 +505,7 @@ public abstract class AbstractSqlDataSource extends AbstractDataSource implement
         }
 
         return new SqlConnectionPool(connectionUrl, xUsername, xPassword, getConnectionTimeout, minConnections,
-                maxConnections);
+                maxConnections, maxConnectionIdleTime);
     }
 
     protected class SqlConnectionPool extends AbstractPool<Connection> {
@@ -477,12 +518,32 @@ public abstract class AbstractSqlDataSource extends AbstractDataSource implement
 
         private String testSql;
 
+        private ConcurrentMap<Connection, Long> createTimes;
+
+        private ConcurrentMap<Connection, Long> lastUsedTimes;
+
+        private AtomicLong validations;
+
+        private AtomicLong evictions;
+
+        private AtomicLongArray borrowWaitHistogram;
+
+        private volatile boolean isValidSupported;
+
+        private volatile boolean terminated;
+
         public SqlConnectionPool(String connectionURL, String username, String password, long getTimeout,
-                int minObjects, int maxObjects) {
-            super(getTimeout, minObjects, maxObjects, true);
+                int minObjects, int maxObjects, long maxIdleTime) {
+            super(getTimeout, minObjects, maxObjects, true, maxIdleTime, 0);
             this.connectionURL = connectionURL;
             this.username = username;
             this.password = password;
+            createTimes = new ConcurrentHashMap<Connection, Long>();
+            lastUsedTimes = new ConcurrentHashMap<Connection, Long>();
+            validations = new AtomicLong();
+            evictions = new AtomicLong();
+            borrowWaitHistogram = new AtomicLongArray(SqlConnectionPoolStats.BORROW_WAIT_BUCKET_BOUNDS.length + 1);
+            isValidSupported = true;
         }
 
         @Override
@@ -491,6 +552,72 @@ public abstract class AbstractSqlDataSource extends AbstractDataSource implement
             super.initialize();
         }
 
+        @Override
+        public void terminate() throws UnifyException {
+            terminated = true;
+            super.terminate();
+        }
+
+        @Override
+        public Connection borrowObject(Object... params) throws UnifyException {
+            long startTime = System.nanoTime();
+            Connection connection = super.borrowObject(params);
+            recordBorrowWait((System.nanoTime() - startTime) / 1000000L);
+            return connection;
+        }
+
+        @Override
+        public boolean returnObject(Connection connection) {
+            if (connection != null && createTimes.containsKey(connection)) {
+                lastUsedTimes.put(connection, System.currentTimeMillis());
+            }
+
+            return super.returnObject(connection);
+        }
+
+        /**
+         * Evicts idle connections that are past maximum lifetime or maximum idle
+         * time and tops up idle connections to configured minimum.
+         * 
+         * @throws UnifyException
+         *             if an error occurs
+         */
+        public void maintain() throws UnifyException {
+            if (terminated) {
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            for (Connection connection : getIdleObjects()) {
+                if (isLifetimeExpired(connection, now)) {
+                    evictIdleObject(connection, PoolEvictionType.MAX_LIFETIME);
+                }
+            }
+
+            evictIdleObjects(minIdleConnections);
+
+            try {
+                int idleCount = idle();
+                while (idleCount < minIdleConnections && addIdleObject()) {
+                    idleCount++;
+                }
+            } catch (UnifyException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new UnifyException(e, UnifyCoreErrorConstants.GENERIC_OBJECT_POOL_ERROR, e.getMessage());
+            }
+        }
+
+        public SqlConnectionPoolStats getStats() {
+            long[] histogram = new long[borrowWaitHistogram.length()];
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = borrowWaitHistogram.get(i);
+            }
+
+            return new SqlConnectionPoolStats(borrowed(), idle(), getWaitingCount(), getBorrowCount(),
+                    getTimeoutCount(), validations.get(), getEvictionCount() + evictions.get(), histogram);
+        }
+
         @Override
         protected Connection createObject(Object... params) throws Exception {
             Connection connection = null;
@@ -500,6 +627,9 @@ public abstract class AbstractSqlDataSource extends AbstractDataSource implement
                 connection = DriverManager.getConnection(connectionURL);
             }
             connection.setAutoCommit(false);
+            long now = System.currentTimeMillis();
+            createTimes.put(connection, now);
+            lastUsedTimes.put(connection, now);
             return connection;
         }
 
@@ -509,6 +639,58 @@ public abstract class AbstractSqlDataSource extends AbstractDataSource implement
                 throw new UnifyException(UnifyCoreErrorConstants.DATASOURCE_BAD_CONNECTION, getName());
             }
 
+            long now = System.currentTimeMillis();
+            if (isLifetimeExpired(connection, now)) {
+                evictions.incrementAndGet();
+                throw new UnifyException(UnifyCoreErrorConstants.DATASOURCE_BAD_CONNECTION, getName());
+            }
+
+            // Validate only connections that have been idle long enough to go stale
+            Long lastUsedTime = lastUsedTimes.get(connection);
+            if (lastUsedTime == null || (now - lastUsedTime) >= connectionIdleValidationTime) {
+                validateConnection(connection);
+            }
+        }
+
+        @Override
+        protected void destroyObject(Connection connection) {
+            createTimes.remove(connection);
+            lastUsedTimes.remove(connection);
+            try {
+                sqlStatementExecutor.invalidatePreparedStatementCache(connection);
+                connection.rollback();
+                logDebug("Destroyed connection...");
+            } catch (Exception e) {
+            } finally {
+                SqlUtils.close(connection);
+            }
+        }
+
+        private boolean isLifetimeExpired(Connection connection, long now) {
+            if (maxConnectionLifetime > 0) {
+                Long createTime = createTimes.get(connection);
+                return createTime != null && (now - createTime) >= maxConnectionLifetime;
+            }
+
+            return false;
+        }
+
+        private void validateConnection(Connection connection) throws Exception {
+            validations.incrementAndGet();
+            if (isValidSupported) {
+                try {
+                    if (!connection.isValid(connectionValidationTimeout)) {
+                        throw new UnifyException(UnifyCoreErrorConstants.DATASOURCE_BAD_CONNECTION, getName());
+                    }
+                    return;
+                } catch (SQLFeatureNotSupportedException e) {
+                    isValidSupported = false;
+                } catch (AbstractMethodError e) {
+                    // Pre-JDBC 4 driver
+                    isValidSupported = false;
+                }
+            }
+
             // Full connection test
             PreparedStatement pStmt = null;
             ResultSet rs = null;
@@ -521,15 +703,13 @@ public abstract class AbstractSqlDataSource extends AbstractDataSource implement
             }
         }
 
-        @Override
-        protected void destroyObject(Connection connection) {
-            try {
-                connection.rollback();
-                logDebug("Destroyed connection...");
-            } catch (Exception e) {
-            } finally {
-                SqlUtils.close(connection);
+        private void recordBorrowWait(long waitMillis) {
+            long[] bounds = SqlConnectionPoolStats.BORROW_WAIT_BUCKET_BOUNDS;
+            int i = 0;
+            while (i < bounds.length && waitMillis > bounds[i]) {
+                i++;
             }
+            borrowWaitHistogram.incrementAndGet(i);
         }
     }
 }
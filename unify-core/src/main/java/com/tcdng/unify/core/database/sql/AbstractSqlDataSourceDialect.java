@@ -121,6 +121,15 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
     @Configurable("64")
     private int maxStatementInfo;
 
+    @Configurable("100")
+    private int batchSize;
+
+    @Configurable("500")
+    private int fetchSize;
+
+    @Configurable("256")
+    private int queryShapeCacheSize;
+
     private DateFormat timestampFormat;
 
     private SqlCacheFactory sqlCacheFactory;
@@ -133,6 +142,8 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
 
     private Map<RestrictionType, SqlCriteriaPolicy> sqlCriteriaPolicies;
 
+    private Map<String, QueryShapeTemplate> queryShapeCache;
+
     private String terminationSql;
 
     private String newLineSql;
@@ -846,6 +857,26 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
         return 0;
     }
 
+    @Override
+    public int getMaxStatementParameters() {
+        return 0;
+    }
+
+    @Override
+    public boolean isQueryShapeCache() {
+        return queryShapeCacheSize > 0;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize > 0 ? batchSize : 1;
+    }
+
+    @Override
+    public int getFetchSize() {
+        return fetchSize > 0 ? fetchSize : 0;
+    }
+
     @Override
     public String normalizeDefault(String defaultStr) {
         return defaultStr;
@@ -884,6 +915,12 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
     @Override
     public SqlStatement prepareCountStatement(Query<? extends Entity> query, boolean useView) throws UnifyException {
         SqlEntityInfo sqlEntityInfo = getSqlEntityInfo(query);
+        String shapeKey = getQueryShapeKey(useView ? "COUNT:V" : "COUNT:T", query);
+        SqlStatement cachedStatement = getQueryShapeStatement(shapeKey, sqlEntityInfo, query);
+        if (cachedStatement != null) {
+            return cachedStatement;
+        }
+
         List<SqlParameter> parameterInfoList = new ArrayList<SqlParameter>();
         StringBuilder countSql = new StringBuilder();
         if (useView) {
@@ -893,7 +930,8 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
         }
 
         appendWhereClause(countSql, parameterInfoList, sqlEntityInfo, query, SqlQueryType.SELECT);
-        return new SqlStatement(sqlEntityInfo, SqlStatementType.COUNT, countSql.toString(), parameterInfoList);
+        return putQueryShapeStatement(shapeKey,
+                new SqlStatement(sqlEntityInfo, SqlStatementType.COUNT, countSql.toString(), parameterInfoList));
     }
 
     @Override
@@ -1008,6 +1046,12 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
     @Override
     public SqlStatement prepareFindStatement(Query<? extends Entity> query, boolean useView) throws UnifyException {
         SqlEntityInfo sqlEntityInfo = getSqlEntityInfo(query);
+        String shapeKey = getQueryShapeKey(useView ? "FIND:V" : "FIND:T", query);
+        SqlStatement cachedStatement = getQueryShapeStatement(shapeKey, sqlEntityInfo, query);
+        if (cachedStatement != null) {
+            return cachedStatement;
+        }
+
         List<SqlParameter> parameterInfoList = new ArrayList<SqlParameter>();
         List<SqlFieldInfo> returnFieldInfoList = null;
         StringBuilder findSql = new StringBuilder();
@@ -1098,8 +1142,8 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
         }
 
         appendWhereClause(findSql, parameterInfoList, sqlEntityInfo, query, SqlQueryType.SELECT);
-        return new SqlStatement(sqlEntityInfo, SqlStatementType.FIND, findSql.toString(), parameterInfoList,
-                getSqlResultList(returnFieldInfoList));
+        return putQueryShapeStatement(shapeKey, new SqlStatement(sqlEntityInfo, SqlStatementType.FIND,
+                findSql.toString(), parameterInfoList, getSqlResultList(returnFieldInfoList)));
     }
 
     @Override
@@ -1116,6 +1160,12 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
     @Override
     public SqlStatement prepareListStatement(Query<? extends Entity> query) throws UnifyException {
         SqlEntityInfo sqlEntityInfo = getSqlEntityInfo(query);
+        String shapeKey = getQueryShapeKey("LIST", query);
+        SqlStatement cachedStatement = getQueryShapeStatement(shapeKey, sqlEntityInfo, query);
+        if (cachedStatement != null) {
+            return cachedStatement;
+        }
+
         List<SqlParameter> parameterInfoList = new ArrayList<SqlParameter>();
         List<SqlFieldInfo> returnFieldInfoList = null;
         StringBuilder listSql = new StringBuilder();
@@ -1176,8 +1226,8 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
         }
 
         appendWhereClause(listSql, parameterInfoList, sqlEntityInfo, query, SqlQueryType.SELECT);
-        return new SqlStatement(sqlEntityInfo, SqlStatementType.LIST, listSql.toString(), parameterInfoList,
-                getSqlResultList(returnFieldInfoList));
+        return putQueryShapeStatement(shapeKey, new SqlStatement(sqlEntityInfo, SqlStatementType.LIST,
+                listSql.toString(), parameterInfoList, getSqlResultList(returnFieldInfoList)));
     }
 
     @Override
@@ -1393,6 +1443,15 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
                 minStatementInfo, maxStatementInfo, useCallableFunctionMode);
         terminationSql = ";";
         newLineSql = getLineSeparator();
+        queryShapeCache = new LinkedHashMap<String, QueryShapeTemplate>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QueryShapeTemplate> eldest) {
+                return size() > queryShapeCacheSize;
+            }
+        };
     }
 
     @Override
@@ -1602,6 +1661,106 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
         return isAppend;
     }
 
+    /**
+     * Returns a key that identifies the SQL generated for supplied query. Queries
+     * with the same key differ only in parameter values.
+     * 
+     * @param statementKey
+     *            the statement key
+     * @param query
+     *            the query
+     * @return the query shape key or null if query shape caching is disabled
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    protected String getQueryShapeKey(String statementKey, Query<? extends Entity> query) throws UnifyException {
+        if (queryShapeCacheSize <= 0) {
+            return null;
+        }
+
+        StringBuilder shape = new StringBuilder();
+        shape.append(statementKey).append('|').append(query.getEntityClass().getName());
+        Select select = query.getSelect();
+        if (select != null) {
+            shape.append("|S").append(select.isDistinct() ? 'D' : 'A');
+            for (String name : select.values()) {
+                shape.append(',').append(name);
+            }
+        }
+
+        if (query.isOrder()) {
+            shape.append("|O");
+            for (Order.Part part : query.getOrder().getParts()) {
+                shape.append(',').append(part.getField()).append(' ').append(part.getType().code());
+            }
+        }
+
+        shape.append("|L").append(query.getLimit()).append(',').append(getQueryLimit(query));
+        shape.append("|F").append(query.getOffset());
+        if (query.isMin()) {
+            shape.append("|MIN").append(query.getMinProperty());
+        } else if (query.isMax()) {
+            shape.append("|MAX").append(query.getMaxProperty());
+        }
+
+        shape.append("|W");
+        if (query.isEmptyCriteria()) {
+            shape.append(query.isIgnoreEmptyCriteria());
+        } else {
+            Restriction restriction = query.getRestrictions();
+            getSqlCriteriaPolicy(restriction.getType()).appendQueryShape(shape, restriction);
+        }
+
+        return shape.toString();
+    }
+
+    private SqlStatement getQueryShapeStatement(String shapeKey, SqlEntityInfo sqlEntityInfo,
+            Query<? extends Entity> query) throws UnifyException {
+        if (shapeKey != null) {
+            QueryShapeTemplate template = null;
+            synchronized (queryShapeCache) {
+                template = queryShapeCache.get(shapeKey);
+            }
+
+            if (template != null) {
+                List<SqlParameter> parameterInfoList = new ArrayList<SqlParameter>();
+                if (!query.isEmptyCriteria()) {
+                    Restriction restriction = query.getRestrictions();
+                    SqlCriteriaPolicy sqlCriteriaPolicy = getSqlCriteriaPolicy(restriction.getType());
+                    sqlCriteriaPolicy.generatePreparedStatementParameters(parameterInfoList, sqlEntityInfo,
+                            restriction);
+                    if (query.isMinMax()) {
+                        sqlCriteriaPolicy.generatePreparedStatementParameters(parameterInfoList, sqlEntityInfo,
+                                restriction);
+                    }
+                }
+
+                // Parameter padding depends on parameters bound before. Use template only if same
+                if (template.isMatch(parameterInfoList)) {
+                    SqlStatement templateStatement = template.getStatement();
+                    return new SqlStatement(sqlEntityInfo, templateStatement.getType(), templateStatement.getSql(),
+                            parameterInfoList, templateStatement.getResultInfoList());
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private SqlStatement putQueryShapeStatement(String shapeKey, SqlStatement sqlStatement) {
+        if (shapeKey != null) {
+            SqlStatement templateStatement = new SqlStatement(sqlStatement.getSqlEntityInfo(), sqlStatement.getType(),
+                    sqlStatement.getSql(), Collections.<SqlParameter>emptyList(), sqlStatement.getResultInfoList());
+            QueryShapeTemplate template =
+                    new QueryShapeTemplate(templateStatement, sqlStatement.getParameterInfoList());
+            synchronized (queryShapeCache) {
+                queryShapeCache.put(shapeKey, template);
+            }
+        }
+
+        return sqlStatement;
+    }
+
     private void appendMinMax(StringBuilder sql, SqlEntityInfo sqlEntityInfo, Query<? extends Entity> query,
             StringBuilder critSql) throws UnifyException {
         sql.append('(');
@@ -2228,6 +2387,39 @@ public abstract class AbstractSqlDataSourceDialect extends AbstractUnifyComponen
         }
     }
 
+    private static class QueryShapeTemplate {
+
+        private SqlStatement statement;
+
+        private int[] bindCounts;
+
+        public QueryShapeTemplate(SqlStatement statement, List<SqlParameter> parameterInfoList) {
+            this.statement = statement;
+            bindCounts = new int[parameterInfoList.size()];
+            for (int i = 0; i < bindCounts.length; i++) {
+                bindCounts[i] = parameterInfoList.get(i).getBindCount();
+            }
+        }
+
+        public SqlStatement getStatement() {
+            return statement;
+        }
+
+        public boolean isMatch(List<SqlParameter> parameterInfoList) {
+            if (parameterInfoList.size() != bindCounts.length) {
+                return false;
+            }
+
+            for (int i = 0; i < bindCounts.length; i++) {
+                if (parameterInfoList.get(i).getBindCount() != bindCounts[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
     private class SqlCacheFactory extends FactoryMap<Class<?>, SqlCache> {
         @Override
         protected SqlCache create(Class<?> clazz, Object... params) throws Exception {
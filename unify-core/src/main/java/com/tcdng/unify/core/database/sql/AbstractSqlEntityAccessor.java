@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.database.sql;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Convenient base class for generated entity accessors. Provides conversion of
+ * values to primitive field types. Like reflective setter invocation, a value
+ * that does not fit a field is rejected instead of being silently narrowed.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public abstract class AbstractSqlEntityAccessor implements SqlEntityAccessor {
+
+    private static final BigInteger MIN_LONG = BigInteger.valueOf(Long.MIN_VALUE);
+
+    private static final BigInteger MAX_LONG = BigInteger.valueOf(Long.MAX_VALUE);
+
+    protected static boolean toBoolean(Object value) {
+        return value == null ? false : ((Boolean) value).booleanValue();
+    }
+
+    protected static char toChar(Object value) {
+        return value == null ? (char) 0 : ((Character) value).charValue();
+    }
+
+    protected static byte toByte(Object value) {
+        long result = toLong(value);
+        if (result != (byte) result) {
+            throw new IllegalArgumentException("Value " + value + " is out of range of byte field.");
+        }
+
+        return (byte) result;
+    }
+
+    protected static short toShort(Object value) {
+        long result = toLong(value);
+        if (result != (short) result) {
+            throw new IllegalArgumentException("Value " + value + " is out of range of short field.");
+        }
+
+        return (short) result;
+    }
+
+    protected static int toInt(Object value) {
+        long result = toLong(value);
+        if (result != (int) result) {
+            throw new IllegalArgumentException("Value " + value + " is out of range of int field.");
+        }
+
+        return (int) result;
+    }
+
+    protected static long toLong(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+
+        if (value instanceof BigDecimal) {
+            try {
+                return ((BigDecimal) value).longValueExact();
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Value " + value + " is not a whole number in range of long.");
+            }
+        }
+
+        if (value instanceof BigInteger) {
+            BigInteger bigInteger = (BigInteger) value;
+            if (bigInteger.compareTo(MIN_LONG) < 0 || bigInteger.compareTo(MAX_LONG) > 0) {
+                throw new IllegalArgumentException("Value " + value + " is out of range of long.");
+            }
+
+            return bigInteger.longValue();
+        }
+
+        if (value instanceof Double || value instanceof Float) {
+            double doubleValue = ((Number) value).doubleValue();
+            // Long.MAX_VALUE as double rounds up to 2^63
+            if (doubleValue != Math.rint(doubleValue) || doubleValue < Long.MIN_VALUE
+                    || doubleValue >= Long.MAX_VALUE) {
+                throw new IllegalArgumentException("Value " + value + " is not a whole number in range of long.");
+            }
+
+            return (long) doubleValue;
+        }
+
+        throw new IllegalArgumentException("Value of type " + value.getClass() + " can not be set on integer field.");
+    }
+
+    protected static float toFloat(Object value) {
+        if (value == null) {
+            return 0.0f;
+        }
+
+        double doubleValue = toDouble(value);
+        float result = (float) doubleValue;
+        if (Float.isInfinite(result) && !Double.isInfinite(doubleValue)) {
+            throw new IllegalArgumentException("Value " + value + " is out of range of float field.");
+        }
+
+        return result;
+    }
+
+    protected static double toDouble(Object value) {
+        if (value == null) {
+            return 0.0;
+        }
+
+        if (value instanceof Number) {
+            double result = ((Number) value).doubleValue();
+            if (Double.isInfinite(result) && !(value instanceof Double || value instanceof Float)) {
+                throw new IllegalArgumentException("Value " + value + " is out of range of double field.");
+            }
+
+            return result;
+        }
+
+        throw new IllegalArgumentException("Value of type " + value.getClass() + " can not be set on decimal field.");
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.database.sql;
+
+/**
+ * SQL connection pool statistics snapshot.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class SqlConnectionPoolStats {
+
+    /** Upper bounds in milliseconds of borrow wait histogram buckets */
+    public static final long[] BORROW_WAIT_BUCKET_BOUNDS = { 1, 5, 10, 50, 100, 500, 1000 };
+
+    private int activeConnections;
+
+    private int idleConnections;
+
+    private int waitingThreads;
+
+    private long totalBorrows;
+
+    private long borrowTimeouts;
+
+    private long validations;
+
+    private long evictions;
+
+    private long[] borrowWaitHistogram;
+
+    public SqlConnectionPoolStats(int activeConnections, int idleConnections, int waitingThreads, long totalBorrows,
+            long borrowTimeouts, long validations, long evictions, long[] borrowWaitHistogram) {
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.waitingThreads = waitingThreads;
+        this.totalBorrows = totalBorrows;
+        this.borrowTimeouts = borrowTimeouts;
+        this.validations = validations;
+        this.evictions = evictions;
+        this.borrowWaitHistogram = borrowWaitHistogram;
+    }
+
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getWaitingThreads() {
+        return waitingThreads;
+    }
+
+    public long getTotalBorrows() {
+        return totalBorrows;
+    }
+
+    public long getBorrowTimeouts() {
+        return borrowTimeouts;
+    }
+
+    public long getValidations() {
+        return validations;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns borrow wait counts. Element at index <code>i</code> holds the number
+     * of borrows that waited up to {@link #BORROW_WAIT_BUCKET_BOUNDS}[i]
+     * milliseconds. The last element holds borrows that waited longer than the
+     * last bound.
+     */
+    public long[] getBorrowWaitHistogram() {
+        return borrowWaitHistogram;
+    }
+}
@@ -45,6 +45,37 @@ public interface SqlCriteriaPolicy {
     void generatePreparedStatementCriteria(StringBuilder sql, List<SqlParameter> parameterInfoList,
             SqlEntityInfo sqlEntityInfo, Restriction restriction) throws UnifyException;
 
+    /**
+     * Generates only the prepared statement parameter information for supplied
+     * restriction. Parameters are added in the same order as
+     * {@link #generatePreparedStatementCriteria(StringBuilder, List, SqlEntityInfo, Restriction)}.
+     * 
+     * @param parameterInfoList
+     *            parameter information is added to this list
+     * @param sqlEntityInfo
+     *            the record type information object
+     * @param restriction
+     *            the restriction object
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void generatePreparedStatementParameters(List<SqlParameter> parameterInfoList, SqlEntityInfo sqlEntityInfo,
+            Restriction restriction) throws UnifyException;
+
+    /**
+     * Appends the shape of supplied restriction to a query shape key. The shape
+     * covers restriction types, field names and value cardinality but not
+     * parameter values.
+     * 
+     * @param shape
+     *            the buffer to write to
+     * @param restriction
+     *            the restriction object
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void appendQueryShape(StringBuilder shape, Restriction restriction) throws UnifyException;
+
     /**
      * Translates a restriction object to native SQL and appends to supplied string
      * buffer..
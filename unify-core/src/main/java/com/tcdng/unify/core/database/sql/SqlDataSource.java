@@ -161,6 +161,24 @@ public interface SqlDataSource extends DataSource, NameSqlDataSourceSchema {
      */
     boolean testConnection() throws UnifyException;
 
+    /**
+     * Returns a snapshot of this data source connection pool statistics.
+     * 
+     * @return the pool statistics or null if data source has no connection pool
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    SqlConnectionPoolStats getConnectionPoolStats() throws UnifyException;
+
+    /**
+     * Evicts stale idle connections and keeps minimum idle connections in this
+     * data source connection pool.
+     * 
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void maintainConnectionPool() throws UnifyException;
+
     /**
      * Tests a native query.
      * 
@@ -368,6 +368,35 @@ public interface SqlDataSourceDialect extends DataSourceDialect, SqlGenerator {
      */
     int getMaxClauseValues();
 
+    /**
+     * Gets the maximum number of parameters the data source would accept in a
+     * single prepared statement.
+     * 
+     * @return the maximum number. Zero or negative value if there is no limit
+     */
+    int getMaxStatementParameters();
+
+    /**
+     * Returns true if generated SQL is cached by query shape.
+     */
+    boolean isQueryShapeCache();
+
+    /**
+     * Gets the maximum number of statements to send to the data source in a
+     * single JDBC batch.
+     * 
+     * @return the batch size. Always greater than zero
+     */
+    int getBatchSize();
+
+    /**
+     * Gets the number of rows to fetch from the data source per round trip when
+     * streaming records through a cursor.
+     * 
+     * @return the fetch size. Zero to use driver default
+     */
+    int getFetchSize();
+
     /**
      * Normalizes default value based on this dialect.
      * 
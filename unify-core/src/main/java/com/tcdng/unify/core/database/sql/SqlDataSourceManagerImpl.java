@@ -21,6 +21,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -33,8 +34,11 @@ import com.tcdng.unify.core.UnifyCoreErrorConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.annotation.Periodic;
+import com.tcdng.unify.core.annotation.PeriodicType;
 import com.tcdng.unify.core.database.DataSourceManager;
 import com.tcdng.unify.core.database.Entity;
+import com.tcdng.unify.core.task.TaskMonitor;
 import com.tcdng.unify.core.util.DataUtils;
 import com.tcdng.unify.core.util.SqlUtils;
 import com.tcdng.unify.core.util.StringUtils;
@@ -54,9 +58,16 @@ public class SqlDataSourceManagerImpl extends AbstractUnifyComponent implements
     @Configurable("false")
     private boolean formatSql;
 
+    private Set<String> initializedDataSources;
+
+    public SqlDataSourceManagerImpl() {
+        initializedDataSources = Collections.synchronizedSet(new HashSet<String>());
+    }
+
     @Override
     public void initDataSource(String datasource) throws UnifyException {
         SqlDataSource sqlDataSource = (SqlDataSource) getComponent(datasource);
+        initializedDataSources.add(datasource);
         Connection connection = (Connection) sqlDataSource.getConnection();
         PreparedStatement pstmt = null;
         try {
@@ -96,6 +107,22 @@ public class SqlDataSourceManagerImpl extends AbstractUnifyComponent implements
         }
     }
 
+    @Periodic(PeriodicType.SLOWER)
+    public void maintainConnectionPools(TaskMonitor taskMonitor) throws UnifyException {
+        List<String> dataSourceNames = null;
+        synchronized (initializedDataSources) {
+            dataSourceNames = new ArrayList<String>(initializedDataSources);
+        }
+
+        for (String dataSourceName : dataSourceNames) {
+            try {
+                ((SqlDataSource) getComponent(dataSourceName)).maintainConnectionPool();
+            } catch (Exception e) {
+                logError(e);
+            }
+        }
+    }
+
     @Override
     protected void onInitialize() throws UnifyException {
 
@@ -19,6 +19,8 @@ import java.lang.reflect.Method;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -40,6 +42,7 @@ import com.tcdng.unify.core.database.DatabaseSession;
 import com.tcdng.unify.core.database.Entity;
 import com.tcdng.unify.core.database.EntityPolicy;
 import com.tcdng.unify.core.database.Query;
+import com.tcdng.unify.core.database.RecordHandler;
 import com.tcdng.unify.core.util.ReflectUtils;
 import com.tcdng.unify.core.util.SqlUtils;
 
@@ -51,6 +54,8 @@ import com.tcdng.unify.core.util.SqlUtils;
  */
 public class SqlDatabaseSessionImpl implements DatabaseSession {
 
+    private static final int DEFAULT_CHILD_CHUNK_SIZE = 500;
+
     private SqlDataSource sqlDataSource;
     private SqlDataSourceDialect sqlDataSourceDialect;
     private SqlStatementExecutor sqlStatementExecutor;
@@ -94,7 +99,7 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
             getSqlStatementExecutor().executeUpdate(connection, sqlStatement);
 
             if (sqlEntityInfo.isChildList()) {
-                createChildRecords(sqlEntityInfo, record, id);
+                createChildRecords(sqlEntityInfo, Collections.singletonList(record));
             }
         } catch (UnifyException e) {
             throw e;
@@ -104,6 +109,52 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
         return id;
     }
 
+    @Override
+    public void createAll(List<? extends Entity> records) throws UnifyException {
+        final int batchSize = sqlDataSourceDialect.getBatchSize();
+        List<SqlStatement> batchStatementList = new ArrayList<SqlStatement>();
+        List<Entity> batchRecordList = new ArrayList<Entity>();
+        SqlEntityInfo batchSqlEntityInfo = null;
+        Date now = null;
+        for (Entity record : records) {
+            SqlEntityInfo sqlEntityInfo = sqlDataSourceDialect.getSqlEntityInfo(SqlUtils.getEntityClass(record));
+            if (sqlEntityInfo.isViewOnly()) {
+                throw new UnifyException(UnifyCoreErrorConstants.RECORD_VIEW_OPERATION_UNSUPPORTED,
+                        sqlEntityInfo.getEntityClass(), "CREATE");
+            }
+
+            if (batchSqlEntityInfo != null
+                    && (batchSqlEntityInfo != sqlEntityInfo || batchStatementList.size() >= batchSize)) {
+                executeCreateBatch(batchSqlEntityInfo, batchStatementList, batchRecordList);
+            }
+
+            batchSqlEntityInfo = sqlEntityInfo;
+            EntityPolicy entityPolicy = sqlEntityInfo.getEntityPolicy();
+            if (entityPolicy != null) {
+                if (entityPolicy.isSetNow()) {
+                    if (now == null) {
+                        now = getNow();
+                    }
+                    entityPolicy.preCreate(record, now);
+                } else {
+                    entityPolicy.preCreate(record, null);
+                }
+            }
+
+            SqlStatement sqlStatement = sqlDataSourceDialect.prepareCreateStatement(record);
+            try {
+                batchStatementList.add(detachStatement(sqlStatement));
+            } finally {
+                sqlDataSourceDialect.restoreStatement(sqlStatement);
+            }
+            batchRecordList.add(record);
+        }
+
+        if (batchSqlEntityInfo != null) {
+            executeCreateBatch(batchSqlEntityInfo, batchStatementList, batchRecordList);
+        }
+    }
+
     @Override
     public <T extends Entity> T find(Class<T> clazz, Object id) throws UnifyException {
         return find(clazz, id, true);
@@ -174,6 +225,28 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
                 sqlDataSourceDialect.prepareFindStatement(query, true));
     }
 
+    @Override
+    public <T extends Entity> List<T> findAllWithChildren(Query<T> query) throws UnifyException {
+        List<T> list = findAll(query);
+        fetchChildRecords(list, query.getSelect(), false);
+        return list;
+    }
+
+    @Override
+    public <T extends Entity> int findAll(Query<T> query, RecordHandler<T> recordHandler) throws UnifyException {
+        SqlEntityInfo sqlEntityInfo = sqlDataSourceDialect.getSqlEntityInfo(query.getEntityClass());
+        EntityPolicy entityPolicy = sqlEntityInfo.getEntityPolicy();
+        if (entityPolicy != null) {
+            entityPolicy.preQuery(query);
+        }
+
+        // Check is fetch from table
+        boolean useView = !sqlEntityInfo.testTrueFieldNamesOnly(query.getRestrictedFields());
+        return getSqlStatementExecutor().executeMultipleRecordResultQuery(connection,
+                sqlDataSourceDialect.prepareFindStatement(query, useView), sqlDataSourceDialect.getFetchSize(),
+                recordHandler);
+    }
+
     @Override
     public <T, U extends Entity> Map<T, U> findAllMap(Class<T> keyClass, String keyName, Query<U> query)
             throws UnifyException {
@@ -255,6 +328,13 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
                 sqlDataSourceDialect.prepareListStatement(query));
     }
 
+    @Override
+    public <T extends Entity> List<T> listAllWithChildren(Query<T> query) throws UnifyException {
+        List<T> list = listAll(query);
+        fetchChildRecords(list, query.getSelect(), true);
+        return list;
+    }
+
     @Override
     public <T, U extends Entity> Map<T, U> listAll(Class<T> keyClass, String keyName, Query<U> query)
             throws UnifyException {
@@ -410,7 +490,7 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
             for (SqlForeignKeyInfo sqlForeignKeyInfo : sqlEntityInfo.getForeignKeyList()) {
                 SqlFieldInfo fkSqlFieldInfo = sqlForeignKeyInfo.getSqlFieldInfo();
                 if (!fkSqlFieldInfo.isIgnoreFkConstraint()) {
-                    Object fkId = fkSqlFieldInfo.getGetter().invoke(record);
+                    Object fkId = fkSqlFieldInfo.getValue(record);
                     if (fkId != null) {
                         SqlEntityInfo fkSqlEntityInfo = fkSqlFieldInfo.getForeignEntityInfo();
                         Object fkRecord = null;
@@ -437,8 +517,8 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
                     if (sqlFieldInfo.isListOnly()) {
                         Object fkRecord = fkItemMap.get(sqlFieldInfo.getForeignKeyFieldInfo().getName());
                         if (fkRecord != null) {
-                            Object val = sqlFieldInfo.getForeignFieldInfo().getGetter().invoke(fkRecord);
-                            sqlFieldInfo.getSetter().invoke(record, val);
+                            Object val = sqlFieldInfo.getForeignFieldInfo().getValue(fkRecord);
+                            sqlFieldInfo.setValue(record, val);
                         }
                     }
                 }
@@ -460,6 +540,54 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
         return updateByIdVersion(record, true);
     }
 
+    @Override
+    public int updateAllById(List<? extends Entity> records) throws UnifyException {
+        final int batchSize = sqlDataSourceDialect.getBatchSize();
+        List<SqlStatement> batchStatementList = new ArrayList<SqlStatement>();
+        List<Entity> batchRecordList = new ArrayList<Entity>();
+        SqlEntityInfo batchSqlEntityInfo = null;
+        Date now = null;
+        int result = 0;
+        for (Entity record : records) {
+            SqlEntityInfo sqlEntityInfo = sqlDataSourceDialect.getSqlEntityInfo(SqlUtils.getEntityClass(record));
+            if (sqlEntityInfo.isViewOnly()) {
+                throw new UnifyException(UnifyCoreErrorConstants.RECORD_VIEW_OPERATION_UNSUPPORTED,
+                        sqlEntityInfo.getEntityClass(), "UPDATE");
+            }
+
+            if (batchSqlEntityInfo != null
+                    && (batchSqlEntityInfo != sqlEntityInfo || batchStatementList.size() >= batchSize)) {
+                result += executeUpdateBatch(batchSqlEntityInfo, batchStatementList, batchRecordList);
+            }
+
+            batchSqlEntityInfo = sqlEntityInfo;
+            EntityPolicy entityPolicy = sqlEntityInfo.getEntityPolicy();
+            if (entityPolicy != null) {
+                if (entityPolicy.isSetNow()) {
+                    if (now == null) {
+                        now = getNow();
+                    }
+                    entityPolicy.preUpdate(record, now);
+                } else {
+                    entityPolicy.preUpdate(record, null);
+                }
+            }
+
+            SqlStatement sqlStatement = sqlDataSourceDialect.prepareUpdateByPkStatement(record);
+            try {
+                batchStatementList.add(detachStatement(sqlStatement));
+            } finally {
+                sqlDataSourceDialect.restoreStatement(sqlStatement);
+            }
+            batchRecordList.add(record);
+        }
+
+        if (batchSqlEntityInfo != null) {
+            result += executeUpdateBatch(batchSqlEntityInfo, batchStatementList, batchRecordList);
+        }
+        return result;
+    }
+
     @Override
     public int updateLeanById(Entity record) throws UnifyException {
         return updateById(record, false);
@@ -576,7 +704,7 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
         try {
             Object oldVersionNo = null;
             if (sqlEntityInfo.isVersioned()) {
-                oldVersionNo = sqlEntityInfo.getVersionFieldInfo().getGetter().invoke(record);
+                oldVersionNo = sqlEntityInfo.getVersionFieldInfo().getValue(record);
                 if (entityPolicy != null) {
                     if (entityPolicy.isSetNow()) {
                         entityPolicy.preDelete(record, getNow());
@@ -1001,11 +1129,22 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
     private <T extends Entity> void fetchChildRecords(T record, Select select, boolean isListOnly)
             throws UnifyException {
         if (record != null) {
+            fetchChildRecords(Collections.singletonList(record), select, isListOnly);
+        }
+    }
+
+    private <T extends Entity> void fetchChildRecords(List<T> records, Select select, boolean isListOnly)
+            throws UnifyException {
+        if (!records.isEmpty()) {
             try {
-                SqlEntityInfo sqlEntityInfo = sqlDataSourceDialect.getSqlEntityInfo(SqlUtils.getEntityClass(record));
+                SqlEntityInfo sqlEntityInfo =
+                        sqlDataSourceDialect.getSqlEntityInfo(SqlUtils.getEntityClass(records.get(0)));
                 if (sqlEntityInfo.isChildList()) {
                     boolean isSelect = select != null && !select.isEmpty();
-                    Object id = record.getId();
+                    List<Object> idList = new ArrayList<Object>(records.size());
+                    for (T record : records) {
+                        idList.add(record.getId());
+                    }
 
                     if (sqlEntityInfo.isSingleChildList()) {
                         for (ChildFieldInfo clfi : sqlEntityInfo.getSingleChildInfoList()) {
@@ -1013,34 +1152,22 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
                                 continue;
                             }
 
-                            SqlEntityInfo childSqlEntityInfo =
-                                    sqlDataSourceDialect.getSqlEntityInfo(clfi.getChildEntityClass());
-                            Query<? extends Entity> query = Query.of(clfi.getChildEntityClass());
-                            query.addEquals(clfi.getChildFkField().getName(), id)
-                                    .addOrder(childSqlEntityInfo.getIdFieldInfo().getName());
-                            List<? extends Entity> childList = null;
-                            if (isListOnly) {
-                                childList = listAll(query);
-                            } else {
-                                childList = findAll(query);
-                            }
+                            Map<Object, List<Entity>> childListMap = fetchChildRecords(clfi, idList, isListOnly);
+                            for (T record : records) {
+                                Entity childRecord = null;
+                                List<Entity> childList = childListMap.get(record.getId());
+                                if (childList != null) {
+                                    if (childList.size() > 1) {
+                                        throw new UnifyException(UnifyCoreErrorConstants.RECORD_MULTIPLE_CHILD_FOUND,
+                                                record.getClass(), record.getId(), clfi.getField().getName());
+                                    }
 
-                            // Check if child has child list and load if necessary
-                            Entity childRecord = null;
-                            if (!childList.isEmpty()) {
-                                if (childList.size() > 1) {
-                                    throw new UnifyException(UnifyCoreErrorConstants.RECORD_MULTIPLE_CHILD_FOUND,
-                                            record.getClass(), record.getId(), clfi.getField().getName());
+                                    childRecord = childList.get(0);
                                 }
 
-                                childRecord = childList.get(0);
-                                if (childSqlEntityInfo.isChildList()) {
-                                    fetchChildRecords(childRecord, null, isListOnly);
-                                }
+                                // Set child record
+                                clfi.getSetter().invoke(record, childRecord);
                             }
-
-                            // Set child record
-                            clfi.getSetter().invoke(record, childRecord);
                         }
                     }
 
@@ -1050,29 +1177,16 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
                                 continue;
                             }
 
-                            SqlEntityInfo childSqlEntityInfo =
-                                    sqlDataSourceDialect.getSqlEntityInfo(clfi.getChildEntityClass());
-                            Query<? extends Entity> query = Query.of(clfi.getChildEntityClass());
-                            query.addEquals(clfi.getChildFkField().getName(), id)
-                                    .addOrder(childSqlEntityInfo.getIdFieldInfo().getName());
-                            List<? extends Entity> childList = null;
-                            if (isListOnly) {
-                                childList = listAll(query);
-                            } else {
-                                childList = findAll(query);
-                            }
-
-                            // Check if child has child list and load if necessary
-                            if (!childList.isEmpty()) {
-                                if (childSqlEntityInfo.isChildList()) {
-                                    for (Entity childRecord : childList) {
-                                        fetchChildRecords(childRecord, null, isListOnly);
-                                    }
+                            Map<Object, List<Entity>> childListMap = fetchChildRecords(clfi, idList, isListOnly);
+                            for (T record : records) {
+                                List<Entity> childList = childListMap.get(record.getId());
+                                if (childList == null) {
+                                    childList = new ArrayList<Entity>();
                                 }
-                            }
 
-                            // Set child list
-                            clfi.getSetter().invoke(record, childList);
+                                // Set child list
+                                clfi.getSetter().invoke(record, childList);
+                            }
                         }
                     }
                 }
@@ -1085,6 +1199,55 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
         }
     }
 
+    private Map<Object, List<Entity>> fetchChildRecords(ChildFieldInfo clfi, List<Object> idList, boolean isListOnly)
+            throws Exception {
+        SqlEntityInfo childSqlEntityInfo = sqlDataSourceDialect.getSqlEntityInfo(clfi.getChildEntityClass());
+        String fkName = clfi.getChildFkField().getName();
+        SqlFieldInfo fkSqlFieldInfo = childSqlEntityInfo.getListFieldInfo(fkName);
+        Map<Object, List<Entity>> childListMap = new HashMap<Object, List<Entity>>();
+        List<Entity> allChildList = new ArrayList<Entity>();
+
+        // Fetch children of all parents in chunks that fit dialect clause limit
+        int chunkSize = getChildChunkSize();
+        int size = idList.size();
+        for (int i = 0; i < size; i += chunkSize) {
+            List<Object> subIdList = idList.subList(i, Math.min(i + chunkSize, size));
+            Query<? extends Entity> query = Query.of(clfi.getChildEntityClass());
+            if (subIdList.size() == 1) {
+                query.addEquals(fkName, subIdList.get(0));
+            } else {
+                query.addAmongst(fkName, new ArrayList<Object>(subIdList));
+            }
+            query.addOrder(childSqlEntityInfo.getIdFieldInfo().getName());
+
+            List<? extends Entity> childList = null;
+            if (isListOnly) {
+                childList = listAll(query);
+            } else {
+                childList = findAll(query);
+            }
+
+            for (Entity childRecord : childList) {
+                Object fkId = fkSqlFieldInfo.getValue(childRecord);
+                List<Entity> list = childListMap.get(fkId);
+                if (list == null) {
+                    list = new ArrayList<Entity>();
+                    childListMap.put(fkId, list);
+                }
+                list.add(childRecord);
+            }
+
+            allChildList.addAll(childList);
+        }
+
+        // Check if child has child list and load if necessary
+        if (childSqlEntityInfo.isChildList() && !allChildList.isEmpty()) {
+            fetchChildRecords(allChildList, null, isListOnly);
+        }
+
+        return childListMap;
+    }
+
     private int updateById(Entity record, boolean updateChild) throws UnifyException {
         int result;
         SqlStatement sqlStatement = null;
@@ -1140,7 +1303,7 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
         try {
             Object oldVersionNo = null;
             if (sqlEntityInfo.isVersioned()) {
-                oldVersionNo = sqlEntityInfo.getVersionFieldInfo().getGetter().invoke(record);
+                oldVersionNo = sqlEntityInfo.getVersionFieldInfo().getValue(record);
                 if (entityPolicy != null) {
                     if (entityPolicy.isSetNow()) {
                         entityPolicy.preUpdate(record, getNow());
@@ -1163,7 +1326,7 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
             result = getSqlStatementExecutor().executeUpdate(connection, sqlStatement);
             if (result == 0) {
                 throw new UnifyException(UnifyCoreErrorConstants.RECORD_WITH_PK_VERSION_NOT_FOUND, record.getClass(),
-                        sqlEntityInfo.getIdFieldInfo().getGetter().invoke(record), oldVersionNo);
+                        sqlEntityInfo.getIdFieldInfo().getValue(record), oldVersionNo);
             }
 
             if (updateChild && sqlEntityInfo.isChildList()) {
@@ -1187,34 +1350,97 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
     }
 
     private void updateChildRecords(SqlEntityInfo sqlEntityInfo, Entity record) throws UnifyException {
-        Object id = record.getId();
-        deleteChildRecords(sqlEntityInfo, id);
-        createChildRecords(sqlEntityInfo, record, id);
+        deleteChildRecords(sqlEntityInfo, record.getId());
+        createChildRecords(sqlEntityInfo, Collections.singletonList(record));
+    }
+
+    private void executeCreateBatch(SqlEntityInfo sqlEntityInfo, List<SqlStatement> batchStatementList,
+            List<Entity> batchRecordList) throws UnifyException {
+        getSqlStatementExecutor().executeBatchUpdate(connection, batchStatementList);
+        if (sqlEntityInfo.isChildList()) {
+            createChildRecords(sqlEntityInfo, batchRecordList);
+        }
+
+        batchStatementList.clear();
+        batchRecordList.clear();
+    }
+
+    private int executeUpdateBatch(SqlEntityInfo sqlEntityInfo, List<SqlStatement> batchStatementList,
+            List<Entity> batchRecordList) throws UnifyException {
+        int result = 0;
+        try {
+            int[] updateCounts = getSqlStatementExecutor().executeBatchUpdate(connection, batchStatementList);
+            for (int i = 0; i < updateCounts.length; i++) {
+                if (updateCounts[i] == 0) {
+                    Entity record = batchRecordList.get(i);
+                    throw new UnifyException(UnifyCoreErrorConstants.RECORD_WITH_PK_NOT_FOUND, record.getClass(),
+                            record.getId());
+                }
+
+                // Drivers may return SUCCESS_NO_INFO for successful batch entries
+                result += updateCounts[i] == Statement.SUCCESS_NO_INFO ? 1 : updateCounts[i];
+            }
+
+            if (sqlEntityInfo.isChildList()) {
+                List<Object> idList = new ArrayList<Object>();
+                for (Entity record : batchRecordList) {
+                    idList.add(record.getId());
+                }
+
+                deleteChildRecords(sqlEntityInfo, idList);
+                createChildRecords(sqlEntityInfo, batchRecordList);
+            }
+        } catch (UnifyException e) {
+            EntityPolicy entityPolicy = sqlEntityInfo.getEntityPolicy();
+            if (entityPolicy != null) {
+                for (Entity record : batchRecordList) {
+                    entityPolicy.onUpdateError(record);
+                }
+            }
+            throw e;
+        }
+
+        batchStatementList.clear();
+        batchRecordList.clear();
+        return result;
     }
 
     @SuppressWarnings({ "unchecked" })
-    private void createChildRecords(SqlEntityInfo sqlEntityInfo, Entity record, Object id) throws UnifyException {
+    private void createChildRecords(SqlEntityInfo sqlEntityInfo, List<? extends Entity> records)
+            throws UnifyException {
         try {
             if (sqlEntityInfo.isSingleChildList()) {
                 for (ChildFieldInfo alfi : sqlEntityInfo.getSingleChildInfoList()) {
-                    Entity childRecord = (Entity) alfi.getGetter().invoke(record);
-                    if (childRecord != null) {
-                        alfi.getAttrFkSetter().invoke(childRecord, id);
-                        create(childRecord);
+                    Method attrFkSetter = alfi.getAttrFkSetter();
+                    List<Entity> childList = new ArrayList<Entity>();
+                    for (Entity record : records) {
+                        Entity childRecord = (Entity) alfi.getGetter().invoke(record);
+                        if (childRecord != null) {
+                            attrFkSetter.invoke(childRecord, record.getId());
+                            childList.add(childRecord);
+                        }
                     }
+
+                    createAll(childList);
                 }
             }
 
             if (sqlEntityInfo.isManyChildList()) {
                 for (ChildFieldInfo alfi : sqlEntityInfo.getManyChildInfoList()) {
-                    List<? extends Entity> attrList = (List<? extends Entity>) alfi.getGetter().invoke(record);
-                    if (attrList != null) {
-                        Method attrFkSetter = alfi.getAttrFkSetter();
-                        for (Entity attrRecord : attrList) {
-                            attrFkSetter.invoke(attrRecord, id);
-                            create(attrRecord);
+                    Method attrFkSetter = alfi.getAttrFkSetter();
+                    List<Entity> childList = new ArrayList<Entity>();
+                    for (Entity record : records) {
+                        List<? extends Entity> attrList = (List<? extends Entity>) alfi.getGetter().invoke(record);
+                        if (attrList != null) {
+                            Object id = record.getId();
+                            for (Entity attrRecord : attrList) {
+                                attrFkSetter.invoke(attrRecord, id);
+                                childList.add(attrRecord);
+                            }
                         }
                     }
+
+                    createAll(childList);
                 }
             }
         } catch (UnifyException e) {
@@ -1232,6 +1458,41 @@ public class SqlDatabaseSessionImpl implements DatabaseSession {
         }
     }
 
+    private void deleteChildRecords(SqlEntityInfo sqlEntityInfo, List<Object> idList) throws UnifyException {
+        // Delete children of all parents in chunks that fit dialect clause limit
+        int chunkSize = getChildChunkSize();
+        int size = idList.size();
+        for (OnDeleteCascadeInfo odci : sqlEntityInfo.getOnDeleteCascadeInfoList()) {
+            for (int i = 0; i < size; i += chunkSize) {
+                Query<? extends Entity> query = Query.of(odci.getChildEntityClass());
+                query.addAmongst(odci.getChildFkField().getName(),
+                        new ArrayList<Object>(idList.subList(i, Math.min(i + chunkSize, size))));
+                deleteAll(query);
+            }
+        }
+    }
+
+    private int getChildChunkSize() {
+        int chunkSize = sqlDataSourceDialect.getMaxClauseValues();
+        if (chunkSize <= 0) {
+            return DEFAULT_CHILD_CHUNK_SIZE;
+        }
+
+        return chunkSize;
+    }
+
+    private SqlStatement detachStatement(SqlStatement sqlStatement) {
+        // Copy pooled statement so it can be restored before batch is executed
+        List<SqlParameter> parameterInfoList = new ArrayList<SqlParameter>();
+        for (SqlParameter sqlParameter : sqlStatement.getParameterInfoList()) {
+            parameterInfoList.add(new SqlParameter(sqlParameter.getSqlTypePolicy(), sqlParameter.getValue(),
+                    sqlParameter.isMultiple()));
+        }
+
+        return new SqlStatement(sqlStatement.getSqlEntityInfo(), sqlStatement.getType(), sqlStatement.getSql(),
+                parameterInfoList);
+    }
+
     private SqlStatementExecutor getSqlStatementExecutor() throws UnifyException {
         if (closed) {
             throw new UnifyException(UnifyCoreErrorConstants.DATASOURCE_SESSION_IS_CLOSED, getDataSourceName());
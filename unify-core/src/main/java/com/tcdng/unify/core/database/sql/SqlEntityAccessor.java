@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.database.sql;
+
+/**
+ * Entity accessor used for creating entity instances and for reading and
+ * writing entity fields by field index without reflection. Implementations are
+ * generated and compiled per entity class by the SQL entity information
+ * factory.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public interface SqlEntityAccessor {
+
+    /**
+     * Creates a new instance of accessor entity.
+     * 
+     * @return the new instance
+     * @throws Exception
+     *             if an error occurs
+     */
+    Object newInstance() throws Exception;
+
+    /**
+     * Gets the value of an entity field.
+     * 
+     * @param bean
+     *            the entity
+     * @param index
+     *            the field index
+     * @return the field value
+     * @throws Exception
+     *             if an error occurs
+     */
+    Object get(Object bean, int index) throws Exception;
+
+    /**
+     * Sets the value of an entity field.
+     * 
+     * @param bean
+     *            the entity
+     * @param index
+     *            the field index
+     * @param value
+     *            the value to set
+     * @throws Exception
+     *             if an error occurs
+     */
+    void set(Object bean, int index, Object value) throws Exception;
+}
@@ -28,6 +28,7 @@ import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.constant.EnumConst;
 import com.tcdng.unify.core.database.Entity;
 import com.tcdng.unify.core.database.EntityPolicy;
+import com.tcdng.unify.core.database.StaticReference;
 import com.tcdng.unify.core.util.DataUtils;
 import com.tcdng.unify.core.util.StringUtils;
 
@@ -97,6 +98,8 @@ public class SqlEntityInfo implements SqlEntitySchemaInfo {
 
     private List<SqlViewRestrictionInfo> viewRestrictionList;
 
+    private SqlEntityAccessor accessor;
+
     public SqlEntityInfo(Long index, Class<? extends Entity> entityClass, Class<? extends EnumConst> enumConstClass,
             EntityPolicy recordPolicy, String schema, String tableName, String preferredTableName, String schemaTableName,
             String tableAlias, String viewName, String preferredViewName, String schemaViewName,
@@ -437,6 +440,44 @@ public class SqlEntityInfo implements SqlEntitySchemaInfo {
         return enumConstClass != null;
     }
 
+    /**
+     * Creates a new entity instance using generated accessor if available.
+     * 
+     * @return the new entity instance
+     * @throws Exception
+     *             if an error occurs
+     */
+    public Entity newInstance() throws Exception {
+        if (enumConstClass != null) {
+            return new StaticReference(enumConstClass);
+        }
+
+        if (accessor != null) {
+            return (Entity) accessor.newInstance();
+        }
+
+        return entityClass.newInstance();
+    }
+
+    public boolean isAccessor() {
+        return accessor != null;
+    }
+
+    /**
+     * Sets the generated accessor for this entity. Field indexes of accessor
+     * follow order of list field information.
+     * 
+     * @param accessor
+     *            the accessor to set
+     */
+    void setAccessor(SqlEntityAccessor accessor) {
+        this.accessor = accessor;
+        int index = 0;
+        for (SqlFieldInfo sqlFieldInfo : listFieldInfoList) {
+            sqlFieldInfo.setAccessor(accessor, index++);
+        }
+    }
+
     public boolean testTrueFieldNamesOnly(Collection<String> fieldNames) {
         return fieldInfoByName.keySet().containsAll(fieldNames);
     }
@@ -15,7 +15,9 @@
  */
 package com.tcdng.unify.core.database.sql;
 
+import java.io.StringReader;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -24,6 +26,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.codehaus.janino.SimpleCompiler;
+
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyComponentConfig;
 import com.tcdng.unify.core.UnifyCoreErrorConstants;
@@ -82,12 +86,17 @@ public class SqlEntityInfoFactoryImpl extends AbstractSqlEntityInfoFactory {
 
     private static final String ENUM_TABLE_PREFIX = "RF";
 
+    private static final String ACCESSOR_CLASS_SUFFIX = "SqlAccessor";
+
     @Configurable("true")
     private boolean sqlOrderColumns;
 
     @Configurable("false")
     private boolean sqlGenerationApplySpacing;
 
+    @Configurable("true")
+    private boolean sqlGenerateAccessors;
+
     private SqlDataSourceDialect sqlDataSourceDialect;
 
     private FactoryMap<Class<?>, SqlEntityInfo> sqlEntityInfoMap;
@@ -117,7 +126,7 @@ public class SqlEntityInfoFactoryImpl extends AbstractSqlEntityInfoFactory {
 
                 // Enumerations
                 if (EnumConst.class.isAssignableFrom(entityClass)) {
-                    return createEnumConstEntityInfo(entityClass);
+                    return generateAccessor(createEnumConstEntityInfo(entityClass));
                 }
 
                 Table ta = entityClass.getAnnotation(Table.class);
@@ -133,11 +142,11 @@ public class SqlEntityInfoFactoryImpl extends AbstractSqlEntityInfoFactory {
 
                 // Tables
                 if (ta != null) {
-                    return createTableEntityInfo(entityClass, entityCycleDetector);
+                    return generateAccessor(createTableEntityInfo(entityClass, entityCycleDetector));
                 }
 
                 // Views
-                return createViewEntityInfo(entityClass, entityCycleDetector);
+                return generateAccessor(createViewEntityInfo(entityClass, entityCycleDetector));
             }
 
             @SuppressWarnings("unchecked")
@@ -1049,6 +1058,117 @@ public class SqlEntityInfoFactoryImpl extends AbstractSqlEntityInfoFactory {
 
     }
 
+    private SqlEntityInfo generateAccessor(SqlEntityInfo sqlEntityInfo) {
+        if (sqlGenerateAccessors) {
+            Class<?> entityClass = sqlEntityInfo.getEntityClass();
+            try {
+                String source = generateAccessorSource(sqlEntityInfo);
+                if (source != null) {
+                    SimpleCompiler compiler = new SimpleCompiler();
+                    compiler.setParentClassLoader(entityClass.getClassLoader());
+                    compiler.cook(new StringReader(source));
+                    Class<?> accessorClass = compiler.getClassLoader()
+                            .loadClass(entityClass.getPackage().getName() + "." + getAccessorSimpleName(entityClass));
+                    sqlEntityInfo.setAccessor((SqlEntityAccessor) accessorClass.newInstance());
+                } else {
+                    logDebug("Entity [{0}] is not accessible to generated accessor. Using reflection...",
+                            entityClass);
+                }
+            } catch (Exception e) {
+                logWarn("Unable to generate accessor for entity [{0}]. Using reflection. Cause: {1}", entityClass,
+                        e.getMessage());
+            }
+        }
+
+        return sqlEntityInfo;
+    }
+
+    private String generateAccessorSource(SqlEntityInfo sqlEntityInfo) throws UnifyException {
+        Class<?> entityClass = sqlEntityInfo.getEntityClass();
+        if (!ReflectUtils.isPubliclyAccessible(entityClass) || entityClass.getPackage() == null) {
+            return null;
+        }
+
+        for (SqlFieldInfo sqlFieldInfo : sqlEntityInfo.getListFieldInfos()) {
+            Method getter = sqlFieldInfo.getGetter();
+            Method setter = sqlFieldInfo.getSetter();
+            if (getter == null || setter == null || !ReflectUtils.isPubliclyAccessible(getter)
+                    || !ReflectUtils.isPubliclyAccessible(setter)
+                    || !ReflectUtils.isPubliclyAccessible(getter.getReturnType())
+                    || !ReflectUtils.isPubliclyAccessible(setter.getParameterTypes()[0])) {
+                return null;
+            }
+        }
+
+        String entityName = entityClass.getCanonicalName();
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(entityClass.getPackage().getName()).append(";\n");
+        sb.append('\n');
+        sb.append("public class ").append(getAccessorSimpleName(entityClass)).append(" extends ")
+                .append(AbstractSqlEntityAccessor.class.getCanonicalName()).append(" {\n");
+
+        // Instance
+        sb.append("\tpublic Object newInstance() throws Exception {\n");
+        if (ReflectUtils.isPubliclyConstructible(entityClass)) {
+            sb.append("\t\treturn new ").append(entityName).append("();\n");
+        } else {
+            sb.append("\t\tthrow new InstantiationException(\"").append(entityName).append("\");\n");
+        }
+        sb.append("\t}\n");
+
+        // Getter
+        sb.append("\tpublic Object get(Object bean, int index) throws Exception {\n");
+        sb.append("\t\t").append(entityName).append(" _bean = (").append(entityName).append(") bean;\n");
+        sb.append("\t\tswitch(index) {\n");
+        int index = 0;
+        for (SqlFieldInfo sqlFieldInfo : sqlEntityInfo.getListFieldInfos()) {
+            Method getter = sqlFieldInfo.getGetter();
+            Class<?> type = getter.getReturnType();
+            sb.append("\t\t\tcase ").append(index++).append(":\n");
+            if (type.isPrimitive()) {
+                sb.append("\t\t\t\treturn ").append(DataUtils.getWrapperClass(type).getCanonicalName())
+                        .append(".valueOf(_bean.").append(getter.getName()).append("());\n");
+            } else {
+                sb.append("\t\t\t\treturn _bean.").append(getter.getName()).append("();\n");
+            }
+        }
+        sb.append("\t\t\tdefault:\n");
+        sb.append("\t\t\t\tthrow new IllegalArgumentException(\"Invalid field index \" + index);\n");
+        sb.append("\t\t}\n");
+        sb.append("\t}\n");
+
+        // Setter
+        sb.append("\tpublic void set(Object bean, int index, Object value) throws Exception {\n");
+        sb.append("\t\t").append(entityName).append(" _bean = (").append(entityName).append(") bean;\n");
+        sb.append("\t\tswitch(index) {\n");
+        index = 0;
+        for (SqlFieldInfo sqlFieldInfo : sqlEntityInfo.getListFieldInfos()) {
+            Method setter = sqlFieldInfo.getSetter();
+            Class<?> type = setter.getParameterTypes()[0];
+            sb.append("\t\t\tcase ").append(index++).append(":\n");
+            sb.append("\t\t\t\t_bean.").append(setter.getName()).append('(');
+            if (type.isPrimitive()) {
+                // Null sets primitive default. Values that do not fit are rejected
+                sb.append("to").append(Character.toUpperCase(type.getName().charAt(0)))
+                        .append(type.getName().substring(1)).append("(value)");
+            } else {
+                sb.append('(').append(type.getCanonicalName()).append(") value");
+            }
+            sb.append(");\n");
+            sb.append("\t\t\t\treturn;\n");
+        }
+        sb.append("\t\t\tdefault:\n");
+        sb.append("\t\t\t\tthrow new IllegalArgumentException(\"Invalid field index \" + index);\n");
+        sb.append("\t\t}\n");
+        sb.append("\t}\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String getAccessorSimpleName(Class<?> entityClass) {
+        return entityClass.getSimpleName() + ACCESSOR_CLASS_SUFFIX;
+    }
+
     private String getWorkingSchema(String schema, String dataSource) throws UnifyException {
         if (StringUtils.isBlank(schema)) {
             UnifyComponentConfig ucc = getComponentConfig(NameSqlDataSourceSchema.class, dataSource);
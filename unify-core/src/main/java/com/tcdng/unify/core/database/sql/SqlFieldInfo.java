@@ -73,6 +73,10 @@ public class SqlFieldInfo implements SqlFieldSchemaInfo {
 
     private Method setter;
 
+    private SqlEntityAccessor accessor;
+
+    private int accessorIndex;
+
     private int orderIndex;
 
     public SqlFieldInfo(int orderIndex, ColumnType columnType, SqlEntityInfo foreignSqlEntityInfo,
@@ -234,6 +238,52 @@ public class SqlFieldInfo implements SqlFieldSchemaInfo {
         return setter;
     }
 
+    /**
+     * Gets the value of this field from supplied bean. Uses generated entity
+     * accessor if available otherwise falls back to getter method.
+     * 
+     * @param bean
+     *            the bean
+     * @return the field value
+     * @throws Exception
+     *             if an error occurs
+     */
+    public Object getValue(Object bean) throws Exception {
+        if (accessor != null) {
+            return accessor.get(bean, accessorIndex);
+        }
+
+        return getter.invoke(bean);
+    }
+
+    /**
+     * Sets the value of this field in supplied bean. Uses generated entity
+     * accessor if available otherwise falls back to setter method.
+     * 
+     * @param bean
+     *            the bean
+     * @param value
+     *            the value to set
+     * @throws Exception
+     *             if an error occurs
+     */
+    public void setValue(Object bean, Object value) throws Exception {
+        if (accessor != null) {
+            accessor.set(bean, accessorIndex, value);
+        } else {
+            setter.invoke(bean, value);
+        }
+    }
+
+    public boolean isAccessor() {
+        return accessor != null;
+    }
+
+    void setAccessor(SqlEntityAccessor accessor, int accessorIndex) {
+        this.accessor = accessor;
+        this.accessorIndex = accessorIndex;
+    }
+
     @Override
     public Class<?> getFieldType() {
         return field.getType();
@@ -75,6 +75,17 @@ public class SqlParameter {
         return isMultiple;
     }
 
+    /**
+     * Returns the number of statement parameters this parameter binds.
+     */
+    public int getBindCount() {
+        if (isMultiple && value != null) {
+            return ((Collection<Object>) value).size();
+        }
+
+        return 1;
+    }
+
     public boolean isInput() {
         return isInput;
     }
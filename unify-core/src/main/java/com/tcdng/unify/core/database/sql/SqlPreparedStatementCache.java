@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.database.sql;
+
+import java.sql.PreparedStatement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.tcdng.unify.core.util.SqlUtils;
+
+/**
+ * Bounded least-recently-used cache of prepared statements for a single
+ * connection, keyed by SQL text. A statement is removed from cache while it is
+ * in use so nested executions of the same SQL get their own statement.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class SqlPreparedStatementCache {
+
+    private Map<String, PreparedStatement> statements;
+
+    private boolean cleared;
+
+    public SqlPreparedStatementCache(final int maxSize) {
+        statements = new LinkedHashMap<String, PreparedStatement>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > maxSize) {
+                    SqlUtils.close(eldest.getValue());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Takes prepared statement for supplied SQL out of cache.
+     * 
+     * @param sql
+     *            the SQL text
+     * @return the cached statement otherwise null
+     */
+    public synchronized PreparedStatement borrow(String sql) {
+        return statements.remove(sql);
+    }
+
+    /**
+     * Puts prepared statement back into cache as most recently used. Parameters
+     * and pending batch entries of statement are cleared.
+     * 
+     * @param sql
+     *            the SQL text
+     * @param pStmt
+     *            the statement to restore
+     * @return true if statement is cached otherwise false, in which case caller
+     *         should close statement
+     */
+    public synchronized boolean restore(String sql, PreparedStatement pStmt) {
+        if (cleared || statements.containsKey(sql)) {
+            return false;
+        }
+
+        try {
+            pStmt.clearParameters();
+            pStmt.clearBatch();
+        } catch (Exception e) {
+            return false;
+        }
+
+        statements.put(sql, pStmt);
+        return true;
+    }
+
+    /**
+     * Closes all cached statements. Cache does not accept statements after it is
+     * cleared.
+     */
+    public synchronized void clear() {
+        cleared = true;
+        for (PreparedStatement pStmt : statements.values()) {
+            SqlUtils.close(pStmt);
+        }
+        statements.clear();
+    }
+
+    public synchronized int size() {
+        return statements.size();
+    }
+}
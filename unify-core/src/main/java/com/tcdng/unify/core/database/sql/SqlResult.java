@@ -67,4 +67,12 @@ public class SqlResult {
     public Method getSetter() {
         return sqlFieldInfo.getSetter();
     }
+
+    public Object getValue(Object bean) throws Exception {
+        return sqlFieldInfo.getValue(bean);
+    }
+
+    public void setValue(Object bean, Object value) throws Exception {
+        sqlFieldInfo.setValue(bean, value);
+    }
 }
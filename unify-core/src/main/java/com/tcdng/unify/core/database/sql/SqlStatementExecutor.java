@@ -25,6 +25,7 @@ import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.data.Aggregate;
 import com.tcdng.unify.core.database.CallableProc;
 import com.tcdng.unify.core.database.Entity;
+import com.tcdng.unify.core.database.RecordHandler;
 
 /**
  * Used to execute SQL statements with database through connection objects.
@@ -48,6 +49,21 @@ public interface SqlStatementExecutor extends UnifyComponent {
      */
     int executeUpdate(Connection connection, SqlStatement sqlStatement) throws UnifyException;
 
+    /**
+     * Executes a list of update statements as a single JDBC batch via supplied
+     * connection. All statements in list must share the same SQL. Used for
+     * INSERT, UPDATE AND DELETE statements.
+     * 
+     * @param connection
+     *            the database connection
+     * @param sqlStatementList
+     *            the update statements to execute
+     * @return the update count for each statement in list order
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    int[] executeBatchUpdate(Connection connection, List<SqlStatement> sqlStatementList) throws UnifyException;
+
     /**
      * Executes a statement that returns a single value via supplied connection.
      * 
@@ -195,6 +211,46 @@ public interface SqlStatementExecutor extends UnifyComponent {
     <T extends Entity> List<T> executeMultipleRecordResultQuery(Connection connection, SqlStatement sqlStatement)
             throws UnifyException;
 
+    /**
+     * Executes a statement that streams records through a forward-only cursor via
+     * supplied connection. Each record is passed to handler as it is read.
+     * 
+     * @param connection
+     *            the database connection
+     * @param sqlStatement
+     *            the criteria statement object
+     * @param fetchSize
+     *            the cursor fetch size. Zero for driver default
+     * @param recordHandler
+     *            the record handler
+     * @return the number of records handled
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    <T extends Entity> int executeMultipleRecordResultQuery(Connection connection, SqlStatement sqlStatement,
+            int fetchSize, RecordHandler<T> recordHandler) throws UnifyException;
+
+    /**
+     * Closes and discards all cached prepared statements for supplied connection.
+     * Should be called when connection is discarded by its pool. Caches of
+     * connections closed elsewhere are discarded when a new connection is first
+     * used.
+     * 
+     * @param connection
+     *            the database connection
+     */
+    void invalidatePreparedStatementCache(Connection connection);
+
+    /**
+     * Returns the number of prepared statement requests served from cache.
+     */
+    long getPreparedStatementCacheHits();
+
+    /**
+     * Returns the number of prepared statement requests not found in cache.
+     */
+    long getPreparedStatementCacheMisses();
+
     /**
      * Executes a statement that returns a map of record by field value via supplied
      * connection.
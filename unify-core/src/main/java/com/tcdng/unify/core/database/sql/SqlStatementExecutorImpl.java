@@ -19,6 +19,8 @@ import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -28,17 +30,20 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.tcdng.unify.core.AbstractUnifyComponent;
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyCoreErrorConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Component;
-import com.tcdng.unify.core.constant.EnumConst;
+import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.data.Aggregate;
 import com.tcdng.unify.core.database.CallableProc;
 import com.tcdng.unify.core.database.Entity;
-import com.tcdng.unify.core.database.StaticReference;
+import com.tcdng.unify.core.database.RecordHandler;
 import com.tcdng.unify.core.transform.Transformer;
 import com.tcdng.unify.core.util.DataUtils;
 import com.tcdng.unify.core.util.SqlUtils;
@@ -52,6 +57,21 @@ import com.tcdng.unify.core.util.SqlUtils;
 @Component(ApplicationComponents.APPLICATION_SQLSTATEMENTEXECUTOR)
 public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements SqlStatementExecutor {
 
+    @Configurable("64")
+    private int preparedStatementCacheSize;
+
+    private ConcurrentMap<Connection, SqlPreparedStatementCache> preparedStatementCacheMap;
+
+    private AtomicLong preparedStatementCacheHits;
+
+    private AtomicLong preparedStatementCacheMisses;
+
+    public SqlStatementExecutorImpl() {
+        preparedStatementCacheMap = new ConcurrentHashMap<Connection, SqlPreparedStatementCache>();
+        preparedStatementCacheHits = new AtomicLong();
+        preparedStatementCacheMisses = new AtomicLong();
+    }
+
     @Override
     public int executeUpdate(Connection connection, SqlStatement sqlStatement) throws UnifyException {
         int result = 0;
@@ -65,7 +85,49 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
         } catch (Exception e) {
             throwOperationErrorException(e);
         } finally {
-            SqlUtils.close(pStmt);
+            restorePreparedStatement(connection, sqlStatement.getSql(), pStmt);
+        }
+        return result;
+    }
+
+    @Override
+    public int[] executeBatchUpdate(Connection connection, List<SqlStatement> sqlStatementList)
+            throws UnifyException {
+        if (sqlStatementList.isEmpty()) {
+            return new int[0];
+        }
+
+        int[] result = null;
+        PreparedStatement pStmt = null;
+        String sql = sqlStatementList.get(0).getSql();
+        boolean success = false;
+        try {
+            long timeZoneOffset = getSessionContext().getTimeZoneOffset();
+            logDebug("Preparing SQl: batch statement = {0}, size = {1}", sql, sqlStatementList.size());
+            pStmt = borrowPreparedStatement(connection, sql);
+            for (SqlStatement sqlStatement : sqlStatementList) {
+                setPreparedStatementParameters(pStmt, sqlStatement, timeZoneOffset);
+                pStmt.addBatch();
+            }
+
+            result = pStmt.executeBatch();
+            for (int i = 0; i < result.length; i++) {
+                if (result[i] == Statement.EXECUTE_FAILED) {
+                    throw new UnifyException(UnifyCoreErrorConstants.SQLEXECUTOR_BATCH_ENTRY_FAILED, i, sql);
+                }
+            }
+            success = true;
+        } catch (UnifyException e) {
+            throw e;
+        } catch (Exception e) {
+            throwOperationErrorException(e);
+        } finally {
+            if (success) {
+                restorePreparedStatement(connection, sql, pStmt);
+            } else {
+                // Never cache statement that may still hold entries of failed batch
+                SqlUtils.close(pStmt);
+            }
         }
         return result;
     }
@@ -96,7 +158,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             throwOperationErrorException(e);
         } finally {
             SqlUtils.close(rs);
-            SqlUtils.close(pStmt);
+            restorePreparedStatement(connection, sqlStatement.getSql(), pStmt);
         }
         return result;
     }
@@ -110,7 +172,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
         ResultSet rs = null;
 
         try {
-            pStmt = connection.prepareStatement(sqlQuery);
+            pStmt = borrowPreparedStatement(connection, sqlQuery);
             rs = pStmt.executeQuery();
             if (rs.next()) {
                 long timeZoneOffset = getSessionContext().getTimeZoneOffset();
@@ -127,7 +189,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             throwOperationErrorException(e);
         } finally {
             SqlUtils.close(rs);
-            SqlUtils.close(pStmt);
+            restorePreparedStatement(connection, sqlQuery, pStmt);
         }
         return result;
     }
@@ -150,9 +212,14 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             Class<U> valueClass, String value, SqlStatement sqlStatement) throws UnifyException {
         SqlResult keySqlResult = null;
         SqlResult valueSqlResult = null;
+        int keyColumnIndex = 0;
+        int valueColumnIndex = 0;
+        int columnIndex = 0;
         for (SqlResult sqlResult : sqlStatement.getResultInfoList()) {
+            columnIndex++;
             if (sqlResult.getName().equals(key)) {
                 keySqlResult = sqlResult;
+                keyColumnIndex = columnIndex;
                 if (valueSqlResult != null) {
                     break;
                 }
@@ -160,6 +227,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
 
             if (sqlResult.getName().equals(value)) {
                 valueSqlResult = sqlResult;
+                valueColumnIndex = columnIndex;
                 if (keySqlResult != null) {
                     break;
                 }
@@ -186,13 +254,13 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             pStmt = getPreparedStatement(connection, sqlStatement, timeZoneOffset);
             rs = pStmt.executeQuery();
             while (rs.next()) {
-                T keyValue = getSqlResultValue(keySqlResult, rs, timeZoneOffset);
+                T keyValue = getSqlResultValue(keySqlResult, rs, keyColumnIndex, timeZoneOffset);
                 if (resultMap.containsKey(keyValue)) {
                     throw new UnifyException(UnifyCoreErrorConstants.VALUE_MULTIPLE_SAME_KEY_FOUND, keyValue,
                             sqlEntityInfo.getEntityClass());
                 }
 
-                U valueValue = getSqlResultValue(valueSqlResult, rs, timeZoneOffset);
+                U valueValue = getSqlResultValue(valueSqlResult, rs, valueColumnIndex, timeZoneOffset);
                 resultMap.put(keyValue, valueValue);
             }
         } catch (UnifyException e) {
@@ -201,7 +269,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             throwOperationErrorException(e);
         } finally {
             SqlUtils.close(rs);
-            SqlUtils.close(pStmt);
+            restorePreparedStatement(connection, sqlStatement.getSql(), pStmt);
         }
         return resultMap;
     }
@@ -211,9 +279,14 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             String key, Class<U> valueClass, String value, SqlStatement sqlStatement) throws UnifyException {
         SqlResult keySqlResult = null;
         SqlResult valueSqlResult = null;
+        int keyColumnIndex = 0;
+        int valueColumnIndex = 0;
+        int columnIndex = 0;
         for (SqlResult sqlResult : sqlStatement.getResultInfoList()) {
+            columnIndex++;
             if (sqlResult.getName().equals(key)) {
                 keySqlResult = sqlResult;
+                keyColumnIndex = columnIndex;
                 if (valueSqlResult != null) {
                     break;
                 }
@@ -221,6 +294,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
 
             if (sqlResult.getName().equals(value)) {
                 valueSqlResult = sqlResult;
+                valueColumnIndex = columnIndex;
                 if (keySqlResult != null) {
                     break;
                 }
@@ -247,8 +321,8 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             pStmt = getPreparedStatement(connection, sqlStatement, timeZoneOffset);
             rs = pStmt.executeQuery();
             while (rs.next()) {
-                T keyValue = getSqlResultValue(keySqlResult, rs, timeZoneOffset);
-                U valueValue = getSqlResultValue(valueSqlResult, rs, timeZoneOffset);
+                T keyValue = getSqlResultValue(keySqlResult, rs, keyColumnIndex, timeZoneOffset);
+                U valueValue = getSqlResultValue(valueSqlResult, rs, valueColumnIndex, timeZoneOffset);
 
                 List<U> list = resultMap.get(keyValue);
                 if (list == null) {
@@ -263,7 +337,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             throwOperationErrorException(e);
         } finally {
             SqlUtils.close(rs);
-            SqlUtils.close(pStmt);
+            restorePreparedStatement(connection, sqlStatement.getSql(), pStmt);
         }
         return resultMap;
     }
@@ -281,15 +355,8 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             pStmt = getPreparedStatement(connection, sqlStatement, timeZoneOffset);
             rs = pStmt.executeQuery();
             if (rs.next()) {
-                if (sqlEntityInfo.isEnumConst()) {
-                    result = (T) new StaticReference(sqlEntityInfo.getEnumConstClass());
-                } else {
-                    result = (T) sqlEntityInfo.getEntityClass().newInstance();
-                }
-
-                for (SqlResult sqlResult : sqlStatement.getResultInfoList()) {
-                    sqlResult.getSetter().invoke(result, getSqlResultValue(sqlResult, rs, timeZoneOffset));
-                }
+                result = (T) sqlEntityInfo.newInstance();
+                populateRecord(result, sqlStatement, rs, timeZoneOffset);
 
                 if (rs.next()) {
                     throw new UnifyException(UnifyCoreErrorConstants.RECORD_MULTIPLE_RESULT_FOUND);
@@ -304,7 +371,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             throwOperationErrorException(e);
         } finally {
             SqlUtils.close(rs);
-            SqlUtils.close(pStmt);
+            restorePreparedStatement(connection, sqlStatement.getSql(), pStmt);
         }
 
         return result;
@@ -320,24 +387,54 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
 
         try {
             SqlEntityInfo sqlEntityInfo = sqlStatement.getSqlEntityInfo();
-            Class<? extends Entity> entityClass = sqlEntityInfo.getEntityClass();
-            Class<? extends EnumConst> enumConstClass = sqlEntityInfo.getEnumConstClass();
-            boolean isEnumConst = sqlEntityInfo.isEnumConst();
             long timeZoneOffset = getSessionContext().getTimeZoneOffset();
             pStmt = getPreparedStatement(connection, sqlStatement, timeZoneOffset);
             rs = pStmt.executeQuery();
             while (rs.next()) {
-                T record = null;
-                if (isEnumConst) {
-                    record = (T) new StaticReference(enumConstClass);
-                } else {
-                    record = (T) entityClass.newInstance();
-                }
+                T record = (T) sqlEntityInfo.newInstance();
+                populateRecord(record, sqlStatement, rs, timeZoneOffset);
+                resultList.add(record);
+            }
+        } catch (UnifyException e) {
+            throw e;
+        } catch (Exception e) {
+            throwOperationErrorException(e);
+        } finally {
+            SqlUtils.close(rs);
+            restorePreparedStatement(connection, sqlStatement.getSql(), pStmt);
+        }
 
-                for (SqlResult sqlResult : sqlStatement.getResultInfoList()) {
-                    sqlResult.getSetter().invoke(record, getSqlResultValue(sqlResult, rs, timeZoneOffset));
+        return resultList;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends Entity> int executeMultipleRecordResultQuery(Connection connection, SqlStatement sqlStatement,
+            int fetchSize, RecordHandler<T> recordHandler) throws UnifyException {
+        int count = 0;
+        PreparedStatement pStmt = null;
+        ResultSet rs = null;
+
+        try {
+            SqlEntityInfo sqlEntityInfo = sqlStatement.getSqlEntityInfo();
+            long timeZoneOffset = getSessionContext().getTimeZoneOffset();
+            logDebug("Preparing SQl: cursor statement = {0}", sqlStatement);
+            pStmt = connection.prepareStatement(sqlStatement.getSql(), ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            setPreparedStatementParameters(pStmt, sqlStatement, timeZoneOffset);
+            if (fetchSize > 0) {
+                pStmt.setFetchSize(fetchSize);
+            }
+
+            rs = pStmt.executeQuery();
+            while (rs.next()) {
+                T record = (T) sqlEntityInfo.newInstance();
+                populateRecord(record, sqlStatement, rs, timeZoneOffset);
+
+                count++;
+                if (!recordHandler.handle(record)) {
+                    break;
                 }
-                resultList.add(record);
             }
         } catch (UnifyException e) {
             throw e;
@@ -348,7 +445,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             SqlUtils.close(pStmt);
         }
 
-        return resultList;
+        return count;
     }
 
     @SuppressWarnings({ "unchecked", "resource" })
@@ -378,25 +475,14 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
         ResultSet rs = null;
 
         try {
-            Class<? extends Entity> entityClass = sqlEntityInfo.getEntityClass();
-            Class<? extends EnumConst> enumConstClass = sqlEntityInfo.getEnumConstClass();
-            boolean isEnumConst = sqlEntityInfo.isEnumConst();
             long timeZoneOffset = getSessionContext().getTimeZoneOffset();
             pStmt = getPreparedStatement(connection, sqlStatement, timeZoneOffset);
             rs = pStmt.executeQuery();
             while (rs.next()) {
-                U record = null;
-                if (isEnumConst) {
-                    record = (U) new StaticReference(enumConstClass);
-                } else {
-                    record = (U) entityClass.newInstance();
-                }
-
-                for (SqlResult sqlResult : sqlStatement.getResultInfoList()) {
-                    sqlResult.getSetter().invoke(record, getSqlResultValue(sqlResult, rs, timeZoneOffset));
-                }
+                U record = (U) sqlEntityInfo.newInstance();
+                populateRecord(record, sqlStatement, rs, timeZoneOffset);
 
-                T keyVal = (T) keySQLFieldInfo.getGetter().invoke(record);
+                T keyVal = (T) keySQLFieldInfo.getValue(record);
                 if (resultMap.containsKey(keyVal)) {
                     throw new UnifyException(UnifyCoreErrorConstants.RECORD_MULTIPLE_SAME_KEY_FOUND, keyVal,
                             sqlEntityInfo.getEntityClass());
@@ -410,7 +496,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             throwOperationErrorException(e);
         } finally {
             SqlUtils.close(rs);
-            SqlUtils.close(pStmt);
+            restorePreparedStatement(connection, sqlStatement.getSql(), pStmt);
         }
 
         return resultMap;
@@ -443,25 +529,14 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
         ResultSet rs = null;
 
         try {
-            Class<? extends Entity> entityClass = sqlEntityInfo.getEntityClass();
-            Class<? extends EnumConst> enumConstClass = sqlEntityInfo.getEnumConstClass();
-            boolean isEnumConst = sqlEntityInfo.isEnumConst();
             long timeZoneOffset = getSessionContext().getTimeZoneOffset();
             pStmt = getPreparedStatement(connection, sqlStatement, timeZoneOffset);
             rs = pStmt.executeQuery();
             while (rs.next()) {
-                U record = null;
-                if (isEnumConst) {
-                    record = (U) new StaticReference(enumConstClass);
-                } else {
-                    record = (U) entityClass.newInstance();
-                }
-
-                for (SqlResult sqlResult : sqlStatement.getResultInfoList()) {
-                    sqlResult.getSetter().invoke(record, getSqlResultValue(sqlResult, rs, timeZoneOffset));
-                }
+                U record = (U) sqlEntityInfo.newInstance();
+                populateRecord(record, sqlStatement, rs, timeZoneOffset);
 
-                T keyVal = (T) keySQLFieldInfo.getGetter().invoke(record);
+                T keyVal = (T) keySQLFieldInfo.getValue(record);
                 List<U> list = resultMap.get(keyVal);
                 if (list == null) {
                     list = new ArrayList<U>();
@@ -475,7 +550,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             throwOperationErrorException(e);
         } finally {
             SqlUtils.close(rs);
-            SqlUtils.close(pStmt);
+            restorePreparedStatement(connection, sqlStatement.getSql(), pStmt);
         }
 
         return resultMap;
@@ -520,7 +595,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             throwOperationErrorException(e);
         } finally {
             SqlUtils.close(rs);
-            SqlUtils.close(pStmt);
+            restorePreparedStatement(connection, sqlStatement.getSql(), pStmt);
         }
         return null;
     }
@@ -560,7 +635,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             throwOperationErrorException(e);
         } finally {
             SqlUtils.close(rs);
-            SqlUtils.close(pStmt);
+            restorePreparedStatement(connection, sqlStatement.getSql(), pStmt);
         }
         return resultList;
     }
@@ -665,6 +740,24 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
         return Collections.emptyMap();
     }
 
+    @Override
+    public void invalidatePreparedStatementCache(Connection connection) {
+        SqlPreparedStatementCache sqlPreparedStatementCache = preparedStatementCacheMap.remove(connection);
+        if (sqlPreparedStatementCache != null) {
+            sqlPreparedStatementCache.clear();
+        }
+    }
+
+    @Override
+    public long getPreparedStatementCacheHits() {
+        return preparedStatementCacheHits.get();
+    }
+
+    @Override
+    public long getPreparedStatementCacheMisses() {
+        return preparedStatementCacheMisses.get();
+    }
+
     @Override
     protected void onInitialize() throws UnifyException {
 
@@ -672,14 +765,81 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
 
     @Override
     protected void onTerminate() throws UnifyException {
+        for (Connection connection : new ArrayList<Connection>(preparedStatementCacheMap.keySet())) {
+            invalidatePreparedStatementCache(connection);
+        }
+    }
+
+    private PreparedStatement borrowPreparedStatement(Connection connection, String sql) throws Exception {
+        if (preparedStatementCacheSize > 0) {
+            SqlPreparedStatementCache sqlPreparedStatementCache = preparedStatementCacheMap.get(connection);
+            if (sqlPreparedStatementCache == null) {
+                purgeClosedConnections();
+                sqlPreparedStatementCache = new SqlPreparedStatementCache(preparedStatementCacheSize);
+                SqlPreparedStatementCache oldSqlPreparedStatementCache = preparedStatementCacheMap
+                        .putIfAbsent(connection, sqlPreparedStatementCache);
+                if (oldSqlPreparedStatementCache != null) {
+                    sqlPreparedStatementCache = oldSqlPreparedStatementCache;
+                }
+            }
+
+            PreparedStatement pStmt = sqlPreparedStatementCache.borrow(sql);
+            if (pStmt != null) {
+                preparedStatementCacheHits.incrementAndGet();
+                return pStmt;
+            }
+
+            preparedStatementCacheMisses.incrementAndGet();
+        }
 
+        return connection.prepareStatement(sql);
+    }
+
+    boolean isPreparedStatementCached(Connection connection) {
+        return preparedStatementCacheMap.containsKey(connection);
+    }
+
+    private void purgeClosedConnections() {
+        // Connections can be closed or dropped outside the pool that owns them
+        for (Connection connection : new ArrayList<Connection>(preparedStatementCacheMap.keySet())) {
+            if (isClosed(connection)) {
+                invalidatePreparedStatementCache(connection);
+            }
+        }
+    }
+
+    private boolean isClosed(Connection connection) {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private void restorePreparedStatement(Connection connection, String sql, PreparedStatement pStmt) {
+        if (pStmt != null) {
+            if (preparedStatementCacheSize > 0) {
+                SqlPreparedStatementCache sqlPreparedStatementCache = preparedStatementCacheMap.get(connection);
+                if (sqlPreparedStatementCache != null && sqlPreparedStatementCache.restore(sql, pStmt)) {
+                    return;
+                }
+            }
+
+            SqlUtils.close(pStmt);
+        }
     }
 
-    @SuppressWarnings("unchecked")
     private PreparedStatement getPreparedStatement(Connection connection, SqlStatement sqlStatement,
             long timeZoneOffset) throws Exception {
         logDebug("Preparing SQl: statement = {0}", sqlStatement);
-        PreparedStatement pStmt = connection.prepareStatement(sqlStatement.getSql());
+        PreparedStatement pStmt = borrowPreparedStatement(connection, sqlStatement.getSql());
+        setPreparedStatementParameters(pStmt, sqlStatement, timeZoneOffset);
+        return pStmt;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setPreparedStatementParameters(PreparedStatement pStmt, SqlStatement sqlStatement,
+            long timeZoneOffset) throws Exception {
         int index = 0;
         for (SqlParameter sqlParameter : sqlStatement.getParameterInfoList()) {
             Object value = sqlParameter.getValue();
@@ -692,7 +852,6 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
                 sqlParameter.getSqlTypePolicy().executeSetPreparedStatement(pStmt, ++index, value, timeZoneOffset);
             }
         }
-        return pStmt;
     }
 
     private CallableStatement getCallableStatement(Connection connection, SqlCallableStatement sqlCallableStatement,
@@ -720,10 +879,21 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
         return cStmt;
     }
 
+    private void populateRecord(Entity record, SqlStatement sqlStatement, ResultSet rs, long timeZoneOffset)
+            throws Exception {
+        // Result columns are selected in the same order as statement result
+        // information so values are read by column index
+        int columnIndex = 0;
+        for (SqlResult sqlResult : sqlStatement.getResultInfoList()) {
+            sqlResult.setValue(record, getSqlResultValue(sqlResult, rs, ++columnIndex, timeZoneOffset));
+        }
+    }
+
     @SuppressWarnings("unchecked")
-    private <T> T getSqlResultValue(SqlResult sqlResult, ResultSet rs, long timeZoneOffset) throws Exception {
-        Object value = sqlResult.getSqlDataTypePolicy().executeGetResult(rs, sqlResult.getType(),
-                sqlResult.getColumnName(), timeZoneOffset);
+    private <T> T getSqlResultValue(SqlResult sqlResult, ResultSet rs, int columnIndex, long timeZoneOffset)
+            throws Exception {
+        Object value = sqlResult.getSqlDataTypePolicy().executeGetResult(rs, sqlResult.getType(), columnIndex,
+                timeZoneOffset);
         if (sqlResult.isTransformed()) {
             value = ((Transformer<Object, Object>) sqlResult.getTransformer()).reverseTransform(value);
         }
@@ -759,7 +929,7 @@ public class SqlStatementExecutorImpl extends AbstractUnifyComponent implements
             throwOperationErrorException(e);
         } finally {
             SqlUtils.close(rs);
-            SqlUtils.close(pStmt);
+            restorePreparedStatement(connection, sqlStatement.getSql(), pStmt);
         }
         return (U) result;
     }
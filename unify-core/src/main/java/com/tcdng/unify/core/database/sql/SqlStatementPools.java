@@ -159,9 +159,9 @@ public class SqlStatementPools {
             for (SqlFieldInfo sqlFieldInfo : sqlEntityInfo.getFieldInfos()) {
                 if (sqlFieldInfo.isTransformed()) {
                     parameterInfoList.get(i++).setValue(((Transformer<Object, Object>) sqlFieldInfo.getTransformer())
-                            .forwardTransform(sqlFieldInfo.getGetter().invoke(params[0])));
+                            .forwardTransform(sqlFieldInfo.getValue(params[0])));
                 } else {
-                    parameterInfoList.get(i++).setValue(sqlFieldInfo.getGetter().invoke(params[0]));
+                    parameterInfoList.get(i++).setValue(sqlFieldInfo.getValue(params[0]));
                 }
             }
         }
@@ -350,13 +350,13 @@ public class SqlStatementPools {
                     if (sqlFieldInfo.isTransformed()) {
                         parameterInfoList.get(i++)
                                 .setValue(((Transformer<Object, Object>) sqlFieldInfo.getTransformer())
-                                        .forwardTransform(sqlFieldInfo.getGetter().invoke(params[0])));
+                                        .forwardTransform(sqlFieldInfo.getValue(params[0])));
                     } else {
-                        parameterInfoList.get(i++).setValue(sqlFieldInfo.getGetter().invoke(params[0]));
+                        parameterInfoList.get(i++).setValue(sqlFieldInfo.getValue(params[0]));
                     }
                 }
             }
-            parameterInfoList.get(i).setValue(sqlEntityInfo.getIdFieldInfo().getGetter().invoke(params[0]));
+            parameterInfoList.get(i).setValue(sqlEntityInfo.getIdFieldInfo().getValue(params[0]));
         }
     }
 
@@ -393,13 +393,13 @@ public class SqlStatementPools {
                     if (sqlFieldInfo.isTransformed()) {
                         parameterInfoList.get(i++)
                                 .setValue(((Transformer<Object, Object>) sqlFieldInfo.getTransformer())
-                                        .forwardTransform(sqlFieldInfo.getGetter().invoke(params[0])));
+                                        .forwardTransform(sqlFieldInfo.getValue(params[0])));
                     } else {
-                        parameterInfoList.get(i++).setValue(sqlFieldInfo.getGetter().invoke(params[0]));
+                        parameterInfoList.get(i++).setValue(sqlFieldInfo.getValue(params[0]));
                     }
                 }
             }
-            parameterInfoList.get(i++).setValue(sqlEntityInfo.getIdFieldInfo().getGetter().invoke(params[0]));
+            parameterInfoList.get(i++).setValue(sqlEntityInfo.getIdFieldInfo().getValue(params[0]));
             parameterInfoList.get(i).setValue(params[1]);
         }
     }
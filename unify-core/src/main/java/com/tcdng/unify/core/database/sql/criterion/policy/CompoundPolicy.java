@@ -99,6 +99,30 @@ public abstract class CompoundPolicy extends AbstractSqlCriteriaPolicy {
         }
     }
 
+    @Override
+    public void generatePreparedStatementParameters(List<SqlParameter> parameterInfoList, SqlEntityInfo sqlEntityInfo,
+            Restriction restriction) throws UnifyException {
+        List<Restriction> restrictionList = ((CompoundRestriction) restriction).getRestrictionList();
+        if (restrictionList != null) {
+            for (Restriction subRestriction : restrictionList) {
+                getOperatorPolicy(subRestriction).generatePreparedStatementParameters(parameterInfoList, sqlEntityInfo,
+                        subRestriction);
+            }
+        }
+    }
+
+    @Override
+    public void appendQueryShape(StringBuilder shape, Restriction restriction) throws UnifyException {
+        shape.append(restriction.getType().code()).append('[');
+        List<Restriction> restrictionList = ((CompoundRestriction) restriction).getRestrictionList();
+        if (restrictionList != null) {
+            for (Restriction subRestriction : restrictionList) {
+                getOperatorPolicy(subRestriction).appendQueryShape(shape, subRestriction);
+            }
+        }
+        shape.append(']');
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     protected void doTranslate(StringBuilder sql, String tableName, String columnName, Object param1, Object param2)
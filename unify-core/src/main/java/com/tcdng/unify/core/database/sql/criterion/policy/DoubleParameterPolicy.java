@@ -51,7 +51,6 @@ public abstract class DoubleParameterPolicy extends AbstractSqlCriteriaPolicy {
         translate(sql, sqlEntityInfo.getTableAlias(), columnName, dvc.getFirstValue(), dvc.getSecondValue());
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void generatePreparedStatementCriteria(StringBuilder sql, List<SqlParameter> parameterInfoList,
             SqlEntityInfo sqlEntityInfo, Restriction restriction) throws UnifyException {
@@ -60,6 +59,15 @@ public abstract class DoubleParameterPolicy extends AbstractSqlCriteriaPolicy {
         sql.append("(");
         sql.append(sqlFieldInfo.getPreferredColumnName()).append(opSql).append("? AND ?");
         sql.append(")");
+        generatePreparedStatementParameters(parameterInfoList, sqlEntityInfo, restriction);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void generatePreparedStatementParameters(List<SqlParameter> parameterInfoList, SqlEntityInfo sqlEntityInfo,
+            Restriction restriction) throws UnifyException {
+        DoubleValueRestriction dvc = (DoubleValueRestriction) restriction;
+        SqlFieldInfo sqlFieldInfo = sqlEntityInfo.getListFieldInfo(dvc.getFieldName());
         Object value1 = convertType(sqlFieldInfo, dvc.getFirstValue());
         Object value2 = convertType(sqlFieldInfo, dvc.getSecondValue());
         if (sqlFieldInfo.isTransformed()) {
@@ -69,17 +69,8 @@ public abstract class MultipleParameterPolicy extends AbstractSqlCriteriaPolicy
                     sqlEntityInfo.getEntityClass());
         }
 
-        if (sqlFieldInfo.isTransformed()) {
-            Transformer<Object, Object> transformer = (Transformer<Object, Object>) sqlFieldInfo.getTransformer();
-            Collection<?> origValues = (Collection<?>) mvc.getValues();
-            values = new ArrayList<Object>();
-            for (Object value : origValues) {
-                values.add(transformer.forwardTransform(value));
-            }
-        }
-
         sql.append("(");
-        int kLen = values.size();
+        int kLen = getValueBucketSize(values.size(), getBindCount(parameterInfoList));
         int[] blocks = DataUtils.splitToBlocks(kLen, maximumClauseValues());
         int i = 0;
         int j = 0;
@@ -104,7 +95,46 @@ public abstract class MultipleParameterPolicy extends AbstractSqlCriteriaPolicy
             }
         }
         sql.append(")");
-        parameterInfoList.add(new SqlParameter(getSqlTypePolicy(sqlFieldInfo.getColumnType()), values, true));
+        generatePreparedStatementParameters(parameterInfoList, sqlEntityInfo, restriction);
+    }
+
+    @Override
+    public void generatePreparedStatementParameters(List<SqlParameter> parameterInfoList, SqlEntityInfo sqlEntityInfo,
+            Restriction restriction) throws UnifyException {
+        MultipleValueRestriction mvc = (MultipleValueRestriction) restriction;
+        SqlFieldInfo sqlFieldInfo = sqlEntityInfo.getListFieldInfo((String) mvc.getFieldName());
+        Collection<Object> values = mvc.getValues();
+        if (values == null || values.isEmpty()) {
+            throw new UnifyException(UnifyCoreErrorConstants.RECORD_AT_LEAST_ONE_VALUE_EXPECTED,
+                    sqlEntityInfo.getEntityClass());
+        }
+
+        int bucketSize = getValueBucketSize(values.size(), getBindCount(parameterInfoList));
+        List<Object> paramValues = new ArrayList<Object>(bucketSize);
+        if (sqlFieldInfo.isTransformed()) {
+            Transformer<Object, Object> transformer = (Transformer<Object, Object>) sqlFieldInfo.getTransformer();
+            for (Object value : values) {
+                paramValues.add(transformer.forwardTransform(value));
+            }
+        } else {
+            paramValues.addAll(values);
+        }
+
+        // Pad with last value so that statement matches cardinality bucket
+        Object lastValue = paramValues.get(paramValues.size() - 1);
+        while (paramValues.size() < bucketSize) {
+            paramValues.add(lastValue);
+        }
+
+        parameterInfoList.add(new SqlParameter(getSqlTypePolicy(sqlFieldInfo.getColumnType()), paramValues, true));
+    }
+
+    @Override
+    public void appendQueryShape(StringBuilder shape, Restriction restriction) throws UnifyException {
+        MultipleValueRestriction mvc = (MultipleValueRestriction) restriction;
+        Collection<Object> values = mvc.getValues();
+        shape.append(restriction.getType().code()).append('(').append(mvc.getFieldName()).append('#')
+                .append(values == null ? 0 : getValueBucketSize(values.size())).append(')');
     }
 
     @Override
@@ -142,4 +172,59 @@ public abstract class MultipleParameterPolicy extends AbstractSqlCriteriaPolicy
         sql.append(")");
     }
 
+    /**
+     * Returns the number of prepared statement parameters used for supplied
+     * number of values. When query shape caching is enabled, values are rounded
+     * up to the next power of two so that queries with similar value counts share
+     * the same SQL. Rounding never goes beyond the data source parameter limit.
+     * 
+     * @param size
+     *            the number of values
+     * @return the bucket size
+     */
+    protected int getValueBucketSize(int size) {
+        return getValueBucketSize(size, 0);
+    }
+
+    /**
+     * Returns the number of prepared statement parameters used for supplied
+     * number of values in a statement that already binds other parameters.
+     * Rounding never goes beyond what is left of the data source parameter limit
+     * after those parameters.
+     * 
+     * @param size
+     *            the number of values
+     * @param boundParameters
+     *            the number of parameters already bound in statement
+     * @return the bucket size
+     */
+    protected int getValueBucketSize(int size, int boundParameters) {
+        if (!isQueryShapeCache()) {
+            return size;
+        }
+
+        int bucketSize = 1;
+        while (bucketSize < size) {
+            bucketSize <<= 1;
+        }
+
+        int maxParameters = maximumStatementParameters();
+        if (maxParameters > 0) {
+            int availableParameters = maxParameters - boundParameters;
+            if (bucketSize > availableParameters) {
+                return Math.max(size, availableParameters);
+            }
+        }
+
+        return bucketSize;
+    }
+
+    private int getBindCount(List<SqlParameter> parameterInfoList) {
+        int count = 0;
+        for (SqlParameter sqlParameter : parameterInfoList) {
+            count += sqlParameter.getBindCount();
+        }
+
+        return count;
+    }
 }
@@ -51,13 +51,21 @@ public abstract class SingleParameterPolicy extends AbstractSqlCriteriaPolicy {
         translate(sql, sqlEntityInfo.getTableAlias(), columnName, svc.getValue(), null);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void generatePreparedStatementCriteria(StringBuilder sql, List<SqlParameter> parameterInfoList,
             SqlEntityInfo sqlEntityInfo, Restriction restriction) throws UnifyException {
         SingleValueRestriction svc = (SingleValueRestriction) restriction;
         SqlFieldInfo sqlFieldInfo = sqlEntityInfo.getListFieldInfo(svc.getFieldName());
         sql.append(sqlFieldInfo.getPreferredColumnName()).append(opSql).append("?");
+        generatePreparedStatementParameters(parameterInfoList, sqlEntityInfo, restriction);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void generatePreparedStatementParameters(List<SqlParameter> parameterInfoList, SqlEntityInfo sqlEntityInfo,
+            Restriction restriction) throws UnifyException {
+        SingleValueRestriction svc = (SingleValueRestriction) restriction;
+        SqlFieldInfo sqlFieldInfo = sqlEntityInfo.getListFieldInfo(svc.getFieldName());
         if (sqlFieldInfo.isTransformed()) {
             parameterInfoList.add(new SqlParameter(getSqlTypePolicy(sqlFieldInfo.getColumnType()), resolveParam(
                     ((Transformer<Object, Object>) sqlFieldInfo.getTransformer()).forwardTransform(svc.getValue()))));
@@ -59,6 +59,12 @@ public class ZeroParameterPolicy extends AbstractSqlCriteriaPolicy {
         sql.append(")");
     }
 
+    @Override
+    public void generatePreparedStatementParameters(List<SqlParameter> parameterInfoList, SqlEntityInfo sqlEntityInfo,
+            Restriction restriction) throws UnifyException {
+
+    }
+
     @Override
     protected void doTranslate(StringBuilder sql, String tableName, String columnName, Object param1, Object param2)
             throws UnifyException {
@@ -66,6 +66,11 @@ public class MsSqlDialect extends AbstractSqlDataSourceDialect {
         return -1;
     }
 
+    @Override
+    public int getMaxStatementParameters() {
+        return 2100;
+    }
+
     @Override
     public String normalizeDefault(String defaultStr) {
         if (defaultStr != null) {
@@ -61,6 +61,11 @@ public class MySqlDialect extends AbstractSqlDataSourceDialect {
         return -1;
     }
 
+    @Override
+    public int getMaxStatementParameters() {
+        return 65535;
+    }
+
     @Override
     public String generateDropUniqueConstraintSql(SqlEntitySchemaInfo sqlRecordSchemaInfo,
             SqlUniqueConstraintSchemaInfo sqlUniqueConstraintInfo, boolean format) throws UnifyException {
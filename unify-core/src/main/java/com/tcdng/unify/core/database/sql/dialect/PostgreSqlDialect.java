@@ -65,6 +65,11 @@ public class PostgreSqlDialect extends AbstractSqlDataSourceDialect {
         return -1;
     }
 
+    @Override
+    public int getMaxStatementParameters() {
+        return 32767;
+    }
+
     @Override
     public boolean isAllObjectsInLowerCase() throws UnifyException {
         return true;
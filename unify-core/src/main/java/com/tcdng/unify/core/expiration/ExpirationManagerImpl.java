@@ -46,7 +46,7 @@ import com.tcdng.unify.core.util.ReflectUtils;
 @Component(ApplicationComponents.APPLICATION_EXPIRATIONMANAGER)
 public class ExpirationManagerImpl extends AbstractUnifyComponent implements ExpirationManager {
 
-    @Configurable
+    @Configurable(ApplicationComponents.APPLICATION_PROXYBUSINESSSERVICEGENERATOR)
     private ProxyBusinessServiceMethodRelay proxyMethodRelay;
 
     private List<ObservedExpirableInfo> expirablesList;
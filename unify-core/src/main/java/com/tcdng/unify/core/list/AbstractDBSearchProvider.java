@@ -15,32 +15,85 @@
  */
 package com.tcdng.unify.core.list;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Broadcast;
 import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.annotation.Periodic;
+import com.tcdng.unify.core.annotation.PeriodicType;
 import com.tcdng.unify.core.business.GenericService;
 import com.tcdng.unify.core.data.Listable;
 import com.tcdng.unify.core.database.Entity;
+import com.tcdng.unify.core.database.EntityChangeListener;
 import com.tcdng.unify.core.database.Query;
+import com.tcdng.unify.core.database.RecordHandler;
+import com.tcdng.unify.core.task.TaskManager;
+import com.tcdng.unify.core.task.TaskMonitor;
+import com.tcdng.unify.core.task.TaskPriority;
+import com.tcdng.unify.core.util.DataUtils;
 import com.tcdng.unify.core.util.StringUtils;
 
 /**
  * Convenient base class for database search provider list commands.
+ * <p>
+ * If search indexing is enabled, filter searches are answered from an
+ * in-memory trigram index built from the provider's query instead of the
+ * database. The index holds only record keys and descriptions, and matched
+ * records are fetched by key. The index is built in the background on first search, and the
+ * database is queried until it is ready. Committed writes to the record type
+ * mark the index as stale, and a stale index is rebuilt in the background at
+ * most once every {@code searchIndexRefreshPeriod} seconds.
+ * <p>
+ * The index is shared by all sessions. Indexing is therefore not used by a
+ * provider that overrides {@link #addQueryFilters(Query)}, since its filters
+ * may depend on the session, unless the provider also overrides
+ * {@link #isSearchIndexable()}.
  * 
  * @author Lateef Ojulari
  * @since 1.0
  */
-public abstract class AbstractDBSearchProvider extends AbstractSearchProviderListCommand {
+public abstract class AbstractDBSearchProvider extends AbstractSearchProviderListCommand
+        implements EntityChangeListener {
 
     @Configurable
     private GenericService genericService;
 
+    @Configurable(ApplicationComponents.APPLICATION_TASKMANAGER)
+    private TaskManager taskManager;
+
     @Configurable("30")
     private int searchLimit;
 
+    @Configurable("false")
+    private boolean searchIndexed;
+
+    /** Minimum period in seconds between rebuilds of stale search index */
+    @Configurable("60")
+    private int searchIndexRefreshPeriod;
+
+    private volatile TrigramSearchIndex<Object> searchIndex;
+
+    private volatile long searchIndexVersion;
+
+    private volatile long searchIndexBuildTime;
+
+    private AtomicLong changeVersion;
+
+    private AtomicBoolean searchIndexBuilding;
+
+    private boolean searchIndexEnabled;
+
     private Class<? extends Entity> recordType;
 
     private String keyProperty;
@@ -55,6 +108,8 @@ public abstract class AbstractDBSearchProvider extends AbstractSearchProviderLis
         this.recordType = recordType;
         this.keyProperty = keyProperty;
         this.descProperty = descProperty;
+        changeVersion = new AtomicLong();
+        searchIndexBuilding = new AtomicBoolean();
     }
 
     @Override
@@ -71,6 +126,15 @@ public abstract class AbstractDBSearchProvider extends AbstractSearchProviderLis
 
         String filter = params.getFilter();
         if (StringUtils.isNotBlank(filter)) {
+            if (searchIndexEnabled) {
+                TrigramSearchIndex<Object> index = searchIndex;
+                if (index != null) {
+                    return findByKeys(index.search(filter, searchLimit));
+                }
+
+                launchSearchIndexBuild();
+            }
+
             Query<?> query = Query.of(recordType).addLike(descProperty, filter).setLimit(searchLimit);
             addQueryFilters(query);
             return genericService.listAll(query);
@@ -89,7 +153,148 @@ public abstract class AbstractDBSearchProvider extends AbstractSearchProviderLis
         return descProperty;
     }
 
+    @Override
+    public boolean isListening(Class<? extends Entity> entityClass) throws UnifyException {
+        return searchIndexEnabled && recordType.equals(entityClass);
+    }
+
+    @Broadcast
+    @Override
+    public void entityChanged(String... entityClassNames) throws UnifyException {
+        for (String entityClassName : entityClassNames) {
+            if (recordType.getName().equals(entityClassName)) {
+                changeVersion.incrementAndGet();
+                break;
+            }
+        }
+    }
+
+    @Periodic(PeriodicType.SLOWEST)
+    public void refreshSearchIndex(TaskMonitor taskMonitor) throws UnifyException {
+        if (searchIndex != null && searchIndexVersion != changeVersion.get()
+                && System.currentTimeMillis() >= searchIndexBuildTime + searchIndexRefreshPeriod * 1000L) {
+            launchSearchIndexBuild();
+        }
+    }
+
+    @Override
+    protected void onInitialize() throws UnifyException {
+        super.onInitialize();
+        searchIndexEnabled = searchIndexed && isSearchIndexable();
+        if (searchIndexed && !searchIndexEnabled) {
+            logWarn("Search indexing disabled for [{0}]. Query filters may depend on session.", getName());
+        }
+    }
+
     protected void addQueryFilters(Query<?> query) throws UnifyException {
 
     }
+
+    /**
+     * Tests if filter searches can be answered from a search index shared by all
+     * sessions. By default, a provider that overrides
+     * {@link #addQueryFilters(Query)} is not indexable. Providers with filters
+     * that do not depend on session can override this method to return true.
+     * 
+     * @return true if indexable otherwise false
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    protected boolean isSearchIndexable() throws UnifyException {
+        for (Class<?> clazz = getClass(); !AbstractDBSearchProvider.class.equals(clazz); clazz =
+                clazz.getSuperclass()) {
+            try {
+                clazz.getDeclaredMethod("addQueryFilters", Query.class);
+                return false;
+            } catch (NoSuchMethodException e) {
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Tests if search index is built and not stale.
+     * 
+     * @return true if search index is current
+     */
+    boolean isSearchIndexCurrent() {
+        return searchIndex != null && !searchIndexBuilding.get() && searchIndexVersion == changeVersion.get();
+    }
+
+    private void launchSearchIndexBuild() throws UnifyException {
+        if (searchIndexBuilding.compareAndSet(false, true)) {
+            Future<Object> future = null;
+            try {
+                future = taskManager.submitWork(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        try {
+                            buildSearchIndex();
+                        } catch (UnifyException e) {
+                            logError(e);
+                        } finally {
+                            searchIndexBuilding.set(false);
+                        }
+
+                        return null;
+                    }
+                }, TaskPriority.LOW);
+            } finally {
+                if (future == null || future.isCancelled()) {
+                    searchIndexBuilding.set(false);
+                }
+            }
+        }
+    }
+
+    private <T extends Entity> void addSearchIndexRecords(final TrigramSearchIndex<Object> index, Class<T> clazz)
+            throws UnifyException {
+        // Stream key and description only
+        Query<T> query = Query.of(clazz).ignoreEmptyCriteria(true).addSelect(keyProperty, descProperty)
+                .addOrder("id");
+        addQueryFilters(query);
+        genericService.findAll(query, new RecordHandler<T>() {
+            @Override
+            public boolean handle(T record) throws UnifyException {
+                index.add(DataUtils.getBeanProperty(Object.class, record, keyProperty),
+                        DataUtils.getBeanProperty(String.class, record, descProperty));
+                return true;
+            }
+        });
+    }
+
+    private List<Entity> findByKeys(List<Object> keys) throws UnifyException {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Object, Entity> recordMap = new HashMap<Object, Entity>();
+        for (Entity record : genericService.listAll(Query.of(recordType).addAmongst(keyProperty, keys))) {
+            recordMap.put(DataUtils.getBeanProperty(Object.class, record, keyProperty), record);
+        }
+
+        // Keep index ranking. Records deleted since index was built are skipped.
+        List<Entity> result = new ArrayList<Entity>(keys.size());
+        for (Object key : keys) {
+            Entity record = recordMap.get(key);
+            if (record != null) {
+                result.add(record);
+            }
+        }
+
+        return result;
+    }
+
+    private void buildSearchIndex() throws UnifyException {
+        // Changes committed while building leave index stale for next refresh
+        long version = changeVersion.get();
+        TrigramSearchIndex<Object> index = new TrigramSearchIndex<Object>();
+        addSearchIndexRecords(index, recordType);
+
+        searchIndexVersion = version;
+        searchIndexBuildTime = System.currentTimeMillis();
+        searchIndex = index;
+        logDebug("Search index for [{0}] built with [{1}] records.", getName(), index.size());
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.list;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.tcdng.unify.core.data.Listable;
+
+/**
+ * Cached list command result with key to description index.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class ListCacheEntry {
+
+    private List<? extends Listable> list;
+
+    private Map<String, String> listMap;
+
+    public ListCacheEntry(List<? extends Listable> list) {
+        Map<String, String> listMap = new HashMap<String, String>();
+        for (Listable listable : list) {
+            listMap.put(listable.getListKey(), listable.getListDescription());
+        }
+
+        this.list = Collections.unmodifiableList(list);
+        this.listMap = Collections.unmodifiableMap(listMap);
+    }
+
+    public List<? extends Listable> getList() {
+        return list;
+    }
+
+    public Map<String, String> getListMap() {
+        return listMap;
+    }
+
+    public String getListDescription(String listKey) {
+        return listMap.get(listKey);
+    }
+}
@@ -76,4 +76,14 @@ public interface ListManager extends UnifyComponent {
      */
     String getListKeyDescription(Locale locale, String listKey, String listName, Object... params)
             throws UnifyException;
+
+    /**
+     * Invalidates cached results of a list command.
+     * 
+     * @param listName
+     *            the list command name
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void invalidateList(String listName) throws UnifyException;
 }
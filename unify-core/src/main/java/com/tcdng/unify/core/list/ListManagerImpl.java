@@ -15,6 +15,8 @@
  */
 package com.tcdng.unify.core.list;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -22,26 +24,51 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.tcdng.unify.core.AbstractUnifyComponent;
 import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyComponentConfig;
 import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Broadcast;
+import com.tcdng.unify.core.annotation.CachedList;
 import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.annotation.StaticList;
+import com.tcdng.unify.core.cache.Cache;
+import com.tcdng.unify.core.cache.CacheLoader;
 import com.tcdng.unify.core.constant.EnumConst;
 import com.tcdng.unify.core.data.Listable;
 import com.tcdng.unify.core.data.LocaleFactoryMaps;
+import com.tcdng.unify.core.database.Entity;
+import com.tcdng.unify.core.database.EntityChangeListener;
 import com.tcdng.unify.core.util.DataUtils;
 import com.tcdng.unify.core.util.StringUtils;
 
 /**
  * Default implementation of a list manager.
+ * <p>
+ * Results of list commands annotated with {@link CachedList} are cached per
+ * list name, locale and parameters. A cached list is invalidated by bumping its
+ * version, so stale results are never looked up again and simply expire.
+ * Lists are invalidated after a transaction that writes to one of their
+ * entities is committed, on this node and through broadcast on other nodes.
+ * Concurrent requests for a missing list wait on a single execution of the
+ * list command. Callers get their own copy of a cached list or list map, but
+ * list items are shared.
  * 
  * @author Lateef Ojulari
  * @since 1.0
  */
 @Component(ApplicationComponents.APPLICATION_LISTMANAGER)
-public class ListManagerImpl extends AbstractUnifyComponent implements ListManager {
+public class ListManagerImpl extends AbstractUnifyComponent implements ListManager, EntityChangeListener {
+
+    @Configurable(ApplicationComponents.APPLICATION_LISTCACHE)
+    private Cache<Object, ListCacheEntry> listCache;
+
+    /** Default cached list expiry period in seconds */
+    @Configurable("300")
+    private long cachedListExpiryPeriod;
 
     private LocaleFactoryMaps<String, List<? extends Listable>> staticLists;
 
@@ -49,8 +76,14 @@ public class ListManagerImpl extends AbstractUnifyComponent implements ListManag
 
     private Set<String> staticListNames;
 
+    private Map<String, CachedListInfo> cachedListInfos;
+
+    private Map<String, Set<String>> entityCachedListNames;
+
     public ListManagerImpl() {
         staticListNames = new HashSet<String>();
+        cachedListInfos = new HashMap<String, CachedListInfo>();
+        entityCachedListNames = new HashMap<String, Set<String>>();
         staticLists = new LocaleFactoryMaps<String, List<? extends Listable>>() {
             @Override
             protected List<? extends Listable> createObject(Locale locale, String listName, Object... params)
@@ -79,6 +112,11 @@ public class ListManagerImpl extends AbstractUnifyComponent implements ListManag
             return staticLists.get(locale, listName);
         }
 
+        ListCacheEntry listCacheEntry = getListCacheEntry(locale, listName, params);
+        if (listCacheEntry != null) {
+            return new ArrayList<Listable>(listCacheEntry.getList());
+        }
+
         return executeListCommand(listName, locale, params);
     }
 
@@ -88,6 +126,11 @@ public class ListManagerImpl extends AbstractUnifyComponent implements ListManag
             return staticListMaps.get(locale, listName);
         }
 
+        ListCacheEntry listCacheEntry = getListCacheEntry(locale, listName, params);
+        if (listCacheEntry != null) {
+            return new HashMap<String, String>(listCacheEntry.getListMap());
+        }
+
         Map<String, String> listMap = new HashMap<String, String>();
         for (Listable listable : executeListCommand(listName, locale, params)) {
             listMap.put(listable.getListKey(), listable.getListDescription());
@@ -101,12 +144,56 @@ public class ListManagerImpl extends AbstractUnifyComponent implements ListManag
         return getListMap(locale, listName, params).get(listKey);
     }
 
+    @Override
+    public void invalidateList(String listName) throws UnifyException {
+        CachedListInfo cachedListInfo = cachedListInfos.get(listName);
+        if (cachedListInfo != null) {
+            cachedListInfo.invalidate();
+        }
+    }
+
+    @Override
+    public boolean isListening(Class<? extends Entity> entityClass) throws UnifyException {
+        return entityCachedListNames.containsKey(entityClass.getName());
+    }
+
+    @Broadcast
+    @Override
+    public void entityChanged(String... entityClassNames) throws UnifyException {
+        for (String entityClassName : entityClassNames) {
+            Set<String> listNames = entityCachedListNames.get(entityClassName);
+            if (listNames != null) {
+                for (String listName : listNames) {
+                    cachedListInfos.get(listName).invalidate();
+                }
+            }
+        }
+    }
+
     @Override
     protected void onInitialize() throws UnifyException {
         for (Class<? extends EnumConst> enumClass : getAnnotatedClasses(EnumConst.class, StaticList.class)) {
             StaticList sa = enumClass.getAnnotation(StaticList.class);
             staticListNames.add(sa.value());
         }
+
+        for (UnifyComponentConfig unifyComponentConfig : getComponentConfigs(ListCommand.class)) {
+            CachedList cla = unifyComponentConfig.getType().getAnnotation(CachedList.class);
+            if (cla != null) {
+                String listName = unifyComponentConfig.getName();
+                long expiryPeriod = cla.expiryPeriod() < 0 ? cachedListExpiryPeriod : cla.expiryPeriod();
+                cachedListInfos.put(listName, new CachedListInfo(expiryPeriod));
+                for (Class<? extends Entity> entityClass : cla.entities()) {
+                    Set<String> listNames = entityCachedListNames.get(entityClass.getName());
+                    if (listNames == null) {
+                        listNames = new HashSet<String>();
+                        entityCachedListNames.put(entityClass.getName(), listNames);
+                    }
+
+                    listNames.add(listName);
+                }
+            }
+        }
     }
 
     @Override
@@ -114,10 +201,95 @@ public class ListManagerImpl extends AbstractUnifyComponent implements ListManag
 
     }
 
+    private ListCacheEntry getListCacheEntry(final Locale locale, final String listName, final Object... params)
+            throws UnifyException {
+        CachedListInfo cachedListInfo = cachedListInfos.get(listName);
+        if (cachedListInfo == null) {
+            return null;
+        }
+
+        ListCacheKey listCacheKey = new ListCacheKey(listName, cachedListInfo.getVersion(), locale, params);
+        return listCache.get(listCacheKey, new CacheLoader<Object, ListCacheEntry>() {
+            @Override
+            public ListCacheEntry load(Object key) throws UnifyException {
+                return new ListCacheEntry(executeListCommand(listName, locale, params));
+            }
+        }, cachedListInfo.getExpiryPeriod());
+    }
+
     @SuppressWarnings("unchecked")
     private <T> List<? extends Listable> executeListCommand(String listName, Locale locale, Object... params)
             throws UnifyException {
         ListCommand<T> listCommand = (ListCommand<T>) getComponent(listName);
         return listCommand.execute(locale, DataUtils.constructDataObject(listCommand.getParamType(), params));
     }
+
+    private static class CachedListInfo {
+
+        private long expiryPeriod;
+
+        private AtomicLong version;
+
+        public CachedListInfo(long expiryPeriod) {
+            this.expiryPeriod = expiryPeriod;
+            version = new AtomicLong();
+        }
+
+        public long getExpiryPeriod() {
+            return expiryPeriod;
+        }
+
+        public long getVersion() {
+            return version.get();
+        }
+
+        public void invalidate() {
+            version.incrementAndGet();
+        }
+    }
+
+    private static class ListCacheKey {
+
+        private String listName;
+
+        private long version;
+
+        private Locale locale;
+
+        private Object[] params;
+
+        private int hashCode;
+
+        public ListCacheKey(String listName, long version, Locale locale, Object[] params) {
+            this.listName = listName;
+            this.version = version;
+            this.locale = locale;
+            this.params = params;
+            int result = listName.hashCode();
+            result = 31 * result + (int) (version ^ (version >>> 32));
+            result = 31 * result + (locale != null ? locale.hashCode() : 0);
+            hashCode = 31 * result + Arrays.deepHashCode(params);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof ListCacheKey)) {
+                return false;
+            }
+
+            ListCacheKey other = (ListCacheKey) obj;
+            return version == other.version && listName.equals(other.listName)
+                    && (locale != null ? locale.equals(other.locale) : other.locale == null)
+                    && Arrays.deepEquals(params, other.params);
+        }
+    }
 }
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.list;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index for substring and prefix searches on item
+ * descriptions. Matches are ranked by exact match, then prefix, then word
+ * prefix and then any other substring. Shorter descriptions rank higher within
+ * the same match type.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class TrigramSearchIndex<T> {
+
+    private static final int EXACT_MATCH = 0;
+
+    private static final int PREFIX_MATCH = 1;
+
+    private static final int WORD_PREFIX_MATCH = 2;
+
+    private static final int SUBSTRING_MATCH = 3;
+
+    private List<T> items;
+
+    private List<String> descriptions;
+
+    private Map<Long, Postings> postingsMap;
+
+    private ReentrantReadWriteLock lock;
+
+    public TrigramSearchIndex() {
+        items = new ArrayList<T>();
+        descriptions = new ArrayList<String>();
+        postingsMap = new HashMap<Long, Postings>();
+        lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Adds an item to index.
+     * 
+     * @param item
+     *            the item to add
+     * @param description
+     *            the item description to index
+     */
+    public void add(T item, String description) {
+        String normalized = description != null ? description.toLowerCase(Locale.ENGLISH) : "";
+        lock.writeLock().lock();
+        try {
+            int itemIndex = items.size();
+            items.add(item);
+            descriptions.add(normalized);
+            for (int i = 0; i + 3 <= normalized.length(); i++) {
+                Long trigram = trigram(normalized, i);
+                Postings postings = postingsMap.get(trigram);
+                if (postings == null) {
+                    postings = new Postings();
+                    postingsMap.put(trigram, postings);
+                }
+
+                postings.add(itemIndex);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches index for items whose description contains supplied filter.
+     * 
+     * @param filter
+     *            the search filter
+     * @param limit
+     *            the maximum number of items to return
+     * @return ranked list of matching items
+     */
+    public List<T> search(String filter, int limit) {
+        if (filter == null || filter.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        final String normalized = filter.toLowerCase(Locale.ENGLISH);
+        List<Match> matchList = new ArrayList<Match>();
+        lock.readLock().lock();
+        try {
+            if (normalized.length() < 3) {
+                // Too short for trigrams. Scan all descriptions.
+                for (int i = 0; i < descriptions.size(); i++) {
+                    addMatch(matchList, i, normalized);
+                }
+            } else {
+                Postings[] filterPostings = getFilterPostings(normalized);
+                if (filterPostings == null) {
+                    return Collections.emptyList();
+                }
+
+                Postings candidates = filterPostings[0];
+                for (int i = 0; i < candidates.size; i++) {
+                    int itemIndex = candidates.itemIndexes[i];
+                    boolean candidate = true;
+                    for (int j = 1; j < filterPostings.length && candidate; j++) {
+                        candidate = filterPostings[j].contains(itemIndex);
+                    }
+
+                    if (candidate) {
+                        addMatch(matchList, itemIndex, normalized);
+                    }
+                }
+            }
+
+            Collections.sort(matchList, MATCH_COMPARATOR);
+            int size = Math.min(limit, matchList.size());
+            List<T> result = new ArrayList<T>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(items.get(matchList.get(i).itemIndex));
+            }
+
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Postings[] getFilterPostings(String normalized) {
+        Postings[] filterPostings = new Postings[normalized.length() - 2];
+        for (int i = 0; i < filterPostings.length; i++) {
+            Postings postings = postingsMap.get(trigram(normalized, i));
+            if (postings == null) {
+                return null;
+            }
+
+            filterPostings[i] = postings;
+        }
+
+        // Smallest postings first
+        Arrays.sort(filterPostings, new Comparator<Postings>() {
+            @Override
+            public int compare(Postings postings1, Postings postings2) {
+                return postings1.size - postings2.size;
+            }
+        });
+        return filterPostings;
+    }
+
+    private void addMatch(List<Match> matchList, int itemIndex, String normalized) {
+        String description = descriptions.get(itemIndex);
+        int index = description.indexOf(normalized);
+        if (index < 0) {
+            return;
+        }
+
+        int rank = SUBSTRING_MATCH;
+        if (index == 0) {
+            rank = description.length() == normalized.length() ? EXACT_MATCH : PREFIX_MATCH;
+        } else {
+            while (index > 0) {
+                if (!Character.isLetterOrDigit(description.charAt(index - 1))) {
+                    rank = WORD_PREFIX_MATCH;
+                    break;
+                }
+
+                index = description.indexOf(normalized, index + 1);
+            }
+        }
+
+        matchList.add(new Match(itemIndex, rank, description.length()));
+    }
+
+    private static Long trigram(String str, int index) {
+        return Long.valueOf(((long) str.charAt(index) << 32) | ((long) str.charAt(index + 1) << 16)
+                | str.charAt(index + 2));
+    }
+
+    private static final Comparator<Match> MATCH_COMPARATOR = new Comparator<Match>() {
+        @Override
+        public int compare(Match match1, Match match2) {
+            if (match1.rank != match2.rank) {
+                return match1.rank - match2.rank;
+            }
+
+            if (match1.length != match2.length) {
+                return match1.length - match2.length;
+            }
+
+            return match1.itemIndex - match2.itemIndex;
+        }
+    };
+
+    private static class Match {
+
+        private int itemIndex;
+
+        private int rank;
+
+        private int length;
+
+        public Match(int itemIndex, int rank, int length) {
+            this.itemIndex = itemIndex;
+            this.rank = rank;
+            this.length = length;
+        }
+    }
+
+    private static class Postings {
+
+        private int[] itemIndexes;
+
+        private int size;
+
+        public Postings() {
+            itemIndexes = new int[4];
+        }
+
+        public void add(int itemIndex) {
+            // Items are added in ascending order. Skip repeated trigram in same item.
+            if (size > 0 && itemIndexes[size - 1] == itemIndex) {
+                return;
+            }
+
+            if (size == itemIndexes.length) {
+                itemIndexes = Arrays.copyOf(itemIndexes, size * 2);
+            }
+
+            itemIndexes[size++] = itemIndex;
+        }
+
+        public boolean contains(int itemIndex) {
+            return Arrays.binarySearch(itemIndexes, 0, size, itemIndex) >= 0;
+        }
+    }
+}
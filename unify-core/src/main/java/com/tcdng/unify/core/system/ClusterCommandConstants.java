@@ -30,4 +30,6 @@ public interface ClusterCommandConstants {
     String FORCE_LOGOUT_SYSTEM = "forceLogOutSystem";
 
     String FORCE_LOGOUT_ADMINISTRATOR = "forceLogOutAdministrator";
+
+    String PUSHED_CLUSTER_COMMAND = "pushedClusterCommand";
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import com.tcdng.unify.core.UnifyComponent;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.system.entities.ClusterNode;
+
+/**
+ * Transport for pushing cluster commands directly to peer nodes. Pushed
+ * commands are a fast path only. Commands are still persisted and picked up by
+ * peer nodes from the database if a push fails.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public interface ClusterCommandTransport extends UnifyComponent {
+
+    /**
+     * Pushes a cluster command to a peer node. Delivery is best effort and
+     * failures are not reported to the caller.
+     * 
+     * @param clusterNode
+     *            the peer node
+     * @param commandId
+     *            the persisted cluster command ID
+     * @param command
+     *            the command code
+     * @param params
+     *            the command parameters
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    void push(ClusterNode clusterNode, Long commandId, String command, String... params) throws UnifyException;
+}
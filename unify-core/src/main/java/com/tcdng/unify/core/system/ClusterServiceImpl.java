@@ -21,7 +21,10 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyCoreRequestAttributeConstants;
@@ -36,6 +39,7 @@ import com.tcdng.unify.core.annotation.Transactional;
 import com.tcdng.unify.core.business.AbstractBusinessService;
 import com.tcdng.unify.core.criterion.Update;
 import com.tcdng.unify.core.data.ReentrantLockFactoryMap;
+import com.tcdng.unify.core.database.TransactionCompletionHook;
 import com.tcdng.unify.core.system.entities.ClusterCommand;
 import com.tcdng.unify.core.system.entities.ClusterCommandParam;
 import com.tcdng.unify.core.system.entities.ClusterCommandParamQuery;
@@ -51,6 +55,12 @@ import com.tcdng.unify.core.util.ThreadUtils;
 /**
  * Default implementation of application cluster manager. Uses datasource
  * timestamp to coordidate synchronization of method calls across clusters.
+ * <p>
+ * In cluster mode, threads on the same node queue on a local lock so that only
+ * one thread per node polls the database for a synchronization lock, and a
+ * release on this node wakes the next local waiter as soon as it is committed.
+ * Database locks are held on leases that are renewed independently of node heart
+ * beat.
  * 
  * @author Lateef Ojulari
  * @since 1.0
@@ -62,15 +72,41 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
     @Configurable("1") // Node expiration in minutes
     private int nodeExpirationPeriod;
 
+    /**
+     * Lock lease duration in milliseconds. A held lock whose lease is not renewed
+     * within this period can be taken by another node.
+     */
+    @Configurable("15000")
+    private long lockLeaseDuration;
+
+    /**
+     * Initial interval in milliseconds between database polls by a waiting node.
+     * Interval doubles on each failed poll up to maximum.
+     */
+    @Configurable("5")
+    private long minLockPollInterval;
+
+    @Configurable("50")
+    private long maxLockPollInterval;
+
+    @Configurable
+    private ClusterCommandTransport clusterCommandTransport;
+
+    /**
+     * Indicates broadcast commands should also be pushed directly to other nodes.
+     */
+    @Configurable("true")
+    private boolean pushClusterCommands;
+
     private ReentrantLockFactoryMap<String> lockList;
 
-    private List<String> dbLockList;
+    private Map<String, LockLease> dbLockLeases;
 
     private Set<String> pseudoLocks;
-    
+
     public ClusterServiceImpl() {
         lockList = new ReentrantLockFactoryMap<String>();
-        dbLockList = new ArrayList<String>();
+        dbLockLeases = new ConcurrentHashMap<String, LockLease>();
         pseudoLocks = new HashSet<String>();
     }
 
@@ -84,22 +120,39 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
 
     @Override
     public void beginSynchronization(String lockName) throws UnifyException {
+        ReentrantLock localLock = lockList.get(lockName);
+        localLock.lock();
         if (isClusterMode()) {
-            while (!grabDbLock(lockName, false)) {
-                ThreadUtils.sleep(50);
+            // Only local lock holder polls database
+            try {
+                long pollInterval = minLockPollInterval;
+                while (!grabDbLock(lockName, false)) {
+                    ThreadUtils.sleep(pollInterval);
+                    pollInterval = Math.min(pollInterval * 2, maxLockPollInterval);
+                }
+            } catch (UnifyException e) {
+                localLock.unlock();
+                throw e;
             }
-        } else {
-            lockList.get(lockName).lock();
         }
     }
 
     @Transactional(TransactionAttribute.REQUIRES_NEW)
     @Override
     public void endSynchronization(String lockName) throws UnifyException {
+        ReentrantLock localLock = lockList.get(lockName);
         if (isClusterMode()) {
+            // Next local waiter is woken only after database release is committed
+            try {
+                addTransactionCompletionHook(new LocalLockReleaseHook(localLock));
+            } catch (UnifyException e) {
+                localLock.unlock();
+                throw e;
+            }
+
             releaseDbLock(lockName, false);
         } else {
-            lockList.get(lockName).unlock();
+            localLock.unlock();
         }
     }
 
@@ -151,9 +204,8 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
     public void broadcastToOtherNodes(String command, String... params) throws UnifyException {
         if (isClusterMode()
                 && !Boolean.TRUE.equals(getRequestAttribute(UnifyCoreRequestAttributeConstants.SUPPRESS_BROADCAST))) {
-            List<String> nodeIdList =
-                    db().valueList(String.class, "nodeId", new ClusterNodeQuery().nodeNotEqual(getNodeId()));
-            if (!nodeIdList.isEmpty()) {
+            List<ClusterNode> nodeList = db().findAll(new ClusterNodeQuery().nodeNotEqual(getNodeId()));
+            if (!nodeList.isEmpty()) {
                 ClusterCommand clusterCommandData = new ClusterCommand();
                 clusterCommandData.setCommandCode(command);
 
@@ -163,8 +215,9 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
                     clusterCommandParamData = new ClusterCommandParam();
                 }
 
-                for (String nodeId : nodeIdList) {
-                    clusterCommandData.setNodeId(nodeId);
+                List<Long> clusterCommandIdList = new ArrayList<Long>();
+                for (ClusterNode clusterNode : nodeList) {
+                    clusterCommandData.setNodeId(clusterNode.getNodeId());
                     Long clusterCommandId = (Long) db().create(clusterCommandData);
                     if (isParams) {
                         clusterCommandParamData.setClusterCommandId(clusterCommandId);
@@ -173,6 +226,14 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
                             db().create(clusterCommandParamData);
                         }
                     }
+
+                    clusterCommandIdList.add(clusterCommandId);
+                }
+
+                // Push only committed commands. Persisted commands remain fallback if push fails
+                if (pushClusterCommands) {
+                    addTransactionCompletionHook(
+                            new ClusterCommandPushHook(nodeList, clusterCommandIdList, command, params));
                 }
             }
         }
@@ -189,8 +250,8 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
             for (ClusterCommand clusterCommand : clusterCommandList) {
                 Long clusterCommandId = clusterCommand.getId();
                 clusterCommandIdList.add(clusterCommandId);
-                resultList.add(new Command(clusterCommand.getCommandCode(), db().valueList(String.class,
-                        "parameter", new ClusterCommandParamQuery().clusterCommandId(clusterCommandId))));
+                resultList.add(new Command(clusterCommandId, clusterCommand.getCommandCode(), db().valueList(
+                        String.class, "parameter", new ClusterCommandParamQuery().clusterCommandId(clusterCommandId))));
             }
 
             db().deleteAll(new ClusterCommandParamQuery().clusterCommandIdIn(clusterCommandIdList));
@@ -204,6 +265,7 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
         boolean successfulLock = false;
         String lockOwnerId = getLockOwnerId(nodeOnly);
         logDebug("Attempt by [{0}] to hold lock [{1}]...", lockOwnerId, lockName);
+        Date now = db().getNow();
         ClusterLockQuery query = new ClusterLockQuery().lockName(lockName);
         ClusterLock clusterLock = db().find(query);
         if (clusterLock == null) {
@@ -211,7 +273,7 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
                 clusterLock = new ClusterLock();
                 clusterLock.setLockName(lockName);
                 clusterLock.setCurrentOwner(lockOwnerId);
-                clusterLock.setExpiryTime(getNewLockExpirationDate());
+                clusterLock.setExpiryTime(getNewLockExpirationDate(now));
                 clusterLock.setLockCount(Integer.valueOf(1));
                 db().create(clusterLock);
                 successfulLock = true;
@@ -220,19 +282,17 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
         } else {
             if (lockOwnerId.equals(clusterLock.getCurrentOwner())) {
                 successfulLock = db().updateAll(query.currentOwner(lockOwnerId),
-                        new Update().add("expiryTime", getNewLockExpirationDate()).add("lockCount",
+                        new Update().add("expiryTime", getNewLockExpirationDate(now)).add("lockCount",
                                 clusterLock.getLockCount() + 1)) > 0;
             } else {
-                successfulLock = db().updateAll(query.expiredOrFree(db().getNow()),
-                        new Update().add("currentOwner", lockOwnerId).add("expiryTime", getNewLockExpirationDate())
+                successfulLock = db().updateAll(query.expiredOrFree(now),
+                        new Update().add("currentOwner", lockOwnerId).add("expiryTime", getNewLockExpirationDate(now))
                                 .add("lockCount", Integer.valueOf(1))) > 0;
             }
         }
 
         if (successfulLock) {
-            if (!dbLockList.contains(lockName)) {
-                dbLockList.add(lockName);
-            }
+            dbLockLeases.put(lockName, new LockLease(lockOwnerId, now.getTime()));
             logDebug("Lock [{0}] sucessfully held by [{1}]...", lockName, lockOwnerId);
         } else {
             logDebug("[{0}] failed to hold lock [{1}]...", lockOwnerId, lockName);
@@ -258,7 +318,7 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
                 successfulRelease = db().updateAll(query,
                         new Update().add("currentOwner", null).add("lockCount", Integer.valueOf(0))) > 0;
                 if (successfulRelease) {
-                    dbLockList.remove(lockName);
+                    dbLockLeases.remove(lockName);
                     logDebug("Lock [{0}] fully released by [{1}]...", lockName, lockOwnerId);
                 }
             }
@@ -288,11 +348,29 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
             clusterNode.setCommandPort(Integer.valueOf(unifyContainerInterface.getPort()));
             db().create(clusterNode);
         }
+    }
 
-        // Extend life of locks held by this node
-        if (!dbLockList.isEmpty()) {
-            db().updateAll(new ClusterLockQuery().lockNameIn(dbLockList),
-                    new Update().add("expiryTime", getNewLockExpirationDate()));
+    @Periodic(value = PeriodicType.FAST, clusterMode = true)
+    @Transactional(TransactionAttribute.REQUIRES_NEW)
+    public void renewLockLeases(TaskMonitor taskMonitor) throws UnifyException {
+        if (!dbLockLeases.isEmpty()) {
+            // Renew only leases past half their duration
+            Date now = db().getNow();
+            long renewBefore = now.getTime() - lockLeaseDuration / 2;
+            for (Map.Entry<String, LockLease> entry : dbLockLeases.entrySet()) {
+                LockLease lockLease = entry.getValue();
+                if (lockLease.getRenewTime() <= renewBefore) {
+                    String lockName = entry.getKey();
+                    if (db().updateAll(
+                            new ClusterLockQuery().lockName(lockName).currentOwner(lockLease.getOwnerId()),
+                            new Update().add("expiryTime", getNewLockExpirationDate(now))) > 0) {
+                        lockLease.setRenewTime(now.getTime());
+                    } else {
+                        logDebug("Lease on lock [{0}] by [{1}] lost...", lockName, lockLease.getOwnerId());
+                        dbLockLeases.remove(lockName);
+                    }
+                }
+            }
         }
     }
 
@@ -325,18 +403,16 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
     }
 
     /**
-     * Calculates a new expiration date by adding twice the house keeping rate to
-     * current time.
+     * Calculates a new lock expiration date by adding lease duration to supplied
+     * time.
      * 
-     * @see {@link #performClusterHouseKeeping(TaskMonitor)}
+     * @see {@link #renewLockLeases(TaskMonitor)}
+     * @param now
+     *            the current database time
      * @return the calculated date
-     * @throws UnifyException
-     *             if an error occurs
      */
-    private Date getNewLockExpirationDate() throws UnifyException {
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTimeInMillis(db().getNow().getTime() + PeriodicType.FAST.getPeriodInMillSec() * 2);
-        return calendar.getTime();
+    private Date getNewLockExpirationDate(Date now) {
+        return new Date(now.getTime() + lockLeaseDuration);
     }
 
     private Date getNewNodeExpiryDate() throws UnifyException {
@@ -344,4 +420,82 @@ public class ClusterServiceImpl extends AbstractBusinessService implements Clust
         calendar.setTimeInMillis(db().getNow().getTime() - (nodeExpirationPeriod * 60000));
         return calendar.getTime();
     }
+
+    private class ClusterCommandPushHook implements TransactionCompletionHook {
+
+        private List<ClusterNode> nodeList;
+
+        private List<Long> clusterCommandIdList;
+
+        private String command;
+
+        private String[] params;
+
+        public ClusterCommandPushHook(List<ClusterNode> nodeList, List<Long> clusterCommandIdList, String command,
+                String[] params) {
+            this.nodeList = nodeList;
+            this.clusterCommandIdList = clusterCommandIdList;
+            this.command = command;
+            this.params = params;
+        }
+
+        @Override
+        public void afterCommit() {
+            for (int i = 0; i < nodeList.size(); i++) {
+                try {
+                    clusterCommandTransport.push(nodeList.get(i), clusterCommandIdList.get(i), command, params);
+                } catch (UnifyException e) {
+                    logError(e);
+                }
+            }
+        }
+
+        @Override
+        public void afterRollback() {
+
+        }
+    }
+
+    private static class LocalLockReleaseHook implements TransactionCompletionHook {
+
+        private ReentrantLock localLock;
+
+        public LocalLockReleaseHook(ReentrantLock localLock) {
+            this.localLock = localLock;
+        }
+
+        @Override
+        public void afterCommit() {
+            localLock.unlock();
+        }
+
+        @Override
+        public void afterRollback() {
+            localLock.unlock();
+        }
+    }
+
+    private static class LockLease {
+
+        private String ownerId;
+
+        private volatile long renewTime;
+
+        public LockLease(String ownerId, long renewTime) {
+            this.ownerId = ownerId;
+            this.renewTime = renewTime;
+        }
+
+        public String getOwnerId() {
+            return ownerId;
+        }
+
+        public long getRenewTime() {
+            return renewTime;
+        }
+
+        public void setRenewTime(long renewTime) {
+            this.renewTime = renewTime;
+        }
+    }
 }
@@ -25,15 +25,27 @@ import java.util.List;
  */
 public class Command {
 
+    private Long id;
+
     private String command;
 
     private List<String> params;
 
+    public Command(Long id, String command, List<String> params) {
+        this.id = id;
+        this.command = command;
+        this.params = params;
+    }
+
     public Command(String command, List<String> params) {
         this.command = command;
         this.params = params;
     }
 
+    public Long getId() {
+        return id;
+    }
+
     public String getCommand() {
         return command;
     }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import java.util.Date;
+
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.business.BusinessService;
+
+/**
+ * Provides application database time without a database round trip on every
+ * call. Database server time is sampled periodically and the offset from the
+ * local clock is used to derive current database time.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public interface DatabaseClockService extends BusinessService {
+
+    /**
+     * Returns current database time derived from local clock and last sampled
+     * database clock offset. Samples database clock if there is no sample or if
+     * last sample has expired.
+     * 
+     * @return the current database time
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    @Override
+    Date getNow() throws UnifyException;
+
+    /**
+     * Reads current time directly from database and updates sampled clock
+     * offset.
+     * 
+     * @return the current database time
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    Date getLiveNow() throws UnifyException;
+
+    /**
+     * Returns the last sampled difference in milliseconds between database clock
+     * and local clock.
+     * 
+     * @return the clock offset. Zero if database clock has not been sampled.
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    long getClockOffset() throws UnifyException;
+}
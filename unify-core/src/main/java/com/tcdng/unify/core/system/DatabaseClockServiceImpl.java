@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import java.util.Date;
+
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.annotation.Periodic;
+import com.tcdng.unify.core.annotation.PeriodicType;
+import com.tcdng.unify.core.annotation.TransactionAttribute;
+import com.tcdng.unify.core.annotation.Transactional;
+import com.tcdng.unify.core.business.AbstractBusinessService;
+import com.tcdng.unify.core.task.TaskMonitor;
+
+/**
+ * Default implementation of database clock service.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+@Component(ApplicationComponents.APPLICATION_DATABASECLOCKSERVICE)
+public class DatabaseClockServiceImpl extends AbstractBusinessService implements DatabaseClockService {
+
+    /**
+     * Maximum age in milliseconds of clock sample before a live read is forced.
+     */
+    @Configurable("60000")
+    private long maxSampleAge;
+
+    /**
+     * Offset changes within this tolerance in milliseconds are ignored on
+     * resample to keep derived time stable.
+     */
+    @Configurable("250")
+    private long driftTolerance;
+
+    private volatile ClockSample clockSample;
+
+    @Override
+    public Date getNow() throws UnifyException {
+        ClockSample sample = clockSample;
+        if (sample == null || sample.isExpired(System.currentTimeMillis(), maxSampleAge)) {
+            tm().beginTransaction(TransactionAttribute.REQUIRED);
+            try {
+                sampleClock();
+            } finally {
+                tm().endTransaction();
+            }
+
+            sample = clockSample;
+        }
+
+        return new Date(System.currentTimeMillis() + sample.getOffset());
+    }
+
+    @Override
+    @Transactional
+    public Date getLiveNow() throws UnifyException {
+        return sampleClock();
+    }
+
+    @Override
+    public long getClockOffset() throws UnifyException {
+        ClockSample sample = clockSample;
+        if (sample != null) {
+            return sample.getOffset();
+        }
+
+        return 0;
+    }
+
+    @Periodic(PeriodicType.NORMAL)
+    @Transactional(TransactionAttribute.REQUIRES_NEW)
+    public void sampleDatabaseClock(TaskMonitor taskMonitor) throws UnifyException {
+        sampleClock();
+    }
+
+    private Date sampleClock() throws UnifyException {
+        long start = System.currentTimeMillis();
+        Date dbNow = db().getNow();
+        long end = System.currentTimeMillis();
+
+        // Compensate for round trip by assuming database read at mid point
+        long offset = dbNow.getTime() - (start + (end - start) / 2);
+        ClockSample sample = clockSample;
+        if (sample != null) {
+            if (Math.abs(offset - sample.getOffset()) <= driftTolerance) {
+                offset = sample.getOffset();
+            } else {
+                logDebug("Database clock offset adjusted from [{0}] to [{1}] milliseconds.", sample.getOffset(),
+                        offset);
+            }
+        }
+
+        clockSample = new ClockSample(offset, end);
+        return dbNow;
+    }
+
+    private static class ClockSample {
+
+        private long offset;
+
+        private long sampleTime;
+
+        public ClockSample(long offset, long sampleTime) {
+            this.offset = offset;
+            this.sampleTime = sampleTime;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public boolean isExpired(long now, long maxAge) {
+            return (now - sampleTime) > maxAge;
+        }
+    }
+}
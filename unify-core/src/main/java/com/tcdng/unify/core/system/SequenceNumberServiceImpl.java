@@ -16,18 +16,21 @@
 package com.tcdng.unify.core.system;
 
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Component;
 import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.annotation.Parameter;
 import com.tcdng.unify.core.annotation.Synchronized;
+import com.tcdng.unify.core.annotation.Taskable;
 import com.tcdng.unify.core.annotation.TransactionAttribute;
 import com.tcdng.unify.core.annotation.Transactional;
 import com.tcdng.unify.core.business.AbstractBusinessService;
 import com.tcdng.unify.core.criterion.Update;
+import com.tcdng.unify.core.database.TransactionCompletionHook;
 import com.tcdng.unify.core.system.entities.ClusterDateSequenceNumber;
 import com.tcdng.unify.core.system.entities.ClusterDateSequenceNumberQuery;
 import com.tcdng.unify.core.system.entities.ClusterSequenceBlock;
@@ -36,11 +39,17 @@ import com.tcdng.unify.core.system.entities.ClusterSequenceNumber;
 import com.tcdng.unify.core.system.entities.ClusterSequenceNumberQuery;
 import com.tcdng.unify.core.system.entities.ClusterUniqueString;
 import com.tcdng.unify.core.system.entities.ClusterUniqueStringQuery;
+import com.tcdng.unify.core.task.TaskExecLimit;
+import com.tcdng.unify.core.task.TaskMonitor;
+import com.tcdng.unify.core.task.TaskSetup;
 import com.tcdng.unify.core.util.CalendarUtils;
 import com.tcdng.unify.core.util.ThreadUtils;
 
 /**
- * Default implementation of a sequence number service.
+ * Default implementation of a sequence number service. Cached block sequence
+ * numbers are drawn lock-free from a per-sequence block. The next block is
+ * prefetched by a task manager task when a block reaches its low-water mark, and
+ * block size adapts to how fast blocks are consumed.
  * 
  * @author Lateef Ojulari
  * @since 1.0
@@ -48,11 +57,40 @@ import com.tcdng.unify.core.util.ThreadUtils;
 @Component(ApplicationComponents.APPLICATION_SEQUENCENUMBERSERVICE)
 public class SequenceNumberServiceImpl extends AbstractBusinessService implements SequenceNumberService {
 
-    private Map<String, SequenceBlock> sequenceBlockMap;
+    private static final String PREFETCH_SEQUENCEBLOCK_TASK = "prefetchsequenceblock-task";
 
+    private static final String SEQUENCE_NAME = "sequenceName";
+
+    private static final long PREFETCH_WAIT_MILLISEC = 5000;
+
+    private ConcurrentHashMap<String, SequenceAllocator> sequenceAllocatorMap;
+
+    /**
+     * The minimum and initial size of a sequence block.
+     */
     @Configurable("100")
     private int sequenceBlockSize;
 
+    /**
+     * The maximum size an adaptive sequence block can grow to.
+     */
+    @Configurable("10000")
+    private int maxSequenceBlockSize;
+
+    /**
+     * The target time in milliseconds for consuming a sequence block. Block size
+     * is doubled when blocks are consumed faster than half this time and halved
+     * when slower than twice this time.
+     */
+    @Configurable("5000")
+    private long sequenceBlockTargetLife;
+
+    /**
+     * The percentage of a block left when next block is prefetched.
+     */
+    @Configurable("25")
+    private int sequenceBlockLowWaterPercent;
+
     /**
      * The number of attempts to get next sequence block.
      */
@@ -60,35 +98,39 @@ public class SequenceNumberServiceImpl extends AbstractBusinessService implement
     private int maxNextSequenceBlockAttempts;
 
     public SequenceNumberServiceImpl() {
-        sequenceBlockMap = new HashMap<String, SequenceBlock>();
+        sequenceAllocatorMap = new ConcurrentHashMap<String, SequenceAllocator>();
     }
 
     @Override
     @Transactional(TransactionAttribute.REQUIRES_NEW)
-    public synchronized Long getCachedBlockNextSequenceNumber(String sequencedName) throws UnifyException {
-        SequenceBlock sequenceBlock = sequenceBlockMap.get(sequencedName);
-        if (sequenceBlock == null) {
-            try {
-                sequenceBlock = new SequenceBlock();
-                nextSequenceBlock(sequencedName, sequenceBlock, 1);
-            } catch (UnifyException e) {
-                ClusterSequenceBlock clusterSequenceBlock = new ClusterSequenceBlock();
-                clusterSequenceBlock.setSequenceName(sequencedName);
-                clusterSequenceBlock.setNextBlock(sequenceBlockSize + 1);
-                clusterSequenceBlock.setBlockSize(sequenceBlockSize);
-                db().create(clusterSequenceBlock);
-
-                sequenceBlock.next = 1;
-                sequenceBlock.last = sequenceBlock.next + clusterSequenceBlock.getBlockSize() - 1;
+    public Long getCachedBlockNextSequenceNumber(String sequencedName) throws UnifyException {
+        SequenceAllocator sequenceAllocator = sequenceAllocatorMap.get(sequencedName);
+        if (sequenceAllocator == null) {
+            sequenceAllocator = new SequenceAllocator(sequencedName, sequenceBlockSize);
+            SequenceAllocator existAllocator = sequenceAllocatorMap.putIfAbsent(sequencedName, sequenceAllocator);
+            if (existAllocator != null) {
+                sequenceAllocator = existAllocator;
             }
-            sequenceBlockMap.put(sequencedName, sequenceBlock);
         }
 
-        Long id = Long.valueOf(sequenceBlock.next++);
-        if (sequenceBlock.next > sequenceBlock.last) {
-            nextSequenceBlock(sequencedName, sequenceBlock, maxNextSequenceBlockAttempts);
+        while (true) {
+            SequenceBlock sequenceBlock = sequenceAllocator.currentBlock;
+            if (sequenceBlock != null) {
+                long id = sequenceBlock.next.getAndIncrement();
+                if (id <= sequenceBlock.last) {
+                    if (id == sequenceBlock.lowWater) {
+                        launchSequenceBlockPrefetch(sequenceAllocator);
+                    }
+
+                    return Long.valueOf(id);
+                }
+            }
+
+            Long id = switchSequenceBlock(sequenceAllocator, sequenceBlock);
+            if (id != null) {
+                return id;
+            }
         }
-        return id;
     }
 
     @Override
@@ -152,9 +194,161 @@ public class SequenceNumberServiceImpl extends AbstractBusinessService implement
     @Override
     public void reset() throws UnifyException {
         if (!isProductionMode()) {
+            // Invalidate allocators, waiting on any block fetch in progress
+            for (SequenceAllocator sequenceAllocator : sequenceAllocatorMap.values()) {
+                synchronized (sequenceAllocator) {
+                    sequenceAllocator.invalid = true;
+                }
+            }
+
+            sequenceAllocatorMap.clear();
             db().updateAll(new ClusterSequenceBlockQuery().ignoreEmptyCriteria(true),
                     new Update().add("nextBlock", 1L).add("blockSize", sequenceBlockSize));
-            sequenceBlockMap.clear();
+        }
+    }
+
+    /**
+     * Fetches the next block of a cached block sequence ahead of its current
+     * block. The fetched block is made available only after the transaction that
+     * reserves it is committed.
+     * 
+     * @param taskMonitor
+     *            the task monitor
+     * @param sequenceName
+     *            the sequence name
+     * @return true if next block was fetched
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    @Taskable(name = PREFETCH_SEQUENCEBLOCK_TASK, description = "Prefetch Sequence Block",
+            parameters = { @Parameter(SEQUENCE_NAME) }, limit = TaskExecLimit.ALLOW_MULTIPLE)
+    @Transactional(TransactionAttribute.REQUIRES_NEW)
+    public boolean prefetchSequenceBlock(TaskMonitor taskMonitor, String sequenceName) throws UnifyException {
+        final SequenceAllocator sequenceAllocator = sequenceAllocatorMap.get(sequenceName);
+        if (sequenceAllocator != null) {
+            synchronized (sequenceAllocator) {
+                if (!sequenceAllocator.invalid && !sequenceAllocator.prefetching
+                        && sequenceAllocator.prefetchedBlock == null) {
+                    final SequenceBlock sequenceBlock;
+                    sequenceAllocator.prefetching = true;
+                    try {
+                        sequenceBlock = nextSequenceBlock(sequenceAllocator, maxNextSequenceBlockAttempts);
+                    } catch (UnifyException e) {
+                        sequenceAllocator.endPrefetch(null);
+                        throw e;
+                    }
+
+                    addTransactionCompletionHook(new TransactionCompletionHook() {
+                        @Override
+                        public void afterCommit() {
+                            sequenceAllocator.endPrefetch(sequenceBlock);
+                        }
+
+                        @Override
+                        public void afterRollback() {
+                            sequenceAllocator.endPrefetch(null);
+                        }
+                    });
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Tests if the next block of a cached block sequence has been prefetched.
+     * 
+     * @param sequenceName
+     *            the sequence name
+     * @return true if next block is prefetched
+     */
+    boolean isSequenceBlockPrefetched(String sequenceName) {
+        SequenceAllocator sequenceAllocator = sequenceAllocatorMap.get(sequenceName);
+        if (sequenceAllocator != null) {
+            synchronized (sequenceAllocator) {
+                return sequenceAllocator.prefetchedBlock != null;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Switches the current block of a sequence allocator if still on supplied
+     * exhausted block. Uses prefetched block if available, otherwise fetches next
+     * block from database. A number is taken from a block fetched from database
+     * in the current transaction so that the caller does not wait on the allocator
+     * again while holding the sequence block row lock.
+     * 
+     * @param sequenceAllocator
+     *            the sequence allocator
+     * @param exhaustedBlock
+     *            the exhausted block
+     * @return the number taken from a block fetched from database otherwise null
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    private Long switchSequenceBlock(SequenceAllocator sequenceAllocator, SequenceBlock exhaustedBlock)
+            throws UnifyException {
+        synchronized (sequenceAllocator) {
+            if (sequenceAllocator.currentBlock != exhaustedBlock) {
+                return null;
+            }
+
+            // Wait for reserved block of prefetch in progress so numbers stay in order
+            long expiryTime = System.currentTimeMillis() + PREFETCH_WAIT_MILLISEC;
+            long waitTime = PREFETCH_WAIT_MILLISEC;
+            while (sequenceAllocator.prefetching && waitTime > 0) {
+                try {
+                    sequenceAllocator.wait(waitTime);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+
+                waitTime = expiryTime - System.currentTimeMillis();
+            }
+
+            if (sequenceAllocator.prefetchedBlock != null) {
+                sequenceAllocator.currentBlock = sequenceAllocator.prefetchedBlock;
+                sequenceAllocator.prefetchedBlock = null;
+                return null;
+            }
+
+            SequenceBlock sequenceBlock = exhaustedBlock == null ? firstSequenceBlock(sequenceAllocator)
+                    : nextSequenceBlock(sequenceAllocator, maxNextSequenceBlockAttempts);
+            long id = sequenceBlock.next.getAndIncrement();
+            sequenceAllocator.currentBlock = sequenceBlock;
+            if (id == sequenceBlock.lowWater) {
+                launchSequenceBlockPrefetch(sequenceAllocator);
+            }
+
+            return Long.valueOf(id);
+        }
+    }
+
+    private void launchSequenceBlockPrefetch(SequenceAllocator sequenceAllocator) {
+        // Block is fetched on switch if prefetch can not be launched
+        try {
+            launchTask(TaskSetup.newBuilder().addTask(PREFETCH_SEQUENCEBLOCK_TASK)
+                    .setParam(SEQUENCE_NAME, sequenceAllocator.sequenceName).build());
+        } catch (UnifyException e) {
+            logError(e);
+        }
+    }
+
+    private SequenceBlock firstSequenceBlock(SequenceAllocator sequenceAllocator) throws UnifyException {
+        try {
+            return nextSequenceBlock(sequenceAllocator, 1);
+        } catch (UnifyException e) {
+            ClusterSequenceBlock clusterSequenceBlock = new ClusterSequenceBlock();
+            clusterSequenceBlock.setSequenceName(sequenceAllocator.sequenceName);
+            clusterSequenceBlock.setNextBlock(sequenceAllocator.blockSize + 1);
+            clusterSequenceBlock.setBlockSize(sequenceAllocator.blockSize);
+            db().create(clusterSequenceBlock);
+            return sequenceAllocator.newBlock(1);
         }
     }
 
@@ -163,23 +357,26 @@ public class SequenceNumberServiceImpl extends AbstractBusinessService implement
      * version number changes. This facilitates sequence number generation for
      * clustered environments that share the same database.
      * 
-     * @param sequencedName
-     *            the sequence name
-     * @param sequenceCounter
-     *            the sequence counter
+     * @param sequenceAllocator
+     *            the sequence allocator
+     * @param maxAttempts
+     *            the maximum number of attempts
+     * @return the next sequence block
      * @throws UnifyException
      *             if an error occurs
      */
-    private void nextSequenceBlock(String sequencedName, SequenceBlock sequenceCounter, int maxAttempts)
+    private SequenceBlock nextSequenceBlock(SequenceAllocator sequenceAllocator, int maxAttempts)
             throws UnifyException {
-        for (int attempts = 1; attempts <= maxAttempts; attempts++) {
+        sequenceAllocator.adaptBlockSize(sequenceBlockSize, maxSequenceBlockSize, sequenceBlockTargetLife);
+        for (int attempts = 1;; attempts++) {
             try {
-                ClusterSequenceBlock clusterSequenceBlock = db().find(ClusterSequenceBlock.class, sequencedName);
-                sequenceCounter.next = clusterSequenceBlock.getNextBlock();
-                sequenceCounter.last = sequenceCounter.next + clusterSequenceBlock.getBlockSize() - 1;
-                clusterSequenceBlock.setNextBlock(sequenceCounter.next + clusterSequenceBlock.getBlockSize());
+                ClusterSequenceBlock clusterSequenceBlock =
+                        db().find(ClusterSequenceBlock.class, sequenceAllocator.sequenceName);
+                long next = clusterSequenceBlock.getNextBlock();
+                clusterSequenceBlock.setNextBlock(next + sequenceAllocator.blockSize);
+                clusterSequenceBlock.setBlockSize(sequenceAllocator.blockSize);
                 db().updateByIdVersion(clusterSequenceBlock);
-                break;
+                return sequenceAllocator.newBlock(next);
             } catch (UnifyException e) {
                 if (attempts >= maxAttempts) {
                     throw e;
@@ -189,9 +386,68 @@ public class SequenceNumberServiceImpl extends AbstractBusinessService implement
         }
     }
 
+    private class SequenceAllocator {
+
+        private final String sequenceName;
+
+        private volatile SequenceBlock currentBlock;
+
+        private SequenceBlock prefetchedBlock;
+
+        private boolean prefetching;
+
+        private int blockSize;
+
+        private long lastFetchTime;
+
+        private boolean invalid;
+
+        public SequenceAllocator(String sequenceName, int blockSize) {
+            this.sequenceName = sequenceName;
+            this.blockSize = blockSize;
+        }
+
+        public synchronized void endPrefetch(SequenceBlock sequenceBlock) {
+            prefetching = false;
+            if (sequenceBlock != null && !invalid && prefetchedBlock == null) {
+                prefetchedBlock = sequenceBlock;
+            }
+
+            notifyAll();
+        }
+
+        public SequenceBlock newBlock(long first) {
+            long last = first + blockSize - 1;
+            return new SequenceBlock(first, last, last - (blockSize * (long) sequenceBlockLowWaterPercent) / 100);
+        }
+
+        public void adaptBlockSize(int minBlockSize, int maxBlockSize, long targetLife) {
+            long now = System.currentTimeMillis();
+            if (lastFetchTime > 0) {
+                long life = now - lastFetchTime;
+                if (life < targetLife / 2) {
+                    blockSize = Math.min(blockSize * 2, maxBlockSize);
+                } else if (life > targetLife * 2) {
+                    blockSize = Math.max(blockSize / 2, minBlockSize);
+                }
+            }
+
+            lastFetchTime = now;
+        }
+    }
+
     private class SequenceBlock {
-        public long next;
 
-        public long last;
+        private final AtomicLong next;
+
+        private final long last;
+
+        private final long lowWater;
+
+        public SequenceBlock(long next, long last, long lowWater) {
+            this.next = new AtomicLong(next);
+            this.last = last;
+            this.lowWater = lowWater;
+        }
     }
 }
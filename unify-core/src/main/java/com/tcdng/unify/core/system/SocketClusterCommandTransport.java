@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URLEncoder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.tcdng.unify.core.AbstractUnifyComponent;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
+import com.tcdng.unify.core.system.entities.ClusterNode;
+
+/**
+ * Cluster command transport that pushes commands over TCP to the command
+ * interface port of peer nodes. Each command is sent as lines of URL encoded
+ * text on a short-lived connection. Pushes are performed asynchronously by a
+ * small bounded pool so that unreachable nodes do not hold up callers. A node
+ * that can not be reached is skipped for a retry interval, during which it picks
+ * its commands from the database.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+@Component(ApplicationComponents.APPLICATION_CLUSTERCOMMANDTRANSPORT)
+public class SocketClusterCommandTransport extends AbstractUnifyComponent implements ClusterCommandTransport {
+
+    private static final String ENCODING = "UTF-8";
+
+    @Configurable("2000")
+    private int connectTimeout;
+
+    @Configurable("4")
+    private int pushThreads;
+
+    @Configurable("256")
+    private int pushQueueCapacity;
+
+    /**
+     * Time in milliseconds an unreachable node is skipped before push is retried.
+     */
+    @Configurable("30000")
+    private long unreachableNodeRetryInterval;
+
+    private ConcurrentHashMap<String, Long> unreachableNodes;
+
+    private ThreadPoolExecutor pushExecutor;
+
+    public SocketClusterCommandTransport() {
+        unreachableNodes = new ConcurrentHashMap<String, Long>();
+    }
+
+    @Override
+    public void push(final ClusterNode clusterNode, final Long commandId, final String command,
+            final String... params) throws UnifyException {
+        if (clusterNode.getIpAddress() == null || clusterNode.getCommandPort() == null) {
+            return;
+        }
+
+        final String nodeId = clusterNode.getNodeId();
+        if (isNodeUnreachable(nodeId)) {
+            return;
+        }
+
+        try {
+            pushExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    Socket socket = new Socket();
+                    try {
+                        socket.connect(new InetSocketAddress(clusterNode.getIpAddress(), clusterNode.getCommandPort()),
+                                connectTimeout);
+                        BufferedWriter bw =
+                                new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), ENCODING));
+                        writeLine(bw, ClusterCommandConstants.PUSHED_CLUSTER_COMMAND);
+                        writeLine(bw, URLEncoder.encode(String.valueOf(commandId), ENCODING));
+                        writeLine(bw, URLEncoder.encode(command, ENCODING));
+                        for (String param : params) {
+                            writeLine(bw, URLEncoder.encode(param, ENCODING));
+                        }
+                        bw.flush();
+                        unreachableNodes.remove(nodeId);
+                    } catch (Exception e) {
+                        unreachableNodes.put(nodeId, System.currentTimeMillis() + unreachableNodeRetryInterval);
+                        logDebug("Failed pushing command [{0}] to node [{1}]. Node will pick command from database.",
+                                command, nodeId);
+                    } finally {
+                        close(socket);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logDebug("Push queue is full. Node [{0}] will pick command [{1}] from database.", nodeId, command);
+        }
+    }
+
+    /**
+     * Tests if a node is currently skipped because it could not be reached.
+     * 
+     * @param nodeId
+     *            the node ID
+     * @return true if node is skipped
+     */
+    boolean isNodeUnreachable(String nodeId) {
+        Long retryTime = unreachableNodes.get(nodeId);
+        return retryTime != null && retryTime > System.currentTimeMillis();
+    }
+
+    @Override
+    protected void onInitialize() throws UnifyException {
+        pushExecutor = new ThreadPoolExecutor(Math.max(1, pushThreads), Math.max(1, pushThreads), 0L,
+                TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(Math.max(1, pushQueueCapacity)));
+    }
+
+    @Override
+    protected void onTerminate() throws UnifyException {
+        pushExecutor.shutdownNow();
+    }
+
+    private void writeLine(BufferedWriter bw, String line) throws Exception {
+        bw.write(line);
+        bw.newLine();
+    }
+
+    private void close(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            logDebug("Failed closing push connection: {0}", e.getMessage());
+        }
+    }
+}
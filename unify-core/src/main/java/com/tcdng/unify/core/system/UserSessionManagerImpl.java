@@ -16,10 +16,16 @@
 package com.tcdng.unify.core.system;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyCoreSessionAttributeConstants;
@@ -32,19 +38,29 @@ import com.tcdng.unify.core.UserSession;
 import com.tcdng.unify.core.UserToken;
 import com.tcdng.unify.core.annotation.Broadcast;
 import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
 import com.tcdng.unify.core.annotation.Periodic;
 import com.tcdng.unify.core.annotation.PeriodicType;
 import com.tcdng.unify.core.annotation.TransactionAttribute;
 import com.tcdng.unify.core.annotation.Transactional;
 import com.tcdng.unify.core.business.AbstractBusinessService;
 import com.tcdng.unify.core.criterion.Update;
+import com.tcdng.unify.core.database.TransactionCompletionHook;
 import com.tcdng.unify.core.system.entities.UserSessionTracking;
 import com.tcdng.unify.core.system.entities.UserSessionTrackingQuery;
 import com.tcdng.unify.core.task.TaskMonitor;
 import com.tcdng.unify.core.util.CalendarUtils;
 
 /**
- * Default implementation of application user session manager.
+ * Default implementation of application user session manager. Session
+ * tracking records are written behind. New session records are created only
+ * when a session logs in or survives a minimum age, and record creation and
+ * deletion are flushed periodically in batches. Tracking state is changed under
+ * a lock but database work is done outside it; claimed creations and deletions
+ * are applied to tracking state only after their transaction commits and are
+ * put back for the next flush if it rolls back. User changes to a record that
+ * another transaction is still creating are queued for the next flush instead
+ * of waiting for that transaction.
  * 
  * @author Lateef Ojulari
  * @since 1.0
@@ -53,10 +69,41 @@ import com.tcdng.unify.core.util.CalendarUtils;
 @Component(ApplicationComponents.APPLICATION_USERSESSIONMANAGER)
 public class UserSessionManagerImpl extends AbstractBusinessService implements UserSessionManager {
 
+    @Configurable
+    private DatabaseClockService databaseClockService;
+
+    /**
+     * Minimum age in milliseconds a session must reach before its tracking
+     * record is created.
+     */
+    @Configurable("30000")
+    private long minSessionTrackingAge;
+
+    @Configurable("500")
+    private int sessionTrackingBatchSize;
+
     private Map<String, UserSession> userSessions;
 
+    private Map<String, PendingSessionTracking> pendingCreates;
+
+    private Map<String, PendingSessionTracking> creatingSessions;
+
+    private Set<String> trackedSessionIds;
+
+    private Queue<String> pendingDeletes;
+
+    private Map<String, Update> pendingUserUpdates;
+
+    private final Object trackingLock;
+
     public UserSessionManagerImpl() {
         userSessions = new ConcurrentHashMap<String, UserSession>();
+        pendingCreates = new ConcurrentHashMap<String, PendingSessionTracking>();
+        creatingSessions = new ConcurrentHashMap<String, PendingSessionTracking>();
+        trackedSessionIds = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        pendingDeletes = new ConcurrentLinkedQueue<String>();
+        pendingUserUpdates = new ConcurrentHashMap<String, Update>();
+        trackingLock = new Object();
     }
 
     @Override
@@ -83,6 +130,7 @@ public class UserSessionManagerImpl extends AbstractBusinessService implements U
     }
 
     @Override
+    @Transactional(TransactionAttribute.SUPPORTS)
     public void addUserSession(UserSession userSession) throws UnifyException {
         SessionContext sessionContext = userSession.getSessionContext();
         UserSessionTracking userSessionTracking = new UserSessionTracking();
@@ -91,20 +139,23 @@ public class UserSessionManagerImpl extends AbstractBusinessService implements U
         userSessionTracking.setRemoteAddress(sessionContext.getRemoteAddress());
         userSessionTracking.setRemoteUser(sessionContext.getRemoteUser());
         userSessionTracking.setNode(getNodeId());
-        db().create(userSessionTracking);
+        pendingCreates.put(sessionContext.getId(),
+                new PendingSessionTracking(userSessionTracking, System.currentTimeMillis()));
         userSessions.put(sessionContext.getId(), userSession);
     }
 
     @Override
+    @Transactional(TransactionAttribute.SUPPORTS)
     public void removeUserSession(UserSession userSession) throws UnifyException {
-        SessionContext sessionContext = userSession.getSessionContext();
-        db().delete(UserSessionTracking.class, sessionContext.getId());
-        userSessions.remove(sessionContext.getId());
+        String sessionId = userSession.getSessionContext().getId();
+        userSessions.remove(sessionId);
+        untrackUserSession(sessionId);
     }
 
     @Override
+    @Transactional(TransactionAttribute.SUPPORTS)
     public void updateCurrentSessionLastAccessTime() throws UnifyException {
-        getSessionContext().setLastAccessTime(db().getNow());
+        getSessionContext().setLastAccessTime(databaseClockService.getNow());
     }
 
     @Override
@@ -131,8 +182,8 @@ public class UserSessionManagerImpl extends AbstractBusinessService implements U
         // Update user session database record
         String userLoginId = userToken.getUserLoginId();
         String sessionId = sessionContext.getId();
-        db().updateAll(new UserSessionTrackingQuery().id(sessionId), new Update().add("userLoginId", userLoginId)
-                .add("userLoginId", userToken.getUserLoginId()).add("userName", userToken.getUserName()));
+        createPendingSessionTracking(sessionId);
+        updateSessionTrackingUser(sessionId, userLoginId, userToken.getUserName());
 
         if (!userToken.isAllowMultipleLogin()) {
             List<String> sessionIdList = db().valueList(String.class, "sessionId",
@@ -179,6 +230,63 @@ public class UserSessionManagerImpl extends AbstractBusinessService implements U
         }
     }
 
+    @Periodic(PeriodicType.NORMAL)
+    @Transactional(TransactionAttribute.REQUIRES_NEW)
+    public void flushUserSessionTracking(TaskMonitor taskMonitor) throws UnifyException {
+        // Claim removed sessions and sessions that have reached minimum age
+        List<String> deleteSessionList = new ArrayList<String>();
+        List<PendingSessionTracking> createList = new ArrayList<PendingSessionTracking>();
+        Map<String, Update> userUpdates = new HashMap<String, Update>();
+        synchronized (trackingLock) {
+            String sessionId = null;
+            while ((sessionId = pendingDeletes.poll()) != null) {
+                deleteSessionList.add(sessionId);
+            }
+
+            userUpdates.putAll(pendingUserUpdates);
+            pendingUserUpdates.clear();
+
+            long createBefore = System.currentTimeMillis() - minSessionTrackingAge;
+            Iterator<PendingSessionTracking> it = pendingCreates.values().iterator();
+            while (it.hasNext()) {
+                PendingSessionTracking pendingSessionTracking = it.next();
+                if (pendingSessionTracking.getAddTime() <= createBefore) {
+                    it.remove();
+                    claimPendingSessionTracking(pendingSessionTracking);
+                    createList.add(pendingSessionTracking);
+                }
+            }
+        }
+
+        if (deleteSessionList.isEmpty() && createList.isEmpty() && userUpdates.isEmpty()) {
+            return;
+        }
+
+        addTransactionCompletionHook(new TrackingCompletionHook(createList, deleteSessionList, userUpdates));
+
+        // Delete records of removed sessions
+        for (int i = 0; i < deleteSessionList.size(); i += sessionTrackingBatchSize) {
+            db().deleteAll(new UserSessionTrackingQuery().idAmongst(
+                    deleteSessionList.subList(i, Math.min(i + sessionTrackingBatchSize, deleteSessionList.size()))));
+        }
+
+        // Create records of claimed sessions
+        List<UserSessionTracking> userSessionTrackingList = new ArrayList<UserSessionTracking>();
+        for (PendingSessionTracking pendingSessionTracking : createList) {
+            userSessionTrackingList.add(pendingSessionTracking.getUserSessionTracking());
+        }
+
+        for (int i = 0; i < userSessionTrackingList.size(); i += sessionTrackingBatchSize) {
+            db().createAll(userSessionTrackingList.subList(i,
+                    Math.min(i + sessionTrackingBatchSize, userSessionTrackingList.size())));
+        }
+
+        // Apply queued user changes
+        for (Map.Entry<String, Update> entry : userUpdates.entrySet()) {
+            db().updateAll(new UserSessionTrackingQuery().id(entry.getKey()), entry.getValue());
+        }
+    }
+
     @Periodic(PeriodicType.SLOWEST)
     @Transactional(TransactionAttribute.REQUIRES_NEW)
     public void performUserSessionHouseKeeping(TaskMonitor taskMonitor) throws UnifyException {
@@ -191,15 +299,21 @@ public class UserSessionManagerImpl extends AbstractBusinessService implements U
         Date expiryTime = CalendarUtils.getDateWithOffset(now, -(expirationInSeconds * 1000));
         for (UserSession userSession : userSessions.values()) {
             SessionContext sessionContext = userSession.getSessionContext();
+            String sessionId = sessionContext.getId();
             if (sessionContext.getLastAccessTime() == null || expiryTime.before(sessionContext.getLastAccessTime())) {
-                activeSessionList.add(sessionContext.getId());
+                if (trackedSessionIds.contains(sessionId)) {
+                    activeSessionList.add(sessionId);
+                }
             } else {
-                userSessions.remove(sessionContext.getId());
+                userSessions.remove(sessionId);
+                untrackUserSession(sessionId);
             }
         }
 
-        if (!activeSessionList.isEmpty()) {
-            db().updateAll(new UserSessionTrackingQuery().idAmongst(activeSessionList),
+        for (int i = 0; i < activeSessionList.size(); i += sessionTrackingBatchSize) {
+            db().updateAll(
+                    new UserSessionTrackingQuery().idAmongst(
+                            activeSessionList.subList(i, Math.min(i + sessionTrackingBatchSize, activeSessionList.size()))),
                     new Update().add("node", getNodeId()).add("lastAccessTime", now));
         }
 
@@ -221,13 +335,226 @@ public class UserSessionManagerImpl extends AbstractBusinessService implements U
     private void logOut(UserSession userSession) throws UnifyException {
         if (userSession != null) {
             SessionContext sessionContext = userSession.getSessionContext();
-            db().updateAll(new UserSessionTrackingQuery().id(sessionContext.getId()),
-                    new Update().add("userLoginId", null).add("userName", null));
+            updateSessionTrackingUser(sessionContext.getId(), null, null);
             sessionContext.setUserToken(null);
             sessionContext.removeAllAttributes();
         }
     }
 
+    private void createPendingSessionTracking(String sessionId) throws UnifyException {
+        PendingSessionTracking pendingSessionTracking = null;
+        synchronized (trackingLock) {
+            pendingSessionTracking = pendingCreates.remove(sessionId);
+            if (pendingSessionTracking == null) {
+                return;
+            }
+
+            claimPendingSessionTracking(pendingSessionTracking);
+        }
+
+        List<PendingSessionTracking> createList = new ArrayList<PendingSessionTracking>();
+        createList.add(pendingSessionTracking);
+        addTransactionCompletionHook(new TrackingCompletionHook(createList, Collections.<String>emptyList(),
+                Collections.<String, Update>emptyMap()));
+        db().create(pendingSessionTracking.getUserSessionTracking());
+    }
+
+    private void updateSessionTrackingUser(String sessionId, String userLoginId, String userName)
+            throws UnifyException {
+        PendingSessionTracking creatingSessionTracking = creatingSessions.get(sessionId);
+        if (creatingSessionTracking != null && !creatingSessionTracking.isClaimedByCurrentThread()) {
+            // Record is being created by another transaction. Queue change on commit instead of waiting
+            addTransactionCompletionHook(new TrackingUserCompletionHook(sessionId, userLoginId, userName));
+            return;
+        }
+
+        pendingUserUpdates.remove(sessionId);
+        db().updateAll(new UserSessionTrackingQuery().id(sessionId), getUserUpdate(userLoginId, userName));
+    }
+
+    private Update getUserUpdate(String userLoginId, String userName) {
+        return new Update().add("userLoginId", userLoginId).add("userName", userName);
+    }
+
+    private void claimPendingSessionTracking(PendingSessionTracking pendingSessionTracking) {
+        pendingSessionTracking.claim();
+        creatingSessions.put(pendingSessionTracking.getSessionId(), pendingSessionTracking);
+    }
+
+    private void untrackUserSession(String sessionId) {
+        synchronized (trackingLock) {
+            pendingUserUpdates.remove(sessionId);
+            if (pendingCreates.remove(sessionId) == null) {
+                PendingSessionTracking creatingSessionTracking = creatingSessions.get(sessionId);
+                if (creatingSessionTracking != null) {
+                    // Record is deleted after its creation is committed
+                    creatingSessionTracking.setRemoved(true);
+                } else if (trackedSessionIds.remove(sessionId)) {
+                    pendingDeletes.add(sessionId);
+                }
+            }
+        }
+    }
+
+    private class TrackingCompletionHook implements TransactionCompletionHook {
+
+        private List<PendingSessionTracking> createList;
+
+        private List<String> deleteSessionList;
+
+        private Map<String, Update> userUpdates;
+
+        public TrackingCompletionHook(List<PendingSessionTracking> createList, List<String> deleteSessionList,
+                Map<String, Update> userUpdates) {
+            this.createList = createList;
+            this.deleteSessionList = deleteSessionList;
+            this.userUpdates = userUpdates;
+        }
+
+        @Override
+        public void afterCommit() {
+            synchronized (trackingLock) {
+                for (PendingSessionTracking pendingSessionTracking : createList) {
+                    String sessionId = pendingSessionTracking.getSessionId();
+                    creatingSessions.remove(sessionId);
+                    if (pendingSessionTracking.isRemoved()) {
+                        pendingDeletes.add(sessionId);
+                    } else {
+                        trackedSessionIds.add(sessionId);
+                        if (pendingSessionTracking.isUserChanged()) {
+                            // User changed after record was written
+                            UserSessionTracking userSessionTracking = pendingSessionTracking.getUserSessionTracking();
+                            pendingUserUpdates.put(sessionId, getUserUpdate(userSessionTracking.getUserLoginId(),
+                                    userSessionTracking.getUserName()));
+                        }
+                    }
+
+                    pendingSessionTracking.complete();
+                }
+            }
+        }
+
+        @Override
+        public void afterRollback() {
+            synchronized (trackingLock) {
+                pendingDeletes.addAll(deleteSessionList);
+                for (Map.Entry<String, Update> entry : userUpdates.entrySet()) {
+                    String sessionId = entry.getKey();
+                    if (trackedSessionIds.contains(sessionId) && !pendingUserUpdates.containsKey(sessionId)) {
+                        pendingUserUpdates.put(sessionId, entry.getValue());
+                    }
+                }
+
+                for (PendingSessionTracking pendingSessionTracking : createList) {
+                    String sessionId = pendingSessionTracking.getSessionId();
+                    creatingSessions.remove(sessionId);
+                    if (!pendingSessionTracking.isRemoved() && !pendingCreates.containsKey(sessionId)) {
+                        pendingCreates.put(sessionId, pendingSessionTracking);
+                    }
+
+                    pendingSessionTracking.complete();
+                }
+            }
+        }
+    }
+
+    private class TrackingUserCompletionHook implements TransactionCompletionHook {
+
+        private String sessionId;
+
+        private String userLoginId;
+
+        private String userName;
+
+        public TrackingUserCompletionHook(String sessionId, String userLoginId, String userName) {
+            this.sessionId = sessionId;
+            this.userLoginId = userLoginId;
+            this.userName = userName;
+        }
+
+        @Override
+        public void afterCommit() {
+            synchronized (trackingLock) {
+                PendingSessionTracking pendingSessionTracking = creatingSessions.get(sessionId);
+                if (pendingSessionTracking == null) {
+                    pendingSessionTracking = pendingCreates.get(sessionId);
+                }
+
+                if (pendingSessionTracking != null) {
+                    pendingSessionTracking.setUser(userLoginId, userName);
+                } else if (trackedSessionIds.contains(sessionId)) {
+                    pendingUserUpdates.put(sessionId, getUserUpdate(userLoginId, userName));
+                }
+            }
+        }
+
+        @Override
+        public void afterRollback() {
+
+        }
+    }
+
+    private static class PendingSessionTracking {
+
+        private UserSessionTracking userSessionTracking;
+
+        private long addTime;
+
+        private volatile Thread claimThread;
+
+        private volatile boolean removed;
+
+        private volatile boolean userChanged;
+
+        public PendingSessionTracking(UserSessionTracking userSessionTracking, long addTime) {
+            this.userSessionTracking = userSessionTracking;
+            this.addTime = addTime;
+        }
+
+        public UserSessionTracking getUserSessionTracking() {
+            return userSessionTracking;
+        }
+
+        public String getSessionId() {
+            return userSessionTracking.getSessionId();
+        }
+
+        public long getAddTime() {
+            return addTime;
+        }
+
+        public boolean isRemoved() {
+            return removed;
+        }
+
+        public void setRemoved(boolean removed) {
+            this.removed = removed;
+        }
+
+        public boolean isUserChanged() {
+            return userChanged;
+        }
+
+        public void setUser(String userLoginId, String userName) {
+            userSessionTracking.setUserLoginId(userLoginId);
+            userSessionTracking.setUserName(userName);
+            userChanged = true;
+        }
+
+        public void claim() {
+            claimThread = Thread.currentThread();
+            userChanged = false;
+        }
+
+        public boolean isClaimedByCurrentThread() {
+            return claimThread == Thread.currentThread();
+        }
+
+        public void complete() {
+            claimThread = null;
+        }
+    }
+
     private class LocalUserSession implements UserSession {
 
         private SessionContext sessionContext;
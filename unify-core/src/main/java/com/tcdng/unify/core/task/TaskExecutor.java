@@ -0,0 +1,214 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.task;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.tcdng.unify.core.UnifyCoreErrorConstants;
+import com.tcdng.unify.core.UnifyException;
+
+/**
+ * Named task executor with a bounded priority queue, rejection policy and
+ * statistics.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+class TaskExecutor {
+
+    private final String name;
+
+    private final int queueCapacity;
+
+    private final TaskRejectionPolicy rejectionPolicy;
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicInteger queueDepth;
+
+    private final AtomicLong sequence;
+
+    private final AtomicLong submittedCount;
+
+    private final AtomicLong startedCount;
+
+    private final AtomicLong completedCount;
+
+    private final AtomicLong rejectedCount;
+
+    private final AtomicLong totalWaitTime;
+
+    private final AtomicLong maxWaitTime;
+
+    public TaskExecutor(final String name, int threads, int queueCapacity, TaskRejectionPolicy rejectionPolicy) {
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        this.rejectionPolicy = rejectionPolicy;
+        queueDepth = new AtomicInteger();
+        sequence = new AtomicLong();
+        submittedCount = new AtomicLong();
+        startedCount = new AtomicLong();
+        completedCount = new AtomicLong();
+        rejectedCount = new AtomicLong();
+        totalWaitTime = new AtomicLong();
+        maxWaitTime = new AtomicLong();
+        executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+
+                    private final ThreadFactory threadFactory = Executors.defaultThreadFactory();
+
+                    private final AtomicInteger threadCount = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = threadFactory.newThread(runnable);
+                        thread.setName("unify-" + name + "-" + threadCount.incrementAndGet());
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Submits runnable for execution.
+     * 
+     * @param runnable
+     *            the runnable to execute
+     * @param priority
+     *            the execution priority
+     * @param allowCallerRuns
+     *            indicates caller may run task if queue is full and policy is
+     *            {@link TaskRejectionPolicy#CALLER_RUNS}. If false, task is
+     *            discarded instead.
+     * @return future for submitted task
+     * @throws UnifyException
+     *             if queue is full and policy is {@link TaskRejectionPolicy#ABORT}
+     *             or executor is shut down
+     */
+    public Future<?> submit(Runnable runnable, TaskPriority priority, boolean allowCallerRuns)
+            throws UnifyException {
+        submittedCount.incrementAndGet();
+        PrioritizedTask task = new PrioritizedTask(runnable, priority, sequence.getAndIncrement());
+        if (queueDepth.incrementAndGet() > queueCapacity) {
+            queueDepth.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            switch (rejectionPolicy) {
+                case CALLER_RUNS:
+                    if (allowCallerRuns) {
+                        task.run();
+                        return task;
+                    }
+                    // Fall through to discard
+                case DISCARD:
+                    task.cancel(false);
+                    return task;
+                case ABORT:
+                default:
+                    throw new UnifyException(UnifyCoreErrorConstants.TASK_EXECUTOR_QUEUE_FULL, name, queueCapacity);
+            }
+        }
+
+        task.setEnqueued();
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            queueDepth.decrementAndGet();
+            rejectedCount.incrementAndGet();
+            throw new UnifyException(e, UnifyCoreErrorConstants.TASK_EXECUTOR_QUEUE_FULL, name, queueCapacity);
+        }
+
+        return task;
+    }
+
+    public TaskExecutorStats getStats() {
+        return new TaskExecutorStats(name, executor.getPoolSize(), executor.getActiveCount(), queueDepth.get(),
+                queueCapacity, submittedCount.get(), startedCount.get(), completedCount.get(), rejectedCount.get(),
+                TimeUnit.NANOSECONDS.toMillis(totalWaitTime.get()), TimeUnit.NANOSECONDS.toMillis(maxWaitTime.get()));
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private class PrioritizedTask extends FutureTask<Object> implements Comparable<PrioritizedTask> {
+
+        private final TaskPriority priority;
+
+        private final long sequence;
+
+        private long enqueueTime;
+
+        private boolean enqueued;
+
+        public PrioritizedTask(Runnable runnable, TaskPriority priority, long sequence) {
+            super(runnable, null);
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        public void setEnqueued() {
+            enqueueTime = System.nanoTime();
+            enqueued = true;
+        }
+
+        @Override
+        public void run() {
+            if (enqueued) {
+                queueDepth.decrementAndGet();
+                long waitTime = System.nanoTime() - enqueueTime;
+                totalWaitTime.addAndGet(waitTime);
+                long max = maxWaitTime.get();
+                while (waitTime > max && !maxWaitTime.compareAndSet(max, waitTime)) {
+                    max = maxWaitTime.get();
+                }
+            }
+
+            startedCount.incrementAndGet();
+            try {
+                super.run();
+            } finally {
+                completedCount.incrementAndGet();
+            }
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask other) {
+            int result = priority.compareTo(other.priority);
+            if (result == 0) {
+                result = sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+            }
+
+            return result;
+        }
+    }
+}
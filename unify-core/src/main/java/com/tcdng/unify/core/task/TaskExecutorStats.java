@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.task;
+
+/**
+ * Task executor statistics snapshot.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class TaskExecutorStats {
+
+    private String name;
+
+    private int poolSize;
+
+    private int activeCount;
+
+    private int queueDepth;
+
+    private int queueCapacity;
+
+    private long submittedCount;
+
+    private long startedCount;
+
+    private long completedCount;
+
+    private long rejectedCount;
+
+    private long totalWaitTime;
+
+    private long maxWaitTime;
+
+    public TaskExecutorStats(String name, int poolSize, int activeCount, int queueDepth, int queueCapacity,
+            long submittedCount, long startedCount, long completedCount, long rejectedCount, long totalWaitTime,
+            long maxWaitTime) {
+        this.name = name;
+        this.poolSize = poolSize;
+        this.activeCount = activeCount;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.submittedCount = submittedCount;
+        this.startedCount = startedCount;
+        this.completedCount = completedCount;
+        this.rejectedCount = rejectedCount;
+        this.totalWaitTime = totalWaitTime;
+        this.maxWaitTime = maxWaitTime;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getSubmittedCount() {
+        return submittedCount;
+    }
+
+    public long getStartedCount() {
+        return startedCount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * Returns total time tasks spent waiting in queue in milliseconds.
+     */
+    public long getTotalWaitTime() {
+        return totalWaitTime;
+    }
+
+    /**
+     * Returns longest time a task spent waiting in queue in milliseconds.
+     */
+    public long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    public double getAverageWaitTime() {
+        return startedCount == 0 ? 0.0 : (double) totalWaitTime / startedCount;
+    }
+}
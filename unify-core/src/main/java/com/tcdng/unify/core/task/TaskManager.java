@@ -18,6 +18,8 @@ package com.tcdng.unify.core.task;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 
 import com.tcdng.unify.core.UnifyComponent;
 import com.tcdng.unify.core.UnifyException;
@@ -276,4 +278,28 @@ public interface TaskManager extends UnifyComponent {
      */
     TaskMonitor schedulePeriodicExecution(PeriodicType periodicType, String businessServiceName, String methodName,
             String taskStatusLoggerNameName, long inDelayInMillSec) throws UnifyException;
+
+    /**
+     * Returns statistics for task executors.
+     * 
+     * @return list of executor statistics
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    List<TaskExecutorStats> getExecutorStats() throws UnifyException;
+
+    /**
+     * Submits work for execution on the on-demand task executor. If the executor
+     * queue is full, work is run on the caller thread or cancelled depending on
+     * the executor rejection policy.
+     * 
+     * @param work
+     *            the work to execute
+     * @param priority
+     *            the execution priority
+     * @return future for submitted work
+     * @throws UnifyException
+     *             if work is rejected by executor. If an error occurs.
+     */
+    <T> Future<T> submitWork(Callable<T> work, TaskPriority priority) throws UnifyException;
 }
@@ -26,10 +26,14 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import com.tcdng.unify.core.AbstractUnifyComponent;
 import com.tcdng.unify.core.ApplicationComponents;
@@ -54,6 +58,14 @@ import com.tcdng.unify.core.util.StringUtils;
 
 /**
  * Default implementation of a task manager.
+ * <p>
+ * Tasks run on three named executors, each with its own threads, bounded
+ * priority queue and rejection policy. System periodic methods run on the
+ * system periodic executor so that heartbeat, expiration and session
+ * housekeeping are never starved by application work. Other periodic methods
+ * and periodic tasks run on the application periodic executor, while all other
+ * tasks run on the on-demand executor. A single scheduler thread only
+ * dispatches delayed and periodic tasks to these executors.
  * 
  * @author Lateef Ojulari
  * @since 1.0
@@ -70,9 +82,38 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
     @Configurable(ApplicationComponents.APPLICATION_REQUESTCONTEXTMANAGER)
     private RequestContextManager requestContextManager;
 
+    /** On-demand executor threads */
     @Configurable("128")
     private int maxThreads;
 
+    @Configurable("4096")
+    private int onDemandQueueCapacity;
+
+    @Configurable("CALLER_RUNS")
+    private String onDemandRejectionPolicy;
+
+    @Configurable("4")
+    private int systemPeriodicThreads;
+
+    @Configurable("256")
+    private int systemPeriodicQueueCapacity;
+
+    @Configurable("DISCARD")
+    private String systemPeriodicRejectionPolicy;
+
+    @Configurable("8")
+    private int applicationPeriodicThreads;
+
+    @Configurable("1024")
+    private int applicationPeriodicQueueCapacity;
+
+    @Configurable("DISCARD")
+    private String applicationPeriodicRejectionPolicy;
+
+    /** Package prefix of components whose periodic methods are system periodic */
+    @Configurable("com.tcdng.unify.")
+    private String systemPeriodicPackagePrefix;
+
     @Configurable("256")
     private int maxMonitorMessages;
 
@@ -80,8 +121,16 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
 
     private ScheduledExecutorService scheduledExecutorService;
 
+    private TaskExecutor systemPeriodicExecutor;
+
+    private TaskExecutor applicationPeriodicExecutor;
+
+    private TaskExecutor onDemandExecutor;
+
     private Map<String, TaskableMethodConfig> taskConfigByNameMap;
 
+    private volatile boolean taskableMethodsLoaded;
+
     public TaskManagerImpl() {
         uniqueTaskIDSet = Collections.synchronizedSet(new HashSet<String>());
         taskConfigByNameMap = new HashMap<String, TaskableMethodConfig>();
@@ -89,6 +138,7 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
 
     @Override
     public TaskableMethodConfig getTaskableMethodConfig(String taskName) throws UnifyException {
+        ensureTaskableMethodConfigs();
         TaskableMethodConfig bmtc = taskConfigByNameMap.get(taskName);
         if (bmtc == null) {
             throw new UnifyException(UnifyCoreErrorConstants.TASKABLE_METHOD_UNKNOWN, taskName);
@@ -98,11 +148,13 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
 
     @Override
     public Collection<TaskableMethodConfig> getAllTaskableMethodConfigs() throws UnifyException {
+        ensureTaskableMethodConfigs();
         return taskConfigByNameMap.values();
     }
 
     @Override
     public boolean isTaskableMethod(String taskName) throws UnifyException {
+        ensureTaskableMethodConfigs();
         return taskConfigByNameMap.containsKey(taskName);
     }
 
@@ -179,8 +231,15 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
             parameters.put(PeriodicExecutionTaskConstants.PERIODICEXECUTIONINFO,
                     new PeriodicExecutionInfo(businessServiceName, method));
 
-            return scheduleTaskToRunPeriodically("periodicexecution-task", parameters, false, inDelayInMillSec,
-                    periodicType.getPeriodInMillSec(), 0, taskStatusLoggerName);
+            if (getComponentType(businessServiceName).getName().startsWith(systemPeriodicPackagePrefix)) {
+                return setExecution(Arrays.asList("periodicexecution-task"), parameters, false, false,
+                        inDelayInMillSec, periodicType.getPeriodInMillSec(), 0, taskStatusLoggerName,
+                        systemPeriodicExecutor, TaskPriority.HIGH);
+            }
+
+            return setExecution(Arrays.asList("periodicexecution-task"), parameters, false, false, inDelayInMillSec,
+                    periodicType.getPeriodInMillSec(), 0, taskStatusLoggerName, applicationPeriodicExecutor,
+                    TaskPriority.NORMAL);
         } catch (UnifyException e) {
             throw e;
         } catch (Exception e) {
@@ -189,8 +248,70 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
         return null;
     }
 
+    @Override
+    public List<TaskExecutorStats> getExecutorStats() throws UnifyException {
+        return Arrays.asList(systemPeriodicExecutor.getStats(), applicationPeriodicExecutor.getStats(),
+                onDemandExecutor.getStats());
+    }
+
+    @Override
+    public <T> Future<T> submitWork(Callable<T> work, TaskPriority priority) throws UnifyException {
+        FutureTask<T> future = new FutureTask<T>(work);
+        if (onDemandExecutor.submit(future, priority, true).isCancelled()) {
+            future.cancel(false);
+        }
+
+        return future;
+    }
+
     @Override
     protected void onInitialize() throws UnifyException {
+        // Initialize executors and scheduler
+        if (maxThreads <= 0) {
+            maxThreads = 10;
+        }
+
+        systemPeriodicExecutor = new TaskExecutor("system-periodic", Math.max(1, systemPeriodicThreads),
+                Math.max(1, systemPeriodicQueueCapacity), TaskRejectionPolicy.valueOf(systemPeriodicRejectionPolicy));
+        applicationPeriodicExecutor = new TaskExecutor("application-periodic", Math.max(1, applicationPeriodicThreads),
+                Math.max(1, applicationPeriodicQueueCapacity),
+                TaskRejectionPolicy.valueOf(applicationPeriodicRejectionPolicy));
+        onDemandExecutor = new TaskExecutor("on-demand", maxThreads, Math.max(1, onDemandQueueCapacity),
+                TaskRejectionPolicy.valueOf(onDemandRejectionPolicy));
+        scheduledExecutorService = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @Override
+    protected void onTerminate() throws UnifyException {
+        scheduledExecutorService.shutdownNow();
+        systemPeriodicExecutor.shutdown();
+        applicationPeriodicExecutor.shutdown();
+        onDemandExecutor.shutdown();
+    }
+
+    /**
+     * Loads taskable method configurations on first use. Taskable methods are
+     * detected after container installs business service proxies, so executors
+     * are available to container during proxy generation.
+     */
+    private void ensureTaskableMethodConfigs() throws UnifyException {
+        if (!taskableMethodsLoaded) {
+            synchronized (taskConfigByNameMap) {
+                if (!taskableMethodsLoaded) {
+                    try {
+                        loadTaskableMethodConfigs();
+                    } catch (UnifyException e) {
+                        taskConfigByNameMap.clear();
+                        throw e;
+                    }
+
+                    taskableMethodsLoaded = true;
+                }
+            }
+        }
+    }
+
+    private void loadTaskableMethodConfigs() throws UnifyException {
         for (UnifyComponentConfig unifyComponentConfig : getComponentConfigs(UnifyComponent.class)) {
             for (Method method : unifyComponentConfig.getType().getMethods()) {
                 Taskable ta = method.getAnnotation(Taskable.class);
@@ -261,22 +382,32 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
                 }
             }
         }
+    }
 
-        // Initialize scheduler
-        if (maxThreads <= 0) {
-            maxThreads = 10;
+    private TaskMonitor setExecution(List<String> taskNames, Map<String, Object> parameters, boolean logMessages,
+            boolean dependent, long inDelayMillSec, long periodMillSec, int numberOfTimes, String taskStatusLoggerName)
+            throws UnifyException {
+        TaskPriority priority = null;
+        if (parameters != null) {
+            priority = (TaskPriority) parameters.get(TaskParameterConstants.TASK_PRIORITY);
         }
-        scheduledExecutorService = Executors.newScheduledThreadPool(maxThreads);
-    }
 
-    @Override
-    protected void onTerminate() throws UnifyException {
-        scheduledExecutorService.shutdownNow();
+        if (priority == null) {
+            priority = TaskPriority.NORMAL;
+        }
+
+        if (periodMillSec > 0) {
+            return setExecution(taskNames, parameters, logMessages, dependent, inDelayMillSec, periodMillSec,
+                    numberOfTimes, taskStatusLoggerName, applicationPeriodicExecutor, priority);
+        }
+
+        return setExecution(taskNames, parameters, logMessages, dependent, inDelayMillSec, periodMillSec,
+                numberOfTimes, taskStatusLoggerName, onDemandExecutor, priority);
     }
 
     private TaskMonitor setExecution(List<String> taskNames, Map<String, Object> parameters, boolean logMessages,
-            boolean dependent, long inDelayMillSec, long periodMillSec, int numberOfTimes, String taskStatusLoggerName)
-            throws UnifyException {
+            boolean dependent, long inDelayMillSec, long periodMillSec, int numberOfTimes, String taskStatusLoggerName,
+            TaskExecutor taskExecutor, TaskPriority priority) throws UnifyException {
         boolean periodic = periodMillSec > 0;
         TaskStatusLogger taskStatusLogger = null;
         if (taskStatusLoggerName != null) {
@@ -309,19 +440,31 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
             }
         }
 
-        Runnable runnable =
+        TaskThread runnable =
                 new TaskThread(getRequestContext(), taskMonitor, tasks, parameters, periodic, dependent, numberOfTimes);
         Future<?> future = null;
-        if (periodic) {
-            if (inDelayMillSec <= 0) {
-                inDelayMillSec = 1;
+        try {
+            if (periodic) {
+                if (inDelayMillSec <= 0) {
+                    inDelayMillSec = 1;
+                }
+                ScheduledDispatch dispatch = new ScheduledDispatch(taskExecutor, runnable, priority, true);
+                dispatch.setScheduledFuture(scheduledExecutorService.scheduleAtFixedRate(dispatch, inDelayMillSec,
+                        periodMillSec, TimeUnit.MILLISECONDS));
+                future = dispatch;
+            } else if (inDelayMillSec > 0) {
+                ScheduledDispatch dispatch = new ScheduledDispatch(taskExecutor, runnable, priority, false);
+                dispatch.setScheduledFuture(
+                        scheduledExecutorService.schedule(dispatch, inDelayMillSec, TimeUnit.MILLISECONDS));
+                future = dispatch;
+            } else {
+                future = taskExecutor.submit(runnable, priority, true);
+            }
+        } catch (UnifyException e) {
+            for (TaskInfo taskInfo : taskMonitor.getTaskInfoList()) {
+                uniqueTaskIDSet.remove(taskInfo.getTaskID());
             }
-            future = scheduledExecutorService.scheduleAtFixedRate(runnable, inDelayMillSec, periodMillSec,
-                    TimeUnit.MILLISECONDS);
-        } else if (inDelayMillSec > 0) {
-            future = scheduledExecutorService.schedule(runnable, inDelayMillSec, TimeUnit.MILLISECONDS);
-        } else {
-            future = scheduledExecutorService.schedule(runnable, 1, TimeUnit.MILLISECONDS);
+            throw e;
         }
 
         taskMonitor.setFuture(future);
@@ -400,14 +543,7 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
                 runTasks();
             } catch (Exception e) {
             } finally {
-                if (StringUtils.isNotBlank(lockToRelease)) {
-                    try {
-                        ClusterService clusterManager =
-                                (ClusterService) getComponent(ApplicationComponents.APPLICATION_CLUSTERSERVICE);
-                        clusterManager.releaseSynchronizationLock(lockToRelease);
-                    } catch (Exception e) {
-                    }
-                }
+                releaseLock();
 
                 try {
                     requestContextManager.unloadRequestContext();
@@ -417,6 +553,37 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
 
         }
 
+        /**
+         * Marks tasks as aborted when executor rejects a scheduled run that will
+         * not be retried.
+         * 
+         * @param e
+         *            the rejection exception
+         */
+        public void reject(UnifyException e) {
+            taskMonitor.addException(e);
+            for (TaskInfo taskInfo : taskMonitor.getTaskInfoList()) {
+                removeTask(taskInfo, TaskStatus.ABORTED, false);
+            }
+
+            if (taskMonitor.isTaskStatusLogger()) {
+                taskMonitor.getTaskStatusLogger().logTaskStatus(taskMonitor, parameters);
+            }
+
+            releaseLock();
+        }
+
+        private void releaseLock() {
+            if (StringUtils.isNotBlank(lockToRelease)) {
+                try {
+                    ClusterService clusterManager =
+                            (ClusterService) getComponent(ApplicationComponents.APPLICATION_CLUSTERSERVICE);
+                    clusterManager.releaseSynchronizationLock(lockToRelease);
+                } catch (Exception e) {
+                }
+            }
+        }
+
         private void runTasks() {
             taskMonitor.setRunning(true);
             boolean endPeriodic = false;
@@ -503,6 +670,141 @@ public class TaskManagerImpl extends AbstractUnifyComponent implements TaskManag
         }
     }
 
+    /**
+     * Dispatches delayed and periodic tasks from scheduler thread to task
+     * executor. A periodic run is skipped if the previous run is still queued or
+     * running. If the executor rejects a run, the rejection is logged. A rejected
+     * periodic run is skipped, while a rejected delayed task is aborted and its
+     * future fails with the rejection.
+     */
+    private class ScheduledDispatch implements Runnable, Future<Object> {
+
+        private TaskExecutor taskExecutor;
+
+        private TaskThread taskThread;
+
+        private TaskPriority priority;
+
+        private boolean periodic;
+
+        private volatile Future<?> scheduledFuture;
+
+        private volatile Future<?> currentFuture;
+
+        private volatile UnifyException rejection;
+
+        public ScheduledDispatch(TaskExecutor taskExecutor, TaskThread taskThread, TaskPriority priority,
+                boolean periodic) {
+            this.taskExecutor = taskExecutor;
+            this.taskThread = taskThread;
+            this.priority = priority;
+            this.periodic = periodic;
+        }
+
+        public void setScheduledFuture(Future<?> scheduledFuture) {
+            this.scheduledFuture = scheduledFuture;
+        }
+
+        @Override
+        public void run() {
+            Future<?> future = currentFuture;
+            if (future != null && !future.isDone()) {
+                logDebug("Skipping periodic dispatch on executor [{0}]. Previous run still pending.",
+                        taskExecutor.getName());
+                return;
+            }
+
+            UnifyException e = null;
+            try {
+                future = taskExecutor.submit(taskThread, priority, false);
+                if (future.isCancelled()) {
+                    e = new UnifyException(UnifyCoreErrorConstants.TASK_EXECUTOR_QUEUE_FULL, taskExecutor.getName(),
+                            taskExecutor.getQueueCapacity());
+                }
+
+                currentFuture = future;
+            } catch (UnifyException ue) {
+                e = ue;
+            }
+
+            if (e != null) {
+                if (periodic) {
+                    logWarn("Periodic run rejected by executor [{0}] and skipped.", taskExecutor.getName());
+                } else {
+                    logError(e);
+                    taskThread.reject(e);
+                    rejection = e;
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = false;
+            Future<?> future = scheduledFuture;
+            if (future != null) {
+                cancelled = future.cancel(mayInterruptIfRunning);
+            }
+
+            future = currentFuture;
+            if (future != null) {
+                cancelled |= future.cancel(mayInterruptIfRunning);
+            }
+
+            return cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            Future<?> future = scheduledFuture;
+            return future != null && future.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            Future<?> future = scheduledFuture;
+            if (future == null || !future.isDone()) {
+                return false;
+            }
+
+            future = currentFuture;
+            return periodic || rejection != null || future == null || future.isDone();
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            scheduledFuture.get();
+            checkRejection();
+            Future<?> future = currentFuture;
+            if (future != null) {
+                future.get();
+            }
+
+            return null;
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            scheduledFuture.get(timeout, unit);
+            checkRejection();
+            Future<?> future = currentFuture;
+            if (future != null) {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+
+            return null;
+        }
+
+        private void checkRejection() throws ExecutionException {
+            UnifyException e = rejection;
+            if (e != null) {
+                throw new ExecutionException(e);
+            }
+        }
+    }
+
     private class TaskInfo {
 
         private String taskID;
@@ -24,4 +24,6 @@ package com.tcdng.unify.core.task;
 public interface TaskParameterConstants {
 
     String LOCK_TO_RELEASE = "lockToRelease";
+
+    String TASK_PRIORITY = "taskPriority";
 }
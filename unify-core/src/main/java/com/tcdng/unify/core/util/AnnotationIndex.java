@@ -0,0 +1,404 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+
+import org.scannotation.AnnotationDB;
+
+/**
+ * Persistable index of annotated types keyed by classpath entry.
+ * <p>
+ * Each classpath entry is stored with a stamp. An archive stamp is a checksum of
+ * its content while a class folder stamp is derived from file names, timestamps
+ * and sizes. On subsequent scans, only entries whose stamps have changed are
+ * rescanned. An archive may also carry an index generated at build time in
+ * {@link #INDEX_RESOURCE}, in which case the archive is not scanned at all. Use
+ * {@link #main(String[])} to generate such an index for a class folder before
+ * packaging.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class AnnotationIndex {
+
+    public static final String INDEX_RESOURCE = "META-INF/unify/annotation.idx";
+
+    private static final Logger LOGGER = Logger.getLogger(AnnotationIndex.class.getName());
+
+    private static final int FORMAT_VERSION = 2;
+
+    private Map<String, IndexEntry> entries;
+
+    private boolean changed;
+
+    public AnnotationIndex() {
+        entries = new LinkedHashMap<String, IndexEntry>();
+    }
+
+    /**
+     * Loads index from file. Returns an empty index if file does not exist or is
+     * unreadable.
+     * 
+     * @param file
+     *            the index file
+     * @return the loaded index
+     */
+    public static AnnotationIndex load(File file) {
+        AnnotationIndex annotationIndex = new AnnotationIndex();
+        if (file.isFile()) {
+            DataInputStream in = null;
+            try {
+                in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+                if (in.readInt() == FORMAT_VERSION) {
+                    Map<String, IndexEntry> entries = new LinkedHashMap<String, IndexEntry>();
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        String key = in.readUTF();
+                        long stamp = in.readLong();
+                        entries.put(key, new IndexEntry(stamp, readAnnotations(in)));
+                    }
+
+                    annotationIndex.entries = entries;
+                }
+            } catch (IOException e) {
+                // Treat as empty index
+            } finally {
+                IOUtils.close(in);
+            }
+        }
+
+        return annotationIndex;
+    }
+
+    /**
+     * Saves index to file.
+     * 
+     * @param file
+     *            the index file
+     * @throws IOException
+     *             if an error occurs
+     */
+    public void save(File file) throws IOException {
+        File folder = file.getAbsoluteFile().getParentFile();
+        if (folder != null) {
+            folder.mkdirs();
+        }
+
+        File tempFile = File.createTempFile(file.getName(), ".tmp", folder);
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, IndexEntry> entry : entries.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue().getStamp());
+                writeAnnotations(out, entry.getValue().getAnnotations());
+            }
+            out.close();
+            out = null;
+
+            if (!tempFile.renameTo(file)) {
+                file.delete();
+                if (!tempFile.renameTo(file)) {
+                    throw new IOException("Unable to rename [" + tempFile + "] to [" + file + "].");
+                }
+            }
+        } finally {
+            IOUtils.close(out);
+            tempFile.delete();
+        }
+
+        changed = false;
+    }
+
+    /**
+     * Returns true if index has changed since it was loaded or last saved.
+     */
+    public boolean isChanged() {
+        return changed;
+    }
+
+    /**
+     * Scans supplied classpath entries, reusing index information for unchanged
+     * entries.
+     * 
+     * @param urls
+     *            the classpath entries
+     * @return map of annotation class names to annotated class names
+     * @throws IOException
+     *             if an error occurs
+     */
+    public Map<String, Set<String>> scan(URL... urls) throws IOException {
+        Map<String, IndexEntry> scannedEntries = new LinkedHashMap<String, IndexEntry>();
+        Map<String, Set<String>> annotationIndex = new HashMap<String, Set<String>>();
+        for (URL url : urls) {
+            String key = url.toExternalForm();
+            File file = getFile(url);
+            long stamp = getStamp(file);
+            IndexEntry entry = entries.get(key);
+            if (entry == null || stamp == 0 || entry.getStamp() != stamp) {
+                entry = new IndexEntry(stamp, scanEntry(url, file));
+                changed |= stamp != 0;
+            }
+
+            scannedEntries.put(key, entry);
+            for (Map.Entry<String, Set<String>> annotationEntry : entry.getAnnotations().entrySet()) {
+                Set<String> classNames = annotationIndex.get(annotationEntry.getKey());
+                if (classNames == null) {
+                    classNames = new HashSet<String>();
+                    annotationIndex.put(annotationEntry.getKey(), classNames);
+                }
+
+                classNames.addAll(annotationEntry.getValue());
+            }
+        }
+
+        changed |= !scannedEntries.keySet().equals(entries.keySet());
+        entries = scannedEntries;
+        return annotationIndex;
+    }
+
+    /**
+     * Generates build time index for a class folder. Index is written to
+     * {@link #INDEX_RESOURCE} in the folder.
+     * 
+     * @param folder
+     *            the class folder
+     * @return the generated index file
+     * @throws IOException
+     *             if folder does not exist. If an error occurs.
+     */
+    public static File generateIndex(File folder) throws IOException {
+        if (!folder.isDirectory()) {
+            throw new IOException("Class folder [" + folder + "] does not exist.");
+        }
+
+        File indexFile = new File(folder, INDEX_RESOURCE);
+        indexFile.delete();
+        Map<String, Set<String>> annotations = scanArchive(folder.toURI().toURL());
+        indexFile.getParentFile().mkdirs();
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile)));
+        try {
+            writeAnnotations(out, annotations);
+        } finally {
+            out.close();
+        }
+
+        return indexFile;
+    }
+
+    /**
+     * Generates build time index for a class folder. Index is written to
+     * {@link #INDEX_RESOURCE} in the folder.
+     * 
+     * @param args
+     *            the class folder
+     * @throws IllegalArgumentException
+     *             if class folder argument is missing
+     * @throws IOException
+     *             if an error occurs
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: AnnotationIndex <classesFolder>");
+        }
+
+        try {
+            File indexFile = generateIndex(new File(args[0]));
+            LOGGER.log(Level.INFO, "Generated annotation index [{0}].", indexFile);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Unable to generate annotation index for [" + args[0] + "].", e);
+            throw e;
+        }
+    }
+
+    private static Map<String, Set<String>> scanEntry(URL url, File file) throws IOException {
+        // Use build time index bundled in archive if available
+        if (file != null && file.isFile()) {
+            JarFile jarFile = null;
+            try {
+                jarFile = new JarFile(file);
+                ZipEntry zipEntry = jarFile.getEntry(INDEX_RESOURCE);
+                if (zipEntry != null) {
+                    InputStream in = jarFile.getInputStream(zipEntry);
+                    try {
+                        return readAnnotations(new DataInputStream(new BufferedInputStream(in)));
+                    } finally {
+                        IOUtils.close(in);
+                    }
+                }
+            } catch (IOException e) {
+                // Fall back to scanning
+            } finally {
+                if (jarFile != null) {
+                    try {
+                        jarFile.close();
+                    } catch (IOException e) {
+                    }
+                }
+            }
+        }
+
+        return scanArchive(url);
+    }
+
+    private static Map<String, Set<String>> scanArchive(URL url) throws IOException {
+        AnnotationDB annotationDB = new AnnotationDB();
+        annotationDB.setScanFieldAnnotations(false);
+        annotationDB.setScanMethodAnnotations(false);
+        annotationDB.setScanParameterAnnotations(false);
+        annotationDB.scanArchives(url);
+        return annotationDB.getAnnotationIndex();
+    }
+
+    private static File getFile(URL url) {
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return new File(url.toURI());
+            } catch (Exception e) {
+                return new File(url.getPath());
+            }
+        }
+
+        return null;
+    }
+
+    private static long getStamp(File file) {
+        if (file != null) {
+            if (file.isFile()) {
+                long checksum = getChecksum(file);
+                return checksum != 0 ? checksum | 1 : 0;
+            }
+
+            if (file.isDirectory()) {
+                return getFolderStamp(file, 17) | 1;
+            }
+        }
+
+        return 0;
+    }
+
+    private static long getChecksum(File file) {
+        InputStream in = null;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            in = new BufferedInputStream(new FileInputStream(file));
+            byte[] buffer = new byte[8192];
+            int len = 0;
+            while ((len = in.read(buffer)) >= 0) {
+                digest.update(buffer, 0, len);
+            }
+
+            long checksum = 0;
+            for (byte b : digest.digest()) {
+                checksum = (checksum << 8) ^ (b & 0xff);
+            }
+
+            return checksum;
+        } catch (Exception e) {
+            // Unknown stamp. Entry is always scanned.
+            return 0;
+        } finally {
+            IOUtils.close(in);
+        }
+    }
+
+    private static long getFolderStamp(File folder, long stamp) {
+        File[] files = folder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                stamp = stamp * 31 + file.getName().hashCode();
+                if (file.isDirectory()) {
+                    stamp = getFolderStamp(file, stamp);
+                } else {
+                    stamp = (stamp * 31 + file.lastModified()) * 31 + file.length();
+                }
+            }
+        }
+
+        return stamp;
+    }
+
+    private static Map<String, Set<String>> readAnnotations(DataInputStream in) throws IOException {
+        Map<String, Set<String>> annotations = new HashMap<String, Set<String>>();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            String annotation = in.readUTF();
+            int classCount = in.readInt();
+            Set<String> classNames = new HashSet<String>();
+            for (int j = 0; j < classCount; j++) {
+                classNames.add(in.readUTF());
+            }
+
+            annotations.put(annotation, classNames);
+        }
+
+        return annotations;
+    }
+
+    private static void writeAnnotations(DataOutputStream out, Map<String, Set<String>> annotations)
+            throws IOException {
+        out.writeInt(annotations.size());
+        for (Map.Entry<String, Set<String>> entry : annotations.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (String className : entry.getValue()) {
+                out.writeUTF(className);
+            }
+        }
+    }
+
+    private static class IndexEntry {
+
+        private long stamp;
+
+        private Map<String, Set<String>> annotations;
+
+        public IndexEntry(long stamp, Map<String, Set<String>> annotations) {
+            this.stamp = stamp;
+            this.annotations = annotations;
+        }
+
+        public long getStamp() {
+            return stamp;
+        }
+
+        public Map<String, Set<String>> getAnnotations() {
+            return annotations;
+        }
+    }
+}
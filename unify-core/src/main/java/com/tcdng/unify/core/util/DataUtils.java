@@ -23,6 +23,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.Writer;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
@@ -45,11 +46,6 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonArray;
-import com.eclipsesource.json.JsonObject;
-import com.eclipsesource.json.JsonObject.Member;
-import com.eclipsesource.json.JsonValue;
 import com.tcdng.unify.core.UnifyCoreErrorConstants;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.annotation.Column;
@@ -93,25 +89,9 @@ import com.tcdng.unify.core.input.ShortInput;
 import com.tcdng.unify.core.input.StringInput;
 import com.tcdng.unify.core.list.ZeroParams;
 import com.tcdng.unify.core.upl.UplElementReferences;
-import com.tcdng.unify.core.util.json.JsonBigDecimalArrayConverter;
-import com.tcdng.unify.core.util.json.JsonBigDecimalConverter;
-import com.tcdng.unify.core.util.json.JsonBooleanArrayConverter;
-import com.tcdng.unify.core.util.json.JsonBooleanConverter;
-import com.tcdng.unify.core.util.json.JsonByteArrayConverter;
-import com.tcdng.unify.core.util.json.JsonCharacterConverter;
-import com.tcdng.unify.core.util.json.JsonDoubleArrayConverter;
-import com.tcdng.unify.core.util.json.JsonDoubleConverter;
-import com.tcdng.unify.core.util.json.JsonFloatArrayConverter;
-import com.tcdng.unify.core.util.json.JsonFloatConverter;
-import com.tcdng.unify.core.util.json.JsonIntArrayConverter;
-import com.tcdng.unify.core.util.json.JsonIntConverter;
-import com.tcdng.unify.core.util.json.JsonLongArrayConverter;
-import com.tcdng.unify.core.util.json.JsonLongConverter;
-import com.tcdng.unify.core.util.json.JsonShortArrayConverter;
-import com.tcdng.unify.core.util.json.JsonShortConverter;
-import com.tcdng.unify.core.util.json.JsonStringArrayConverter;
-import com.tcdng.unify.core.util.json.JsonStringConverter;
-import com.tcdng.unify.core.util.json.JsonValueConverter;
+import com.tcdng.unify.core.util.json.JsonBeanBinder;
+import com.tcdng.unify.core.util.json.JsonReader;
+import com.tcdng.unify.core.util.json.JsonWriter;
 
 /**
  * Provides utility methods for data manipulation.
@@ -314,38 +294,6 @@ public final class DataUtils {
         collectionInterfaceToClassMap = Collections.unmodifiableMap(map);
     }
 
-    private static final Map<Class<?>, JsonValueConverter> jsonConverrerMap;
-
-    static {
-        Map<Class<?>, JsonValueConverter> map = new HashMap<Class<?>, JsonValueConverter>();
-        map.put(Boolean.class, new JsonBooleanConverter());
-        map.put(Boolean[].class, new JsonBooleanArrayConverter());
-        map.put(boolean.class, new JsonBooleanConverter());
-        map.put(byte[].class, new JsonByteArrayConverter());
-        map.put(char.class, new JsonCharacterConverter());
-        map.put(Character.class, new JsonCharacterConverter());
-        map.put(BigDecimal.class, new JsonBigDecimalConverter());
-        map.put(BigDecimal[].class, new JsonBigDecimalArrayConverter());
-        map.put(Double.class, new JsonDoubleConverter());
-        map.put(Double[].class, new JsonDoubleArrayConverter());
-        map.put(double.class, new JsonDoubleConverter());
-        map.put(Float.class, new JsonFloatConverter());
-        map.put(Float[].class, new JsonFloatArrayConverter());
-        map.put(float.class, new JsonFloatConverter());
-        map.put(Integer.class, new JsonIntConverter());
-        map.put(Integer[].class, new JsonIntArrayConverter());
-        map.put(int.class, new JsonIntConverter());
-        map.put(Long.class, new JsonLongConverter());
-        map.put(Long[].class, new JsonLongArrayConverter());
-        map.put(long.class, new JsonLongConverter());
-        map.put(Short.class, new JsonShortConverter());
-        map.put(Short[].class, new JsonShortArrayConverter());
-        map.put(short.class, new JsonShortConverter());
-        map.put(String.class, new JsonStringConverter());
-        map.put(String[].class, new JsonStringArrayConverter());
-        jsonConverrerMap = Collections.unmodifiableMap(map);
-    }
-
     private DataUtils() {
 
     }
@@ -1242,7 +1190,10 @@ public final class DataUtils {
      */
     public static <T> T readJsonObject(Class<T> type, Reader reader) throws UnifyException {
         try {
-            return DataUtils.readJsonObject(type.newInstance(), Json.parse(reader).asObject());
+            JsonReader jsonReader = new JsonReader(reader);
+            T bean = type.cast(JsonBeanBinder.getBinder(type).read(jsonReader));
+            jsonReader.endDocument();
+            return bean;
         } catch (UnifyException e) {
             throw e;
         } catch (Exception e) {
@@ -1297,7 +1248,9 @@ public final class DataUtils {
      */
     public static void readJsonObject(Object object, Reader reader) throws UnifyException {
         try {
-            DataUtils.readJsonObject(object, Json.parse(reader).asObject());
+            JsonReader jsonReader = new JsonReader(reader);
+            JsonBeanBinder.getBinder(object.getClass()).read(jsonReader, object);
+            jsonReader.endDocument();
         } catch (UnifyException e) {
             throw e;
         } catch (Exception e) {
@@ -1339,9 +1292,7 @@ public final class DataUtils {
      */
     public static void writeJsonObject(Object object, Writer writer) throws UnifyException {
         try {
-            JsonObject jsonObject = Json.object();
-            DataUtils.writeJsonObject(object, jsonObject);
-            jsonObject.writeTo(writer);
+            DataUtils.writeJsonObject(object, new JsonWriter(writer));
             writer.flush();
         } catch (UnifyException e) {
             throw e;
@@ -1352,9 +1303,9 @@ public final class DataUtils {
 
     public static String writeJsonObject(Object object) throws UnifyException {
         try {
-            JsonObject jsonObject = Json.object();
-            DataUtils.writeJsonObject(object, jsonObject);
-            return jsonObject.toString();
+            StringWriter writer = new StringWriter();
+            DataUtils.writeJsonObject(object, new JsonWriter(writer));
+            return writer.toString();
         } catch (UnifyException e) {
             throw e;
         } catch (Exception e) {
@@ -1451,154 +1402,13 @@ public final class DataUtils {
         return paramObject;
     }
 
-    @SuppressWarnings("unchecked")
-    private static <T> T readJsonObject(T object, JsonObject jsonObject) throws UnifyException, Exception {
-        Map<String, GetterSetterInfo> mutatorMap = ReflectUtils.getGetterSetterMap(object.getClass());
-        for (Member member : jsonObject) {
-            GetterSetterInfo sInfo = mutatorMap.get(member.getName());
-            if (sInfo == null) {
-                throw new Exception(
-                        "Type " + object.getClass() + " has no mutator/accesor for member " + member.getName());
-            }
-
-            if (!sInfo.isProperty()) {
-                throw new Exception(
-                        "Type " + object.getClass() + " has no matching bean property for member " + member.getName());
-            }
-
-            Class<?> paramType = sInfo.getType();
-            JsonValue value = member.getValue();
-            if (Object.class.equals(paramType)) {
-                if (!sInfo.isGetter()) {
-                    throw new Exception("Type " + object.getClass() + " has no accesor for member " + member.getName());
-                }
-
-                Object implObject = sInfo.getGetter().invoke(object);
-                DataUtils.readJsonObject(implObject, value.asObject());
-            } else {
-                if (!sInfo.isSetter()) {
-                    throw new Exception("Type " + object.getClass() + " has no mutator for member " + member.getName());
-                }
-
-                JsonValueConverter<?> converter = jsonConverrerMap.get(paramType);
-                if (converter == null) {
-                    if (Collection.class.isAssignableFrom(paramType)) {
-                        JsonArray array = value.asArray();
-                        Collection<Object> result = ReflectUtils.newInstance(
-                                DataUtils.getCollectionConcreteType((Class<? extends Collection>) paramType));
-                        if (sInfo.isParameterArgumented()) {
-                            Class<?> componentType = sInfo.getArgumentType();
-                            converter = jsonConverrerMap.get(sInfo.getArgumentType());
-                            if (converter == null) {
-                                for (int i = 0; i < array.size(); i++) {
-                                    result.add(DataUtils.readJsonObject(componentType.newInstance(),
-                                            array.get(i).asObject()));
-                                }
-                            } else {
-                                for (int i = 0; i < array.size(); i++) {
-                                    result.add(converter.read(array.get(i)));
-                                }
-                            }
-                        }
-
-                        sInfo.getSetter().invoke(object, (Object) result);
-                    } else if (paramType.isArray()) {
-                        JsonArray array = value.asArray();
-                        Class<?> componentType = paramType.getComponentType();
-                        converter = jsonConverrerMap.get(componentType);
-                        Object[] valueArray = (Object[]) Array.newInstance(componentType, array.size());
-                        if (converter == null) {
-                            for (int i = 0; i < valueArray.length; i++) {
-                                valueArray[i] =
-                                        DataUtils.readJsonObject(componentType.newInstance(), array.get(i).asObject());
-                            }
-                        } else {
-                            for (int i = 0; i < valueArray.length; i++) {
-                                valueArray[i] = converter.read(array.get(i));
-                            }
-                        }
-
-                        sInfo.getSetter().invoke(object, (Object) valueArray);
-                    } else {
-                        sInfo.getSetter().invoke(object,
-                                DataUtils.readJsonObject(paramType.newInstance(), value.asObject()));
-                    }
-                } else {
-                    sInfo.getSetter().invoke(object, converter.read(value));
-                }
-            }
+    private static void writeJsonObject(Object object, JsonWriter writer) throws Exception {
+        if (object == null) {
+            writer.beginObject().endObject();
+            return;
         }
-        return object;
-    }
-
-    private static <T> void writeJsonObject(T object, JsonObject jsonObject) throws UnifyException, Exception {
-        if (object != null) {
-            Map<String, GetterSetterInfo> accessorMap = ReflectUtils.getGetterSetterMap(object.getClass());
-            for (String name : accessorMap.keySet()) {
-                GetterSetterInfo gInfo = accessorMap.get(name);
-                if (!gInfo.isGetter() || !gInfo.isProperty()) {
-                    continue;
-                }
 
-                Object value = gInfo.getGetter().invoke(object);
-                if (value != null) {
-                    Class<?> returnType = gInfo.getType();
-                    if (Object.class.equals(returnType)) {
-                        JsonObject jsonValue = Json.object();
-                        DataUtils.writeJsonObject(value, jsonValue);
-                        jsonObject.add(name, jsonValue);
-                    } else {
-                        JsonValueConverter<?> converter = jsonConverrerMap.get(returnType);
-                        if (converter == null) {
-                            if (Collection.class.isAssignableFrom(value.getClass())) {
-                                JsonArray array = (JsonArray) Json.array();
-                                if (gInfo.isParameterArgumented()) {
-                                    converter = jsonConverrerMap.get(gInfo.getArgumentType());
-                                }
-
-                                if (converter == null) {
-                                    for (Object obj : (Collection<?>) value) {
-                                        JsonObject jsonValue = Json.object();
-                                        DataUtils.writeJsonObject(obj, jsonValue);
-                                        array.add(jsonValue);
-                                    }
-                                } else {
-                                    for (Object obj : (Collection<?>) value) {
-                                        array.add(converter.write(obj));
-                                    }
-                                }
-
-                                jsonObject.add(name, array);
-                            } else if (value.getClass().isArray()) {
-                                JsonArray array = (JsonArray) Json.array();
-                                Class<?> componentType = value.getClass().getComponentType();
-                                converter = jsonConverrerMap.get(componentType);
-                                int length = Array.getLength(value);
-                                if (converter == null) {
-                                    for (int i = 0; i < length; i++) {
-                                        JsonObject jsonValue = Json.object();
-                                        DataUtils.writeJsonObject(Array.get(value, i), jsonValue);
-                                        array.add(jsonValue);
-                                    }
-                                } else {
-                                    for (int i = 0; i < length; i++) {
-                                        array.add(converter.write(Array.get(value, i)));
-                                    }
-                                }
-
-                                jsonObject.add(name, array);
-                            } else {
-                                JsonObject jsonValue = Json.object();
-                                DataUtils.writeJsonObject(value, jsonValue);
-                                jsonObject.add(name, jsonValue);
-                            }
-                        } else {
-                            jsonObject.add(name, converter.write(value));
-                        }
-                    }
-                }
-            }
-        }
+        JsonBeanBinder.getBinder(object.getClass()).write(writer, object);
     }
 
     private static final Map<String, Comparator<?>> comparatorMap = new HashMap<String, Comparator<?>>();
@@ -711,6 +711,69 @@ public final class ReflectUtils {
         return false;
     }
 
+    /**
+     * Tests if a type, and every type enclosing it, is public and therefore
+     * accessible to generated code in any package. Array types are tested by
+     * component type and primitive types are always accessible.
+     * 
+     * @param clazz
+     *            the type to test
+     */
+    public static boolean isPubliclyAccessible(Class<?> clazz) {
+        while (clazz.isArray()) {
+            clazz = clazz.getComponentType();
+        }
+
+        if (clazz.isPrimitive()) {
+            return true;
+        }
+
+        if (clazz.getCanonicalName() == null) {
+            return false;
+        }
+
+        do {
+            if (!Modifier.isPublic(clazz.getModifiers())) {
+                return false;
+            }
+        } while ((clazz = clazz.getEnclosingClass()) != null);
+
+        return true;
+    }
+
+    /**
+     * Tests if a method is public and declared by a publicly accessible type.
+     * 
+     * @param method
+     *            the method to test
+     */
+    public static boolean isPubliclyAccessible(Method method) {
+        return Modifier.isPublic(method.getModifiers())
+                && ReflectUtils.isPubliclyAccessible(method.getDeclaringClass());
+    }
+
+    /**
+     * Tests if generated code can instantiate a type with a public no-argument
+     * constructor.
+     * 
+     * @param clazz
+     *            the type to test
+     */
+    public static boolean isPubliclyConstructible(Class<?> clazz) {
+        if (Modifier.isAbstract(clazz.getModifiers()) || clazz.isInterface()
+                || (clazz.getEnclosingClass() != null && !Modifier.isStatic(clazz.getModifiers()))) {
+            return false;
+        }
+
+        for (Constructor<?> constructor : clazz.getConstructors()) {
+            if (constructor.getParameterTypes().length == 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Returns method by name and signature for supplied type.
      * 
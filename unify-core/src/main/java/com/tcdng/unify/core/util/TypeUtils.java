@@ -15,12 +15,25 @@
  */
 package com.tcdng.unify.core.util;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.UserPrincipal;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import org.apache.commons.codec.binary.Hex;
 import org.scannotation.AnnotationDB;
 import org.scannotation.ClasspathUrlFinder;
 
@@ -29,12 +42,23 @@ import com.tcdng.unify.core.UnifyException;
 
 /**
  * Provides utility methods for type information.
+ * <p>
+ * Classpath scans can be backed by a persisted {@link AnnotationIndex} so that
+ * only changed classpath entries are rescanned on startup. Index persistence
+ * is enabled by setting system property
+ * {@value #ANNOTATION_INDEX_FOLDER_PROPERTY} to a folder private to the
+ * application user. An index is trusted only if it and its folder are owned by
+ * the current user and are not writable by anyone else.
  * 
  * @author Lateef Ojulari
  * @since 1.0
  */
 public class TypeUtils {
 
+    public static final String ANNOTATION_INDEX_FOLDER_PROPERTY = "unify.annotationindex.folder";
+
+    private static final Logger LOGGER = Logger.getLogger(TypeUtils.class.getName());
+
     private static TypeRepository classPathTypeRepository;
 
     protected TypeUtils() {
@@ -46,14 +70,8 @@ public class TypeUtils {
             synchronized (TypeUtils.class) {
                 if (classPathTypeRepository == null) {
                     try {
-                        AnnotationDB classpathDB = new AnnotationDB();
-                        classpathDB.setScanFieldAnnotations(false);
-                        classpathDB.setScanMethodAnnotations(false);
-                        classpathDB.setScanParameterAnnotations(false);
-
                         URL[] urls = ClasspathUrlFinder.findClassPaths();
-                        classpathDB.scanArchives(urls);
-                        classPathTypeRepository = new TypeRepositoryImpl(classpathDB);
+                        classPathTypeRepository = new TypeRepositoryImpl(scanAnnotationIndex(urls));
                     } catch (Exception e) {
                         throw new UnifyException(e, UnifyCoreErrorConstants.ANNOTATIONUTIL_ERROR);
                     }
@@ -64,12 +82,129 @@ public class TypeUtils {
         return classPathTypeRepository;
     }
 
+    /**
+     * Scans supplied classpath entries for annotated types using persisted
+     * annotation index.
+     * 
+     * @param urls
+     *            the classpath entries
+     * @return map of annotation class names to annotated class names
+     * @throws IOException
+     *             if an error occurs
+     */
+    protected static Map<String, Set<String>> scanAnnotationIndex(URL[] urls) throws IOException {
+        File indexFile = getAnnotationIndexFile(System.getProperty(ANNOTATION_INDEX_FOLDER_PROPERTY), urls);
+        AnnotationIndex annotationIndex = indexFile != null ? AnnotationIndex.load(indexFile) : new AnnotationIndex();
+        Map<String, Set<String>> annotations = annotationIndex.scan(urls);
+        if (indexFile != null && annotationIndex.isChanged()) {
+            try {
+                annotationIndex.save(indexFile);
+                restrictToOwner(indexFile);
+            } catch (IOException e) {
+                // Index is only an optimization. Next startup simply scans again.
+                LOGGER.log(Level.WARNING, "Unable to save annotation index [" + indexFile + "].", e);
+            }
+        }
+
+        return annotations;
+    }
+
+    /**
+     * Returns annotation index file in supplied folder for supplied classpath
+     * entries. File is keyed by the classpath entries so applications with
+     * different classpaths, for instance multiple web applications in a
+     * container, do not share an index file. Folder is created and restricted to
+     * owner if it does not exist.
+     * 
+     * @param folderPath
+     *            the index folder path
+     * @param urls
+     *            the classpath entries
+     * @return the index file or null if index persistence is disabled or folder
+     *         is not private to current user
+     */
+    static File getAnnotationIndexFile(String folderPath, URL[] urls) {
+        if (StringUtils.isBlank(folderPath)) {
+            return null;
+        }
+
+        File folder = new File(folderPath);
+        if (!folder.isDirectory() && (!folder.mkdirs() || !restrictToOwner(folder))) {
+            LOGGER.log(Level.WARNING, "Annotation index disabled. Unable to create private folder [{0}].", folder);
+            return null;
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            for (URL url : urls) {
+                digest.update(url.toExternalForm().getBytes("UTF-8"));
+                digest.update((byte) '\n');
+            }
+
+            File file = new File(folder, "unify-annotationindex-" + Hex.encodeHexString(digest.digest()) + ".bin");
+            if (!isPrivateToOwner(folder) || (file.exists() && !isPrivateToOwner(file))) {
+                LOGGER.log(Level.WARNING,
+                        "Annotation index disabled. Index [{0}] or its folder is not private to current user.",
+                        file);
+                return null;
+            }
+
+            return file;
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Annotation index disabled.", e);
+            return null;
+        }
+    }
+
+    /**
+     * Tests if supplied file is owned by the current user and is not writable by
+     * group or others.
+     * 
+     * @param file
+     *            the file to test
+     * @return true if file is private to current user otherwise false
+     * @throws IOException
+     *             if an error occurs
+     */
+    static boolean isPrivateToOwner(File file) throws IOException {
+        Path path = file.toPath();
+        UserPrincipal user = path.getFileSystem().getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        if (!user.equals(Files.getOwner(path, LinkOption.NOFOLLOW_LINKS))) {
+            return false;
+        }
+
+        PosixFileAttributeView view = Files.getFileAttributeView(path, PosixFileAttributeView.class,
+                LinkOption.NOFOLLOW_LINKS);
+        if (view != null) {
+            Set<PosixFilePermission> permissions = view.readAttributes().permissions();
+            return !permissions.contains(PosixFilePermission.GROUP_WRITE)
+                    && !permissions.contains(PosixFilePermission.OTHERS_WRITE);
+        }
+
+        return true;
+    }
+
+    private static boolean restrictToOwner(File file) {
+        boolean restricted = file.setReadable(false, false) && file.setReadable(true, true);
+        restricted &= file.setWritable(false, false) && file.setWritable(true, true);
+        if (file.isDirectory()) {
+            restricted &= file.setExecutable(false, false) && file.setExecutable(true, true);
+        }
+
+        return restricted;
+    }
+
     protected static class TypeRepositoryImpl implements TypeRepository {
 
-        private AnnotationDB annotationDB;
+        private Map<String, Set<String>> annotationIndex;
+
+        public TypeRepositoryImpl(Map<String, Set<String>> annotationIndex) {
+            this.annotationIndex = annotationIndex;
+        }
 
         public TypeRepositoryImpl(AnnotationDB annotationDB) {
-            this.annotationDB = annotationDB;
+            this(annotationDB.getAnnotationIndex());
         }
 
         @Override
@@ -90,7 +225,7 @@ public class TypeUtils {
                 throws UnifyException {
             List<Class<? extends T>> resultList = new ArrayList<Class<? extends T>>();
             try {
-                Set<String> annotatedClassNames = annotationDB.getAnnotationIndex().get(annotationClass.getName());
+                Set<String> annotatedClassNames = annotationIndex.get(annotationClass.getName());
 
                 if (annotatedClassNames != null && !annotatedClassNames.isEmpty()) {
                     if (packages.length > 0) {
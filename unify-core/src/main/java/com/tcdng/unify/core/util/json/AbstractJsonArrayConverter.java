@@ -16,10 +16,8 @@
 package com.tcdng.unify.core.util.json;
 
 import java.lang.reflect.Array;
-
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonArray;
-import com.eclipsesource.json.JsonValue;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Abstract base JSON array converter,
@@ -37,27 +35,31 @@ public abstract class AbstractJsonArrayConverter<T> implements JsonValueConverte
 
     @SuppressWarnings("unchecked")
     @Override
-    public T[] read(JsonValue jsonValue) throws Exception {
-        JsonArray array = jsonValue.asArray();
-        T[] result = (T[]) Array.newInstance(clazz, array.size());
-        for (int i = 0; i < result.length; i++) {
-            result[i] = getValue(array.get(i));
+    public T[] read(JsonReader reader) throws Exception {
+        List<T> list = new ArrayList<T>();
+        reader.beginArray();
+        while (reader.nextElement()) {
+            list.add(reader.nextNull() ? null : getValue(reader));
         }
-        return result;
+        return list.toArray((T[]) Array.newInstance(clazz, list.size()));
     }
 
     @SuppressWarnings("unchecked")
     @Override
-    public JsonValue write(Object value) throws Exception {
-        JsonArray array = (JsonArray) Json.array();
+    public void write(JsonWriter writer, Object value) throws Exception {
         T[] arrayValues = (T[]) value;
+        writer.beginArray();
         for (int i = 0; i < arrayValues.length; i++) {
-            array.add(setValue(arrayValues[i]));
+            if (arrayValues[i] == null) {
+                writer.nullValue();
+            } else {
+                setValue(writer, arrayValues[i]);
+            }
         }
-        return array;
+        writer.endArray();
     }
 
-    protected abstract T getValue(JsonValue jsonValue) throws Exception;
+    protected abstract T getValue(JsonReader reader) throws Exception;
 
-    protected abstract JsonValue setValue(T value) throws Exception;
+    protected abstract void setValue(JsonWriter writer, T value) throws Exception;
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.util.json;
+
+/**
+ * Bean accessor used by JSON binders. Properties are addressed by their index
+ * in the binder's property list.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public interface JsonBeanAccessor {
+
+    /**
+     * Creates a new instance of the bean type.
+     * 
+     * @throws Exception
+     *             if an error occurs
+     */
+    Object newInstance() throws Exception;
+
+    /**
+     * Gets the value of a bean property.
+     * 
+     * @param bean
+     *            the bean
+     * @param index
+     *            the property index
+     * @return the property value
+     * @throws Exception
+     *             if an error occurs
+     */
+    Object get(Object bean, int index) throws Exception;
+
+    /**
+     * Sets the value of a bean property.
+     * 
+     * @param bean
+     *            the bean
+     * @param index
+     *            the property index
+     * @param value
+     *            the value to set
+     * @throws Exception
+     *             if an error occurs
+     */
+    void set(Object bean, int index, Object value) throws Exception;
+}
@@ -0,0 +1,545 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.util.json;
+
+import java.io.StringReader;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.janino.SimpleCompiler;
+
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.data.FactoryMap;
+import com.tcdng.unify.core.util.DataUtils;
+import com.tcdng.unify.core.util.GetterSetterInfo;
+import com.tcdng.unify.core.util.ReflectUtils;
+
+/**
+ * Binds JSON objects to and from beans of a specific type directly off a
+ * {@link JsonReader} and onto a {@link JsonWriter}. Bean properties are accessed
+ * through a {@link JsonBeanAccessor} that is generated and compiled once per
+ * bean type. Reflection is used only for types whose properties are not
+ * publicly accessible.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class JsonBeanBinder {
+
+    private static final String ACCESSOR_CLASS_SUFFIX = "JsonAccessor";
+
+    private static final Map<Class<?>, JsonValueConverter<?>> converters;
+
+    static {
+        Map<Class<?>, JsonValueConverter<?>> map = new HashMap<Class<?>, JsonValueConverter<?>>();
+        map.put(Boolean.class, new JsonBooleanConverter());
+        map.put(Boolean[].class, new JsonBooleanArrayConverter());
+        map.put(boolean.class, new JsonBooleanConverter());
+        map.put(byte[].class, new JsonByteArrayConverter());
+        map.put(char.class, new JsonCharacterConverter());
+        map.put(Character.class, new JsonCharacterConverter());
+        map.put(BigDecimal.class, new JsonBigDecimalConverter());
+        map.put(BigDecimal[].class, new JsonBigDecimalArrayConverter());
+        map.put(Double.class, new JsonDoubleConverter());
+        map.put(Double[].class, new JsonDoubleArrayConverter());
+        map.put(double.class, new JsonDoubleConverter());
+        map.put(Float.class, new JsonFloatConverter());
+        map.put(Float[].class, new JsonFloatArrayConverter());
+        map.put(float.class, new JsonFloatConverter());
+        map.put(Integer.class, new JsonIntConverter());
+        map.put(Integer[].class, new JsonIntArrayConverter());
+        map.put(int.class, new JsonIntConverter());
+        map.put(Long.class, new JsonLongConverter());
+        map.put(Long[].class, new JsonLongArrayConverter());
+        map.put(long.class, new JsonLongConverter());
+        map.put(Short.class, new JsonShortConverter());
+        map.put(Short[].class, new JsonShortArrayConverter());
+        map.put(short.class, new JsonShortConverter());
+        map.put(String.class, new JsonStringConverter());
+        map.put(String[].class, new JsonStringArrayConverter());
+        converters = Collections.unmodifiableMap(map);
+    }
+
+    private static final FactoryMap<Class<?>, JsonBeanBinder> binders =
+            new FactoryMap<Class<?>, JsonBeanBinder>() {
+
+                @Override
+                protected JsonBeanBinder create(Class<?> beanClass, Object... params) throws Exception {
+                    return new JsonBeanBinder(beanClass);
+                }
+
+            };
+
+    private Class<?> beanClass;
+
+    private JsonBeanAccessor accessor;
+
+    private Property[] properties;
+
+    private Map<String, Property> propertyMap;
+
+    private JsonBeanBinder(Class<?> beanClass) throws UnifyException {
+        this.beanClass = beanClass;
+        List<Property> propertyList = new ArrayList<Property>();
+        propertyMap = new HashMap<String, Property>();
+        for (GetterSetterInfo gsInfo : ReflectUtils.getGetterSetterList(beanClass)) {
+            if (gsInfo.isProperty()) {
+                Property property = new Property(propertyList.size(), gsInfo);
+                propertyList.add(property);
+                propertyMap.put(property.getName(), property);
+            }
+        }
+
+        properties = propertyList.toArray(new Property[propertyList.size()]);
+        accessor = generateAccessor();
+        if (accessor == null) {
+            accessor = new ReflectJsonBeanAccessor();
+        }
+    }
+
+    /**
+     * Returns the binder for a bean type. Binders are created once per type.
+     * 
+     * @param beanClass
+     *            the bean type
+     * @throws UnifyException
+     *             if an error occurs
+     */
+    public static JsonBeanBinder getBinder(Class<?> beanClass) throws UnifyException {
+        return binders.get(beanClass);
+    }
+
+    public Class<?> getBeanClass() {
+        return beanClass;
+    }
+
+    public boolean isGeneratedAccessor() {
+        return !(accessor instanceof ReflectJsonBeanAccessor);
+    }
+
+    /**
+     * Reads the next JSON object into a new bean instance.
+     * 
+     * @param reader
+     *            the JSON reader
+     * @return the new bean
+     * @throws Exception
+     *             if an error occurs
+     */
+    public Object read(JsonReader reader) throws Exception {
+        Object bean = accessor.newInstance();
+        read(reader, bean);
+        return bean;
+    }
+
+    /**
+     * Reads the next JSON object into a bean.
+     * 
+     * @param reader
+     *            the JSON reader
+     * @param bean
+     *            the bean to read to
+     * @throws Exception
+     *             if an error occurs
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void read(JsonReader reader, Object bean) throws Exception {
+        reader.beginObject();
+        String name = null;
+        while ((name = reader.nextName()) != null) {
+            Property property = propertyMap.get(name);
+            if (property == null) {
+                throw new Exception("Type " + beanClass + " has no matching bean property for member " + name);
+            }
+
+            if (property.isObjectType()) {
+                if (!property.isGetter()) {
+                    throw new Exception("Type " + beanClass + " has no accesor for member " + name);
+                }
+
+                Object implObject = accessor.get(bean, property.getIndex());
+                if (implObject == null) {
+                    throw new Exception("Type " + beanClass + " has no instance for member " + name);
+                }
+
+                JsonBeanBinder.getBinder(implObject.getClass()).read(reader, implObject);
+                continue;
+            }
+
+            if (!property.isSetter()) {
+                throw new Exception("Type " + beanClass + " has no mutator for member " + name);
+            }
+
+            if (reader.nextNull()) {
+                if (!property.getType().isPrimitive()) {
+                    accessor.set(bean, property.getIndex(), null);
+                }
+                continue;
+            }
+
+            Object value = null;
+            if (property.getConverter() != null) {
+                value = property.getConverter().read(reader);
+            } else if (property.isCollection()) {
+                Collection<Object> result = ReflectUtils.newInstance(
+                        DataUtils.getCollectionConcreteType((Class<? extends Collection>) property.getType()));
+                reader.beginArray();
+                if (property.getComponentType() != null) {
+                    while (reader.nextElement()) {
+                        result.add(readElement(reader, property));
+                    }
+                } else {
+                    while (reader.nextElement()) {
+                        reader.skipValue();
+                    }
+                }
+                value = result;
+            } else if (property.isArray()) {
+                List<Object> list = new ArrayList<Object>();
+                reader.beginArray();
+                while (reader.nextElement()) {
+                    list.add(readElement(reader, property));
+                }
+
+                int length = list.size();
+                value = Array.newInstance(property.getComponentType(), length);
+                for (int i = 0; i < length; i++) {
+                    Array.set(value, i, list.get(i));
+                }
+            } else {
+                value = property.getBinder().read(reader);
+            }
+
+            accessor.set(bean, property.getIndex(), value);
+        }
+    }
+
+    /**
+     * Writes a bean as a JSON object. Null property values are omitted.
+     * 
+     * @param writer
+     *            the JSON writer
+     * @param bean
+     *            the bean to write
+     * @throws Exception
+     *             if an error occurs
+     */
+    public void write(JsonWriter writer, Object bean) throws Exception {
+        writer.beginObject();
+        for (Property property : properties) {
+            if (!property.isGetter()) {
+                continue;
+            }
+
+            Object value = accessor.get(bean, property.getIndex());
+            if (value == null) {
+                continue;
+            }
+
+            writer.name(property.getName());
+            if (property.getConverter() != null) {
+                property.getConverter().write(writer, value);
+            } else if (property.isObjectType()) {
+                JsonBeanBinder.getBinder(value.getClass()).write(writer, value);
+            } else if (value instanceof Collection) {
+                JsonValueConverter<?> converter = property.getComponentConverter();
+                writer.beginArray();
+                for (Object element : (Collection<?>) value) {
+                    JsonBeanBinder.writeElement(writer, converter, element);
+                }
+                writer.endArray();
+            } else if (value.getClass().isArray()) {
+                JsonValueConverter<?> converter = converters.get(value.getClass().getComponentType());
+                int length = Array.getLength(value);
+                writer.beginArray();
+                for (int i = 0; i < length; i++) {
+                    JsonBeanBinder.writeElement(writer, converter, Array.get(value, i));
+                }
+                writer.endArray();
+            } else {
+                JsonBeanBinder.getBinder(value.getClass()).write(writer, value);
+            }
+        }
+        writer.endObject();
+    }
+
+    private static Object readElement(JsonReader reader, Property property) throws Exception {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        if (property.getComponentConverter() != null) {
+            return property.getComponentConverter().read(reader);
+        }
+
+        return property.getComponentBinder().read(reader);
+    }
+
+    private static void writeElement(JsonWriter writer, JsonValueConverter<?> converter, Object element)
+            throws Exception {
+        if (element == null) {
+            writer.nullValue();
+        } else if (converter != null) {
+            converter.write(writer, element);
+        } else {
+            JsonBeanBinder.getBinder(element.getClass()).write(writer, element);
+        }
+    }
+
+    private JsonBeanAccessor generateAccessor() {
+        try {
+            String source = generateAccessorSource();
+            if (source != null) {
+                SimpleCompiler compiler = new SimpleCompiler();
+                compiler.setParentClassLoader(beanClass.getClassLoader());
+                compiler.cook(new StringReader(source));
+                Class<?> accessorClass = compiler.getClassLoader()
+                        .loadClass(beanClass.getPackage().getName() + "." + getAccessorSimpleName());
+                return (JsonBeanAccessor) accessorClass.newInstance();
+            }
+        } catch (Exception e) {
+            // Fall back to reflection
+        }
+
+        return null;
+    }
+
+    private String generateAccessorSource() {
+        if (beanClass.getClassLoader() == null || beanClass.getPackage() == null
+                || !ReflectUtils.isPubliclyAccessible(beanClass)) {
+            return null;
+        }
+
+        for (Property property : properties) {
+            Method getter = property.getGetter();
+            if (getter != null && (!ReflectUtils.isPubliclyAccessible(getter)
+                    || !ReflectUtils.isPubliclyAccessible(getter.getReturnType()))) {
+                return null;
+            }
+
+            Method setter = property.getSetter();
+            if (setter != null && (!ReflectUtils.isPubliclyAccessible(setter)
+                    || !ReflectUtils.isPubliclyAccessible(setter.getParameterTypes()[0]))) {
+                return null;
+            }
+        }
+
+        String beanName = beanClass.getCanonicalName();
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(beanClass.getPackage().getName()).append(";\n");
+        sb.append('\n');
+        sb.append("public class ").append(getAccessorSimpleName()).append(" implements ")
+                .append(JsonBeanAccessor.class.getCanonicalName()).append(" {\n");
+
+        // Instance
+        sb.append("\tpublic Object newInstance() throws Exception {\n");
+        if (ReflectUtils.isPubliclyConstructible(beanClass)) {
+            sb.append("\t\treturn new ").append(beanName).append("();\n");
+        } else {
+            sb.append("\t\tthrow new InstantiationException(\"").append(beanName).append("\");\n");
+        }
+        sb.append("\t}\n");
+
+        // Getter
+        sb.append("\tpublic Object get(Object bean, int index) throws Exception {\n");
+        sb.append("\t\t").append(beanName).append(" _bean = (").append(beanName).append(") bean;\n");
+        sb.append("\t\tswitch(index) {\n");
+        for (Property property : properties) {
+            Method getter = property.getGetter();
+            if (getter != null) {
+                Class<?> type = getter.getReturnType();
+                sb.append("\t\t\tcase ").append(property.getIndex()).append(":\n");
+                if (type.isPrimitive()) {
+                    sb.append("\t\t\t\treturn ").append(DataUtils.getWrapperClass(type).getCanonicalName())
+                            .append(".valueOf(_bean.").append(getter.getName()).append("());\n");
+                } else {
+                    sb.append("\t\t\t\treturn _bean.").append(getter.getName()).append("();\n");
+                }
+            }
+        }
+        sb.append("\t\t\tdefault:\n");
+        sb.append("\t\t\t\tthrow new IllegalArgumentException(\"Invalid property index \" + index);\n");
+        sb.append("\t\t}\n");
+        sb.append("\t}\n");
+
+        // Setter
+        sb.append("\tpublic void set(Object bean, int index, Object value) throws Exception {\n");
+        sb.append("\t\t").append(beanName).append(" _bean = (").append(beanName).append(") bean;\n");
+        sb.append("\t\tswitch(index) {\n");
+        for (Property property : properties) {
+            Method setter = property.getSetter();
+            if (setter != null) {
+                Class<?> type = setter.getParameterTypes()[0];
+                sb.append("\t\t\tcase ").append(property.getIndex()).append(":\n");
+                sb.append("\t\t\t\t_bean.").append(setter.getName()).append('(');
+                if (type.isPrimitive()) {
+                    sb.append("((").append(DataUtils.getWrapperClass(type).getCanonicalName()).append(") value).")
+                            .append(type.getName()).append("Value()");
+                } else {
+                    sb.append('(').append(type.getCanonicalName()).append(") value");
+                }
+                sb.append(");\n");
+                sb.append("\t\t\t\treturn;\n");
+            }
+        }
+        sb.append("\t\t\tdefault:\n");
+        sb.append("\t\t\t\tthrow new IllegalArgumentException(\"Invalid property index \" + index);\n");
+        sb.append("\t\t}\n");
+        sb.append("\t}\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private String getAccessorSimpleName() {
+        return beanClass.getSimpleName() + ACCESSOR_CLASS_SUFFIX;
+    }
+
+    private class ReflectJsonBeanAccessor implements JsonBeanAccessor {
+
+        @Override
+        public Object newInstance() throws Exception {
+            return beanClass.newInstance();
+        }
+
+        @Override
+        public Object get(Object bean, int index) throws Exception {
+            return properties[index].getGetter().invoke(bean);
+        }
+
+        @Override
+        public void set(Object bean, int index, Object value) throws Exception {
+            properties[index].getSetter().invoke(bean, value);
+        }
+    }
+
+    private static class Property {
+
+        private int index;
+
+        private String name;
+
+        private Method getter;
+
+        private Method setter;
+
+        private Class<?> type;
+
+        private Class<?> componentType;
+
+        private JsonValueConverter<?> converter;
+
+        private JsonValueConverter<?> componentConverter;
+
+        private JsonBeanBinder binder;
+
+        private JsonBeanBinder componentBinder;
+
+        public Property(int index, GetterSetterInfo gsInfo) {
+            this.index = index;
+            name = gsInfo.getName();
+            getter = gsInfo.getGetter();
+            setter = gsInfo.getSetter();
+            type = gsInfo.getType();
+            converter = converters.get(type);
+            if (converter == null) {
+                if (Collection.class.isAssignableFrom(type)) {
+                    componentType = gsInfo.getArgumentType();
+                } else if (type.isArray()) {
+                    componentType = type.getComponentType();
+                }
+
+                if (componentType != null) {
+                    componentConverter = converters.get(componentType);
+                }
+            }
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Method getGetter() {
+            return getter;
+        }
+
+        public Method getSetter() {
+            return setter;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public Class<?> getComponentType() {
+            return componentType;
+        }
+
+        public JsonValueConverter<?> getConverter() {
+            return converter;
+        }
+
+        public JsonValueConverter<?> getComponentConverter() {
+            return componentConverter;
+        }
+
+        public JsonBeanBinder getBinder() throws UnifyException {
+            if (binder == null) {
+                binder = JsonBeanBinder.getBinder(type);
+            }
+
+            return binder;
+        }
+
+        public JsonBeanBinder getComponentBinder() throws UnifyException {
+            if (componentBinder == null) {
+                componentBinder = JsonBeanBinder.getBinder(componentType);
+            }
+
+            return componentBinder;
+        }
+
+        public boolean isGetter() {
+            return getter != null;
+        }
+
+        public boolean isSetter() {
+            return setter != null;
+        }
+
+        public boolean isObjectType() {
+            return Object.class.equals(type);
+        }
+
+        public boolean isCollection() {
+            return Collection.class.isAssignableFrom(type);
+        }
+
+        public boolean isArray() {
+            return type.isArray();
+        }
+    }
+}
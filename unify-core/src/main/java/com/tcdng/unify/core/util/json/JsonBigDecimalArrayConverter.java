@@ -17,9 +17,6 @@ package com.tcdng.unify.core.util.json;
 
 import java.math.BigDecimal;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON decimal array value converter.
  * 
@@ -33,12 +30,12 @@ public class JsonBigDecimalArrayConverter extends AbstractJsonArrayConverter<Big
     }
 
     @Override
-    protected BigDecimal getValue(JsonValue jsonValue) throws Exception {
-        return BigDecimal.valueOf(jsonValue.asDouble());
+    protected BigDecimal getValue(JsonReader reader) throws Exception {
+        return new BigDecimal(reader.nextNumber());
     }
 
     @Override
-    protected JsonValue setValue(BigDecimal value) throws Exception {
-        return Json.value(value.doubleValue());
+    protected void setValue(JsonWriter writer, BigDecimal value) throws Exception {
+        writer.value(value);
     }
 }
\ No newline at end of file
@@ -17,9 +17,6 @@ package com.tcdng.unify.core.util.json;
 
 import java.math.BigDecimal;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON decimal value converter.
  * 
@@ -28,12 +25,12 @@ import com.eclipsesource.json.JsonValue;
  */
 public class JsonBigDecimalConverter implements JsonValueConverter<BigDecimal> {
     @Override
-    public BigDecimal read(JsonValue jsonValue) throws Exception {
-        return BigDecimal.valueOf(jsonValue.asDouble());
+    public BigDecimal read(JsonReader reader) throws Exception {
+        return new BigDecimal(reader.nextNumber());
     }
 
     @Override
-    public JsonValue write(Object value) throws Exception {
-        return Json.value(((BigDecimal) value).doubleValue());
+    public void write(JsonWriter writer, Object value) throws Exception {
+        writer.value((BigDecimal) value);
     }
 }
\ No newline at end of file
@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON boolean array value converter.
  * 
@@ -31,12 +28,12 @@ public class JsonBooleanArrayConverter extends AbstractJsonArrayConverter<Boolea
     }
 
     @Override
-    protected Boolean getValue(JsonValue jsonValue) throws Exception {
-        return jsonValue.asBoolean();
+    protected Boolean getValue(JsonReader reader) throws Exception {
+        return reader.nextBoolean();
     }
 
     @Override
-    protected JsonValue setValue(Boolean value) throws Exception {
-        return Json.value(value);
+    protected void setValue(JsonWriter writer, Boolean value) throws Exception {
+        writer.value(value);
     }
 }
\ No newline at end of file
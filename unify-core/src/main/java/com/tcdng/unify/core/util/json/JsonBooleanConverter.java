@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON boolean value converter.
  * 
@@ -26,12 +23,12 @@ import com.eclipsesource.json.JsonValue;
  */
 public class JsonBooleanConverter implements JsonValueConverter<Boolean> {
     @Override
-    public Boolean read(JsonValue jsonValue) throws Exception {
-        return jsonValue.asBoolean();
+    public Boolean read(JsonReader reader) throws Exception {
+        return reader.nextBoolean();
     }
 
     @Override
-    public JsonValue write(Object value) throws Exception {
-        return Json.value((Boolean) value);
+    public void write(JsonWriter writer, Object value) throws Exception {
+        writer.value((Boolean) value);
     }
 }
\ No newline at end of file
@@ -19,9 +19,6 @@ import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.codec.binary.Base64;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON byte array value converter.
  * 
@@ -30,12 +27,12 @@ import com.eclipsesource.json.JsonValue;
  */
 public class JsonByteArrayConverter implements JsonValueConverter<byte[]> {
     @Override
-    public byte[] read(JsonValue jsonValue) throws Exception {
-        return Base64.decodeBase64(jsonValue.asString().getBytes(StandardCharsets.UTF_8));
+    public byte[] read(JsonReader reader) throws Exception {
+        return Base64.decodeBase64(reader.nextString().getBytes(StandardCharsets.UTF_8));
     }
 
     @Override
-    public JsonValue write(Object value) throws Exception {
-        return Json.value(new String(Base64.encodeBase64((byte[]) value), StandardCharsets.UTF_8));
+    public void write(JsonWriter writer, Object value) throws Exception {
+        writer.value(new String(Base64.encodeBase64((byte[]) value), StandardCharsets.UTF_8));
     }
 }
\ No newline at end of file
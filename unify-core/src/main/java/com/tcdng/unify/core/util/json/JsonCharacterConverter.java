@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON character value converter.
  * 
@@ -26,12 +23,12 @@ import com.eclipsesource.json.JsonValue;
  */
 public class JsonCharacterConverter implements JsonValueConverter<Character> {
     @Override
-    public Character read(JsonValue jsonValue) throws Exception {
-        return jsonValue.asString().charAt(0);
+    public Character read(JsonReader reader) throws Exception {
+        return reader.nextString().charAt(0);
     }
 
     @Override
-    public JsonValue write(Object value) throws Exception {
-        return Json.value(String.valueOf(value));
+    public void write(JsonWriter writer, Object value) throws Exception {
+        writer.value(String.valueOf(value));
     }
 }
\ No newline at end of file
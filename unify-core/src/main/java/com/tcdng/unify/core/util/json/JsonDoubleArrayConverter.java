@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON double array value converter.
  * 
@@ -31,12 +28,12 @@ public class JsonDoubleArrayConverter extends AbstractJsonArrayConverter<Double>
     }
 
     @Override
-    protected Double getValue(JsonValue jsonValue) throws Exception {
-        return jsonValue.asDouble();
+    protected Double getValue(JsonReader reader) throws Exception {
+        return Double.valueOf(reader.nextNumber());
     }
 
     @Override
-    protected JsonValue setValue(Double value) throws Exception {
-        return Json.value(value);
+    protected void setValue(JsonWriter writer, Double value) throws Exception {
+        writer.value(value);
     }
 }
\ No newline at end of file
@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON double value converter.
  * 
@@ -26,12 +23,12 @@ import com.eclipsesource.json.JsonValue;
  */
 public class JsonDoubleConverter implements JsonValueConverter<Double> {
     @Override
-    public Double read(JsonValue jsonValue) throws Exception {
-        return jsonValue.asDouble();
+    public Double read(JsonReader reader) throws Exception {
+        return Double.valueOf(reader.nextNumber());
     }
 
     @Override
-    public JsonValue write(Object value) throws Exception {
-        return Json.value((Double) value);
+    public void write(JsonWriter writer, Object value) throws Exception {
+        writer.value((Double) value);
     }
 }
\ No newline at end of file
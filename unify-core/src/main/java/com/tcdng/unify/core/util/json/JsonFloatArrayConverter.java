@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON float array value converter.
  * 
@@ -31,12 +28,12 @@ public class JsonFloatArrayConverter extends AbstractJsonArrayConverter<Float> {
     }
 
     @Override
-    protected Float getValue(JsonValue jsonValue) throws Exception {
-        return jsonValue.asFloat();
+    protected Float getValue(JsonReader reader) throws Exception {
+        return Float.valueOf(reader.nextNumber());
     }
 
     @Override
-    protected JsonValue setValue(Float value) throws Exception {
-        return Json.value(value);
+    protected void setValue(JsonWriter writer, Float value) throws Exception {
+        writer.value(value);
     }
 }
\ No newline at end of file
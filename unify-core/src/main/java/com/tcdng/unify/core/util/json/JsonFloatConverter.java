@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON float value converter.
  * 
@@ -26,12 +23,12 @@ import com.eclipsesource.json.JsonValue;
  */
 public class JsonFloatConverter implements JsonValueConverter<Float> {
     @Override
-    public Float read(JsonValue jsonValue) throws Exception {
-        return jsonValue.asFloat();
+    public Float read(JsonReader reader) throws Exception {
+        return Float.valueOf(reader.nextNumber());
     }
 
     @Override
-    public JsonValue write(Object value) throws Exception {
-        return Json.value((Float) value);
+    public void write(JsonWriter writer, Object value) throws Exception {
+        writer.value((Float) value);
     }
 }
\ No newline at end of file
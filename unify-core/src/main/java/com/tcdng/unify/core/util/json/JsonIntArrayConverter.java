@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON integer array value converter.
  * 
@@ -31,12 +28,12 @@ public class JsonIntArrayConverter extends AbstractJsonArrayConverter<Integer> {
     }
 
     @Override
-    protected Integer getValue(JsonValue jsonValue) throws Exception {
-        return jsonValue.asInt();
+    protected Integer getValue(JsonReader reader) throws Exception {
+        return Integer.valueOf(reader.nextNumber());
     }
 
     @Override
-    protected JsonValue setValue(Integer value) throws Exception {
-        return Json.value(value);
+    protected void setValue(JsonWriter writer, Integer value) throws Exception {
+        writer.value(value);
     }
 }
\ No newline at end of file
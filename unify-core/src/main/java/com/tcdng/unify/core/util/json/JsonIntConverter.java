@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON integer value converter.
  * 
@@ -26,12 +23,12 @@ import com.eclipsesource.json.JsonValue;
  */
 public class JsonIntConverter implements JsonValueConverter<Integer> {
     @Override
-    public Integer read(JsonValue jsonValue) throws Exception {
-        return jsonValue.asInt();
+    public Integer read(JsonReader reader) throws Exception {
+        return Integer.valueOf(reader.nextNumber());
     }
 
     @Override
-    public JsonValue write(Object value) throws Exception {
-        return Json.value((Integer) value);
+    public void write(JsonWriter writer, Object value) throws Exception {
+        writer.value((Integer) value);
     }
 }
\ No newline at end of file
@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON long array value converter.
  * 
@@ -31,12 +28,12 @@ public class JsonLongArrayConverter extends AbstractJsonArrayConverter<Long> {
     }
 
     @Override
-    protected Long getValue(JsonValue jsonValue) throws Exception {
-        return jsonValue.asLong();
+    protected Long getValue(JsonReader reader) throws Exception {
+        return Long.valueOf(reader.nextNumber());
     }
 
     @Override
-    protected JsonValue setValue(Long value) throws Exception {
-        return Json.value(value);
+    protected void setValue(JsonWriter writer, Long value) throws Exception {
+        writer.value(value);
     }
 }
\ No newline at end of file
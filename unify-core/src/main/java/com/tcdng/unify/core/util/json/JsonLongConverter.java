@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON long value converter.
  * 
@@ -26,12 +23,12 @@ import com.eclipsesource.json.JsonValue;
  */
 public class JsonLongConverter implements JsonValueConverter<Long> {
     @Override
-    public Long read(JsonValue jsonValue) throws Exception {
-        return jsonValue.asLong();
+    public Long read(JsonReader reader) throws Exception {
+        return Long.valueOf(reader.nextNumber());
     }
 
     @Override
-    public JsonValue write(Object value) throws Exception {
-        return Json.value((Long) value);
+    public void write(JsonWriter writer, Object value) throws Exception {
+        writer.value((Long) value);
     }
 }
\ No newline at end of file
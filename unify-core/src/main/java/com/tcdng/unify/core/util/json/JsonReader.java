@@ -0,0 +1,396 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.util.json;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streaming JSON reader. Reads JSON tokens directly from a character stream
+ * without building an intermediate document. Not thread-safe.
+ * 
+ * <pre>
+ * reader.beginObject();
+ * String name = null;
+ * while ((name = reader.nextName()) != null) {
+ *     ...
+ * }
+ * </pre>
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class JsonReader {
+
+    private static final int BUFFER_SIZE = 1024;
+
+    private Reader reader;
+
+    private char[] buffer;
+
+    private int pos;
+
+    private int limit;
+
+    private long offset;
+
+    private boolean[] first;
+
+    private int depth;
+
+    private StringBuilder sb;
+
+    public JsonReader(Reader reader) {
+        this.reader = reader;
+        buffer = new char[BUFFER_SIZE];
+        first = new boolean[16];
+        sb = new StringBuilder();
+    }
+
+    /**
+     * Consumes the opening brace of an object.
+     * 
+     * @throws IOException
+     *             if an I/O or syntax error occurs
+     */
+    public void beginObject() throws IOException {
+        expect('{');
+        push();
+    }
+
+    /**
+     * Reads the name of the next object member and consumes the following colon.
+     * 
+     * @return the member name or null if the closing brace of the current object
+     *         has been consumed
+     * @throws IOException
+     *             if an I/O or syntax error occurs
+     */
+    public String nextName() throws IOException {
+        if (!next('}')) {
+            return null;
+        }
+
+        String name = nextString();
+        expect(':');
+        return name;
+    }
+
+    /**
+     * Consumes the opening bracket of an array.
+     * 
+     * @throws IOException
+     *             if an I/O or syntax error occurs
+     */
+    public void beginArray() throws IOException {
+        expect('[');
+        push();
+    }
+
+    /**
+     * Positions reader at the next element of the current array.
+     * 
+     * @return true if there is a next element or false if the closing bracket of
+     *         the current array has been consumed
+     * @throws IOException
+     *             if an I/O or syntax error occurs
+     */
+    public boolean nextElement() throws IOException {
+        return next(']');
+    }
+
+    /**
+     * Consumes a null literal if it is the next value.
+     * 
+     * @return true if a null literal was consumed otherwise false
+     * @throws IOException
+     *             if an I/O or syntax error occurs
+     */
+    public boolean nextNull() throws IOException {
+        if (peek() == 'n') {
+            readLiteral("null");
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads the next value as a string.
+     * 
+     * @throws IOException
+     *             if an I/O or syntax error occurs
+     */
+    public String nextString() throws IOException {
+        expect('"');
+        sb.setLength(0);
+        while (true) {
+            int start = pos;
+            while (pos < limit) {
+                char ch = buffer[pos];
+                if (ch == '"') {
+                    String result = null;
+                    if (sb.length() == 0) {
+                        result = new String(buffer, start, pos - start);
+                    } else {
+                        result = sb.append(buffer, start, pos - start).toString();
+                    }
+
+                    pos++;
+                    return result;
+                }
+
+                if (ch == '\\') {
+                    sb.append(buffer, start, pos - start);
+                    pos++;
+                    readEscape();
+                    start = pos;
+                    continue;
+                }
+
+                if (ch < 0x20) {
+                    throw syntaxError("Unescaped control character in string");
+                }
+
+                pos++;
+            }
+
+            sb.append(buffer, start, pos - start);
+            if (!fill()) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    /**
+     * Reads the next value as the literal text of a number.
+     * 
+     * @throws IOException
+     *             if an I/O or syntax error occurs
+     */
+    public String nextNumber() throws IOException {
+        peek();
+        sb.setLength(0);
+        while (pos < limit || fill()) {
+            char ch = buffer[pos];
+            if ((ch >= '0' && ch <= '9') || ch == '-' || ch == '+' || ch == '.' || ch == 'e' || ch == 'E') {
+                sb.append(ch);
+                pos++;
+            } else {
+                break;
+            }
+        }
+
+        if (sb.length() == 0) {
+            throw syntaxError("Expected number");
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Reads the next value as a boolean.
+     * 
+     * @throws IOException
+     *             if an I/O or syntax error occurs
+     */
+    public boolean nextBoolean() throws IOException {
+        int ch = peek();
+        if (ch == 't') {
+            readLiteral("true");
+            return true;
+        }
+
+        if (ch == 'f') {
+            readLiteral("false");
+            return false;
+        }
+
+        throw syntaxError("Expected boolean");
+    }
+
+    /**
+     * Skips the next value including all nested values.
+     * 
+     * @throws IOException
+     *             if an I/O or syntax error occurs
+     */
+    public void skipValue() throws IOException {
+        switch (peek()) {
+            case '{':
+                beginObject();
+                while (nextName() != null) {
+                    skipValue();
+                }
+                break;
+            case '[':
+                beginArray();
+                while (nextElement()) {
+                    skipValue();
+                }
+                break;
+            case '"':
+                nextString();
+                break;
+            case 't':
+            case 'f':
+                nextBoolean();
+                break;
+            case 'n':
+                nextNull();
+                break;
+            default:
+                nextNumber();
+        }
+    }
+
+    /**
+     * Asserts that there is nothing but whitespace left in the stream.
+     * 
+     * @throws IOException
+     *             if an I/O or syntax error occurs
+     */
+    public void endDocument() throws IOException {
+        if (peek() >= 0) {
+            throw syntaxError("Unexpected character after document");
+        }
+    }
+
+    private boolean next(char close) throws IOException {
+        if (depth == 0) {
+            throw syntaxError("Not in object or array");
+        }
+
+        int ch = peek();
+        if (ch == close) {
+            pos++;
+            depth--;
+            return false;
+        }
+
+        if (first[depth - 1]) {
+            first[depth - 1] = false;
+        } else {
+            if (ch != ',') {
+                throw syntaxError("Expected ',' or '" + close + "'");
+            }
+
+            pos++;
+        }
+
+        return true;
+    }
+
+    private void push() {
+        if (depth == first.length) {
+            boolean[] newFirst = new boolean[depth * 2];
+            System.arraycopy(first, 0, newFirst, 0, depth);
+            first = newFirst;
+        }
+
+        first[depth++] = true;
+    }
+
+    private void expect(char expected) throws IOException {
+        if (peek() != expected) {
+            throw syntaxError("Expected '" + expected + "'");
+        }
+
+        pos++;
+    }
+
+    private int peek() throws IOException {
+        while (pos < limit || fill()) {
+            char ch = buffer[pos];
+            if (ch == ' ' || ch == '\n' || ch == '\r' || ch == '\t') {
+                pos++;
+                continue;
+            }
+
+            return ch;
+        }
+
+        return -1;
+    }
+
+    private int read() throws IOException {
+        if (pos < limit || fill()) {
+            return buffer[pos++];
+        }
+
+        return -1;
+    }
+
+    private boolean fill() throws IOException {
+        offset += limit;
+        pos = 0;
+        int len = reader.read(buffer, 0, buffer.length);
+        limit = len > 0 ? len : 0;
+        return len > 0;
+    }
+
+    private void readLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw syntaxError("Expected '" + literal + "'");
+            }
+        }
+    }
+
+    private void readEscape() throws IOException {
+        int ch = read();
+        switch (ch) {
+            case '"':
+            case '\\':
+            case '/':
+                sb.append((char) ch);
+                break;
+            case 'b':
+                sb.append('\b');
+                break;
+            case 'f':
+                sb.append('\f');
+                break;
+            case 'n':
+                sb.append('\n');
+                break;
+            case 'r':
+                sb.append('\r');
+                break;
+            case 't':
+                sb.append('\t');
+                break;
+            case 'u':
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int hex = Character.digit(read(), 16);
+                    if (hex < 0) {
+                        throw syntaxError("Invalid unicode escape sequence");
+                    }
+
+                    code = (code << 4) | hex;
+                }
+                sb.append((char) code);
+                break;
+            default:
+                throw syntaxError("Invalid escape sequence");
+        }
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException(message + " at offset " + (offset + pos) + ".");
+    }
+}
@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON short array value converter.
  * 
@@ -31,12 +28,12 @@ public class JsonShortArrayConverter extends AbstractJsonArrayConverter<Short> {
     }
 
     @Override
-    protected Short getValue(JsonValue jsonValue) throws Exception {
-        return (short) jsonValue.asInt();
+    protected Short getValue(JsonReader reader) throws Exception {
+        return Short.valueOf(reader.nextNumber());
     }
 
     @Override
-    protected JsonValue setValue(Short value) throws Exception {
-        return Json.value(value);
+    protected void setValue(JsonWriter writer, Short value) throws Exception {
+        writer.value(value);
     }
 }
\ No newline at end of file
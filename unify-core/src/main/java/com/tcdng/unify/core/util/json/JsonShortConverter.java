@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON short value converter.
  * 
@@ -26,12 +23,12 @@ import com.eclipsesource.json.JsonValue;
  */
 public class JsonShortConverter implements JsonValueConverter<Short> {
     @Override
-    public Short read(JsonValue jsonValue) throws Exception {
-        return (short) jsonValue.asInt();
+    public Short read(JsonReader reader) throws Exception {
+        return Short.valueOf(reader.nextNumber());
     }
 
     @Override
-    public JsonValue write(Object value) throws Exception {
-        return Json.value((Short) value);
+    public void write(JsonWriter writer, Object value) throws Exception {
+        writer.value((Short) value);
     }
 }
\ No newline at end of file
@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON string array value converter.
  * 
@@ -31,12 +28,12 @@ public class JsonStringArrayConverter extends AbstractJsonArrayConverter<String>
     }
 
     @Override
-    protected String getValue(JsonValue jsonValue) throws Exception {
-        return jsonValue.asString();
+    protected String getValue(JsonReader reader) throws Exception {
+        return reader.nextString();
     }
 
     @Override
-    protected JsonValue setValue(String value) throws Exception {
-        return Json.value(value);
+    protected void setValue(JsonWriter writer, String value) throws Exception {
+        writer.value(value);
     }
 }
\ No newline at end of file
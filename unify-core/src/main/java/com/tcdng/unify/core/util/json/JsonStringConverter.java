@@ -15,9 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.Json;
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON string value converter.
  * 
@@ -26,12 +23,12 @@ import com.eclipsesource.json.JsonValue;
  */
 public class JsonStringConverter implements JsonValueConverter<String> {
     @Override
-    public String read(JsonValue jsonValue) throws Exception {
-        return jsonValue.asString();
+    public String read(JsonReader reader) throws Exception {
+        return reader.nextString();
     }
 
     @Override
-    public JsonValue write(Object value) throws Exception {
-        return Json.value((String) value);
+    public void write(JsonWriter writer, Object value) throws Exception {
+        writer.value((String) value);
     }
 }
\ No newline at end of file
@@ -15,8 +15,6 @@
  */
 package com.tcdng.unify.core.util.json;
 
-import com.eclipsesource.json.JsonValue;
-
 /**
  * JSON value converter.
  * 
@@ -25,7 +23,7 @@ import com.eclipsesource.json.JsonValue;
  */
 public interface JsonValueConverter<T> {
 
-    T read(JsonValue jsonValue) throws Exception;
+    T read(JsonReader reader) throws Exception;
 
-    JsonValue write(Object value) throws Exception;
+    void write(JsonWriter writer, Object value) throws Exception;
 }
\ No newline at end of file
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.util.json;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * Streaming JSON writer. Writes JSON tokens directly to a character stream
+ * without building an intermediate document. Not thread-safe.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class JsonWriter {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private Writer writer;
+
+    private boolean[] first;
+
+    private int depth;
+
+    private boolean afterName;
+
+    public JsonWriter(Writer writer) {
+        this.writer = writer;
+        first = new boolean[16];
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        writer.write('{');
+        push();
+        return this;
+    }
+
+    public JsonWriter endObject() throws IOException {
+        depth--;
+        writer.write('}');
+        return this;
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        writer.write('[');
+        push();
+        return this;
+    }
+
+    public JsonWriter endArray() throws IOException {
+        depth--;
+        writer.write(']');
+        return this;
+    }
+
+    public JsonWriter name(String name) throws IOException {
+        separate();
+        writeString(name);
+        writer.write(':');
+        afterName = true;
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        writer.write(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        writer.write(Long.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(double value) throws IOException {
+        if (Double.isInfinite(value) || Double.isNaN(value)) {
+            throw new IllegalArgumentException("Infinite and NaN values not permitted in JSON.");
+        }
+
+        beforeValue();
+        writeNumber(Double.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(float value) throws IOException {
+        if (Float.isInfinite(value) || Float.isNaN(value)) {
+            throw new IllegalArgumentException("Infinite and NaN values not permitted in JSON.");
+        }
+
+        beforeValue();
+        writeNumber(Float.toString(value));
+        return this;
+    }
+
+    public JsonWriter value(BigDecimal value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+
+        beforeValue();
+        writer.write(value.toString());
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        writer.write("null");
+        return this;
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+
+        if (depth > 0) {
+            separate();
+        }
+    }
+
+    private void separate() throws IOException {
+        if (first[depth - 1]) {
+            first[depth - 1] = false;
+        } else {
+            writer.write(',');
+        }
+    }
+
+    private void push() {
+        if (depth == first.length) {
+            boolean[] newFirst = new boolean[depth * 2];
+            System.arraycopy(first, 0, newFirst, 0, depth);
+            first = newFirst;
+        }
+
+        first[depth++] = true;
+    }
+
+    private void writeNumber(String number) throws IOException {
+        // Whole numbers are written without trailing decimal point
+        if (number.endsWith(".0")) {
+            writer.write(number, 0, number.length() - 2);
+        } else {
+            writer.write(number);
+        }
+    }
+
+    private void writeString(String string) throws IOException {
+        writer.write('"');
+        int len = string.length();
+        int start = 0;
+        for (int i = 0; i < len; i++) {
+            char ch = string.charAt(i);
+            String replacement = null;
+            switch (ch) {
+                case '"':
+                    replacement = "\\\"";
+                    break;
+                case '\\':
+                    replacement = "\\\\";
+                    break;
+                case '\n':
+                    replacement = "\\n";
+                    break;
+                case '\r':
+                    replacement = "\\r";
+                    break;
+                case '\t':
+                    replacement = "\\t";
+                    break;
+                case '\u2028':
+                case '\u2029':
+                    break;
+                default:
+                    if (ch >= 0x20) {
+                        continue;
+                    }
+            }
+
+            if (i > start) {
+                writer.write(string, start, i - start);
+            }
+
+            if (replacement != null) {
+                writer.write(replacement);
+            } else {
+                writer.write("\\u");
+                writer.write(HEX_DIGITS[(ch >> 12) & 0x0f]);
+                writer.write(HEX_DIGITS[(ch >> 8) & 0x0f]);
+                writer.write(HEX_DIGITS[(ch >> 4) & 0x0f]);
+                writer.write(HEX_DIGITS[ch & 0x0f]);
+            }
+
+            start = i + 1;
+        }
+
+        if (len > start) {
+            writer.write(string, start, len - start);
+        }
+
+        writer.write('"');
+    }
+}
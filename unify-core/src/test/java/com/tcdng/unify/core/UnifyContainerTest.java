@@ -23,6 +23,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -137,6 +138,60 @@ public class UnifyContainerTest extends AbstractUnifyComponentTest {
     public void testComponentCustomisationResolved() throws Exception {
     }
 
+    @Test
+    public void testRepeatedNonSingletonInjection() throws Exception {
+        TestComponentE first = (TestComponentE) getComponent("component-e");
+        for (int i = 0; i < 3; i++) {
+            TestComponentE testComponentE = (TestComponentE) getComponent("component-e");
+            assertNotSame(first, testComponentE);
+            assertSame(getComponent("component-a1"), testComponentE.getTestComponentA1());
+            assertEquals(5, testComponentE.getCount());
+            assertEquals("Lagos", testComponentE.getCity());
+            assertTrue(Arrays.equals(new String[] { "red", "green" }, testComponentE.getColors()));
+            assertNotSame(first.getColors(), testComponentE.getColors());
+            assertEquals(Arrays.asList("red", "green"), testComponentE.getColorList());
+            assertNotSame(first.getColorList(), testComponentE.getColorList());
+
+            List<TestComponentA1> componentList = testComponentE.getComponentList();
+            assertEquals(2, componentList.size());
+            assertSame(getComponent("component-a1"), componentList.get(0));
+            assertSame(getComponent("component-a3"), componentList.get(1));
+            assertNotSame(first.getComponentList(), componentList);
+        }
+    }
+
+    @Test
+    public void testConfigurableOverrideInjection() throws Exception {
+        TestComponentE testComponentE = (TestComponentE) getComponent("component-e2");
+        assertEquals(7, testComponentE.getCount());
+        assertEquals("Abuja", testComponentE.getCity());
+        assertTrue(Arrays.equals(new String[] { "red", "green" }, testComponentE.getColors()));
+
+        testComponentE = (TestComponentE) getComponent("component-e", new Setting("count", "9"),
+                new Setting("componentList", new String[] { "component-a3" }));
+        assertEquals(9, testComponentE.getCount());
+        assertEquals("Lagos", testComponentE.getCity());
+        assertEquals(1, testComponentE.getComponentList().size());
+        assertSame(getComponent("component-a3"), testComponentE.getComponentList().get(0));
+
+        // Alternate settings do not alter injection of later instances
+        testComponentE = (TestComponentE) getComponent("component-e");
+        assertEquals(5, testComponentE.getCount());
+        assertEquals(2, testComponentE.getComponentList().size());
+    }
+
+    @Test
+    public void testAmbiguousNamelessComponentSuggestion() throws Exception {
+        TestComponentF testComponentF = (TestComponentF) getComponent("component-f");
+        assertNull(testComponentF.getTestComponentA1());
+
+        testComponentF = (TestComponentF) getComponent("component-f", new Setting("testComponentA1", "component-a3"));
+        assertSame(getComponent("component-a3"), testComponentF.getTestComponentA1());
+
+        testComponentF = (TestComponentF) getComponent("component-f");
+        assertNull(testComponentF.getTestComponentA1());
+    }
+
     public static class TestComponentA1 extends AbstractUnifyComponent {
 
         @Override
@@ -227,6 +282,81 @@ public class UnifyContainerTest extends AbstractUnifyComponentTest {
         }
     }
 
+    public static class TestComponentE extends AbstractUnifyComponent {
+
+        @Configurable("component-a1")
+        private TestComponentA1 testComponentA1;
+
+        @Configurable(values = { "component-a1", "component-a3" })
+        private List<TestComponentA1> componentList;
+
+        @Configurable("5")
+        private int count;
+
+        @Configurable("Lagos")
+        private String city;
+
+        @Configurable(values = { "red", "green" })
+        private String[] colors;
+
+        @Configurable(values = { "red", "green" })
+        private List<String> colorList;
+
+        public TestComponentA1 getTestComponentA1() {
+            return testComponentA1;
+        }
+
+        public List<TestComponentA1> getComponentList() {
+            return componentList;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public String[] getColors() {
+            return colors;
+        }
+
+        public List<String> getColorList() {
+            return colorList;
+        }
+
+        @Override
+        protected void onInitialize() throws UnifyException {
+
+        }
+
+        @Override
+        protected void onTerminate() throws UnifyException {
+
+        }
+    }
+
+    public static class TestComponentF extends AbstractUnifyComponent {
+
+        @Configurable
+        private TestComponentA1 testComponentA1;
+
+        public TestComponentA1 getTestComponentA1() {
+            return testComponentA1;
+        }
+
+        @Override
+        protected void onInitialize() throws UnifyException {
+
+        }
+
+        @Override
+        protected void onTerminate() throws UnifyException {
+
+        }
+    }
+
     @Override
     protected void doAddSettingsAndDependencies() throws Exception {
         // Customise for tiger
@@ -238,6 +368,11 @@ public class UnifyContainerTest extends AbstractUnifyComponentTest {
         addDependency("component-b3", TestComponentB.class);// For custom override test
         addDependency("component-b3_tiger", TestComponentC.class);
         addDependency("component-d", TestComponentD.class);
+        addDependency("component-a3", TestComponentA1.class);
+        addDependency("component-e", TestComponentE.class, false);
+        addDependency("component-e2", TestComponentE.class, false, new Setting("count", "7"),
+                new Setting("city", "Abuja"));
+        addDependency("component-f", TestComponentF.class, false);
     }
 
     @Override
@@ -31,6 +31,11 @@ public class BatchFileReaderTestUtils {
 
     public static BatchFileReadConfig createSampleFixedLengthBatchConfig(ConstraintAction cAction, boolean trim,
             boolean formattedAmt) throws Exception {
+        return createSampleFixedLengthBatchConfig(cAction, trim, formattedAmt, 0);
+    }
+
+    public static BatchFileReadConfig createSampleFixedLengthBatchConfig(ConstraintAction cAction, boolean trim,
+            boolean formattedAmt, int chunkSize) throws Exception {
         BatchFileReadConfig.Builder bb =
                 BatchFileReadConfig.newBuilder().reader("fixedlength-batchfilereader").addFieldConfig("accountNo", 10, trim)
                         .addFieldConfig("beneficiary", 20, trim).addFieldConfig("currency", 3, trim);
@@ -43,6 +48,8 @@ public class BatchFileReaderTestUtils {
         if (cAction != null) {
             bb.onConstraint(cAction);
         }
+
+        bb.chunkSize(chunkSize);
         return bb.build();
     }
 
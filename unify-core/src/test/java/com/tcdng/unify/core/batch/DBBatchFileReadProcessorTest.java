@@ -17,6 +17,7 @@ package com.tcdng.unify.core.batch;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
 
 import java.util.List;
 import java.util.Map;
@@ -25,6 +26,7 @@ import org.junit.Test;
 
 import com.tcdng.unify.core.AbstractUnifyComponentTest;
 import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.database.Database;
 import com.tcdng.unify.core.database.DatabaseTransactionManager;
 import com.tcdng.unify.core.database.Query;
@@ -196,6 +198,106 @@ public class DBBatchFileReadProcessorTest extends AbstractUnifyComponentTest {
         assertEquals(Double.valueOf(400), batchItemRecord.getAmount());
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testChunkedMultipleBatchBatchProcessing() throws Exception {
+        // Setup parameters
+        BatchFileReadConfig batchFileReadConfig =
+                BatchFileReaderTestUtils.createSampleFixedLengthBatchConfig(null, true, false, 2);
+        byte[] file = IOUtils.createInMemoryTextFile("0123456789Abel Turner         NGN0000000020000",
+                "2300000001Big Bird            USD0000000000400", "6758495839Bamanga Tukur       NGN0000000052000",
+                "2300000002Elmo                USD0000000000100", "5500000001Ngozi Eze           NGN0000000003000");
+
+        // Perform batch file processing and do some assertions
+        BatchFileReadProcessor processor = (BatchFileReadProcessor) getComponent("test-batchfileprocessor-b");
+        Map<String, TestBatchRecordB> result =
+                (Map<String, TestBatchRecordB>) processor.process(batchFileReadConfig, file);
+        assertEquals(2, result.size());
+        TestBatchRecordB batchRecord = result.get("NGN");
+        assertNotNull(batchRecord);
+        assertEquals(Integer.valueOf(3), batchRecord.getItemCount());
+        assertEquals(Double.valueOf(20000 + 52000 + 3000), batchRecord.getTotalAmount());
+
+        batchRecord = result.get("USD");
+        assertNotNull(batchRecord);
+        assertEquals(Integer.valueOf(2), batchRecord.getItemCount());
+        assertEquals(Double.valueOf(400 + 100), batchRecord.getTotalAmount());
+
+        // Assert persistent records are created
+        TestBatchRecordB ngnBatchRecord = null;
+        TestBatchRecordB usdBatchRecord = null;
+        List<TestBatchItemRecordB> ngnBatchItemList = null;
+        List<TestBatchItemRecordB> usdBatchItemList = null;
+        tm.beginTransaction();
+        try {
+            ngnBatchRecord = db.find(Query.of(TestBatchRecordB.class).addEquals("currency", "NGN"));
+            usdBatchRecord = db.find(Query.of(TestBatchRecordB.class).addEquals("currency", "USD"));
+            ngnBatchItemList = db.findAll(Query.of(TestBatchItemRecordB.class)
+                    .addEquals("batchId", ngnBatchRecord.getId()).addOrder("accountNo"));
+            usdBatchItemList = db.findAll(Query.of(TestBatchItemRecordB.class)
+                    .addEquals("batchId", usdBatchRecord.getId()).addOrder("accountNo"));
+        } finally {
+            tm.endTransaction();
+        }
+
+        assertEquals(Integer.valueOf(3), ngnBatchRecord.getItemCount());
+        assertEquals(Double.valueOf(20000 + 52000 + 3000), ngnBatchRecord.getTotalAmount());
+        assertEquals(Integer.valueOf(2), usdBatchRecord.getItemCount());
+        assertEquals(Double.valueOf(400 + 100), usdBatchRecord.getTotalAmount());
+
+        assertEquals(3, ngnBatchItemList.size());
+        assertEquals("0123456789", ngnBatchItemList.get(0).getAccountNo());
+        assertEquals("5500000001", ngnBatchItemList.get(1).getAccountNo());
+        assertEquals("Ngozi Eze", ngnBatchItemList.get(1).getBeneficiary());
+        assertEquals("6758495839", ngnBatchItemList.get(2).getAccountNo());
+
+        assertEquals(2, usdBatchItemList.size());
+        assertEquals("2300000001", usdBatchItemList.get(0).getAccountNo());
+        assertEquals("2300000002", usdBatchItemList.get(1).getAccountNo());
+        assertEquals(Double.valueOf(100), usdBatchItemList.get(1).getAmount());
+    }
+
+    @Test
+    public void testChunkedBatchProcessingWithFaultyRecord() throws Exception {
+        // Setup parameters
+        BatchFileReadConfig batchFileReadConfig =
+                BatchFileReaderTestUtils.createSampleFixedLengthBatchConfig(null, true, false, 2);
+        byte[] file = IOUtils.createInMemoryTextFile("0123456789Abel Turner         NGN0000000001000",
+                "6758495839Bamanga Tukur       NGN0000000002000", "5500000001Ngozi Eze           NGN0000000003000",
+                "5500000002Tunde Bakare        NGN0000000004000", "5500000003Faulty Record       NGN0000000005000",
+                "5500000004Chidi Okafor        NGN0000000006000", "5500000005Kemi Adeyemi        NGN0000000007000");
+
+        // Perform batch file processing
+        BatchFileReadProcessor processor = (BatchFileReadProcessor) getComponent("test-batchfileprocessor-b");
+        try {
+            processor.process(batchFileReadConfig, file);
+            fail();
+        } catch (UnifyException e) {
+        }
+
+        // Assert committed items are kept and batch record matches them
+        TestBatchRecordB ngnBatchRecord = null;
+        List<TestBatchItemRecordB> ngnBatchItemList = null;
+        tm.beginTransaction();
+        try {
+            ngnBatchRecord = db.find(Query.of(TestBatchRecordB.class).addEquals("currency", "NGN"));
+            ngnBatchItemList = db.findAll(Query.of(TestBatchItemRecordB.class)
+                    .addEquals("batchId", ngnBatchRecord.getId()).addOrder("accountNo"));
+        } finally {
+            tm.endTransaction();
+        }
+
+        assertEquals(6, ngnBatchItemList.size());
+        assertEquals("0123456789", ngnBatchItemList.get(0).getAccountNo());
+        assertEquals("5500000001", ngnBatchItemList.get(1).getAccountNo());
+        assertEquals("5500000002", ngnBatchItemList.get(2).getAccountNo());
+        assertEquals("5500000004", ngnBatchItemList.get(3).getAccountNo());
+        assertEquals("5500000005", ngnBatchItemList.get(4).getAccountNo());
+        assertEquals("6758495839", ngnBatchItemList.get(5).getAccountNo());
+        assertEquals(Integer.valueOf(6), ngnBatchRecord.getItemCount());
+        assertEquals(Double.valueOf(1000 + 2000 + 3000 + 4000 + 6000 + 7000), ngnBatchRecord.getTotalAmount());
+    }
+
     @Override
     protected void onSetup() throws Exception {
         db = (Database) getComponent(ApplicationComponents.APPLICATION_DATABASE);
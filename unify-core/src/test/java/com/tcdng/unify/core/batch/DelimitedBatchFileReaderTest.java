@@ -192,6 +192,41 @@ public class DelimitedBatchFileReaderTest extends AbstractUnifyComponentTest {
         }
     }
 
+    @Test
+    public void testReadNextRecordWithEscapedQuotes() throws Exception {
+        BatchFileReader reader = null;
+        try {
+            BatchFileReadConfig batchFileConfig =
+                    BatchFileReaderTestUtils.createSampleDelimitedFileBatchConfig(null, true, false);
+            byte[] file = IOUtils.createInMemoryTextFile("0123456789,\"Abel \\\"Big\\\" Turner\",NGN,200.00",
+                    "6758495839,\"Bamanga \"\"Kano\"\", Tukur\",NGN,520.00");
+            reader = (BatchFileReader) getComponent("delimited-batchfilereader");
+            reader.open(batchFileConfig, file);
+
+            TestBatchItemRecordB batchItemRecord = new TestBatchItemRecordB();
+            ValueStore store = getValueStore(batchItemRecord);
+            boolean read = reader.readNextRecord(store);
+            assertTrue(read);
+            assertEquals("0123456789", batchItemRecord.getAccountNo());
+            assertEquals("Abel \"Big\" Turner", batchItemRecord.getBeneficiary());
+            assertEquals("NGN", batchItemRecord.getCurrency());
+            assertEquals(Double.valueOf(200.00), batchItemRecord.getAmount());
+
+            read = reader.readNextRecord(store);
+            assertTrue(read);
+            assertEquals("6758495839", batchItemRecord.getAccountNo());
+            assertEquals("Bamanga \"Kano\", Tukur", batchItemRecord.getBeneficiary());
+            assertEquals("NGN", batchItemRecord.getCurrency());
+            assertEquals(Double.valueOf(520.00), batchItemRecord.getAmount());
+
+            assertFalse(reader.readNextRecord(store));
+        } finally {
+            if (reader != null) {
+                reader.close();
+            }
+        }
+    }
+
     @Test
     public void testReadNextRecordWithFormatter() throws Exception {
         BatchFileReader reader = null;
@@ -53,6 +53,15 @@ public class TestBatchFileProcessorB extends AbstractDBBatchFileReadProcessor<Te
                 + ((TestBatchItemRecordB) batchItem).getAmount().doubleValue()));
     }
 
+    @Override
+    protected void preBatchItemCreate(BatchFileReadConfig batchFileReadConfig, TestBatchItemRecordB batchItem)
+            throws UnifyException {
+        // Record that fails on database write
+        if ("Faulty Record".equals(batchItem.getBeneficiary())) {
+            batchItem.setBeneficiary(null);
+        }
+    }
+
     @Override
     protected void postBatchCreate(BatchFileReadConfig batchFileReadConfig, TestBatchRecordB batch)
             throws UnifyException {
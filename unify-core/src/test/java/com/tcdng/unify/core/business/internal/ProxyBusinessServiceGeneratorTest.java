@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.business.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.Setting;
+import com.tcdng.unify.core.UnifyPluginInfo;
+import com.tcdng.unify.core.business.BusinessService;
+import com.tcdng.unify.core.business.MockServiceImpl;
+import com.tcdng.unify.core.util.IOUtils;
+
+/**
+ * Proxy business service generator tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class ProxyBusinessServiceGeneratorTest extends AbstractUnifyComponentTest {
+
+    private static final String TEST_PROXYGENERATOR = "test-proxybusinessservicegenerator";
+
+    private File cacheFolder;
+
+    @Test
+    public void testProxyClassCachingDisabledByDefault() throws Exception {
+        ProxyBusinessServiceGenerator generator = (ProxyBusinessServiceGenerator) getComponent(TEST_PROXYGENERATOR,
+                new Setting("proxyClassCachePath", cacheFolder.getAbsolutePath()));
+        assertNotNull(generateProxyClass(generator));
+        assertFalse(cacheFolder.exists());
+    }
+
+    @Test
+    public void testCachedProxyClassReused() throws Exception {
+        Class<? extends BusinessService> proxyClass = generateProxyClass(getCachingGenerator(null));
+        File cacheFile = getCacheFile();
+        byte[] cached = readFile(cacheFile);
+        assertTrue(cacheFile.setLastModified(100000L));
+
+        Class<? extends BusinessService> cachedProxyClass = generateProxyClass(getCachingGenerator(null));
+        assertEquals(proxyClass.getName(), cachedProxyClass.getName());
+        assertTrue(MockServiceImpl.class.isAssignableFrom(cachedProxyClass));
+        assertEquals(100000L, cacheFile.lastModified());
+        assertTrue(Arrays.equals(cached, readFile(cacheFile)));
+    }
+
+    @Test
+    public void testStaleProxyClassFileRemoved() throws Exception {
+        ProxyBusinessServiceGenerator generator = getCachingGenerator(null);
+        String className = generator.generateProxyBusinessServiceName(MockServiceImpl.class);
+        File staleFile = new File(cacheFolder, className + "-0123456789abcdef.bin");
+        writeFile(staleFile, new byte[] { 1, 2, 3 });
+
+        generateProxyClass(generator);
+        assertFalse(staleFile.exists());
+        assertNotNull(getCacheFile());
+    }
+
+    @Test
+    public void testCorruptProxyClassFileRecompiled() throws Exception {
+        generateProxyClass(getCachingGenerator(null));
+        File cacheFile = getCacheFile();
+        byte[] cached = readFile(cacheFile);
+        byte[] corrupt = cached.clone();
+        corrupt[corrupt.length / 2] ^= 0x01;
+        writeFile(cacheFile, corrupt);
+
+        Class<? extends BusinessService> proxyClass = generateProxyClass(getCachingGenerator(null));
+        assertTrue(MockServiceImpl.class.isAssignableFrom(proxyClass));
+        assertTrue(Arrays.equals(cached, readFile(cacheFile)));
+    }
+
+    @Test
+    public void testProxyClassFileSignedWithOtherKeyRecompiled() throws Exception {
+        generateProxyClass(getCachingGenerator("key-a"));
+        File cacheFile = getCacheFile();
+        assertTrue(cacheFile.setLastModified(100000L));
+
+        Class<? extends BusinessService> proxyClass = generateProxyClass(getCachingGenerator("key-b"));
+        assertTrue(MockServiceImpl.class.isAssignableFrom(proxyClass));
+        assertFalse(100000L == cacheFile.lastModified());
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        addDependency(TEST_PROXYGENERATOR, ProxyBusinessServiceGeneratorImpl.class, false);
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        cacheFolder = new File(System.getProperty("java.io.tmpdir"),
+                "unify-proxycache-test-" + System.nanoTime());
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+        File[] files = cacheFolder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+
+        cacheFolder.delete();
+    }
+
+    private ProxyBusinessServiceGenerator getCachingGenerator(String key) throws Exception {
+        if (key != null) {
+            return (ProxyBusinessServiceGenerator) getComponent(TEST_PROXYGENERATOR,
+                    new Setting("persistProxyClasses", Boolean.TRUE),
+                    new Setting("proxyClassCachePath", cacheFolder.getAbsolutePath()),
+                    new Setting("proxyClassCacheKey", key));
+        }
+
+        return (ProxyBusinessServiceGenerator) getComponent(TEST_PROXYGENERATOR,
+                new Setting("persistProxyClasses", Boolean.TRUE),
+                new Setting("proxyClassCachePath", cacheFolder.getAbsolutePath()));
+    }
+
+    private Class<? extends BusinessService> generateProxyClass(ProxyBusinessServiceGenerator generator)
+            throws Exception {
+        Map<String, List<UnifyPluginInfo>> pluginMap = Collections.emptyMap();
+        return generator.generateCompileLoadProxyBusinessServiceClass("mockservice", MockServiceImpl.class,
+                pluginMap);
+    }
+
+    private File getCacheFile() throws Exception {
+        File[] files = cacheFolder.listFiles();
+        File cacheFile = null;
+        for (File file : files) {
+            if (file.getName().endsWith(".bin")) {
+                assertEquals(null, cacheFile);
+                cacheFile = file;
+            }
+        }
+
+        assertNotNull(cacheFile);
+        return cacheFile;
+    }
+
+    private byte[] readFile(File file) throws Exception {
+        FileInputStream in = new FileInputStream(file);
+        try {
+            return IOUtils.readAll(in);
+        } finally {
+            IOUtils.close(in);
+        }
+    }
+
+    private void writeFile(File file, byte[] data) throws Exception {
+        file.getParentFile().mkdirs();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(data);
+        } finally {
+            IOUtils.close(out);
+        }
+    }
+}
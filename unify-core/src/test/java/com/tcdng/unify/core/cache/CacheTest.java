@@ -16,11 +16,21 @@
 package com.tcdng.unify.core.cache;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
 import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.Setting;
+import com.tcdng.unify.core.UnifyCoreErrorConstants;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.util.ThreadUtils;
 
 /**
  * Cache tests.
@@ -92,6 +102,128 @@ public class CacheTest extends AbstractUnifyComponentTest {
         assertEquals("24 Parklane, Apapa", cache.get("address"));
     }
 
+    @Test
+    public void testGetWithLoader() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        CacheLoader<String, String> loader = new CacheLoader<String, String>() {
+            @Override
+            public String load(String key) throws UnifyException {
+                loads.incrementAndGet();
+                return "24 Parklane, Apapa";
+            }
+        };
+
+        CacheStats startStats = cache.getStats();
+        assertEquals("24 Parklane, Apapa", cache.get("address", loader));
+        assertEquals("24 Parklane, Apapa", cache.get("address", loader));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.size());
+
+        CacheStats stats = cache.getStats();
+        assertEquals(1L, stats.getHitCount() - startStats.getHitCount());
+        assertEquals(1L, stats.getMissCount() - startStats.getMissCount());
+        assertEquals(1L, stats.getLoadCount() - startStats.getLoadCount());
+    }
+
+    @Test
+    public void testGetWithLoaderConcurrentMissesLoadOnce() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final CacheLoader<String, String> loader = new CacheLoader<String, String>() {
+            @Override
+            public String load(String key) throws UnifyException {
+                loads.incrementAndGet();
+                ThreadUtils.sleep(100);
+                return "+2348020948192";
+            }
+        };
+
+        final String[] results = new String[8];
+        Thread[] threads = new Thread[results.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        results[index] = cache.get("telephone", loader);
+                    } catch (UnifyException e) {
+                    }
+                }
+            };
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, loads.get());
+        for (String result : results) {
+            assertEquals("+2348020948192", result);
+        }
+    }
+
+    @Test
+    public void testGetWithLoaderRethrowsLoaderException() throws Exception {
+        final UnifyException loadException =
+                new UnifyException(UnifyCoreErrorConstants.RECORD_WITH_PK_NOT_FOUND, String.class, "branch");
+        CacheLoader<String, String> loader = new CacheLoader<String, String>() {
+            @Override
+            public String load(String key) throws UnifyException {
+                throw loadException;
+            }
+        };
+
+        try {
+            cache.get("branch", loader);
+            fail("Loader exception expected");
+        } catch (UnifyException e) {
+            assertSame(loadException, e);
+        }
+
+        assertNull(cache.get("branch"));
+    }
+
+    @Test
+    public void testBoundedCacheEvictsToMaximumSize() throws Exception {
+        Cache<String, String> boundedCache = getBoundedCache();
+        long startEvictions = boundedCache.getStats().getEvictionCount();
+        for (int i = 0; i < 300; i++) {
+            boundedCache.put("key" + i, "value" + i);
+        }
+
+        assertEquals(100, boundedCache.size());
+        assertEquals(200L, boundedCache.getStats().getEvictionCount() - startEvictions);
+    }
+
+    @Test
+    public void testBoundedCacheRetainsFrequentlyUsed() throws Exception {
+        Cache<String, String> boundedCache = getBoundedCache();
+        boundedCache.put("address", "24 Parklane, Apapa");
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(boundedCache.get("address"));
+        }
+
+        for (int i = 0; i < 500; i++) {
+            boundedCache.put("key" + i, "value" + i);
+        }
+
+        assertTrue(boundedCache.size() <= 100);
+        assertEquals("24 Parklane, Apapa", boundedCache.get("address"));
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        addDependency("mock-boundedcache", MockCache.class, new Setting("maxSize", "100"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Cache<String, String> getBoundedCache() throws Exception {
+        Cache<String, String> boundedCache = (Cache<String, String>) getComponent("mock-boundedcache");
+        boundedCache.clear();
+        return boundedCache;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     protected void onSetup() throws Exception {
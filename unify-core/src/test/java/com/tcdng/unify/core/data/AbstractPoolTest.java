@@ -0,0 +1,280 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.UnifyException;
+
+/**
+ * Abstract pool tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class AbstractPoolTest {
+
+    @Test
+    public void testBorrowAndReturnEqualObjects() throws Exception {
+        TestPool pool = new TestPool(1000, 0, 4, 0, 0);
+        pool.initialize();
+        String obj1 = pool.borrowObject();
+        String obj2 = pool.borrowObject();
+        assertEquals(obj1, obj2);
+        assertNotSame(obj1, obj2);
+        assertEquals(2, pool.borrowed());
+        assertEquals(2, pool.available());
+
+        assertTrue(pool.returnObject(obj1));
+        assertTrue(pool.returnObject(obj2));
+        assertFalse(pool.returnObject(obj2));
+        assertEquals(0, pool.borrowed());
+        assertEquals(2, pool.idle());
+        assertEquals(4, pool.available());
+        assertEquals(2, pool.getBorrowCount());
+        assertEquals(2, pool.getReturnCount());
+    }
+
+    @Test
+    public void testBorrowTimeout() throws Exception {
+        TestPool pool = new TestPool(10, 0, 1, 0, 0);
+        pool.initialize();
+        String obj = pool.borrowObject();
+        try {
+            pool.borrowObject();
+            fail();
+        } catch (UnifyException e) {
+            assertEquals(1, pool.getTimeoutCount());
+        } finally {
+            pool.returnObject(obj);
+        }
+    }
+
+    @Test
+    public void testWaitingCount() throws Exception {
+        final TestPool pool = new TestPool(5000, 0, 1, 0, 0);
+        pool.initialize();
+        String obj = pool.borrowObject();
+        assertEquals(0, pool.getWaitingCount());
+
+        final AtomicInteger borrowed = new AtomicInteger();
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    pool.returnObject(pool.borrowObject());
+                    borrowed.incrementAndGet();
+                } catch (Exception e) {
+                }
+            }
+        };
+        thread.start();
+
+        long expiryTime = System.currentTimeMillis() + 2000;
+        while (pool.getWaitingCount() == 0 && System.currentTimeMillis() < expiryTime) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(1, pool.getWaitingCount());
+        pool.returnObject(obj);
+        thread.join();
+        assertEquals(1, borrowed.get());
+        assertEquals(0, pool.getWaitingCount());
+    }
+
+    @Test
+    public void testMaxUseEviction() throws Exception {
+        TestPool pool = new TestPool(1000, 0, 2, 0, 2);
+        pool.initialize();
+        String obj = pool.borrowObject();
+        pool.returnObject(obj);
+        assertEquals(1, pool.idle());
+        obj = pool.borrowObject();
+        pool.returnObject(obj);
+        assertEquals(0, pool.idle());
+        assertEquals(1, pool.getEvictionCount());
+        assertEquals(1, pool.maxUseEvictions.get());
+        assertEquals(1, pool.destroyed.get());
+        assertEquals(2, pool.available());
+    }
+
+    @Test
+    public void testIdleTimeEviction() throws Exception {
+        TestPool pool = new TestPool(1000, 0, 4, 20, 0);
+        pool.initialize();
+        String obj1 = pool.borrowObject();
+        String obj2 = pool.borrowObject();
+        pool.returnObject(obj1);
+        pool.returnObject(obj2);
+        assertEquals(0, pool.evictIdleObjects());
+        Thread.sleep(40);
+        assertEquals(2, pool.evictIdleObjects());
+        assertEquals(0, pool.idle());
+        assertEquals(2, pool.idleEvictions.get());
+    }
+
+    @Test
+    public void testIdleTimeEvictionKeepsMinimumIdle() throws Exception {
+        TestPool pool = new TestPool(1000, 0, 4, 20, 0);
+        pool.initialize();
+        String obj1 = pool.borrowObject();
+        String obj2 = pool.borrowObject();
+        String obj3 = pool.borrowObject();
+        pool.returnObject(obj1);
+        pool.returnObject(obj2);
+        pool.returnObject(obj3);
+        Thread.sleep(40);
+        assertEquals(2, pool.evictIdleObjects(1));
+        assertEquals(1, pool.idle());
+        assertEquals(2, pool.idleEvictions.get());
+    }
+
+    @Test
+    public void testEvictIdleObject() throws Exception {
+        TestPool pool = new TestPool(1000, 0, 2, 0, 0);
+        pool.initialize();
+        String obj = pool.borrowObject();
+        assertFalse(pool.evictIdleObject(obj, PoolEvictionType.MAX_LIFETIME));
+        pool.returnObject(obj);
+        assertTrue(pool.evictIdleObject(obj, PoolEvictionType.MAX_LIFETIME));
+        assertFalse(pool.evictIdleObject(obj, PoolEvictionType.MAX_LIFETIME));
+        assertEquals(0, pool.idle());
+        assertEquals(1, pool.getEvictionCount());
+        assertEquals(1, pool.lifetimeEvictions.get());
+        assertEquals(1, pool.destroyed.get());
+    }
+
+    @Test
+    public void testAddIdleObject() throws Exception {
+        TestPool pool = new TestPool(1000, 0, 2, 0, 0);
+        pool.initialize();
+        assertTrue(pool.addIdleObject());
+        String obj1 = pool.borrowObject();
+        String obj2 = pool.borrowObject();
+        assertFalse(pool.addIdleObject());
+        pool.returnObject(obj1);
+        assertFalse(pool.addIdleObject());
+        pool.returnObject(obj2);
+        assertFalse(pool.addIdleObject());
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void testIdleTimeEvictionOnBorrow() throws Exception {
+        TestPool pool = new TestPool(1000, 0, 4, 20, 0);
+        pool.initialize();
+        String obj = pool.borrowObject();
+        pool.returnObject(obj);
+        Thread.sleep(40);
+        String newObj = pool.borrowObject();
+        assertNotSame(obj, newObj);
+        assertEquals(1, pool.idleEvictions.get());
+        pool.returnObject(newObj);
+    }
+
+    @Test
+    public void testConcurrentBorrowAndReturn() throws Exception {
+        final TestPool pool = new TestPool(5000, 0, 4, 0, 0);
+        pool.initialize();
+        final AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int j = 0; j < 500; j++) {
+                            String obj = pool.borrowObject();
+                            if (!pool.returnObject(obj)) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            };
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, failures.get());
+        assertEquals(0, pool.borrowed());
+        assertEquals(4, pool.available());
+        assertEquals(4000, pool.getBorrowCount());
+        assertEquals(4000, pool.getReturnCount());
+        assertTrue(pool.size() <= 4);
+    }
+
+    private static class TestPool extends AbstractPool<String> {
+
+        private AtomicInteger destroyed;
+
+        private AtomicInteger idleEvictions;
+
+        private AtomicInteger maxUseEvictions;
+
+        private AtomicInteger lifetimeEvictions;
+
+        public TestPool(long getTimeout, int minSize, int maxSize, long maxIdleTime, int maxUses) {
+            super(getTimeout, minSize, maxSize, false, maxIdleTime, maxUses);
+            destroyed = new AtomicInteger();
+            idleEvictions = new AtomicInteger();
+            maxUseEvictions = new AtomicInteger();
+            lifetimeEvictions = new AtomicInteger();
+        }
+
+        @Override
+        protected String createObject(Object... params) throws Exception {
+            return new String("pooled");
+        }
+
+        @Override
+        protected void onGetObject(String object, Object... params) throws Exception {
+
+        }
+
+        @Override
+        protected void destroyObject(String object) {
+            destroyed.incrementAndGet();
+        }
+
+        @Override
+        protected void onEvictObject(String object, PoolEvictionType type) {
+            if (PoolEvictionType.IDLE_TIME.equals(type)) {
+                idleEvictions.incrementAndGet();
+            } else if (PoolEvictionType.MAX_USE.equals(type)) {
+                maxUseEvictions.incrementAndGet();
+            } else {
+                lifetimeEvictions.incrementAndGet();
+            }
+        }
+    }
+}
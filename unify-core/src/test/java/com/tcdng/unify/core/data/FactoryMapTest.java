@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Factory map tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class FactoryMapTest {
+
+    @Test
+    public void testConcurrentGetSameKeyCreatesOnce() throws Exception {
+        final AtomicInteger creates = new AtomicInteger();
+        final FactoryMap<String, Object> map = new FactoryMap<String, Object>() {
+            @Override
+            protected Object create(String key, Object... params) throws Exception {
+                creates.incrementAndGet();
+                Thread.sleep(100);
+                return new Object();
+            }
+        };
+
+        final Object[] results = new Object[6];
+        Thread[] threads = new Thread[results.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        results[index] = map.get("slow");
+                    } catch (Exception e) {
+                    }
+                }
+            };
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, creates.get());
+        for (Object result : results) {
+            assertSame(results[0], result);
+        }
+    }
+
+    @Test
+    public void testFailedCreateWithWaitingThreads() throws Exception {
+        final AtomicInteger creates = new AtomicInteger();
+        final AtomicInteger activeCreates = new AtomicInteger();
+        final AtomicInteger maxActiveCreates = new AtomicInteger();
+        final FactoryMap<String, Object> map = new FactoryMap<String, Object>() {
+            @Override
+            protected Object create(String key, Object... params) throws Exception {
+                int active = activeCreates.incrementAndGet();
+                try {
+                    if (active > maxActiveCreates.get()) {
+                        maxActiveCreates.set(active);
+                    }
+                    Thread.sleep(50);
+                    if (creates.incrementAndGet() == 1) {
+                        throw new IllegalStateException("First create fails");
+                    }
+                    return new Object();
+                } finally {
+                    activeCreates.decrementAndGet();
+                }
+            }
+        };
+
+        final AtomicInteger failures = new AtomicInteger();
+        final Object[] results = new Object[8];
+        Thread[] threads = new Thread[results.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        results[index] = map.get("failing");
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            };
+            threads[i].start();
+            // Keep threads arriving while first create fails and second runs
+            Thread.sleep(15);
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, maxActiveCreates.get());
+        assertEquals(2, creates.get());
+        assertEquals(1, failures.get());
+        Object value = map.get("failing");
+        for (Object result : results) {
+            if (result != null) {
+                assertSame(value, result);
+            }
+        }
+    }
+
+    @Test
+    public void testSlowCreateDoesNotBlockOtherKeys() throws Exception {
+        final CountDownLatch slowStarted = new CountDownLatch(1);
+        final CountDownLatch slowRelease = new CountDownLatch(1);
+        final FactoryMap<String, String> map = new FactoryMap<String, String>() {
+            @Override
+            protected String create(String key, Object... params) throws Exception {
+                if ("slow".equals(key)) {
+                    slowStarted.countDown();
+                    slowRelease.await(10, TimeUnit.SECONDS);
+                }
+                return key.toUpperCase();
+            }
+        };
+
+        Thread slowThread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    map.get("slow");
+                } catch (Exception e) {
+                }
+            }
+        };
+        slowThread.start();
+
+        try {
+            assertTrue(slowStarted.await(10, TimeUnit.SECONDS));
+            assertEquals("FAST", map.get("fast"));
+            assertEquals(1, map.size());
+        } finally {
+            slowRelease.countDown();
+            slowThread.join();
+        }
+
+        assertEquals("SLOW", map.get("slow"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testReentrantCreate() throws Exception {
+        final FactoryMap<Integer, Integer> map = new FactoryMap<Integer, Integer>() {
+            @Override
+            protected Integer create(Integer key, Object... params) throws Exception {
+                if (key <= 1) {
+                    return 1;
+                }
+                return key * get(key - 1);
+            }
+        };
+
+        assertEquals(Integer.valueOf(120), map.get(5));
+        assertEquals(5, map.size());
+    }
+}
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -31,8 +32,11 @@ import java.util.Map;
 import org.junit.Test;
 
 import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.UnifyCoreErrorConstants;
 import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.constant.DataType;
 import com.tcdng.unify.core.constant.Gender;
+import com.tcdng.unify.core.util.IOUtils;
 
 /**
  * Packable document tests.
@@ -391,6 +395,102 @@ public class PackableDocTest extends AbstractUnifyComponentTest {
         assertNull(unpackedDocument.getResrvExt()); // Reserved extension should be transient
     }
 
+    @Test
+    public void testUnpackDocumentWithEvolvedConfig() throws Exception {
+        Date birthDt = new Date();
+        PackableDoc pDoc = new PackableDoc(custDocConfig, false);
+        pDoc.write("name", "Latsman");
+        pDoc.write("birthDt", birthDt);
+        pDoc.write("id", 12);
+        pDoc.write("address", new Address("24 Parklane", "Apapa Lagos"));
+        byte[] packedDocument = pDoc.pack();
+
+        PackableDocConfig addressDocConfig = PackableDocConfig.newBuilder("evolvedAddressConfig")
+                .addFieldConfig("line2", DataType.STRING).addFieldConfig("zipCode", DataType.STRING)
+                .addFieldConfig("line1", DataType.STRING).build();
+        PackableDocConfig evolvedDocConfig = PackableDocConfig.newBuilder("evolvedCustomerConfig")
+                .addFieldConfig("id", DataType.STRING).addComplexFieldConfig("address", addressDocConfig)
+                .addFieldConfig("birthDt", DataType.DATE).addFieldConfig("rating", DataType.INTEGER).build();
+        PackableDoc unpackedDocument = PackableDoc.unpack(evolvedDocConfig, packedDocument, false);
+        assertNotNull(unpackedDocument);
+        assertEquals(4, unpackedDocument.getFieldCount());
+        assertEquals("12", unpackedDocument.read("id"));
+        assertEquals(birthDt, unpackedDocument.read("birthDt"));
+        assertNull(unpackedDocument.read("rating"));
+        assertEquals("24 Parklane", unpackedDocument.read("address.line1"));
+        assertEquals("Apapa Lagos", unpackedDocument.read("address.line2"));
+        assertNull(unpackedDocument.read("address.zipCode"));
+    }
+
+    @Test(expected = UnifyException.class)
+    public void testUnpackInvalidDocument() throws Exception {
+        PackableDoc.unpack(custDocConfig, new byte[] { 1, 2, 3 });
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testUnpackSerializedDocument() throws Exception {
+        Date birthDt = new Date();
+        Address address = new Address("24 Parklane", "Apapa Lagos");
+        Customer customer = new Customer("Latsman", birthDt, BigDecimal.valueOf(20.0), 12, address, Gender.FEMALE);
+        List<String> modeList = Arrays.asList("A", "B", "C");
+        customer.setModeList(modeList);
+
+        PackableDoc pDoc = new PackableDoc(custDocConfig, false);
+        pDoc.setId(Long.valueOf(1024L));
+        pDoc.readFrom(customer);
+        byte[] serializedDocument = IOUtils.streamToBytes(pDoc); // Format written before compact codec
+        assertFalse(serializedDocument[0] == 'P' && serializedDocument[1] == 'D');
+
+        PackableDoc unpackedDocument = PackableDoc.unpack(custDocConfig, serializedDocument, false);
+        assertNotNull(unpackedDocument);
+        assertEquals(Long.valueOf(1024L), unpackedDocument.getId());
+        assertEquals(7, unpackedDocument.getFieldCount());
+        assertEquals("Latsman", unpackedDocument.read("name"));
+        assertEquals(BigDecimal.valueOf(20.0), unpackedDocument.read("balance"));
+        assertEquals(birthDt, unpackedDocument.read("birthDt"));
+        assertEquals(Long.valueOf(12L), unpackedDocument.read("id"));
+        assertEquals("24 Parklane", unpackedDocument.read("address.line1"));
+        assertEquals("Apapa Lagos", unpackedDocument.read("address.line2"));
+        assertEquals(modeList, (List<String>) unpackedDocument.read("modeList"));
+        assertEquals(Gender.FEMALE, unpackedDocument.read(Gender.class, "gender"));
+
+        // Repacked in compact format
+        PackableDoc repackedDocument = PackableDoc.unpack(custDocConfig, unpackedDocument.pack(), false);
+        assertEquals("24 Parklane", repackedDocument.read("address.line1"));
+        assertEquals(modeList, (List<String>) repackedDocument.read("modeList"));
+    }
+
+    @Test
+    public void testUnpackDocumentWithMalformedLength() throws Exception {
+        PackableDoc pDoc = new PackableDoc(custDocConfig, false);
+        pDoc.write("balance", new BigDecimal("1.23"));
+        byte[] packedDocument = pDoc.pack();
+
+        // Replace length of unscaled value {0x7b} with Integer.MAX_VALUE
+        int lenIndex = -1;
+        for (int i = packedDocument.length - 2; i >= 0; i--) {
+            if (packedDocument[i] == 1 && packedDocument[i + 1] == 0x7b) {
+                lenIndex = i;
+                break;
+            }
+        }
+        assertTrue(lenIndex > 0);
+
+        byte[] malformedDocument = new byte[packedDocument.length + 4];
+        System.arraycopy(packedDocument, 0, malformedDocument, 0, lenIndex);
+        System.arraycopy(new byte[] { (byte) 0xff, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0x07 }, 0,
+                malformedDocument, lenIndex, 5);
+        System.arraycopy(packedDocument, lenIndex + 1, malformedDocument, lenIndex + 5,
+                packedDocument.length - lenIndex - 1);
+        try {
+            PackableDoc.unpack(custDocConfig, malformedDocument);
+            fail("Malformed length should be rejected");
+        } catch (UnifyException e) {
+            assertEquals(UnifyCoreErrorConstants.PACKABLEDOC_INVALID_PACKED_FORMAT, e.getErrorCode());
+        }
+    }
+
     @Test
     public void testExtractAuditNew() throws Exception {
         Date birthDt = new Date();
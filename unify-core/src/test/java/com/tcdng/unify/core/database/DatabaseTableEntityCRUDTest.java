@@ -41,6 +41,7 @@ import com.tcdng.unify.core.criterion.Restriction;
 import com.tcdng.unify.core.criterion.Update;
 import com.tcdng.unify.core.data.Aggregate;
 import com.tcdng.unify.core.data.AggregateType;
+import com.tcdng.unify.core.database.sql.SqlStatementExecutor;
 import com.tcdng.unify.core.util.CalendarUtils;
 
 /**
@@ -735,6 +736,26 @@ public class DatabaseTableEntityCRUDTest extends AbstractUnifyComponentTest {
         }
     }
 
+    @Test
+    public void testFindRecordByIdUsesPreparedStatementCache() throws Exception {
+        SqlStatementExecutor sqlStatementExecutor = (SqlStatementExecutor) getComponent(
+                ApplicationComponents.APPLICATION_SQLSTATEMENTEXECUTOR);
+        tm.beginTransaction();
+        try {
+            Fruit apple = new Fruit("apple", "red", 20.00);
+            Long id = (Long) db.create(apple);
+            db.find(Fruit.class, id);
+            long hits = sqlStatementExecutor.getPreparedStatementCacheHits();
+            long misses = sqlStatementExecutor.getPreparedStatementCacheMisses();
+            assertEquals(apple, db.find(Fruit.class, id));
+            assertEquals(apple, db.find(Fruit.class, id));
+            assertTrue(sqlStatementExecutor.getPreparedStatementCacheHits() >= hits + 2);
+            assertEquals(misses, sqlStatementExecutor.getPreparedStatementCacheMisses());
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
     @Test(expected = UnifyException.class)
     public void testFindRecordByIdWithInvalidId() throws Exception {
         tm.beginTransaction();
@@ -1081,6 +1102,62 @@ public class DatabaseTableEntityCRUDTest extends AbstractUnifyComponentTest {
         }
     }
 
+    @Test
+    public void testFindAllRecordsWithRecordHandler() throws Exception {
+        tm.beginTransaction();
+        try {
+            Fruit apple = new Fruit("apple", "red", 20.00);
+            db.create(apple);
+            db.create(new Fruit("pineapple", "cyan", 60.00));
+            db.create(new Fruit("banana", "yellow", 45.00));
+            Fruit orange = new Fruit("orange", "orange", 15.00);
+            db.create(orange);
+            final List<Fruit> testFruitList = new ArrayList<Fruit>();
+            int count = db.findAll(
+                    new FruitQuery().addLessThanEqual("price", 20.00).addOrder(OrderType.DESCENDING, "price"),
+                    new RecordHandler<Fruit>() {
+                        @Override
+                        public boolean handle(Fruit record) throws UnifyException {
+                            testFruitList.add(record);
+                            return true;
+                        }
+                    });
+            assertEquals(2, count);
+            assertEquals(2, testFruitList.size());
+            assertEquals(apple, testFruitList.get(0));
+            assertEquals(orange, testFruitList.get(1));
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    @Test
+    public void testFindAllRecordsWithRecordHandlerStop() throws Exception {
+        tm.beginTransaction();
+        try {
+            db.create(new Fruit("apple", "red", 20.00));
+            db.create(new Fruit("pineapple", "cyan", 60.00));
+            Fruit banana = new Fruit("banana", "yellow", 45.00);
+            db.create(banana);
+            db.create(new Fruit("orange", "orange", 15.00));
+            final List<Fruit> testFruitList = new ArrayList<Fruit>();
+            int count = db.findAll(new FruitQuery().ignoreEmptyCriteria(true).addOrder("name"),
+                    new RecordHandler<Fruit>() {
+                        @Override
+                        public boolean handle(Fruit record) throws UnifyException {
+                            testFruitList.add(record);
+                            return testFruitList.size() < 2;
+                        }
+                    });
+            assertEquals(2, count);
+            assertEquals(2, testFruitList.size());
+            assertEquals("apple", testFruitList.get(0).getName());
+            assertEquals(banana, testFruitList.get(1));
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
     @Test
     public void testFindAllRecordsWithSelect() throws Exception {
         tm.beginTransaction();
@@ -1171,6 +1248,76 @@ public class DatabaseTableEntityCRUDTest extends AbstractUnifyComponentTest {
         }
     }
 
+    @Test
+    public void testFindAllRecordsWithAmongstSameShape() throws Exception {
+        tm.beginTransaction();
+        try {
+            Fruit apple = new Fruit("apple", "red", 20.00);
+            db.create(apple);
+            Fruit pineapple = new Fruit("pineapple", "cyan", 60.00);
+            db.create(pineapple);
+            Fruit banana = new Fruit("banana", "yellow", 45.00);
+            db.create(banana);
+            Fruit orange = new Fruit("orange", "orange", 15.00);
+            db.create(orange);
+            List<Fruit> testFruitList = db.findAll(
+                    new FruitQuery().addAmongst("name", Arrays.asList("apple", "banana", "orange")).addOrder("price"));
+            assertEquals(3, testFruitList.size());
+            assertEquals(orange, testFruitList.get(0));
+            assertEquals(apple, testFruitList.get(1));
+            assertEquals(banana, testFruitList.get(2));
+
+            testFruitList = db.findAll(new FruitQuery()
+                    .addAmongst("name", Arrays.asList("apple", "banana", "orange", "pineapple")).addOrder("price"));
+            assertEquals(4, testFruitList.size());
+            assertEquals(pineapple, testFruitList.get(3));
+
+            testFruitList = db.findAll(
+                    new FruitQuery().addAmongst("name", Arrays.asList("pineapple", "banana", "kiwi")).addOrder("price"));
+            assertEquals(2, testFruitList.size());
+            assertEquals(banana, testFruitList.get(0));
+            assertEquals(pineapple, testFruitList.get(1));
+
+            assertEquals(1,
+                    db.countAll(new FruitQuery().addNotAmongst("name", Arrays.asList("apple", "banana", "orange"))));
+            assertEquals(2, db.countAll(new FruitQuery().addNotAmongst("name", Arrays.asList("apple", "banana"))));
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    @Test
+    public void testFindAllRecordsWithSameQueryShape() throws Exception {
+        tm.beginTransaction();
+        try {
+            Fruit apple = new Fruit("apple", "red", 20.00);
+            db.create(apple);
+            Fruit banana = new Fruit("banana", "yellow", 45.00);
+            db.create(banana);
+            Fruit orange = new Fruit("orange", "orange", 15.00);
+            db.create(orange);
+            List<Fruit> testFruitList = db.findAll(new FruitQuery().addLessThanEqual("price", 20.00).addOrder("name"));
+            assertEquals(2, testFruitList.size());
+            assertEquals(apple, testFruitList.get(0));
+            assertEquals(orange, testFruitList.get(1));
+
+            testFruitList = db.findAll(new FruitQuery().addLessThanEqual("price", 50.00).addOrder("name"));
+            assertEquals(3, testFruitList.size());
+            assertEquals(banana, testFruitList.get(1));
+
+            testFruitList = db.findAll(new FruitQuery().addLessThanEqual("price", 50.00).addOrder("price"));
+            assertEquals(3, testFruitList.size());
+            assertEquals(orange, testFruitList.get(0));
+            assertEquals(banana, testFruitList.get(2));
+
+            assertEquals(orange, db.find(new FruitQuery().addEquals("name", "orange")));
+            assertEquals(apple, db.find(new FruitQuery().addEquals("name", "apple")));
+            assertEquals(banana.getId(), db.list(new FruitQuery().addEquals("name", "banana")).getId());
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
     @Test(expected = UnifyException.class)
     public void testFindAllRecordsWithAmongstNone() throws Exception {
         tm.beginTransaction();
@@ -1988,6 +2135,42 @@ public class DatabaseTableEntityCRUDTest extends AbstractUnifyComponentTest {
         }
     }
 
+    @Test
+    public void testUpdateAllRecordsById() throws Exception {
+        tm.beginTransaction();
+        try {
+            Fruit apple = new Fruit("apple", "red", 20.00);
+            Fruit pear = new Fruit("pear", "green", 30.00);
+            Fruit banana = new Fruit("banana", "yellow", 45.00);
+            db.createAll(Arrays.asList(apple, pear, banana));
+            apple.setColor("green");
+            pear.setPrice(35.00);
+            banana.setColor("brown");
+            assertEquals(3, db.updateAllById(Arrays.asList(apple, pear, banana)));
+
+            assertEquals(apple, db.find(Fruit.class, apple.getId()));
+            assertEquals(pear, db.find(Fruit.class, pear.getId()));
+            assertEquals(banana, db.find(Fruit.class, banana.getId()));
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    @Test(expected = UnifyException.class)
+    public void testUpdateAllRecordsByIdWithInvalidId() throws Exception {
+        tm.beginTransaction();
+        try {
+            Fruit apple = new Fruit("apple", "red", 20.00);
+            Fruit pear = new Fruit("pear", "green", 30.00);
+            db.createAll(Arrays.asList(apple, pear));
+            pear.setId(10L); // Change ID
+            pear.setPrice(35.00);
+            db.updateAllById(Arrays.asList(apple, pear));
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
     @Test
     public void testUpdateRecordByIdVersion() throws Exception {
         tm.beginTransaction();
@@ -2667,6 +2850,128 @@ public class DatabaseTableEntityCRUDTest extends AbstractUnifyComponentTest {
         }
     }
 
+    @Test
+    public void testCreateAllRecords() throws Exception {
+        tm.beginTransaction();
+        try {
+            Fruit apple = new Fruit("apple", "red", 20.00);
+            Fruit pear = new Fruit("pear", "green", 30.00);
+            Fruit banana = new Fruit("banana", "yellow", 45.00);
+            db.createAll(Arrays.asList(apple, pear, banana));
+            assertNotNull(apple.getId());
+            assertNotNull(pear.getId());
+            assertNotNull(banana.getId());
+
+            assertEquals(apple, db.find(Fruit.class, apple.getId()));
+            assertEquals(pear, db.find(Fruit.class, pear.getId()));
+            assertEquals(banana, db.find(Fruit.class, banana.getId()));
+            assertEquals(3, db.countAll(new FruitQuery().ignoreEmptyCriteria(true)));
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    @Test
+    public void testCreateAllRecordsWithDeepChildList() throws Exception {
+        tm.beginTransaction();
+        try {
+            Report weeklyReport = new Report("weeklyReport", "Weekly Report");
+            ReportParameter rpStart = new ReportParameter("startDate");
+            ReportParameter rpEnd = new ReportParameter("endDate");
+            weeklyReport.addParameter(rpStart).addParameter(rpEnd);
+            ReportParameterOptions rpo10 = new ReportParameterOptions("upperLimit");
+            ReportParameterOptions rpo11 = new ReportParameterOptions("lowerLimit");
+            rpStart.addOption(rpo10).addOption(rpo11);
+
+            Report salaryReport = new Report("salaryReport", "Salary Report");
+            ReportParameter rpStaff = new ReportParameter("staffNo");
+            salaryReport.addParameter(rpStaff);
+            ReportParameterOptions rpo20 = new ReportParameterOptions("title");
+            rpStaff.addOption(rpo20);
+
+            db.createAll(Arrays.asList(weeklyReport, salaryReport));
+            assertNotNull(weeklyReport.getId());
+            assertNotNull(salaryReport.getId());
+            assertEquals(weeklyReport.getId(), rpStart.getReportId());
+            assertEquals(weeklyReport.getId(), rpEnd.getReportId());
+            assertEquals(salaryReport.getId(), rpStaff.getReportId());
+            assertEquals(rpStart.getId(), rpo10.getReportParameterId());
+            assertEquals(rpStart.getId(), rpo11.getReportParameterId());
+            assertEquals(rpStaff.getId(), rpo20.getReportParameterId());
+
+            assertEquals(2, db.countAll(new ReportParameterQuery().reportId(weeklyReport.getId())));
+            assertEquals(1, db.countAll(new ReportParameterQuery().reportId(salaryReport.getId())));
+            assertEquals(2, db.countAll(new ReportParameterOptionsQuery().reportParameterId(rpStart.getId())));
+            assertEquals(0, db.countAll(new ReportParameterOptionsQuery().reportParameterId(rpEnd.getId())));
+            assertEquals(1, db.countAll(new ReportParameterOptionsQuery().reportParameterId(rpStaff.getId())));
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    @Test
+    public void testUpdateAllRecordsByIdWithChildList() throws Exception {
+        tm.beginTransaction();
+        try {
+            Report weeklyReport = new Report("weeklyReport", "Weekly Report");
+            weeklyReport.addParameter(new ReportParameter("startDate")).addParameter(new ReportParameter("endDate"));
+            Report salaryReport = new Report("salaryReport", "Salary Report");
+            salaryReport.addParameter(new ReportParameter("staffNo"));
+            db.createAll(Arrays.asList(weeklyReport, salaryReport));
+
+            weeklyReport = db.find(Report.class, weeklyReport.getId());
+            weeklyReport.setParameters(null);
+            weeklyReport.addParameter(new ReportParameter("Age").addOption(new ReportParameterOptions("One")));
+            salaryReport = db.find(Report.class, salaryReport.getId());
+            salaryReport.setDescription("New Salary Report");
+            assertEquals(2, db.updateAllById(Arrays.asList(weeklyReport, salaryReport)));
+
+            Report foundReport = db.find(Report.class, weeklyReport.getId());
+            assertEquals(1, foundReport.getParameters().size());
+            ReportParameter rParam = foundReport.getParameters().get(0);
+            assertEquals("Age", rParam.getName());
+            assertEquals(1, rParam.getOptions().size());
+            assertEquals("One", rParam.getOptions().get(0).getName());
+
+            foundReport = db.find(Report.class, salaryReport.getId());
+            assertEquals("New Salary Report", foundReport.getDescription());
+            assertEquals(1, foundReport.getParameters().size());
+            assertEquals("staffNo", foundReport.getParameters().get(0).getName());
+            assertEquals(2, db.countAll(new ReportParameterQuery().ignoreEmptyCriteria(true)));
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    @Test
+    public void testUpdateAllRecordsByIdWithChildListInChunks() throws Exception {
+        tm.beginTransaction();
+        try {
+            // More parents than fit in one child deletion chunk
+            List<Report> reportList = new ArrayList<Report>();
+            for (int i = 0; i < 510; i++) {
+                Report report = new Report("report" + i, "Report " + i);
+                report.addParameter(new ReportParameter("oldParam"));
+                reportList.add(report);
+            }
+            db.createAll(reportList);
+            assertEquals(510, db.countAll(new ReportParameterQuery().ignoreEmptyCriteria(true)));
+
+            for (Report report : reportList) {
+                report.setParameters(null);
+                report.addParameter(new ReportParameter("newParam"));
+            }
+            assertEquals(510, db.updateAllById(reportList));
+
+            assertEquals(510, db.countAll(new ReportParameterQuery().ignoreEmptyCriteria(true)));
+            Report foundReport = db.find(Report.class, reportList.get(509).getId());
+            assertEquals(1, foundReport.getParameters().size());
+            assertEquals("newParam", foundReport.getParameters().get(0).getName());
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
     @Test
     public void testCreateMultipleRecordsWithChildList() throws Exception {
         tm.beginTransaction();
@@ -3140,6 +3445,120 @@ public class DatabaseTableEntityCRUDTest extends AbstractUnifyComponentTest {
         }
     }
 
+    @Test
+    public void testFindAllWithChildrenRecordsWithChild() throws Exception {
+        tm.beginTransaction();
+        try {
+            Report report = new Report("weeklyReport", "Weekly Report");
+            report.setReportForm(new ReportForm("blueEditor"));
+            db.create(report);
+            db.create(new Report("monthlyReport", "Monthly Report"));
+
+            List<Report> list = db.findAllWithChildren(new ReportQuery().ignoreEmptyCriteria(true).addOrder("name"));
+            assertNotNull(list);
+            assertEquals(2, list.size());
+            assertEquals("monthlyReport", list.get(0).getName());
+            assertNull(list.get(0).getReportForm());
+            assertEquals("weeklyReport", list.get(1).getName());
+            assertNotNull(list.get(1).getReportForm());
+            assertEquals("blueEditor", list.get(1).getReportForm().getEditor());
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    @Test
+    public void testFindAllWithChildrenRecordsWithDeepChildList() throws Exception {
+        tm.beginTransaction();
+        try {
+            Report report = new Report("weeklyReport", "Weekly Report");
+            ReportParameter rpStart = new ReportParameter("startDate", BooleanType.FALSE);
+            rpStart.addOption(new ReportParameterOptions("upperLimit"))
+                    .addOption(new ReportParameterOptions("lowerLimit"));
+            report.addParameter(rpStart).addParameter(new ReportParameter("endDate"));
+            db.create(report);
+
+            report = new Report("dailyReport", "Daily Report");
+            ReportParameter rpDay = new ReportParameter("day", BooleanType.TRUE);
+            rpDay.addOption(new ReportParameterOptions("weekday"));
+            report.addParameter(rpDay);
+            db.create(report);
+
+            db.create(new Report("monthlyReport", "Monthly Report"));
+
+            List<Report> list = db.findAllWithChildren(new ReportQuery().ignoreEmptyCriteria(true).addOrder("name"));
+            assertNotNull(list);
+            assertEquals(3, list.size());
+
+            Report foundReport = list.get(0);
+            assertEquals("dailyReport", foundReport.getName());
+            List<ReportParameter> parameters = foundReport.getParameters();
+            assertNotNull(parameters);
+            assertEquals(1, parameters.size());
+            assertEquals("day", parameters.get(0).getName());
+            assertEquals(1, parameters.get(0).getOptions().size());
+            assertEquals("weekday", parameters.get(0).getOptions().get(0).getName());
+
+            foundReport = list.get(1);
+            assertEquals("monthlyReport", foundReport.getName());
+            assertNotNull(foundReport.getParameters());
+            assertTrue(foundReport.getParameters().isEmpty());
+
+            foundReport = list.get(2);
+            assertEquals("weeklyReport", foundReport.getName());
+            parameters = foundReport.getParameters();
+            assertNotNull(parameters);
+            assertEquals(2, parameters.size());
+            assertEquals("startDate", parameters.get(0).getName());
+            assertEquals(2, parameters.get(0).getOptions().size());
+            assertEquals("upperLimit", parameters.get(0).getOptions().get(0).getName());
+            assertEquals("lowerLimit", parameters.get(0).getOptions().get(1).getName());
+            assertEquals("endDate", parameters.get(1).getName());
+            assertTrue(parameters.get(1).getOptions().isEmpty());
+            assertNull(parameters.get(0).getReportDesc());
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    @Test
+    public void testListAllWithChildrenRecordsWithDeepChildList() throws Exception {
+        tm.beginTransaction();
+        try {
+            Report report = new Report("weeklyReport", "Weekly Report");
+            ReportParameter rpStart = new ReportParameter("startDate", BooleanType.FALSE);
+            rpStart.addOption(new ReportParameterOptions("upperLimit"))
+                    .addOption(new ReportParameterOptions("lowerLimit"));
+            report.addParameter(rpStart).addParameter(new ReportParameter("endDate"));
+            db.create(report);
+
+            report = new Report("dailyReport", "Daily Report");
+            report.addParameter(new ReportParameter("day", BooleanType.TRUE));
+            db.create(report);
+
+            List<Report> list = db.listAllWithChildren(new ReportQuery().ignoreEmptyCriteria(true).addOrder("name"));
+            assertNotNull(list);
+            assertEquals(2, list.size());
+
+            Report foundReport = list.get(0);
+            assertEquals("dailyReport", foundReport.getName());
+            assertEquals(1, foundReport.getParameters().size());
+            assertEquals("day", foundReport.getParameters().get(0).getName());
+            assertEquals("Daily Report", foundReport.getParameters().get(0).getReportDesc());
+
+            foundReport = list.get(1);
+            assertEquals("weeklyReport", foundReport.getName());
+            List<ReportParameter> parameters = foundReport.getParameters();
+            assertEquals(2, parameters.size());
+            assertEquals("startDate", parameters.get(0).getName());
+            assertEquals("Weekly Report", parameters.get(0).getReportDesc());
+            assertEquals(2, parameters.get(0).getOptions().size());
+            assertEquals("endDate", parameters.get(1).getName());
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
     @Test
     public void testListLeanRecordByIdWithChild() throws Exception {
         tm.beginTransaction();
@@ -15,6 +15,7 @@
  */
 package com.tcdng.unify.core.database;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -181,6 +182,63 @@ public class DatabaseTransactionManagerTest extends AbstractUnifyComponentTest {
         }
     }
 
+    @Test
+    public void testCompletionHookAfterCommit() throws Exception {
+        TestCompletionHook hook = new TestCompletionHook();
+        tm.beginTransaction();
+        try {
+            tm.beginTransaction(TransactionAttribute.REQUIRED);
+            try {
+                tm.addCompletionHook(hook);
+            } finally {
+                tm.endTransaction();
+            }
+            assertEquals(0, hook.commits);
+        } finally {
+            tm.endTransaction();
+        }
+
+        assertEquals(1, hook.commits);
+        assertEquals(0, hook.rollbacks);
+    }
+
+    @Test
+    public void testCompletionHookAfterRollback() throws Exception {
+        TestCompletionHook hook = new TestCompletionHook();
+        tm.beginTransaction();
+        try {
+            tm.addCompletionHook(hook);
+            tm.setRollback();
+        } finally {
+            tm.endTransaction();
+        }
+
+        assertEquals(0, hook.commits);
+        assertEquals(1, hook.rollbacks);
+    }
+
+    @Test
+    public void testCompletionHookExecutedOnce() throws Exception {
+        TestCompletionHook hook = new TestCompletionHook();
+        tm.beginTransaction();
+        try {
+            tm.addCompletionHook(hook);
+            tm.commit();
+            assertEquals(1, hook.commits);
+        } finally {
+            tm.endTransaction();
+        }
+
+        assertEquals(1, hook.commits);
+    }
+
+    @Test
+    public void testCompletionHookWithoutTransaction() throws Exception {
+        TestCompletionHook hook = new TestCompletionHook();
+        tm.addCompletionHook(hook);
+        assertEquals(1, hook.commits);
+    }
+
     @Override
     protected void onSetup() throws Exception {
         tm = (DatabaseTransactionManager) getComponent(ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);;
@@ -190,4 +248,21 @@ public class DatabaseTransactionManagerTest extends AbstractUnifyComponentTest {
     protected void onTearDown() throws Exception {
 
     }
+
+    private static class TestCompletionHook implements TransactionCompletionHook {
+
+        private int commits;
+
+        private int rollbacks;
+
+        @Override
+        public void afterCommit() {
+            commits++;
+        }
+
+        @Override
+        public void afterRollback() {
+            rollbacks++;
+        }
+    }
 }
@@ -33,6 +33,7 @@ import com.tcdng.unify.core.AbstractUnifyComponentTest;
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.UnifyException;
 import com.tcdng.unify.core.database.sql.SqlColumnInfo;
+import com.tcdng.unify.core.database.sql.SqlConnectionPoolStats;
 import com.tcdng.unify.core.database.sql.SqlDataSource;
 import com.tcdng.unify.core.database.sql.SqlTableInfo;
 import com.tcdng.unify.core.database.sql.SqlTableType;
@@ -132,6 +133,56 @@ public class SqlDataSourceTest extends AbstractUnifyComponentTest {
         assertTrue(sqlDataSource.testConnection());
     }
 
+    @Test
+    public void testConnectionPoolStats() throws Exception {
+        // Background tasks share the pool, so counters are checked as bounds only
+        SqlConnectionPoolStats stats = sqlDataSource.getConnectionPoolStats();
+        assertNotNull(stats);
+        long totalBorrows = stats.getTotalBorrows();
+        Connection connection = sqlDataSource.getConnection();
+        try {
+            stats = sqlDataSource.getConnectionPoolStats();
+            assertTrue(stats.getActiveConnections() >= 1);
+            assertTrue(stats.getTotalBorrows() >= totalBorrows + 1);
+            assertTrue(stats.getWaitingThreads() >= 0);
+        } finally {
+            sqlDataSource.restoreConnection(connection);
+        }
+
+        stats = sqlDataSource.getConnectionPoolStats();
+        assertTrue(stats.getIdleConnections() > 0);
+
+        long[] histogram = stats.getBorrowWaitHistogram();
+        assertEquals(SqlConnectionPoolStats.BORROW_WAIT_BUCKET_BOUNDS.length + 1, histogram.length);
+        long histogramTotal = 0;
+        for (long count : histogram) {
+            histogramTotal += count;
+        }
+        assertTrue(histogramTotal > 0);
+        assertTrue(histogramTotal <= stats.getTotalBorrows());
+    }
+
+    @Test
+    public void testMaintainConnectionPool() throws Exception {
+        List<Connection> connectionList = new ArrayList<Connection>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                connectionList.add(sqlDataSource.getConnection());
+            }
+        } finally {
+            for (Connection connection : connectionList) {
+                sqlDataSource.restoreConnection(connection);
+            }
+        }
+
+        sqlDataSource.maintainConnectionPool();
+        SqlConnectionPoolStats stats = sqlDataSource.getConnectionPoolStats();
+        assertTrue(stats.getIdleConnections() >= 1);
+        for (Connection connection : connectionList) {
+            assertFalse(connection.isClosed());
+        }
+    }
+
     @Test
     public void testGetSchemaList() throws Exception {
         List<String> schemaList = sqlDataSource.getSchemaList();
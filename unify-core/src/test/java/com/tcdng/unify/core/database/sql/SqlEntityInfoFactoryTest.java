@@ -19,8 +19,11 @@ package com.tcdng.unify.core.database.sql;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import org.junit.Test;
@@ -28,11 +31,15 @@ import org.junit.Test;
 import com.tcdng.unify.core.AbstractUnifyComponentTest;
 import com.tcdng.unify.core.ApplicationComponents;
 import com.tcdng.unify.core.annotation.CallableDataType;
+import com.tcdng.unify.core.business.LoanDisbursement;
 import com.tcdng.unify.core.database.CallableProcA;
 import com.tcdng.unify.core.database.CallableProcB;
 import com.tcdng.unify.core.database.CallableProcC;
 import com.tcdng.unify.core.database.CallableProcD;
 import com.tcdng.unify.core.database.CallableResultA;
+import com.tcdng.unify.core.database.Fruit;
+import com.tcdng.unify.core.database.StaticReference;
+import com.tcdng.unify.core.list.TestColorType;
 
 /**
  * SQL entity info factory tests.
@@ -274,6 +281,94 @@ public class SqlEntityInfoFactoryTest extends AbstractUnifyComponentTest {
         assertNotNull(sqlCallableFieldInfo.getSetter());
     }
 
+    @Test
+    public void testGetSqlEntityInfoWithGeneratedAccessor() throws Exception {
+        SqlEntityInfo sqlEntityInfo = getSqlEntityInfoFactory().getSqlEntityInfo(Fruit.class);
+        assertNotNull(sqlEntityInfo);
+        assertTrue(sqlEntityInfo.isAccessor());
+
+        Object record = sqlEntityInfo.newInstance();
+        assertNotNull(record);
+        assertEquals(Fruit.class, record.getClass());
+
+        for (SqlFieldInfo sqlFieldInfo : sqlEntityInfo.getListFieldInfos()) {
+            assertTrue(sqlFieldInfo.isAccessor());
+        }
+
+        Fruit fruit = new Fruit("apple", "red", 20.00, 25);
+        SqlFieldInfo nameFieldInfo = sqlEntityInfo.getFieldInfo("name");
+        SqlFieldInfo priceFieldInfo = sqlEntityInfo.getFieldInfo("price");
+        assertEquals("apple", nameFieldInfo.getValue(fruit));
+        assertEquals(Double.valueOf(20.00), priceFieldInfo.getValue(fruit));
+
+        nameFieldInfo.setValue(fruit, "pineapple");
+        priceFieldInfo.setValue(fruit, Double.valueOf(45.50));
+        assertEquals("pineapple", fruit.getName());
+        assertEquals(Double.valueOf(45.50), fruit.getPrice());
+
+        priceFieldInfo.setValue(fruit, null);
+        assertNull(fruit.getPrice());
+    }
+
+    @Test
+    public void testGetSqlEntityInfoWithGeneratedAccessorPrimitiveField() throws Exception {
+        SqlEntityInfo sqlEntityInfo = getSqlEntityInfoFactory().getSqlEntityInfo(LoanDisbursement.class);
+        assertTrue(sqlEntityInfo.isAccessor());
+
+        LoanDisbursement loanDisbursement = (LoanDisbursement) sqlEntityInfo.newInstance();
+        SqlFieldInfo countFieldInfo = sqlEntityInfo.getFieldInfo("disbursementCount");
+        countFieldInfo.setValue(loanDisbursement, Integer.valueOf(3));
+        assertEquals(3, loanDisbursement.getDisbursementCount());
+        assertEquals(Integer.valueOf(3), countFieldInfo.getValue(loanDisbursement));
+
+        countFieldInfo.setValue(loanDisbursement, Long.valueOf(5L));
+        assertEquals(5, loanDisbursement.getDisbursementCount());
+
+        countFieldInfo.setValue(loanDisbursement, Short.valueOf((short) 7));
+        assertEquals(7, loanDisbursement.getDisbursementCount());
+
+        countFieldInfo.setValue(loanDisbursement, null);
+        assertEquals(0, loanDisbursement.getDisbursementCount());
+
+        countFieldInfo.setValue(loanDisbursement, BigDecimal.valueOf(9));
+        assertEquals(9, loanDisbursement.getDisbursementCount());
+    }
+
+    @Test
+    public void testGetSqlEntityInfoWithGeneratedAccessorPrimitiveFieldNoNarrowing() throws Exception {
+        SqlEntityInfo sqlEntityInfo = getSqlEntityInfoFactory().getSqlEntityInfo(LoanDisbursement.class);
+        assertTrue(sqlEntityInfo.isAccessor());
+
+        LoanDisbursement loanDisbursement = (LoanDisbursement) sqlEntityInfo.newInstance();
+        SqlFieldInfo countFieldInfo = sqlEntityInfo.getFieldInfo("disbursementCount");
+        countFieldInfo.setValue(loanDisbursement, Integer.valueOf(3));
+        Object[] invalidValues = { Long.valueOf(Integer.MAX_VALUE + 1L), Long.valueOf(Integer.MIN_VALUE - 1L),
+                new BigDecimal("2.5"), Double.valueOf(1e20), "4" };
+        for (Object value : invalidValues) {
+            try {
+                countFieldInfo.setValue(loanDisbursement, value);
+                fail("Value " + value + " should be rejected");
+            } catch (IllegalArgumentException e) {
+            }
+
+            assertEquals(3, loanDisbursement.getDisbursementCount());
+        }
+    }
+
+    @Test
+    public void testGetSqlEntityInfoWithGeneratedAccessorEnumConst() throws Exception {
+        SqlEntityInfo sqlEntityInfo = getSqlEntityInfoFactory().getSqlEntityInfo(TestColorType.class);
+        assertTrue(sqlEntityInfo.isAccessor());
+
+        StaticReference staticReference = (StaticReference) sqlEntityInfo.newInstance();
+        assertNotNull(staticReference);
+
+        SqlFieldInfo codeFieldInfo = sqlEntityInfo.getFieldInfo("code");
+        codeFieldInfo.setValue(staticReference, "RED");
+        assertEquals("RED", staticReference.getCode());
+        assertEquals("RED", codeFieldInfo.getValue(staticReference));
+    }
+
     @Override
     protected void onSetup() throws Exception {
 
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.database.sql;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.database.sql.data.policy.IntegerPolicy;
+import com.tcdng.unify.core.util.SqlUtils;
+
+/**
+ * SQL statement executor tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class SqlStatementExecutorTest extends AbstractUnifyComponentTest {
+
+    private static final String TEST_URL = "jdbc:hsqldb:mem:statementcachetest";
+
+    @Test
+    public void testClosedConnectionStatementCacheDiscarded() throws Exception {
+        SqlStatementExecutorImpl sqlStatementExecutor = (SqlStatementExecutorImpl) getComponent(
+                ApplicationComponents.APPLICATION_SQLSTATEMENTEXECUTOR);
+        Connection connectionA = DriverManager.getConnection(TEST_URL, "sa", "");
+        Connection connectionB = DriverManager.getConnection(TEST_URL, "sa", "");
+        try {
+            sqlStatementExecutor.executeUpdate(connectionA, new SqlStatement(null, SqlStatementType.UPDATE,
+                    "CREATE TABLE IF NOT EXISTS STMT_CACHE_TEST (ID INTEGER)"));
+            sqlStatementExecutor.executeUpdate(connectionA,
+                    new SqlStatement(null, SqlStatementType.DELETE, "DELETE FROM STMT_CACHE_TEST"));
+            assertTrue(sqlStatementExecutor.isPreparedStatementCached(connectionA));
+
+            // Close outside of any pool
+            connectionA.close();
+            assertTrue(sqlStatementExecutor.isPreparedStatementCached(connectionA));
+
+            sqlStatementExecutor.executeUpdate(connectionB,
+                    new SqlStatement(null, SqlStatementType.DELETE, "DELETE FROM STMT_CACHE_TEST"));
+            assertTrue(sqlStatementExecutor.isPreparedStatementCached(connectionB));
+            assertFalse(sqlStatementExecutor.isPreparedStatementCached(connectionA));
+        } finally {
+            SqlUtils.close(connectionA);
+            sqlStatementExecutor.invalidatePreparedStatementCache(connectionB);
+            SqlUtils.close(connectionB);
+        }
+    }
+
+    @Test
+    public void testFailedBatchNotRepeatedByNextBatch() throws Exception {
+        SqlStatementExecutorImpl sqlStatementExecutor = (SqlStatementExecutorImpl) getComponent(
+                ApplicationComponents.APPLICATION_SQLSTATEMENTEXECUTOR);
+        Connection connection = DriverManager.getConnection(TEST_URL, "sa", "");
+        try {
+            sqlStatementExecutor.executeUpdate(connection, new SqlStatement(null, SqlStatementType.UPDATE,
+                    "CREATE TABLE IF NOT EXISTS STMT_BATCH_TEST (ID INTEGER)"));
+            sqlStatementExecutor.executeUpdate(connection,
+                    new SqlStatement(null, SqlStatementType.DELETE, "DELETE FROM STMT_BATCH_TEST"));
+
+            // Second entry fails on parameter binding after first entry is added
+            try {
+                sqlStatementExecutor.executeBatchUpdate(connection,
+                        Arrays.asList(createInsert(Integer.valueOf(1)), createInsert("two")));
+                fail();
+            } catch (UnifyException e) {
+            }
+
+            int[] result = sqlStatementExecutor.executeBatchUpdate(connection,
+                    Arrays.asList(createInsert(Integer.valueOf(3))));
+            assertEquals(1, result.length);
+            assertEquals(Integer.valueOf(3),
+                    sqlStatementExecutor.executeSingleObjectResultQuery(connection, Integer.class,
+                            new IntegerPolicy(), "SELECT SUM(ID) FROM STMT_BATCH_TEST", true));
+            assertEquals(Integer.valueOf(1),
+                    sqlStatementExecutor.executeSingleObjectResultQuery(connection, Integer.class,
+                            new IntegerPolicy(), "SELECT COUNT(*) FROM STMT_BATCH_TEST", true));
+        } finally {
+            sqlStatementExecutor.invalidatePreparedStatementCache(connection);
+            SqlUtils.close(connection);
+        }
+    }
+
+    private SqlStatement createInsert(Object id) {
+        List<SqlParameter> parameterList = new ArrayList<SqlParameter>();
+        parameterList.add(new SqlParameter(new IntegerPolicy(), id));
+        return new SqlStatement(null, SqlStatementType.CREATE, "INSERT INTO STMT_BATCH_TEST (ID) VALUES (?)",
+                parameterList);
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+
+    }
+}
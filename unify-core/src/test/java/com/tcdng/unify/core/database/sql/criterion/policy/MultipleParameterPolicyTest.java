@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.database.sql.criterion.policy;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.database.sql.SqlDataSourceDialect;
+
+/**
+ * Multiple parameter policy tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class MultipleParameterPolicyTest {
+
+    @Test
+    public void testValueBucketSizeWithQueryShapeCache() throws Exception {
+        AmongstPolicy policy = new AmongstPolicy(newDialect(true, 0));
+        assertEquals(1, policy.getValueBucketSize(1));
+        assertEquals(4, policy.getValueBucketSize(3));
+        assertEquals(4, policy.getValueBucketSize(4));
+        assertEquals(1024, policy.getValueBucketSize(513));
+    }
+
+    @Test
+    public void testValueBucketSizeWithoutQueryShapeCache() throws Exception {
+        AmongstPolicy policy = new AmongstPolicy(newDialect(false, 0));
+        assertEquals(1, policy.getValueBucketSize(1));
+        assertEquals(3, policy.getValueBucketSize(3));
+        assertEquals(513, policy.getValueBucketSize(513));
+    }
+
+    @Test
+    public void testValueBucketSizeCappedAtStatementParameterLimit() throws Exception {
+        AmongstPolicy policy = new AmongstPolicy(newDialect(true, 2100));
+        assertEquals(2048, policy.getValueBucketSize(1500));
+        assertEquals(2100, policy.getValueBucketSize(2049));
+        assertEquals(2100, policy.getValueBucketSize(2100));
+        assertEquals(2500, policy.getValueBucketSize(2500));
+    }
+
+    @Test
+    public void testValueBucketSizeCappedAfterBoundParameters() throws Exception {
+        AmongstPolicy policy = new AmongstPolicy(newDialect(true, 2100));
+        assertEquals(1024, policy.getValueBucketSize(1000, 100));
+        assertEquals(2000, policy.getValueBucketSize(1500, 100));
+        assertEquals(2000, policy.getValueBucketSize(2000, 100));
+        assertEquals(2050, policy.getValueBucketSize(2050, 100));
+        assertEquals(4, policy.getValueBucketSize(3, 2096));
+        assertEquals(3, policy.getValueBucketSize(3, 2098));
+    }
+
+    private SqlDataSourceDialect newDialect(final boolean queryShapeCache, final int maxStatementParameters) {
+        return (SqlDataSourceDialect) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { SqlDataSourceDialect.class }, new InvocationHandler() {
+
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if ("isQueryShapeCache".equals(method.getName())) {
+                            return queryShapeCache;
+                        }
+
+                        if ("getMaxStatementParameters".equals(method.getName())) {
+                            return maxStatementParameters;
+                        }
+
+                        if ("getMaxClauseValues".equals(method.getName())) {
+                            return 0;
+                        }
+
+                        return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.Setting;
+import com.tcdng.unify.core.criterion.Update;
+import com.tcdng.unify.core.data.Listable;
+import com.tcdng.unify.core.database.Database;
+import com.tcdng.unify.core.database.DatabaseTransactionManager;
+import com.tcdng.unify.core.database.Fruit;
+import com.tcdng.unify.core.database.Query;
+
+/**
+ * Database search provider tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class AbstractDBSearchProviderTest extends AbstractUnifyComponentTest {
+
+    private Database db;
+
+    private DatabaseTransactionManager tm;
+
+    @Test
+    public void testSearchIndexBuiltInBackground() throws Exception {
+        createFruits();
+        AbstractDBSearchProvider searchProvider =
+                (AbstractDBSearchProvider) getComponent("test-fruitsearchprovider");
+        searchProvider.search("apple");
+        waitForSearchIndex(searchProvider);
+
+        List<? extends Listable> result = searchProvider.search("apple");
+        assertEquals(2, result.size());
+        assertEquals("apple", ((Fruit) result.get(0)).getName());
+        assertEquals("pineapple", ((Fruit) result.get(1)).getName());
+    }
+
+    @Test
+    public void testSearchIndexRebuiltOnCommittedChange() throws Exception {
+        Long bananaId = createFruits();
+        AbstractDBSearchProvider searchProvider =
+                (AbstractDBSearchProvider) getComponent("test-fruitsearchprovider");
+        searchProvider.search("apple");
+        waitForSearchIndex(searchProvider);
+
+        // Update of existing record must be picked up
+        tm.beginTransaction();
+        try {
+            db.updateAll(Query.of(Fruit.class).addEquals("id", bananaId), new Update().add("name", "apple banana"));
+        } finally {
+            tm.endTransaction();
+        }
+
+        assertFalse(searchProvider.isSearchIndexCurrent());
+        assertEquals(2, searchProvider.search("apple").size());
+
+        waitForSearchIndex(searchProvider);
+        assertEquals(3, searchProvider.search("apple").size());
+    }
+
+    @Test
+    public void testIndexedSearchLoadsRecordsByKey() throws Exception {
+        createFruits();
+        AbstractDBSearchProvider searchProvider =
+                (AbstractDBSearchProvider) getComponent("test-fruitsearchprovider");
+        searchProvider.search("apple");
+        waitForSearchIndex(searchProvider);
+
+        // Records deleted since index was built are skipped
+        tm.beginTransaction();
+        try {
+            db.deleteAll(Query.of(Fruit.class).addEquals("name", "apple"));
+        } finally {
+            tm.endTransaction();
+        }
+
+        List<? extends Listable> result = searchProvider.search("apple");
+        assertEquals(1, result.size());
+        Fruit fruit = (Fruit) result.get(0);
+        assertEquals("pineapple", fruit.getName());
+        assertEquals("yellow", fruit.getColor());
+        assertEquals(60.00, fruit.getPrice(), 0.0);
+    }
+
+    @Test
+    public void testFilteredProviderNotIndexed() throws Exception {
+        createFruits();
+        AbstractDBSearchProvider searchProvider =
+                (AbstractDBSearchProvider) getComponent("test-colorfruitsearchprovider");
+        List<? extends Listable> result = searchProvider.search("apple");
+        assertEquals(1, result.size());
+        assertEquals("apple", ((Fruit) result.get(0)).getName());
+        assertFalse(searchProvider.isListening(Fruit.class));
+        assertFalse(searchProvider.isSearchIndexCurrent());
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        addDependency("test-fruitsearchprovider", TestFruitSearchProvider.class, true,
+                new Setting("searchIndexed", "true"), new Setting("searchIndexRefreshPeriod", "0"));
+        addDependency("test-colorfruitsearchprovider", TestColorFruitSearchProvider.class, true,
+                new Setting("searchIndexed", "true"));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        db = (Database) getComponent(ApplicationComponents.APPLICATION_DATABASE);
+        tm = (DatabaseTransactionManager) getComponent(ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void onTearDown() throws Exception {
+        deleteAll(Fruit.class);
+    }
+
+    private Long createFruits() throws Exception {
+        tm.beginTransaction();
+        try {
+            db.create(new Fruit("apple", "red", 20.00));
+            Long bananaId = (Long) db.create(new Fruit("banana", "yellow", 45.00));
+            db.create(new Fruit("pineapple", "yellow", 60.00));
+            return bananaId;
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    private void waitForSearchIndex(AbstractDBSearchProvider searchProvider) throws Exception {
+        searchProvider.refreshSearchIndex(null);
+        long expiryTime = System.currentTimeMillis() + 5000;
+        while (!searchProvider.isSearchIndexCurrent() && System.currentTimeMillis() < expiryTime) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(searchProvider.isSearchIndexCurrent());
+    }
+}
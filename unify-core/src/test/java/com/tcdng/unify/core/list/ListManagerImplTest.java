@@ -16,15 +16,23 @@
 package com.tcdng.unify.core.list;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
 import com.tcdng.unify.core.AbstractUnifyComponentTest;
 import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.data.ListData;
 import com.tcdng.unify.core.data.Listable;
+import com.tcdng.unify.core.database.Database;
+import com.tcdng.unify.core.database.DatabaseTransactionManager;
+import com.tcdng.unify.core.database.Fruit;
 
 /**
  * Default list manager implementation tests.
@@ -58,13 +66,136 @@ public class ListManagerImplTest extends AbstractUnifyComponentTest {
         assertEquals("Purple", list.get(2).getListDescription());
     }
 
+    @Test
+    public void testGetCachedListKeyDescription() throws Exception {
+        ListManager listManager = (ListManager) getComponent(ApplicationComponents.APPLICATION_LISTMANAGER);
+        TestFruitListCommand listCommand = (TestFruitListCommand) getComponent("test-fruitlist");
+        listManager.invalidateList("test-fruitlist");
+        int executionCount = listCommand.getExecutionCount();
+
+        assertEquals("Apple", listManager.getListKeyDescription(Locale.ENGLISH, "apple", "test-fruitlist"));
+        assertEquals("Banana", listManager.getListKeyDescription(Locale.ENGLISH, "banana", "test-fruitlist"));
+        assertNull(listManager.getListKeyDescription(Locale.ENGLISH, "cherry", "test-fruitlist"));
+        assertEquals(2, listManager.getList(Locale.ENGLISH, "test-fruitlist").size());
+        assertEquals(executionCount + 1, listCommand.getExecutionCount());
+
+        listManager.getList(Locale.GERMAN, "test-fruitlist");
+        assertEquals(executionCount + 2, listCommand.getExecutionCount());
+    }
+
+    @Test
+    public void testInvalidateCachedList() throws Exception {
+        ListManager listManager = (ListManager) getComponent(ApplicationComponents.APPLICATION_LISTMANAGER);
+        TestFruitListCommand listCommand = (TestFruitListCommand) getComponent("test-fruitlist");
+        listManager.getList(Locale.ENGLISH, "test-fruitlist");
+        int executionCount = listCommand.getExecutionCount();
+
+        listManager.invalidateList("test-fruitlist");
+        listManager.getList(Locale.ENGLISH, "test-fruitlist");
+        listManager.getList(Locale.ENGLISH, "test-fruitlist");
+        assertEquals(executionCount + 1, listCommand.getExecutionCount());
+
+        // Committed entity write should invalidate list
+        Database db = (Database) getComponent(ApplicationComponents.APPLICATION_DATABASE);
+        DatabaseTransactionManager tm =
+                (DatabaseTransactionManager) getComponent(ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        tm.beginTransaction();
+        try {
+            db.create(new Fruit("cherry", "red", 12.00));
+            db.create(new Fruit("grape", "purple", 8.00));
+            listManager.getList(Locale.ENGLISH, "test-fruitlist");
+            assertEquals(executionCount + 1, listCommand.getExecutionCount());
+        } finally {
+            tm.endTransaction();
+        }
+
+        listManager.getList(Locale.ENGLISH, "test-fruitlist");
+        listManager.getList(Locale.ENGLISH, "test-fruitlist");
+        assertEquals(executionCount + 2, listCommand.getExecutionCount());
+    }
+
+    @Test
+    public void testRolledBackWriteKeepsCachedList() throws Exception {
+        ListManager listManager = (ListManager) getComponent(ApplicationComponents.APPLICATION_LISTMANAGER);
+        TestFruitListCommand listCommand = (TestFruitListCommand) getComponent("test-fruitlist");
+        listManager.getList(Locale.ENGLISH, "test-fruitlist");
+        int executionCount = listCommand.getExecutionCount();
+
+        Database db = (Database) getComponent(ApplicationComponents.APPLICATION_DATABASE);
+        DatabaseTransactionManager tm =
+                (DatabaseTransactionManager) getComponent(ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        tm.beginTransaction();
+        try {
+            db.create(new Fruit("cherry", "red", 12.00));
+            tm.setRollback();
+        } finally {
+            tm.endTransaction();
+        }
+
+        listManager.getList(Locale.ENGLISH, "test-fruitlist");
+        assertEquals(executionCount, listCommand.getExecutionCount());
+    }
+
+    @Test
+    public void testConcurrentCachedListLoadedOnce() throws Exception {
+        final ListManager listManager = (ListManager) getComponent(ApplicationComponents.APPLICATION_LISTMANAGER);
+        TestFruitListCommand listCommand = (TestFruitListCommand) getComponent("test-fruitlist");
+        listManager.invalidateList("test-fruitlist");
+        int executionCount = listCommand.getExecutionCount();
+
+        final AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<Thread>();
+        listCommand.setExecutionDelay(100);
+        try {
+            for (int i = 0; i < 8; i++) {
+                Thread thread = new Thread() {
+                    @Override
+                    public void run() {
+                        try {
+                            if (listManager.getList(Locale.ENGLISH, "test-fruitlist").size() != 2) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                };
+                threads.add(thread);
+                thread.start();
+            }
+
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } finally {
+            listCommand.setExecutionDelay(0);
+        }
+
+        assertEquals(0, failures.get());
+        assertEquals(executionCount + 1, listCommand.getExecutionCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCachedListReturnedAsCopy() throws Exception {
+        ListManager listManager = (ListManager) getComponent(ApplicationComponents.APPLICATION_LISTMANAGER);
+        List<Listable> list = (List<Listable>) listManager.getList(Locale.ENGLISH, "test-fruitlist");
+        list.add(new ListData("cherry", "Cherry"));
+        Map<String, String> listMap = listManager.getListMap(Locale.ENGLISH, "test-fruitlist");
+        listMap.remove("apple");
+
+        assertEquals(2, listManager.getList(Locale.ENGLISH, "test-fruitlist").size());
+        assertEquals("Apple", listManager.getListKeyDescription(Locale.ENGLISH, "apple", "test-fruitlist"));
+    }
+
     @Override
     protected void onSetup() throws Exception {
 
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     protected void onTearDown() throws Exception {
-
+        deleteAll(Fruit.class);
     }
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.list;
+
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.database.Fruit;
+import com.tcdng.unify.core.database.Query;
+
+/**
+ * Test fruit search provider with query filters.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class TestColorFruitSearchProvider extends AbstractDBSearchProvider {
+
+    public TestColorFruitSearchProvider() {
+        super(Fruit.class, "id", "name");
+    }
+
+    @Override
+    protected void addQueryFilters(Query<?> query) throws UnifyException {
+        query.addEquals("color", "red");
+    }
+}
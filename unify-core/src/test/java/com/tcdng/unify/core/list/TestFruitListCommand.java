@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.list;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.CachedList;
+import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.data.ListData;
+import com.tcdng.unify.core.data.Listable;
+import com.tcdng.unify.core.database.Fruit;
+import com.tcdng.unify.core.util.ThreadUtils;
+
+/**
+ * Test cached fruit list command.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+@Component("test-fruitlist")
+@CachedList(entities = Fruit.class)
+public class TestFruitListCommand extends AbstractZeroParamsListCommand {
+
+    private AtomicInteger executionCount = new AtomicInteger();
+
+    private volatile long executionDelay;
+
+    @Override
+    public List<? extends Listable> execute(Locale locale, ZeroParams param) throws UnifyException {
+        executionCount.incrementAndGet();
+        if (executionDelay > 0) {
+            ThreadUtils.sleep(executionDelay);
+        }
+
+        return Arrays.asList(new ListData("apple", "Apple"), new ListData("banana", "Banana"));
+    }
+
+    public int getExecutionCount() {
+        return executionCount.get();
+    }
+
+    public void setExecutionDelay(long executionDelay) {
+        this.executionDelay = executionDelay;
+    }
+}
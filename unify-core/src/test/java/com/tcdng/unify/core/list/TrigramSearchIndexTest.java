@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Trigram search index tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class TrigramSearchIndexTest {
+
+    @Test
+    public void testSearchEmptyIndex() throws Exception {
+        TrigramSearchIndex<String> index = new TrigramSearchIndex<String>();
+        assertEquals(0, index.size());
+        assertTrue(index.search("apple", 10).isEmpty());
+        assertTrue(index.search("ap", 10).isEmpty());
+    }
+
+    @Test
+    public void testSearchSubstring() throws Exception {
+        TrigramSearchIndex<String> index = createIndex();
+        assertEquals(Arrays.asList("apple", "Apple Juice", "Green Apple", "Snapple", "Pineapple"),
+                index.search("apple", 10));
+        assertEquals(Arrays.asList("Apple Juice"), index.search("APPLE J", 10));
+        assertTrue(index.search("xyz", 10).isEmpty());
+        assertTrue(index.search("applex", 10).isEmpty());
+    }
+
+    @Test
+    public void testSearchShortFilter() throws Exception {
+        TrigramSearchIndex<String> index = createIndex();
+        List<String> result = index.search("gr", 10);
+        assertEquals(Arrays.asList("Grape", "Green Apple"), result);
+    }
+
+    @Test
+    public void testSearchLimit() throws Exception {
+        TrigramSearchIndex<String> index = createIndex();
+        assertEquals(Arrays.asList("apple", "Apple Juice"), index.search("apple", 2));
+        assertTrue(index.search("apple", 0).isEmpty());
+    }
+
+    @Test
+    public void testSearchAfterAdd() throws Exception {
+        TrigramSearchIndex<String> index = createIndex();
+        index.add("Apple Pie", "Apple Pie");
+        assertEquals(8, index.size());
+        assertEquals(Arrays.asList("Apple Pie"), index.search("pie", 10));
+    }
+
+    private TrigramSearchIndex<String> createIndex() {
+        TrigramSearchIndex<String> index = new TrigramSearchIndex<String>();
+        for (String description : Arrays.asList("Apple Juice", "Pineapple", "apple", "Green Apple", "Grape",
+                "Snapple", "Banana")) {
+            index.add(description, description);
+        }
+
+        return index;
+    }
+}
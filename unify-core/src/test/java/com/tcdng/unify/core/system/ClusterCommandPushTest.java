@@ -0,0 +1,149 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.system;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.UnifyCorePropertyConstants;
+import com.tcdng.unify.core.database.Database;
+import com.tcdng.unify.core.database.DatabaseTransactionManager;
+import com.tcdng.unify.core.system.entities.ClusterCommand;
+import com.tcdng.unify.core.system.entities.ClusterCommandParam;
+import com.tcdng.unify.core.system.entities.ClusterNode;
+import com.tcdng.unify.core.system.entities.ClusterNodeQuery;
+import com.tcdng.unify.core.util.NameUtils;
+
+/**
+ * Cluster command push tests. Commands are pushed over loopback to the command
+ * interface of this node standing in for another node.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class ClusterCommandPushTest extends AbstractUnifyComponentTest {
+
+    private static final String RECEIVE_COMMAND =
+            NameUtils.getComponentMethodName("test-clustercommandreceiver", "receive");
+
+    private static int commandPort;
+
+    private TestClusterCommandReceiver receiver;
+
+    private DatabaseTransactionManager tm;
+
+    private Database db;
+
+    public ClusterCommandPushTest() {
+        super(true); // Cluster mode
+    }
+
+    @Test
+    public void testPushedCommandExecutedByOtherNode() throws Exception {
+        ClusterCommandTransport transport =
+                (ClusterCommandTransport) getComponent(ApplicationComponents.APPLICATION_CLUSTERCOMMANDTRANSPORT);
+        transport.push(createOtherNode(), Long.valueOf(-1L), RECEIVE_COMMAND, "books", "line one\nline two");
+        assertEquals(Arrays.asList("books", "line one\nline two"), receiver.awaitReceived(5000));
+    }
+
+    @Test
+    public void testBroadcastPushedOnlyAfterCommit() throws Exception {
+        ClusterService clusterService = (ClusterService) getComponent(ApplicationComponents.APPLICATION_CLUSTERSERVICE);
+        createOtherNodeRecord();
+        tm.beginTransaction();
+        try {
+            clusterService.broadcastToOtherNodes(RECEIVE_COMMAND, "committed");
+            assertNull(receiver.awaitReceived(500));
+        } finally {
+            tm.endTransaction();
+        }
+
+        assertEquals(Arrays.asList("committed"), receiver.awaitReceived(5000));
+    }
+
+    @Test
+    public void testRolledBackBroadcastNotPushed() throws Exception {
+        ClusterService clusterService = (ClusterService) getComponent(ApplicationComponents.APPLICATION_CLUSTERSERVICE);
+        createOtherNodeRecord();
+        tm.beginTransaction();
+        try {
+            clusterService.broadcastToOtherNodes(RECEIVE_COMMAND, "rolledback");
+            tm.setRollback();
+        } finally {
+            tm.endTransaction();
+        }
+
+        assertNull(receiver.awaitReceived(1000));
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        // Command port setting is a short
+        for (commandPort = 24243; commandPort < Short.MAX_VALUE; commandPort++) {
+            try {
+                new ServerSocket(commandPort).close();
+                break;
+            } catch (IOException e) {
+            }
+        }
+
+        addContainerSetting(UnifyCorePropertyConstants.APPLICATION_COMMAND_INTERFACE, "true");
+        addContainerSetting(UnifyCorePropertyConstants.APPLICATION_COMMAND_PORT, String.valueOf(commandPort));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        receiver = (TestClusterCommandReceiver) getComponent("test-clustercommandreceiver");
+        receiver.clear();
+        tm = (DatabaseTransactionManager) getComponent(ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+        db = (Database) getComponent(ApplicationComponents.APPLICATION_DATABASE);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void onTearDown() throws Exception {
+        deleteAll(ClusterCommandParam.class, ClusterCommand.class);
+        tm.beginTransaction();
+        try {
+            db.deleteAll(new ClusterNodeQuery().nodeId("node-b"));
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    private ClusterNode createOtherNode() {
+        ClusterNode clusterNode = new ClusterNode();
+        clusterNode.setNodeId("node-b");
+        clusterNode.setIpAddress("127.0.0.1");
+        clusterNode.setCommandPort(commandPort);
+        clusterNode.setLastHeartBeat(new Date());
+        return clusterNode;
+    }
+
+    private void createOtherNodeRecord() throws Exception {
+        createRecord(createOtherNode());
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.system;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.Setting;
+import com.tcdng.unify.core.system.entities.ClusterLock;
+import com.tcdng.unify.core.system.entities.ClusterLockQuery;
+import com.tcdng.unify.core.util.ThreadUtils;
+
+/**
+ * Cluster service test case with two nodes sharing the same database.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class ClusterServiceMultiNodeTest extends AbstractUnifyComponentTest {
+
+    private ClusterServiceImpl clusterService;
+
+    private ClusterServiceImpl otherClusterService;
+
+    public ClusterServiceMultiNodeTest() {
+        super(true); // Cluster mode
+    }
+
+    @Test
+    public void testSyncContentionBetweenNodes() throws Exception {
+        final String[] otherLockOwnerId = new String[1];
+        final Exception[] error = new Exception[1];
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    otherClusterService.beginSynchronization("contendedLock");
+                    try {
+                        otherLockOwnerId[0] = findClusterLock("contendedLock").getCurrentOwner();
+                    } finally {
+                        otherClusterService.endSynchronization("contendedLock");
+                    }
+                } catch (Exception e) {
+                    error[0] = e;
+                }
+            }
+        });
+
+        String lockOwnerId = clusterService.getLockOwnerId(false);
+        clusterService.beginSynchronization("contendedLock");
+        try {
+            // Other node must wait while lock is held
+            thread.start();
+            thread.join(500);
+            assertTrue(thread.isAlive());
+            assertNull(otherLockOwnerId[0]);
+            assertEquals(lockOwnerId, findClusterLock("contendedLock").getCurrentOwner());
+        } finally {
+            clusterService.endSynchronization("contendedLock");
+        }
+
+        thread.join(5000);
+        assertFalse(thread.isAlive());
+        assertNull(error[0]);
+        assertTrue(otherLockOwnerId[0].startsWith(TestNodeClusterServiceImpl.NODE_ID + ':'));
+        assertNull(findClusterLock("contendedLock").getCurrentOwner());
+    }
+
+    @Test
+    public void testLeaseRenewalKeepsLockFromOtherNode() throws Exception {
+        assertTrue(otherClusterService.grabSynchronizationLock("leasedLock"));
+        try {
+            Date expiryTime = findClusterLock("leasedLock").getExpiryTime();
+
+            // Renew past half of lease duration
+            ThreadUtils.sleep(1200);
+            otherClusterService.renewLockLeases(null);
+            assertTrue(findClusterLock("leasedLock").getExpiryTime().after(expiryTime));
+
+            // Lease would have expired by now without renewal
+            ThreadUtils.sleep(1200);
+            assertFalse(clusterService.grabSynchronizationLock("leasedLock"));
+            assertEquals(TestNodeClusterServiceImpl.NODE_ID, findClusterLock("leasedLock").getCurrentOwner());
+        } finally {
+            otherClusterService.releaseSynchronizationLock("leasedLock");
+        }
+
+        assertTrue(clusterService.grabSynchronizationLock("leasedLock"));
+        assertTrue(clusterService.releaseSynchronizationLock("leasedLock"));
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        addDependency("testnode-clusterservice", TestNodeClusterServiceImpl.class,
+                new Setting("lockLeaseDuration", "2000"));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        clusterService = (ClusterServiceImpl) getComponent(ApplicationComponents.APPLICATION_CLUSTERSERVICE);
+        otherClusterService = (ClusterServiceImpl) getComponent("testnode-clusterservice");
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+
+    }
+
+    private ClusterLock findClusterLock(String lockName) throws Exception {
+        return clusterService.findClusterLocks(new ClusterLockQuery().lockName(lockName)).get(0);
+    }
+}
@@ -17,7 +17,9 @@ package com.tcdng.unify.core.system;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -90,6 +92,31 @@ public class ClusterServiceTest extends AbstractUnifyComponentTest {
         assertEquals(Integer.valueOf(0), clusterLock.getLockCount());
     }
 
+    @Test
+    public void testSyncTakesOverExpiredLeaseFromOtherNode() throws Exception {
+        ClusterLock otherNodeLock = new ClusterLock();
+        otherNodeLock.setLockName("expiredLeaseLock");
+        otherNodeLock.setCurrentOwner("othernode:1");
+        otherNodeLock.setExpiryTime(new Date(System.currentTimeMillis() - 60000));
+        otherNodeLock.setLockCount(Integer.valueOf(1));
+        createRecord(otherNodeLock);
+
+        ClusterService clusterService = (ClusterService) getComponent(ApplicationComponents.APPLICATION_CLUSTERSERVICE);
+        String lockOwnerId = clusterService.getLockOwnerId(false);
+        clusterService.beginSynchronization("expiredLeaseLock");
+        try {
+            List<ClusterLock> clusterSyncList =
+                    clusterService.findClusterLocks(new ClusterLockQuery().lockName("expiredLeaseLock"));
+            assertEquals(1, clusterSyncList.size());
+            ClusterLock clusterLock = clusterSyncList.get(0);
+            assertEquals(lockOwnerId, clusterLock.getCurrentOwner());
+            assertEquals(Integer.valueOf(1), clusterLock.getLockCount());
+            assertTrue(clusterLock.getExpiryTime().after(new Date()));
+        } finally {
+            clusterService.endSynchronization("expiredLeaseLock");
+        }
+    }
+
     @Test
     public void testClusterSynchronizationWithSharedData() throws Exception {
         Map<String, Object> parameters = new HashMap<String, Object>();
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.Setting;
+
+/**
+ * Database clock service tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class DatabaseClockServiceTest extends AbstractUnifyComponentTest {
+
+    @Test
+    public void testGetNow() throws Exception {
+        DatabaseClockService dcService = getDatabaseClockService();
+        Date now = dcService.getNow();
+        assertNotNull(now);
+
+        Date liveNow = dcService.getLiveNow();
+        assertNotNull(liveNow);
+        assertTrue(Math.abs(liveNow.getTime() - now.getTime()) < 5000);
+    }
+
+    @Test
+    public void testGetNowWithoutTransaction() throws Exception {
+        DatabaseClockService dcService = getDatabaseClockService();
+        dcService.getLiveNow();
+        long offset = dcService.getClockOffset();
+
+        Date now1 = dcService.getNow();
+        Date now2 = dcService.getNow();
+        assertNotNull(now1);
+        assertNotNull(now2);
+        assertTrue(!now2.before(now1));
+        assertEquals(offset, dcService.getClockOffset());
+    }
+
+    @Test
+    public void testGetLiveNowKeepsOffsetWithinTolerance() throws Exception {
+        DatabaseClockService dcService = getDatabaseClockService();
+        dcService.getLiveNow();
+        long offset = dcService.getClockOffset();
+
+        dcService.getLiveNow();
+        dcService.getLiveNow();
+        assertEquals(offset, dcService.getClockOffset());
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        addDependency(ApplicationComponents.APPLICATION_DATABASECLOCKSERVICE, DatabaseClockServiceImpl.class, true,
+                true, new Setting("driftTolerance", "60000"));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+
+    }
+
+    private DatabaseClockService getDatabaseClockService() throws Exception {
+        return (DatabaseClockService) getComponent(ApplicationComponents.APPLICATION_DATABASECLOCKSERVICE);
+    }
+}
@@ -18,6 +18,7 @@ package com.tcdng.unify.core.system;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -26,6 +27,9 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
@@ -79,6 +83,77 @@ public class SequenceNumberServiceTest extends AbstractUnifyComponentTest {
         assertEquals(Long.valueOf(16L), snService.getCachedBlockNextSequenceNumber("sequenceA"));
     }
 
+    @Test
+    public void testGetCachedBlockNextSequenceNumberAcrossPrefetchedBlocks() throws Exception {
+        SequenceNumberService snService =
+                (SequenceNumberService) getComponent(ApplicationComponents.APPLICATION_SEQUENCENUMBERSERVICE);
+
+        snService.reset();
+        for (long i = 1; i <= 2500; i++) {
+            assertEquals(Long.valueOf(i), snService.getCachedBlockNextSequenceNumber("sequenceD"));
+        }
+    }
+
+    @Test
+    public void testGetCachedBlockNextSequenceNumberUsesPrefetchedBlock() throws Exception {
+        SequenceNumberServiceImpl snService =
+                (SequenceNumberServiceImpl) getComponent(ApplicationComponents.APPLICATION_SEQUENCENUMBERSERVICE);
+        snService.reset();
+
+        // Low-water mark of first block of 11 is reached at 9
+        for (long i = 1; i <= 9; i++) {
+            assertEquals(Long.valueOf(i), snService.getCachedBlockNextSequenceNumber("sequenceE"));
+        }
+
+        long expiryTime = System.currentTimeMillis() + 5000;
+        while (!snService.isSequenceBlockPrefetched("sequenceE") && System.currentTimeMillis() < expiryTime) {
+            Thread.sleep(5);
+        }
+        assertTrue(snService.isSequenceBlockPrefetched("sequenceE"));
+
+        // Continues into prefetched block across block boundary
+        for (long i = 10; i <= 12; i++) {
+            assertEquals(Long.valueOf(i), snService.getCachedBlockNextSequenceNumber("sequenceE"));
+        }
+        assertFalse(snService.isSequenceBlockPrefetched("sequenceE"));
+    }
+
+    @Test
+    public void testConcurrentGetCachedBlockNextSequenceNumber() throws Exception {
+        final SequenceNumberService snService =
+                (SequenceNumberService) getComponent(ApplicationComponents.APPLICATION_SEQUENCENUMBERSERVICE);
+        snService.reset();
+
+        final Set<Long> sequenceNumbers = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+        final AtomicInteger failures = new AtomicInteger();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int j = 0; j < 300; j++) {
+                            if (!sequenceNumbers.add(snService.getCachedBlockNextSequenceNumber("sequenceF"))) {
+                                failures.incrementAndGet();
+                            }
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    }
+                }
+            };
+            threads.add(thread);
+            thread.start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, failures.get());
+        assertEquals(2400, sequenceNumbers.size());
+    }
+
     @Test
     public void testMultiThreadGetCachedBlockNextSequenceNumber() throws Exception {
         SequenceNumberService snService =
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.system;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.system.entities.ClusterNode;
+
+/**
+ * Socket cluster command transport tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class SocketClusterCommandTransportTest extends AbstractUnifyComponentTest {
+
+    @Test
+    public void testPushClusterCommand() throws Exception {
+        ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getByName("127.0.0.1"));
+        try {
+            serverSocket.setSoTimeout(10000);
+            ClusterNode clusterNode = new ClusterNode();
+            clusterNode.setNodeId("node-b");
+            clusterNode.setIpAddress("127.0.0.1");
+            clusterNode.setCommandPort(serverSocket.getLocalPort());
+
+            ClusterCommandTransport transport = (ClusterCommandTransport) getComponent(
+                    ApplicationComponents.APPLICATION_CLUSTERCOMMANDTRANSPORT);
+            transport.push(clusterNode, Long.valueOf(27L), "invalidate-cache", "books", "line one\nline two");
+
+            Socket socket = serverSocket.accept();
+            try {
+                BufferedReader br = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+                assertEquals(ClusterCommandConstants.PUSHED_CLUSTER_COMMAND, br.readLine());
+                assertEquals("27", br.readLine());
+                assertEquals("invalidate-cache", br.readLine());
+                assertEquals("books", br.readLine());
+                assertEquals("line+one%0Aline+two", br.readLine());
+                assertNull(br.readLine());
+            } finally {
+                socket.close();
+            }
+        } finally {
+            serverSocket.close();
+        }
+    }
+
+    @Test
+    public void testUnreachableNodeSkipped() throws Exception {
+        ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getByName("127.0.0.1"));
+        int port = serverSocket.getLocalPort();
+        serverSocket.close();
+
+        ClusterNode clusterNode = new ClusterNode();
+        clusterNode.setNodeId("node-c");
+        clusterNode.setIpAddress("127.0.0.1");
+        clusterNode.setCommandPort(port);
+
+        SocketClusterCommandTransport transport = (SocketClusterCommandTransport) getComponent(
+                ApplicationComponents.APPLICATION_CLUSTERCOMMANDTRANSPORT);
+        assertFalse(transport.isNodeUnreachable("node-c"));
+        transport.push(clusterNode, Long.valueOf(28L), "invalidate-cache", "books");
+
+        long expiryTime = System.currentTimeMillis() + 5000;
+        while (!transport.isNodeUnreachable("node-c") && System.currentTimeMillis() < expiryTime) {
+            Thread.sleep(5);
+        }
+        assertTrue(transport.isNodeUnreachable("node-c"));
+        assertFalse(transport.isNodeUnreachable("node-b"));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.system;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.tcdng.unify.core.AbstractUnifyComponent;
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Broadcast;
+import com.tcdng.unify.core.annotation.Component;
+
+/**
+ * Test cluster command receiver.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+@Component("test-clustercommandreceiver")
+public class TestClusterCommandReceiver extends AbstractUnifyComponent {
+
+    private List<List<String>> received;
+
+    public TestClusterCommandReceiver() {
+        received = new ArrayList<List<String>>();
+    }
+
+    @Broadcast
+    public void receive(String... params) throws UnifyException {
+        synchronized (received) {
+            received.add(Arrays.asList(params));
+            received.notifyAll();
+        }
+    }
+
+    public List<String> awaitReceived(long timeout) throws InterruptedException {
+        long expiryTime = System.currentTimeMillis() + timeout;
+        synchronized (received) {
+            long waitTime = timeout;
+            while (received.isEmpty() && waitTime > 0) {
+                received.wait(waitTime);
+                waitTime = expiryTime - System.currentTimeMillis();
+            }
+
+            return received.isEmpty() ? null : received.remove(0);
+        }
+    }
+
+    public void clear() {
+        synchronized (received) {
+            received.clear();
+        }
+    }
+
+    @Override
+    protected void onInitialize() throws UnifyException {
+
+    }
+
+    @Override
+    protected void onTerminate() throws UnifyException {
+
+    }
+}
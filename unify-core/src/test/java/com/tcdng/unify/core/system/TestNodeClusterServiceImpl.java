@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.system;
+
+import com.tcdng.unify.core.UnifyException;
+import com.tcdng.unify.core.annotation.Transactional;
+
+/**
+ * Cluster service that acts as a different node in the same container.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+@Transactional
+public class TestNodeClusterServiceImpl extends ClusterServiceImpl {
+
+    public static final String NODE_ID = "testnode";
+
+    @Override
+    protected String getNodeId() throws UnifyException {
+        return NODE_ID;
+    }
+}
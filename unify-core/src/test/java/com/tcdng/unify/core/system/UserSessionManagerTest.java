@@ -0,0 +1,281 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.system;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.RequestContextManager;
+import com.tcdng.unify.core.SessionContext;
+import com.tcdng.unify.core.Setting;
+import com.tcdng.unify.core.UserSession;
+import com.tcdng.unify.core.UserToken;
+import com.tcdng.unify.core.constant.UserPlatform;
+import com.tcdng.unify.core.database.Database;
+import com.tcdng.unify.core.database.DatabaseTransactionManager;
+import com.tcdng.unify.core.system.entities.UserSessionTracking;
+import com.tcdng.unify.core.system.entities.UserSessionTrackingQuery;
+
+/**
+ * User session manager tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class UserSessionManagerTest extends AbstractUnifyComponentTest {
+
+    private UserSessionManagerImpl userSessionManager;
+
+    private DatabaseTransactionManager tm;
+
+    @Test
+    public void testFlushCreatesTrackingRecord() throws Exception {
+        userSessionManager.addUserSession(new TestUserSession("session-a"));
+        userSessionManager.flushUserSessionTracking(null);
+
+        UserSessionTracking userSessionTracking = findTracking("session-a");
+        assertNotNull(userSessionTracking);
+        assertNotNull(userSessionTracking.getNode());
+    }
+
+    @Test
+    public void testRemoveUserSessionDeletesTrackingRecord() throws Exception {
+        TestUserSession userSession = new TestUserSession("session-a");
+        userSessionManager.addUserSession(userSession);
+        userSessionManager.flushUserSessionTracking(null);
+        assertNotNull(findTracking("session-a"));
+
+        userSessionManager.removeUserSession(userSession);
+        userSessionManager.flushUserSessionTracking(null);
+        assertNull(findTracking("session-a"));
+    }
+
+    @Test
+    public void testRemoveUserSessionBeforeFlush() throws Exception {
+        TestUserSession userSession = new TestUserSession("session-a");
+        userSessionManager.addUserSession(userSession);
+        userSessionManager.removeUserSession(userSession);
+        userSessionManager.flushUserSessionTracking(null);
+        assertNull(findTracking("session-a"));
+    }
+
+    @Test
+    public void testFailedFlushRequeuesTracking() throws Exception {
+        TestUserSession userSessionA = new TestUserSession("session-a");
+        userSessionManager.addUserSession(userSessionA);
+        userSessionManager.flushUserSessionTracking(null);
+        assertNotNull(findTracking("session-a"));
+
+        // Conflicting record makes creation of session B fail
+        UserSessionTracking conflict = new UserSessionTracking();
+        conflict.setSessionId("session-b");
+        conflict.setNode("conflict");
+        createRecord(conflict);
+        userSessionManager.addUserSession(new TestUserSession("session-b"));
+        userSessionManager.removeUserSession(userSessionA);
+        try {
+            userSessionManager.flushUserSessionTracking(null);
+            fail();
+        } catch (Exception e) {
+        }
+
+        // Deletion of session A is rolled back with failed creation
+        assertNotNull(findTracking("session-a"));
+
+        deleteTrackingRecord("session-b");
+        userSessionManager.flushUserSessionTracking(null);
+        assertNull(findTracking("session-a"));
+        UserSessionTracking userSessionTracking = findTracking("session-b");
+        assertNotNull(userSessionTracking);
+        assertFalse("conflict".equals(userSessionTracking.getNode()));
+    }
+
+    @Test
+    public void testLoginCreatesTrackingRecord() throws Exception {
+        TestUserSession userSession = new TestUserSession("session-c");
+        userSessionManager.addUserSession(userSession);
+        login(userSession, false);
+
+        UserSessionTracking userSessionTracking = findTracking("session-c");
+        assertNotNull(userSessionTracking);
+        assertEquals("john", userSessionTracking.getUserLoginId());
+    }
+
+    @Test
+    public void testRolledBackLoginRequeuesTracking() throws Exception {
+        TestUserSession userSession = new TestUserSession("session-c");
+        userSessionManager.addUserSession(userSession);
+        login(userSession, true);
+
+        userSessionManager.flushUserSessionTracking(null);
+        UserSessionTracking userSessionTracking = findTracking("session-c");
+        assertNotNull(userSessionTracking);
+        assertNull(userSessionTracking.getUserLoginId());
+
+        userSessionManager.removeUserSession(userSession);
+        userSessionManager.flushUserSessionTracking(null);
+        assertNull(findTracking("session-c"));
+    }
+
+    @Test
+    public void testLoginDuringTrackingCreationIsQueued() throws Exception {
+        final TestUserSession userSession = new TestUserSession("session-c");
+        userSessionManager.addUserSession(userSession);
+
+        // Login claims and creates tracking record in open transaction
+        RequestContextManager requestContextManager =
+                (RequestContextManager) getComponent(ApplicationComponents.APPLICATION_REQUESTCONTEXTMANAGER);
+        requestContextManager.loadRequestContext(userSession, null);
+        tm.beginTransaction();
+        try {
+            userSessionManager.login(createUserToken("john", "John Doe"));
+
+            // Second login should not wait for creating transaction
+            final Exception[] error = new Exception[1];
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        login(userSession, "jane", "Jane Doe", false);
+                    } catch (Exception e) {
+                        error[0] = e;
+                    }
+                }
+            });
+            thread.start();
+            thread.join(2000);
+            assertFalse(thread.isAlive());
+            assertNull(error[0]);
+        } finally {
+            tm.endTransaction();
+            requestContextManager.unloadRequestContext();
+        }
+
+        UserSessionTracking userSessionTracking = findTracking("session-c");
+        assertNotNull(userSessionTracking);
+        assertEquals("john", userSessionTracking.getUserLoginId());
+
+        userSessionManager.flushUserSessionTracking(null);
+        userSessionTracking = findTracking("session-c");
+        assertEquals("jane", userSessionTracking.getUserLoginId());
+        assertEquals("Jane Doe", userSessionTracking.getUserName());
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        addDependency(ApplicationComponents.APPLICATION_USERSESSIONMANAGER, UserSessionManagerImpl.class, true, true,
+                new Setting("minSessionTrackingAge", "0"));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        userSessionManager =
+                (UserSessionManagerImpl) getComponent(ApplicationComponents.APPLICATION_USERSESSIONMANAGER);
+        tm = (DatabaseTransactionManager) getComponent(ApplicationComponents.APPLICATION_DATABASETRANSACTIONMANAGER);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void onTearDown() throws Exception {
+        for (String sessionId : new String[] { "session-a", "session-b", "session-c" }) {
+            userSessionManager.removeUserSession(new TestUserSession(sessionId));
+        }
+
+        deleteAll(UserSessionTracking.class);
+    }
+
+    private void login(UserSession userSession, boolean rollback) throws Exception {
+        login(userSession, "john", "John Doe", rollback);
+    }
+
+    private void login(UserSession userSession, String userLoginId, String userName, boolean rollback)
+            throws Exception {
+        RequestContextManager requestContextManager =
+                (RequestContextManager) getComponent(ApplicationComponents.APPLICATION_REQUESTCONTEXTMANAGER);
+        requestContextManager.loadRequestContext(userSession, null);
+        tm.beginTransaction();
+        try {
+            userSessionManager.login(createUserToken(userLoginId, userName));
+            if (rollback) {
+                tm.setRollback();
+            }
+        } finally {
+            tm.endTransaction();
+            requestContextManager.unloadRequestContext();
+        }
+    }
+
+    private UserToken createUserToken(String userLoginId, String userName) {
+        return new UserToken(userLoginId, userName, "127.0.0.1", null, null, null, null, false, false, true, false);
+    }
+
+    private UserSessionTracking findTracking(String sessionId) throws Exception {
+        List<UserSessionTracking> list = userSessionManager.findUserSessions(new UserSessionTrackingQuery().id(sessionId));
+        return list.isEmpty() ? null : list.get(0);
+    }
+
+    private void deleteTrackingRecord(String sessionId) throws Exception {
+        Database db = (Database) getComponent(ApplicationComponents.APPLICATION_DATABASE);
+        tm.beginTransaction();
+        try {
+            db.delete(UserSessionTracking.class, sessionId);
+        } finally {
+            tm.endTransaction();
+        }
+    }
+
+    private class TestUserSession implements UserSession {
+
+        private SessionContext sessionContext;
+
+        public TestUserSession(String sessionId) {
+            sessionContext = new SessionContext(sessionId, Locale.getDefault(), TimeZone.getDefault(), null, null,
+                    "localhost", "127.0.0.1", null, UserPlatform.DEFAULT);
+        }
+
+        @Override
+        public String getRemoteAddress() {
+            return sessionContext.getRemoteAddress();
+        }
+
+        @Override
+        public String getRemoteHost() {
+            return sessionContext.getRemoteHost();
+        }
+
+        @Override
+        public String getRemoteUser() {
+            return sessionContext.getRemoteUser();
+        }
+
+        @Override
+        public SessionContext getSessionContext() {
+            return sessionContext;
+        }
+    }
+}
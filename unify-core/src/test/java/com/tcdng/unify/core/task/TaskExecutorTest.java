@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.tcdng.unify.core.UnifyCoreErrorConstants;
+import com.tcdng.unify.core.UnifyException;
+
+/**
+ * Task executor tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class TaskExecutorTest {
+
+    private TaskExecutor taskExecutor;
+
+    @After
+    public void tearDown() {
+        if (taskExecutor != null) {
+            taskExecutor.shutdown();
+        }
+    }
+
+    @Test(timeout = 4000)
+    public void testHigherPriorityRunsFirst() throws Exception {
+        taskExecutor = new TaskExecutor("test", 1, 16, TaskRejectionPolicy.ABORT);
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        taskExecutor.submit(new BlockingRunnable(startedLatch, blockLatch), TaskPriority.NORMAL, true);
+        startedLatch.await();
+
+        List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        taskExecutor.submit(new RecordingRunnable(order, "low"), TaskPriority.LOW, true);
+        taskExecutor.submit(new RecordingRunnable(order, "normal"), TaskPriority.NORMAL, true);
+        Future<?> future = taskExecutor.submit(new RecordingRunnable(order, "high"), TaskPriority.HIGH, true);
+        assertEquals(3, taskExecutor.getStats().getQueueDepth());
+
+        blockLatch.countDown();
+        future.get(2, TimeUnit.SECONDS);
+        while (order.size() < 3) {
+            Thread.yield();
+        }
+
+        assertEquals("high", order.get(0));
+        assertEquals("normal", order.get(1));
+        assertEquals("low", order.get(2));
+    }
+
+    @Test(timeout = 4000)
+    public void testAbortWhenQueueFull() throws Exception {
+        taskExecutor = new TaskExecutor("test", 1, 1, TaskRejectionPolicy.ABORT);
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        taskExecutor.submit(new BlockingRunnable(startedLatch, blockLatch), TaskPriority.NORMAL, true);
+        startedLatch.await();
+
+        List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        taskExecutor.submit(new RecordingRunnable(order, "a"), TaskPriority.NORMAL, true);
+        try {
+            taskExecutor.submit(new RecordingRunnable(order, "b"), TaskPriority.NORMAL, true);
+            fail();
+        } catch (UnifyException e) {
+            assertEquals(UnifyCoreErrorConstants.TASK_EXECUTOR_QUEUE_FULL, e.getErrorCode());
+        } finally {
+            blockLatch.countDown();
+        }
+
+        assertEquals(1, taskExecutor.getStats().getRejectedCount());
+    }
+
+    @Test(timeout = 4000)
+    public void testCallerRunsWhenQueueFull() throws Exception {
+        taskExecutor = new TaskExecutor("test", 1, 1, TaskRejectionPolicy.CALLER_RUNS);
+        CountDownLatch blockLatch = new CountDownLatch(1);
+        CountDownLatch startedLatch = new CountDownLatch(1);
+        taskExecutor.submit(new BlockingRunnable(startedLatch, blockLatch), TaskPriority.NORMAL, true);
+        startedLatch.await();
+
+        List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        taskExecutor.submit(new RecordingRunnable(order, "a"), TaskPriority.NORMAL, true);
+        Future<?> future = taskExecutor.submit(new RecordingRunnable(order, "b"), TaskPriority.NORMAL, true);
+        assertTrue(future.isDone());
+        assertEquals("b", order.get(0));
+
+        Future<?> discarded = taskExecutor.submit(new RecordingRunnable(order, "c"), TaskPriority.NORMAL, false);
+        assertTrue(discarded.isCancelled());
+        blockLatch.countDown();
+        assertEquals(2, taskExecutor.getStats().getRejectedCount());
+    }
+
+    private static class BlockingRunnable implements Runnable {
+
+        private CountDownLatch startedLatch;
+
+        private CountDownLatch blockLatch;
+
+        public BlockingRunnable(CountDownLatch startedLatch, CountDownLatch blockLatch) {
+            this.startedLatch = startedLatch;
+            this.blockLatch = blockLatch;
+        }
+
+        @Override
+        public void run() {
+            startedLatch.countDown();
+            try {
+                blockLatch.await();
+            } catch (InterruptedException e) {
+            }
+        }
+    }
+
+    private static class RecordingRunnable implements Runnable {
+
+        private List<String> order;
+
+        private String name;
+
+        public RecordingRunnable(List<String> order, String name) {
+            this.order = order;
+            this.name = name;
+        }
+
+        @Override
+        public void run() {
+            order.add(name);
+        }
+    }
+}
@@ -20,12 +20,16 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -298,6 +302,53 @@ public class TaskManagerImplTest extends AbstractUnifyComponentTest {
         assertNull(taskMonitor.getTaskOutput(2).getResult(String.class, "message"));
     }
 
+    @Test(timeout = 4000)
+    public void testGetExecutorStats() throws Exception {
+        parameters.put("paramA", "Hello World!");
+        parameters.put(TaskParameterConstants.TASK_PRIORITY, TaskPriority.HIGH);
+        taskManager.executeTask("test-taska", parameters, false, null);
+
+        List<TaskExecutorStats> statsList = taskManager.getExecutorStats();
+        assertEquals(3, statsList.size());
+        assertEquals("system-periodic", statsList.get(0).getName());
+        assertEquals("application-periodic", statsList.get(1).getName());
+        TaskExecutorStats onDemandStats = statsList.get(2);
+        assertEquals("on-demand", onDemandStats.getName());
+        assertTrue(onDemandStats.getSubmittedCount() > 0);
+        assertTrue(onDemandStats.getStartedCount() > 0);
+        assertEquals(0, onDemandStats.getRejectedCount());
+    }
+
+    @Test(timeout = 4000)
+    public void testSubmitWork() throws Exception {
+        final Thread callerThread = Thread.currentThread();
+        Future<String> future = taskManager.submitWork(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return Thread.currentThread() == callerThread ? "caller" : Thread.currentThread().getName();
+            }
+        }, TaskPriority.NORMAL);
+
+        assertTrue(future.get().startsWith("unify-on-demand-"));
+    }
+
+    @Test(timeout = 4000)
+    public void testSubmitWorkWithError() throws Exception {
+        Future<String> future = taskManager.submitWork(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                throw new IllegalStateException("Bad work");
+            }
+        }, TaskPriority.NORMAL);
+
+        try {
+            future.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
     @Override
     protected void onSetup() throws Exception {
 
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.task;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.AbstractUnifyComponentTest;
+import com.tcdng.unify.core.ApplicationComponents;
+import com.tcdng.unify.core.Setting;
+import com.tcdng.unify.core.UnifyCoreErrorConstants;
+import com.tcdng.unify.core.UnifyException;
+
+/**
+ * Task manager executor rejection tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class TaskManagerRejectionTest extends AbstractUnifyComponentTest {
+
+    private TaskManager taskManager;
+
+    @Test(timeout = 10000)
+    public void testRejectedDelayedTaskAborted() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        Callable<Boolean> blockingWork = new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+                started.countDown();
+                return release.await(5, TimeUnit.SECONDS);
+            }
+        };
+
+        try {
+            // Occupy single executor thread and fill queue
+            Future<Boolean> running = taskManager.submitWork(blockingWork, TaskPriority.NORMAL);
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Boolean> queued = taskManager.submitWork(blockingWork, TaskPriority.NORMAL);
+
+            Map<String, Object> parameters = new HashMap<String, Object>();
+            parameters.put("paramA", "Hello World!");
+            TaskMonitor taskMonitor = taskManager.scheduleTaskToRunAfter("test-taska", parameters, false, 20, null);
+            long expiryTime = System.currentTimeMillis() + 5000;
+            while (!taskMonitor.isDone() && System.currentTimeMillis() < expiryTime) {
+                Thread.sleep(10);
+            }
+
+            assertTrue(taskMonitor.isDone());
+            assertEquals(TaskStatus.ABORTED, taskMonitor.getTaskStatus(0));
+            assertTrue(taskMonitor.isExceptions());
+            Exception e = taskMonitor.getExceptions()[0];
+            assertTrue(e instanceof UnifyException);
+            assertEquals(UnifyCoreErrorConstants.TASK_EXECUTOR_QUEUE_FULL, ((UnifyException) e).getErrorCode());
+
+            release.countDown();
+            assertTrue(running.get());
+            assertTrue(queued.get());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Override
+    protected void doAddSettingsAndDependencies() throws Exception {
+        addDependency(ApplicationComponents.APPLICATION_TASKMANAGER, TaskManagerImpl.class, true, true,
+                new Setting("maxThreads", "1"), new Setting("onDemandQueueCapacity", "1"));
+    }
+
+    @Override
+    protected void onSetup() throws Exception {
+        taskManager = (TaskManager) getComponent(ApplicationComponents.APPLICATION_TASKMANAGER);
+    }
+
+    @Override
+    protected void onTearDown() throws Exception {
+
+    }
+}
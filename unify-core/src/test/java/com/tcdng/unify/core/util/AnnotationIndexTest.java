@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.tcdng.unify.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.junit.Test;
+
+import com.tcdng.unify.core.TestDummyComponent;
+import com.tcdng.unify.core.annotation.Component;
+import com.tcdng.unify.core.annotation.Configurable;
+
+/**
+ * Annotation index test.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class AnnotationIndexTest {
+
+    @Test
+    public void testScanFindsAnnotatedTypes() throws Exception {
+        AnnotationIndex annotationIndex = new AnnotationIndex();
+        Map<String, Set<String>> annotations = annotationIndex.scan(getTestClassesUrl());
+        assertTrue(annotationIndex.isChanged());
+        Set<String> classNames = annotations.get(Component.class.getName());
+        assertNotNull(classNames);
+        assertFalse(classNames.isEmpty());
+    }
+
+    @Test
+    public void testSavedIndexReusedWhenUnchanged() throws Exception {
+        File indexFile = File.createTempFile("annotationindex", ".bin");
+        try {
+            AnnotationIndex annotationIndex = new AnnotationIndex();
+            Map<String, Set<String>> annotations = annotationIndex.scan(getTestClassesUrl());
+            annotationIndex.save(indexFile);
+            assertFalse(annotationIndex.isChanged());
+
+            AnnotationIndex loadedIndex = AnnotationIndex.load(indexFile);
+            Map<String, Set<String>> loadedAnnotations = loadedIndex.scan(getTestClassesUrl());
+            assertFalse(loadedIndex.isChanged());
+            assertEquals(annotations, loadedAnnotations);
+        } finally {
+            indexFile.delete();
+        }
+    }
+
+    @Test
+    public void testLoadUnreadableIndexIsEmpty() throws Exception {
+        File indexFile = File.createTempFile("annotationindex", ".bin");
+        try {
+            AnnotationIndex annotationIndex = AnnotationIndex.load(indexFile);
+            annotationIndex.scan(getTestClassesUrl());
+            assertTrue(annotationIndex.isChanged());
+        } finally {
+            indexFile.delete();
+        }
+    }
+
+    @Test
+    public void testChangedArchiveWithSameSizeAndTimeRescanned() throws Exception {
+        File jarFile = File.createTempFile("annotationindex", ".jar");
+        File indexFile = File.createTempFile("annotationindex", ".bin");
+        try {
+            writeJar(jarFile, "com/tcdng/unify/core/TestDummyComponent.class");
+            long lastModified = jarFile.lastModified();
+            long length = jarFile.length();
+            AnnotationIndex annotationIndex = new AnnotationIndex();
+            Map<String, Set<String>> annotations = annotationIndex.scan(jarFile.toURI().toURL());
+            assertTrue(annotations.get(Configurable.class.getName()).contains(TestDummyComponent.class.getName()));
+            annotationIndex.save(indexFile);
+
+            writeJar(jarFile, "com/tcdng/unify/core/TestDummyComponenX.class");
+            assertTrue(jarFile.setLastModified(lastModified));
+            assertEquals(length, jarFile.length());
+
+            AnnotationIndex loadedIndex = AnnotationIndex.load(indexFile);
+            loadedIndex.scan(jarFile.toURI().toURL());
+            assertTrue(loadedIndex.isChanged());
+        } finally {
+            jarFile.delete();
+            indexFile.delete();
+        }
+    }
+
+    @Test
+    public void testIndexFileKeyedByClasspath() throws Exception {
+        File folder = new File(System.getProperty("java.io.tmpdir"), "annotationindex-" + System.nanoTime());
+        try {
+            String folderPath = folder.getAbsolutePath();
+            URL urlA = new URL("file:/app/a/WEB-INF/classes/");
+            URL urlB = new URL("file:/app/b/WEB-INF/classes/");
+            File fileA = TypeUtils.getAnnotationIndexFile(folderPath, new URL[] { urlA });
+            assertNotNull(fileA);
+            assertEquals(folder.getAbsoluteFile(), fileA.getParentFile().getAbsoluteFile());
+            assertEquals(fileA, TypeUtils.getAnnotationIndexFile(folderPath, new URL[] { urlA }));
+            assertFalse(fileA.equals(TypeUtils.getAnnotationIndexFile(folderPath, new URL[] { urlB })));
+            assertFalse(fileA.equals(TypeUtils.getAnnotationIndexFile(folderPath, new URL[] { urlA, urlB })));
+        } finally {
+            folder.delete();
+        }
+    }
+
+    @Test
+    public void testIndexPersistenceOffByDefault() throws Exception {
+        assertNull(TypeUtils.getAnnotationIndexFile(null, new URL[] { getTestClassesUrl() }));
+        assertNull(TypeUtils.getAnnotationIndexFile("", new URL[] { getTestClassesUrl() }));
+    }
+
+    @Test
+    public void testIndexFolderCreatedPrivate() throws Exception {
+        File folder = new File(System.getProperty("java.io.tmpdir"), "annotationindex-" + System.nanoTime());
+        try {
+            assertNotNull(TypeUtils.getAnnotationIndexFile(folder.getAbsolutePath(), new URL[] { getTestClassesUrl() }));
+            assertTrue(TypeUtils.isPrivateToOwner(folder));
+        } finally {
+            folder.delete();
+        }
+    }
+
+    @Test
+    public void testSharedIndexFolderRejected() throws Exception {
+        File folder = new File(System.getProperty("java.io.tmpdir"), "annotationindex-" + System.nanoTime());
+        try {
+            assertTrue(folder.mkdirs());
+            assertTrue(folder.setWritable(true, false));
+            assertFalse(TypeUtils.isPrivateToOwner(folder));
+            assertNull(TypeUtils.getAnnotationIndexFile(folder.getAbsolutePath(), new URL[] { getTestClassesUrl() }));
+        } finally {
+            folder.delete();
+        }
+    }
+
+    @Test
+    public void testSharedIndexFileRejected() throws Exception {
+        File folder = new File(System.getProperty("java.io.tmpdir"), "annotationindex-" + System.nanoTime());
+        File indexFile = null;
+        try {
+            URL[] urls = new URL[] { getTestClassesUrl() };
+            indexFile = TypeUtils.getAnnotationIndexFile(folder.getAbsolutePath(), urls);
+            assertNotNull(indexFile);
+            new AnnotationIndex().save(indexFile);
+            assertTrue(indexFile.setWritable(true, false));
+            assertNull(TypeUtils.getAnnotationIndexFile(folder.getAbsolutePath(), urls));
+        } finally {
+            if (indexFile != null) {
+                indexFile.delete();
+            }
+            folder.delete();
+        }
+    }
+
+    @Test
+    public void testGenerateIndex() throws Exception {
+        File folder = new File(System.getProperty("java.io.tmpdir"), "annotationindex-" + System.nanoTime());
+        File classFile = new File(folder, "com/tcdng/unify/core/TestDummyComponent.class");
+        File indexFile = null;
+        try {
+            classFile.getParentFile().mkdirs();
+            writeFile(classFile, getClassBytes(TestDummyComponent.class));
+            indexFile = AnnotationIndex.generateIndex(folder);
+            assertEquals(new File(folder, AnnotationIndex.INDEX_RESOURCE), indexFile);
+            assertTrue(indexFile.isFile());
+        } finally {
+            if (indexFile != null) {
+                indexFile.delete();
+            }
+            classFile.delete();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testGenerateIndexMissingFolder() throws Exception {
+        AnnotationIndex.generateIndex(new File(System.getProperty("java.io.tmpdir"), "missing-" + System.nanoTime()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMainWithoutFolder() throws Exception {
+        AnnotationIndex.main(new String[0]);
+    }
+
+    private void writeJar(File file, String entryName) throws Exception {
+        JarOutputStream out = new JarOutputStream(new FileOutputStream(file));
+        try {
+            out.putNextEntry(new JarEntry(entryName));
+            out.write(getClassBytes(TestDummyComponent.class));
+            out.closeEntry();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeFile(File file, byte[] data) throws Exception {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(data);
+        } finally {
+            out.close();
+        }
+    }
+
+    private byte[] getClassBytes(Class<?> clazz) throws Exception {
+        InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class");
+        try {
+            return IOUtils.readAll(in);
+        } finally {
+            IOUtils.close(in);
+        }
+    }
+
+    private URL getTestClassesUrl() {
+        return AnnotationIndexTest.class.getProtectionDomain().getCodeSource().getLocation();
+    }
+}
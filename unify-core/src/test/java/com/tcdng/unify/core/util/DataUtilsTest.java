@@ -336,6 +336,141 @@ public class DataUtilsTest {
         DataUtils.readJsonObject(Book.class, json);
     }
 
+    @Test
+    public void testReadJsonObjectNullMembers() throws Exception {
+        String json = "{\"author\":null, \"price\":null, \"priceHistory\":[2.35, null], \"copies\":null}";
+        Book book = DataUtils.readJsonObject(Book.class, json);
+        assertNotNull(book);
+        assertNull(book.getAuthor());
+        assertNull(book.getPrice());
+        assertEquals(0, book.getCopies());
+        Double[] priceHistory = book.getPriceHistory();
+        assertNotNull(priceHistory);
+        assertEquals(2, priceHistory.length);
+        assertEquals(Double.valueOf(2.35), priceHistory[0]);
+        assertNull(priceHistory[1]);
+    }
+
+    @Test(expected = UnifyException.class)
+    public void testReadMalformedJsonObject() throws Exception {
+        DataUtils.readJsonObject(Book.class, "{\"author\":\"Bramer & Bramer\", \"copies\":20,}");
+    }
+
+    @Test(expected = UnifyException.class)
+    public void testReadJsonObjectUnterminatedString() throws Exception {
+        DataUtils.readJsonObject(Book.class, "{\"author\":\"Bramer & Bramer}");
+    }
+
+    @Test(expected = UnifyException.class)
+    public void testReadJsonObjectMissingColon() throws Exception {
+        DataUtils.readJsonObject(Book.class, "{\"author\" \"Bramer & Bramer\"}");
+    }
+
+    @Test(expected = UnifyException.class)
+    public void testReadJsonObjectTrailingData() throws Exception {
+        DataUtils.readJsonObject(Book.class, "{\"author\":\"Bramer & Bramer\"} {}");
+    }
+
+    @Test(expected = UnifyException.class)
+    public void testReadJsonObjectInvalidNumber() throws Exception {
+        DataUtils.readJsonObject(Book.class, "{\"copies\":2-0}");
+    }
+
+    @Test
+    public void testReadJsonObjectNumberEdgeCases() throws Exception {
+        String json =
+                "{\"price\":-12345678901234567890.123456789, \"priceHistory\":[1.5e3, -2.25E-4, -0.0], \"copies\":-2147483648}";
+        Book book = DataUtils.readJsonObject(Book.class, json);
+        assertNotNull(book);
+        assertEquals(new BigDecimal("-12345678901234567890.123456789"), book.getPrice());
+        assertEquals(Integer.MIN_VALUE, book.getCopies());
+        Double[] priceHistory = book.getPriceHistory();
+        assertEquals(3, priceHistory.length);
+        assertEquals(Double.valueOf(1500.0), priceHistory[0]);
+        assertEquals(Double.valueOf(-0.000225), priceHistory[1]);
+        assertEquals(Double.valueOf(-0.0), priceHistory[2]);
+    }
+
+    @Test
+    public void testReadJsonObjectNestedBeanAndCollection() throws Exception {
+        String json = "{\"id\":9223372036854775807, \"firstName\":\"\\u00c9mile\", \"lastName\":\"Zola\","
+                + " \"address\":{\"addressLine1\":\"1 Rue \\\"A\\\"\", \"addressLine2\":null},"
+                + " \"orders\":[3, null, 7],"
+                + " \"officeAddresses\":[{\"addressLine1\":\"Office 1\"}, {\"addressLine1\":\"Office 2\", \"addressLine2\":\"Paris\"}]}";
+        Customer customer = DataUtils.readJsonObject(Customer.class, json);
+        assertNotNull(customer);
+        assertEquals(Long.valueOf(Long.MAX_VALUE), customer.getId());
+        assertEquals("\u00c9mile", customer.getFirstName());
+        assertEquals("Zola", customer.getLastName());
+        assertNotNull(customer.getAddress());
+        assertEquals("1 Rue \"A\"", customer.getAddress().getAddressLine1());
+        assertNull(customer.getAddress().getAddressLine2());
+        Integer[] orders = customer.getOrders();
+        assertEquals(3, orders.length);
+        assertEquals(Integer.valueOf(3), orders[0]);
+        assertNull(orders[1]);
+        assertEquals(Integer.valueOf(7), orders[2]);
+
+        List<Address> officeAddresses = new ArrayList<Address>(customer.getOfficeAddresses());
+        assertEquals(2, officeAddresses.size());
+        assertEquals("Office 1", officeAddresses.get(0).getAddressLine1());
+        assertNull(officeAddresses.get(0).getAddressLine2());
+        assertEquals("Office 2", officeAddresses.get(1).getAddressLine1());
+        assertEquals("Paris", officeAddresses.get(1).getAddressLine2());
+    }
+
+    @Test
+    public void testWriteJsonObjectEscapedString() throws Exception {
+        Book book = new Book("Tom \"Tiny\" Clancy\\\n\u00e9\u2028", BigDecimal.valueOf(10.5), 1, false);
+        String json = DataUtils.writeJsonObject(book);
+        assertNotNull(json);
+
+        Book jsonBook = DataUtils.readJsonObject(Book.class, json);
+        assertNotNull(jsonBook);
+        assertEquals(book.getAuthor(), jsonBook.getAuthor());
+        assertEquals(book.getPrice(), jsonBook.getPrice());
+    }
+
+    @Test
+    public void testWriteJsonObjectNestedBeanAndCollection() throws Exception {
+        Customer customer = new Customer();
+        customer.setId(Long.MIN_VALUE);
+        customer.setFirstName("\u4e2d\u6587 \ud83d\ude00\t\u0001");
+        customer.setAddress(new Address());
+        customer.getAddress().setAddressLine1("Line \"1\"");
+        customer.setOrders(new Integer[] { 1, null });
+        List<Address> officeAddresses = new ArrayList<Address>();
+        officeAddresses.add(new Address());
+        officeAddresses.get(0).setAddressLine2("Lagos");
+        customer.setOfficeAddresses(officeAddresses);
+
+        String json = DataUtils.writeJsonObject(customer);
+        assertNotNull(json);
+
+        Customer jsonCustomer = DataUtils.readJsonObject(Customer.class, json);
+        assertNotNull(jsonCustomer);
+        assertEquals(customer.getId(), jsonCustomer.getId());
+        assertEquals(customer.getFirstName(), jsonCustomer.getFirstName());
+        assertNull(jsonCustomer.getLastName());
+        assertEquals("Line \"1\"", jsonCustomer.getAddress().getAddressLine1());
+        assertNull(jsonCustomer.getAddress().getAddressLine2());
+        assertEquals(2, jsonCustomer.getOrders().length);
+        assertEquals(Integer.valueOf(1), jsonCustomer.getOrders()[0]);
+        assertNull(jsonCustomer.getOrders()[1]);
+        assertEquals(1, jsonCustomer.getOfficeAddresses().size());
+        Address officeAddress = jsonCustomer.getOfficeAddresses().iterator().next();
+        assertNull(officeAddress.getAddressLine1());
+        assertEquals("Lagos", officeAddress.getAddressLine2());
+    }
+
+    @Test
+    public void testWriteJsonObjectBigDecimalPrecision() throws Exception {
+        Book book = new Book("Saladin", new BigDecimal("-98765432109876543210.0123456789"), 0, false);
+        String json = DataUtils.writeJsonObject(book);
+        Book jsonBook = DataUtils.readJsonObject(Book.class, json);
+        assertEquals(book.getPrice(), jsonBook.getPrice());
+    }
+
     @Test
     public void testWriteEmptyJsonObject() throws Exception {
         String json = DataUtils.writeJsonObject(new Inventory());
@@ -0,0 +1,239 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.util.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+/**
+ * JSON reader tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class JsonReaderTest {
+
+    @Test
+    public void testReadEscapeSequences() throws Exception {
+        JsonReader reader = new JsonReader(new StringReader("\"a\\\"b\\\\c\\/d\\be\\ff\\ng\\rh\\ti\""));
+        assertEquals("a\"b\\c/d\be\ff\ng\rh\ti", reader.nextString());
+        reader.endDocument();
+    }
+
+    @Test
+    public void testReadUnicodeEscapes() throws Exception {
+        JsonReader reader = new JsonReader(
+                new StringReader("[\"\\u0041\\u00e9\\u20AC\", \"\\ud83d\\ude00\", \"\\u0000\\u001f\", \"caf\u00e9 \u4e2d\u6587\"]"));
+        reader.beginArray();
+        assertTrue(reader.nextElement());
+        assertEquals("A\u00e9\u20ac", reader.nextString());
+        assertTrue(reader.nextElement());
+        assertEquals("\ud83d\ude00", reader.nextString());
+        assertTrue(reader.nextElement());
+        assertEquals("\u0000\u001f", reader.nextString());
+        assertTrue(reader.nextElement());
+        assertEquals("caf\u00e9 \u4e2d\u6587", reader.nextString());
+        assertFalse(reader.nextElement());
+        reader.endDocument();
+    }
+
+    @Test
+    public void testReadStringAcrossBufferBoundary() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1500; i++) {
+            sb.append((char) ('a' + (i % 26)));
+        }
+
+        String expected = sb.toString() + "\n\u00e9";
+        String json = "\"" + sb.toString() + "\\n\\u00e9\"";
+        JsonReader reader = new JsonReader(new StringReader(json));
+        assertEquals(expected, reader.nextString());
+        reader.endDocument();
+    }
+
+    @Test
+    public void testReadNumbers() throws Exception {
+        JsonReader reader = new JsonReader(new StringReader(
+                "[0, -12, 9223372036854775807, -9223372036854775808, 1.5e3, -2.25E-4, 12345678901234567890.123456789]"));
+        reader.beginArray();
+        assertTrue(reader.nextElement());
+        assertEquals("0", reader.nextNumber());
+        assertTrue(reader.nextElement());
+        assertEquals("-12", reader.nextNumber());
+        assertTrue(reader.nextElement());
+        assertEquals(Long.MAX_VALUE, Long.parseLong(reader.nextNumber()));
+        assertTrue(reader.nextElement());
+        assertEquals(Long.MIN_VALUE, Long.parseLong(reader.nextNumber()));
+        assertTrue(reader.nextElement());
+        assertEquals(1500.0, Double.parseDouble(reader.nextNumber()), 0.0);
+        assertTrue(reader.nextElement());
+        assertEquals(-0.000225, Double.parseDouble(reader.nextNumber()), 0.0);
+        assertTrue(reader.nextElement());
+        assertEquals(new BigDecimal("12345678901234567890.123456789"), new BigDecimal(reader.nextNumber()));
+        assertFalse(reader.nextElement());
+        reader.endDocument();
+    }
+
+    @Test
+    public void testReadNestedStructures() throws Exception {
+        JsonReader reader = new JsonReader(
+                new StringReader(" { \"a\" : { \"b\" : [ 1 , [ ] , { } ] } , \"c\" : null , \"d\" : true } "));
+        reader.beginObject();
+        assertEquals("a", reader.nextName());
+        reader.beginObject();
+        assertEquals("b", reader.nextName());
+        reader.beginArray();
+        assertTrue(reader.nextElement());
+        assertEquals("1", reader.nextNumber());
+        assertTrue(reader.nextElement());
+        reader.beginArray();
+        assertFalse(reader.nextElement());
+        assertTrue(reader.nextElement());
+        reader.beginObject();
+        assertNull(reader.nextName());
+        assertFalse(reader.nextElement());
+        assertNull(reader.nextName());
+        assertEquals("c", reader.nextName());
+        assertTrue(reader.nextNull());
+        assertEquals("d", reader.nextName());
+        assertFalse(reader.nextNull());
+        assertTrue(reader.nextBoolean());
+        assertNull(reader.nextName());
+        reader.endDocument();
+    }
+
+    @Test
+    public void testSkipValue() throws Exception {
+        JsonReader reader = new JsonReader(
+                new StringReader("{\"skip\":{\"x\":[1,\"]}\",{\"y\":null}],\"z\":false},\"keep\":\"value\"}"));
+        reader.beginObject();
+        assertEquals("skip", reader.nextName());
+        reader.skipValue();
+        assertEquals("keep", reader.nextName());
+        assertEquals("value", reader.nextString());
+        assertNull(reader.nextName());
+        reader.endDocument();
+    }
+
+    @Test
+    public void testReadUnterminatedString() throws Exception {
+        assertSyntaxError("\"abc", "Unterminated string");
+    }
+
+    @Test
+    public void testReadInvalidEscape() throws Exception {
+        assertSyntaxError("\"a\\xb\"", "Invalid escape sequence");
+    }
+
+    @Test
+    public void testReadInvalidUnicodeEscape() throws Exception {
+        assertSyntaxError("\"\\u12g4\"", "Invalid unicode escape sequence");
+    }
+
+    @Test
+    public void testReadUnescapedControlCharacter() throws Exception {
+        assertSyntaxError("\"a\tb\"", "Unescaped control character in string");
+    }
+
+    @Test
+    public void testReadMissingColon() throws Exception {
+        JsonReader reader = new JsonReader(new StringReader("{\"a\" 1}"));
+        reader.beginObject();
+        try {
+            reader.nextName();
+            fail();
+        } catch (IOException e) {
+            assertEquals("Expected ':' at offset 5.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testReadMissingComma() throws Exception {
+        JsonReader reader = new JsonReader(new StringReader("[1 2]"));
+        reader.beginArray();
+        assertTrue(reader.nextElement());
+        reader.nextNumber();
+        try {
+            reader.nextElement();
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Expected ',' or ']'"));
+        }
+    }
+
+    @Test
+    public void testReadInvalidLiteral() throws Exception {
+        JsonReader reader = new JsonReader(new StringReader("nul"));
+        try {
+            reader.nextNull();
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Expected 'null'"));
+        }
+
+        reader = new JsonReader(new StringReader("tru"));
+        try {
+            reader.nextBoolean();
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Expected 'true'"));
+        }
+    }
+
+    @Test
+    public void testReadTrailingData() throws Exception {
+        JsonReader reader = new JsonReader(new StringReader("{} x"));
+        reader.beginObject();
+        assertNull(reader.nextName());
+        try {
+            reader.endDocument();
+            fail();
+        } catch (IOException e) {
+            assertEquals("Unexpected character after document at offset 3.", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testReadEmptyDocument() throws Exception {
+        JsonReader reader = new JsonReader(new StringReader("   "));
+        try {
+            reader.beginObject();
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Expected '{'"));
+        }
+    }
+
+    private void assertSyntaxError(String json, String message) throws Exception {
+        JsonReader reader = new JsonReader(new StringReader(json));
+        try {
+            reader.nextString();
+            fail();
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith(message + " at offset "));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018-2020 The Code Department.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.tcdng.unify.core.util.json;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+/**
+ * JSON writer tests.
+ * 
+ * @author Lateef Ojulari
+ * @since 1.0
+ */
+public class JsonWriterTest {
+
+    @Test
+    public void testWriteEscapes() throws Exception {
+        StringWriter sw = new StringWriter();
+        new JsonWriter(sw).value("a\"b\\c/d\be\ff\ng\rh\ti\u0000\u001f\u2028\u2029").flush();
+        assertEquals("\"a\\\"b\\\\c/d\\u0008e\\u000cf\\ng\\rh\\ti\\u0000\\u001f\\u2028\\u2029\"", sw.toString());
+    }
+
+    @Test
+    public void testWriteUnicodeRoundTrip() throws Exception {
+        String value = "caf\u00e9 \u4e2d\u6587 \ud83d\ude00 \u0007\u2028";
+        StringWriter sw = new StringWriter();
+        new JsonWriter(sw).value(value).flush();
+        JsonReader reader = new JsonReader(new StringReader(sw.toString()));
+        assertEquals(value, reader.nextString());
+        reader.endDocument();
+    }
+
+    @Test
+    public void testWriteNumbers() throws Exception {
+        StringWriter sw = new StringWriter();
+        new JsonWriter(sw).beginArray().value(0L).value(Long.MAX_VALUE).value(Long.MIN_VALUE).value(2.0)
+                .value(-0.0).value(2.5).value(1.0E20).value(1.25E-7).value(3.5f).value(7.0f).endArray().flush();
+        assertEquals("[0,9223372036854775807,-9223372036854775808,2,-0,2.5,1.0E20,1.25E-7,3.5,7]", sw.toString());
+    }
+
+    @Test
+    public void testWriteBigDecimals() throws Exception {
+        StringWriter sw = new StringWriter();
+        new JsonWriter(sw).beginArray().value(new BigDecimal("-98765432109876543210.0123456789"))
+                .value(new BigDecimal("10.50")).value(new BigDecimal("1E+3")).value((BigDecimal) null).endArray()
+                .flush();
+        assertEquals("[-98765432109876543210.0123456789,10.50,1E+3,null]", sw.toString());
+    }
+
+    @Test
+    public void testWriteRejectsNonFiniteNumbers() throws Exception {
+        JsonWriter writer = new JsonWriter(new StringWriter());
+        try {
+            writer.value(Double.NaN);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            writer.value(Double.POSITIVE_INFINITY);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+
+        try {
+            writer.value(Float.NEGATIVE_INFINITY);
+            fail();
+        } catch (IllegalArgumentException e) {
+        }
+    }
+
+    @Test
+    public void testWriteNestedStructures() throws Exception {
+        StringWriter sw = new StringWriter();
+        new JsonWriter(sw).beginObject().name("a").beginObject().name("b").beginArray().value(1L).beginArray()
+                .endArray().beginObject().endObject().endArray().endObject().name("c").nullValue().name("d")
+                .value(true).name("e").value((String) null).endObject().flush();
+        assertEquals("{\"a\":{\"b\":[1,[],{}]},\"c\":null,\"d\":true,\"e\":null}", sw.toString());
+    }
+
+    @Test
+    public void testWriteDeepNesting() throws Exception {
+        StringWriter sw = new StringWriter();
+        JsonWriter writer = new JsonWriter(sw);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            writer.beginArray();
+            expected.append('[');
+        }
+
+        writer.value("x");
+        expected.append("\"x\"");
+        for (int i = 0; i < 40; i++) {
+            writer.endArray();
+            expected.append(']');
+        }
+
+        writer.flush();
+        assertEquals(expected.toString(), sw.toString());
+    }
+}
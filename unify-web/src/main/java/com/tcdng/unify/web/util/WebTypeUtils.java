@@ -19,7 +19,6 @@ import java.net.URL;
 
 import javax.servlet.ServletContext;
 
-import org.scannotation.AnnotationDB;
 import org.scannotation.WarUrlFinder;
 
 import com.tcdng.unify.core.UnifyCoreErrorConstants;
@@ -43,11 +42,6 @@ public class WebTypeUtils extends TypeUtils {
             synchronized (WebTypeUtils.class) {
                 if (servletContextTypeRepository == null) {
                     try {
-                        AnnotationDB classpathDB = new AnnotationDB();
-                        classpathDB.setScanFieldAnnotations(false);
-                        classpathDB.setScanMethodAnnotations(false);
-                        classpathDB.setScanParameterAnnotations(false);
-
                         URL[] urls = null;
                         URL classPathUrl = WarUrlFinder.findWebInfClassesPath(servletContext);
                         URL[] libUrls = WarUrlFinder.findWebInfLibClasspaths(servletContext);
@@ -61,8 +55,7 @@ public class WebTypeUtils extends TypeUtils {
                         } else {
                             urls = libUrls;
                         }
-                        classpathDB.scanArchives(urls);
-                        servletContextTypeRepository = new TypeRepositoryImpl(classpathDB);
+                        servletContextTypeRepository = new TypeRepositoryImpl(scanAnnotationIndex(urls));
                     } catch (Exception e) {
                         throw new UnifyException(e, UnifyCoreErrorConstants.ANNOTATIONUTIL_ERROR);
                     }